@@ -598,7 +598,7 @@ public abstract class AbstractRedisClient implements AutoCloseable {
         }
 
         return new RedisHandshake(clientOptions.getConfiguredProtocolVersion(), clientOptions.isPingBeforeActivateConnection(),
-                state, source);
+                clientOptions.isPipelineHandshake(), state, source);
     }
 
 }
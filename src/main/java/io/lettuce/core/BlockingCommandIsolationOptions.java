@@ -0,0 +1,156 @@
+package io.lettuce.core;
+
+import java.io.Serializable;
+
+import io.lettuce.core.internal.LettuceAssert;
+import io.lettuce.core.protocol.BlockingCommands;
+
+/**
+ * Options to isolate blocking commands onto dedicated connections. When enabled, commands that block the connection until the
+ * server replies (such as {@code BLPOP}, {@code BLMOVE} or {@code XREAD … BLOCK}, see {@link BlockingCommands}) are not
+ * written to the shared connection but to a connection taken from a small pool of dedicated connections to the same endpoint.
+ * All other commands continue to be multiplexed over the shared connection and no longer queue up behind a blocking command.
+ * <p>
+ * Isolation applies to standalone connections and to the node connections of Redis Cluster connections. Blocking commands
+ * issued within a transaction are written to the shared connection. Isolated commands are not ordered with respect to commands
+ * previously written to the shared connection. Dedicated connections are initialized from the {@link RedisURI} and follow the
+ * {@code READONLY}/{@code READWRITE} state of the shared connection; other connection state changed at runtime (for example
+ * through {@code SELECT} or {@code CLIENT SETNAME}) is not propagated to dedicated connections.
+ *
+ * @since 7.0
+ */
+@SuppressWarnings("serial")
+public class BlockingCommandIsolationOptions implements Serializable {
+
+    public static final boolean DEFAULT_ENABLED = false;
+
+    public static final int DEFAULT_MAX_CONNECTIONS = 8;
+
+    private final boolean enabled;
+
+    private final int maxConnections;
+
+    private BlockingCommandIsolationOptions(Builder builder) {
+
+        this.enabled = builder.enabled;
+        this.maxConnections = builder.maxConnections;
+    }
+
+    /**
+     * Returns a new {@link BlockingCommandIsolationOptions.Builder} to construct {@link BlockingCommandIsolationOptions}.
+     *
+     * @return a new {@link BlockingCommandIsolationOptions.Builder} to construct {@link BlockingCommandIsolationOptions}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create a new instance of {@link BlockingCommandIsolationOptions} with default settings (disabled).
+     *
+     * @return a new instance of {@link BlockingCommandIsolationOptions} with default settings.
+     */
+    public static BlockingCommandIsolationOptions create() {
+        return builder().build();
+    }
+
+    /**
+     * Create a new instance of {@link BlockingCommandIsolationOptions} with isolation enabled using default settings.
+     *
+     * @return a new instance of {@link BlockingCommandIsolationOptions} with isolation enabled.
+     */
+    public static BlockingCommandIsolationOptions enabled() {
+        return builder().enable().build();
+    }
+
+    /**
+     * Builder for {@link BlockingCommandIsolationOptions}.
+     */
+    public static class Builder {
+
+        private boolean enabled = DEFAULT_ENABLED;
+
+        private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+
+        private Builder() {
+        }
+
+        /**
+         * Enable isolation of blocking commands. Disabled by default, see {@link #DEFAULT_ENABLED}.
+         *
+         * @return {@code this}
+         */
+        public Builder enable() {
+            return enabled(true);
+        }
+
+        /**
+         * Configure whether blocking commands are isolated onto dedicated connections. Disabled by default, see
+         * {@link #DEFAULT_ENABLED}.
+         *
+         * @param enabled {@code true} to enable isolation.
+         * @return {@code this}
+         */
+        public Builder enabled(boolean enabled) {
+
+            this.enabled = enabled;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of dedicated connections per endpoint. Blocking commands wait for a dedicated connection to
+         * become available once all connections are in use. See {@link #DEFAULT_MAX_CONNECTIONS}.
+         *
+         * @param maxConnections the maximum number of dedicated connections, must be greater than zero.
+         * @return {@code this}
+         */
+        public Builder maxConnections(int maxConnections) {
+
+            LettuceAssert.isTrue(maxConnections > 0, "Max connections must be greater than zero");
+
+            this.maxConnections = maxConnections;
+            return this;
+        }
+
+        /**
+         * Create a new instance of {@link BlockingCommandIsolationOptions}.
+         *
+         * @return new instance of {@link BlockingCommandIsolationOptions}
+         */
+        public BlockingCommandIsolationOptions build() {
+            return new BlockingCommandIsolationOptions(this);
+        }
+
+    }
+
+    /**
+     * Returns a builder to create new {@link BlockingCommandIsolationOptions} whose settings are replicated from the current
+     * {@link BlockingCommandIsolationOptions}.
+     *
+     * @return a {@link BlockingCommandIsolationOptions.Builder} to create new {@link BlockingCommandIsolationOptions} whose
+     *         settings are replicated from the current {@link BlockingCommandIsolationOptions}.
+     */
+    public Builder mutate() {
+
+        Builder builder = new Builder();
+        builder.enabled = isEnabled();
+        builder.maxConnections = getMaxConnections();
+
+        return builder;
+    }
+
+    /**
+     * @return {@code true} if blocking commands are isolated onto dedicated connections.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the maximum number of dedicated connections per endpoint.
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+}
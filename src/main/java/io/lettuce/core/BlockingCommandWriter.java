@@ -0,0 +1,525 @@
+package io.lettuce.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.internal.Futures;
+import io.lettuce.core.internal.LettuceAssert;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.protocol.AsyncCommand;
+import io.lettuce.core.protocol.BlockingCommands;
+import io.lettuce.core.protocol.Command;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.CompleteableCommand;
+import io.lettuce.core.protocol.ConnectionFacade;
+import io.lettuce.core.protocol.RedisCommand;
+import io.lettuce.core.resource.ClientResources;
+
+/**
+ * Writer that isolates {@link BlockingCommands blocking commands} onto dedicated connections. Blocking commands are written to
+ * a connection taken from a bounded pool of dedicated connections to the same endpoint, all other commands are written to the
+ * delegate. Dedicated connections are created on demand and returned to the pool once the blocking command completes. Once all
+ * dedicated connections are in use, blocking commands wait for a connection to become available.
+ * <p>
+ * A dedicated connection is closed instead of returned to the pool if the blocking command was cancelled, timed out or failed
+ * for a reason other than an error reply as the server may still block on that connection. Blocking commands between
+ * {@code WATCH} or {@code MULTI} and {@code EXEC}, {@code DISCARD} or {@code UNWATCH} are written to the delegate.
+ * <p>
+ * Isolated commands are not ordered with respect to commands previously written to the delegate: a blocking command may be
+ * executed before an earlier command on the shared connection (for example {@code BLPOP key} before a preceding
+ * {@code DEL key}). Callers that require ordering must await the preceding command. Dedicated connections follow the
+ * {@code READONLY}/{@code READWRITE} state of the shared connection so that blocking reads routed to a replica are served by
+ * that replica.
+ *
+ * @since 7.0
+ * @see BlockingCommandIsolationOptions
+ */
+public class BlockingCommandWriter implements RedisChannelWriter {
+
+    private final RedisChannelWriter delegate;
+
+    private final Supplier<? extends CompletionStage<? extends StatefulConnection<?, ?>>> connectionFactory;
+
+    private final int maxConnections;
+
+    private final Lock lock = new ReentrantLock();
+
+    private final Deque<StatefulConnection<?, ?>> idle = new ArrayDeque<>();
+
+    private final Queue<CompletableFuture<StatefulConnection<?, ?>>> waiters = new ArrayDeque<>();
+
+    /**
+     * Dedicated connections mapped to their {@code READONLY} state.
+     */
+    private final Map<StatefulConnection<?, ?>, Boolean> connections = new HashMap<>();
+
+    private int total;
+
+    private boolean closed;
+
+    private volatile boolean inTransaction;
+
+    private volatile boolean readOnly;
+
+    public BlockingCommandWriter(RedisChannelWriter delegate, BlockingCommandIsolationOptions options,
+            Supplier<? extends CompletionStage<? extends StatefulConnection<?, ?>>> connectionFactory) {
+
+        LettuceAssert.notNull(delegate, "RedisChannelWriter must not be null");
+        LettuceAssert.notNull(options, "BlockingCommandIsolationOptions must not be null");
+        LettuceAssert.notNull(connectionFactory, "Connection factory must not be null");
+
+        this.delegate = delegate;
+        this.maxConnections = options.getMaxConnections();
+        this.connectionFactory = connectionFactory;
+    }
+
+    /**
+     * Check whether {@link ClientOptions} enable isolation of blocking commands.
+     *
+     * @param clientOptions must not be {@code null}.
+     * @return {@code true} if blocking commands are isolated onto dedicated connections.
+     */
+    public static boolean isSupported(ClientOptions clientOptions) {
+
+        LettuceAssert.notNull(clientOptions, "ClientOptions must not be null");
+
+        return clientOptions.getBlockingCommandIsolationOptions().isEnabled();
+    }
+
+    @Override
+    public <K, V, T> RedisCommand<K, V, T> write(RedisCommand<K, V, T> command) {
+
+        LettuceAssert.notNull(command, "Command must not be null");
+
+        if (!isolate(command)) {
+            return delegate.write(command);
+        }
+
+        writeIsolated(command);
+        return command;
+    }
+
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public <K, V> Collection<RedisCommand<K, V, ?>> write(Collection<? extends RedisCommand<K, V, ?>> commands) {
+
+        LettuceAssert.notNull(commands, "Commands must not be null");
+
+        if (containsAsking(commands)) {
+            return delegate.write(commands);
+        }
+
+        List<RedisCommand<K, V, ?>> shared = null;
+
+        for (RedisCommand<K, V, ?> command : commands) {
+
+            if (isolate(command)) {
+
+                if (shared != null) {
+                    delegate.write(shared);
+                    shared = null;
+                }
+
+                writeIsolated(command);
+                continue;
+            }
+
+            if (shared == null) {
+                shared = new ArrayList<>();
+            }
+
+            shared.add(command);
+        }
+
+        if (shared != null) {
+            delegate.write(shared);
+        }
+
+        return (Collection) commands;
+    }
+
+    /**
+     * Determine whether to isolate a {@link RedisCommand}. Tracks transaction state so that commands within transactions are
+     * written to the delegate.
+     *
+     * @param command the command.
+     * @return {@code true} if the command is written to a dedicated connection.
+     */
+    boolean isolate(RedisCommand<?, ?, ?> command) {
+
+        String type = command.getType().toString();
+
+        if (type.equals("MULTI") || type.equals("WATCH")) {
+            inTransaction = true;
+            return false;
+        }
+
+        if (type.equals("EXEC") || type.equals("DISCARD") || type.equals("UNWATCH")) {
+            inTransaction = false;
+            return false;
+        }
+
+        if (type.equals("READONLY") || type.equals("READWRITE")) {
+            trackReadOnly(command, type.equals("READONLY"));
+            return false;
+        }
+
+        return !inTransaction && command instanceof CompleteableCommand && BlockingCommands.isBlocking(command);
+    }
+
+    private void trackReadOnly(RedisCommand<?, ?, ?> command, boolean readOnly) {
+
+        if (command instanceof CompleteableCommand) {
+            ((CompleteableCommand<?>) command).onComplete((result, error) -> {
+                if (error == null) {
+                    this.readOnly = readOnly;
+                }
+            });
+        } else {
+            this.readOnly = readOnly;
+        }
+    }
+
+    /**
+     * {@code ASKING} applies only to the next command on the same connection so batches containing {@code ASKING} are not
+     * split.
+     */
+    private static boolean containsAsking(Collection<? extends RedisCommand<?, ?, ?>> commands) {
+
+        for (RedisCommand<?, ?, ?> command : commands) {
+            if (command.getType() == CommandType.ASKING) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void writeIsolated(RedisCommand<?, ?, ?> command) {
+
+        acquire().whenComplete((connection, throwable) -> {
+
+            if (throwable != null) {
+                command.completeExceptionally(throwable);
+                return;
+            }
+
+            if (command.isDone()) {
+                release(connection);
+                return;
+            }
+
+            ((CompleteableCommand<?>) command).onComplete((result, error) -> {
+
+                if (error == null || error instanceof RedisCommandExecutionException) {
+                    release(connection);
+                } else {
+                    discard(connection);
+                }
+            });
+
+            try {
+                ((RedisChannelHandler<?, ?>) connection).getChannelWriter().write(command);
+            } catch (Exception e) {
+                command.completeExceptionally(e);
+            }
+        });
+    }
+
+    CompletableFuture<StatefulConnection<?, ?>> acquire() {
+
+        CompletableFuture<StatefulConnection<?, ?>> future = new CompletableFuture<>();
+        List<StatefulConnection<?, ?>> stale = new ArrayList<>();
+        boolean connect = false;
+
+        lock.lock();
+        try {
+
+            if (closed) {
+                future.completeExceptionally(new RedisException("Connection is closed"));
+                return future;
+            }
+
+            StatefulConnection<?, ?> connection;
+            while ((connection = idle.pollFirst()) != null && !isReusable(connection)) {
+                connections.remove(connection);
+                stale.add(connection);
+                total--;
+            }
+
+            if (connection != null) {
+                future.complete(connection);
+            } else if (total < maxConnections) {
+                total++;
+                connect = true;
+            } else {
+                waiters.add(future);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        stale.forEach(StatefulConnection::closeAsync);
+
+        if (connect) {
+            connect(future);
+        }
+
+        return future;
+    }
+
+    void release(StatefulConnection<?, ?> connection) {
+
+        CompletableFuture<StatefulConnection<?, ?>> waiter = null;
+        boolean close = false;
+        boolean discard = false;
+
+        lock.lock();
+        try {
+
+            if (closed) {
+                close = true;
+            } else if (isReusable(connection)) {
+                waiter = waiters.poll();
+                if (waiter == null) {
+                    idle.addFirst(connection);
+                }
+            } else {
+                discard = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (close) {
+            connection.closeAsync();
+        }
+
+        if (discard) {
+            discard(connection);
+        }
+
+        if (waiter != null) {
+            waiter.complete(connection);
+        }
+    }
+
+    void discard(StatefulConnection<?, ?> connection) {
+
+        CompletableFuture<StatefulConnection<?, ?>> waiter = null;
+
+        lock.lock();
+        try {
+
+            if (connections.remove(connection) != null) {
+                total--;
+            }
+
+            if (!closed && total < maxConnections) {
+                waiter = waiters.poll();
+                if (waiter != null) {
+                    total++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        connection.closeAsync();
+
+        if (waiter != null) {
+            connect(waiter);
+        }
+    }
+
+    private void connect(CompletableFuture<StatefulConnection<?, ?>> target) {
+
+        boolean readOnly = this.readOnly;
+        CompletionStage<? extends StatefulConnection<?, ?>> stage;
+        try {
+            stage = connectionFactory.get();
+        } catch (Exception e) {
+            stage = Futures.failed(e);
+        }
+
+        if (readOnly) {
+            stage = stage.thenCompose(BlockingCommandWriter::readOnly);
+        }
+
+        stage.whenComplete((connection, throwable) -> {
+
+            if (throwable != null) {
+                onConnectFailed();
+                target.completeExceptionally(throwable);
+                return;
+            }
+
+            boolean accepted;
+
+            lock.lock();
+            try {
+                accepted = !closed;
+                if (accepted) {
+                    connections.put(connection, readOnly);
+                } else {
+                    total--;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (accepted) {
+                target.complete(connection);
+            } else {
+                connection.closeAsync();
+                target.completeExceptionally(new RedisException("Connection is closed"));
+            }
+        });
+    }
+
+    /**
+     * Check whether a dedicated connection can be reused. Must be called while holding {@link #lock}.
+     */
+    private boolean isReusable(StatefulConnection<?, ?> connection) {
+        return connection.isOpen() && Boolean.valueOf(readOnly).equals(connections.get(connection));
+    }
+
+    /**
+     * Put a dedicated connection into {@code READONLY} state. Closes the connection if the command fails.
+     */
+    private static CompletionStage<StatefulConnection<?, ?>> readOnly(StatefulConnection<?, ?> connection) {
+
+        AsyncCommand<String, String, String> command = new AsyncCommand<>(
+                new Command<>(CommandType.READONLY, new StatusOutput<>(StringCodec.UTF8)));
+        CompletableFuture<StatefulConnection<?, ?>> result = new CompletableFuture<>();
+
+        command.whenComplete((ok, throwable) -> {
+
+            if (throwable != null) {
+                connection.closeAsync();
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(connection);
+            }
+        });
+
+        try {
+            ((RedisChannelHandler<?, ?>) connection).getChannelWriter().write(command);
+        } catch (Exception e) {
+            command.completeExceptionally(e);
+        }
+
+        return result;
+    }
+
+    private void onConnectFailed() {
+
+        CompletableFuture<StatefulConnection<?, ?>> waiter = null;
+
+        lock.lock();
+        try {
+
+            total--;
+
+            if (!closed) {
+                waiter = waiters.poll();
+                if (waiter != null) {
+                    total++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (waiter != null) {
+            connect(waiter);
+        }
+    }
+
+    /**
+     * @return the number of dedicated connections, including connections that are being established.
+     */
+    int getConnectionCount() {
+
+        lock.lock();
+        try {
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        closeAsync().join();
+    }
+
+    @Override
+    public CompletableFuture<Void> closeAsync() {
+
+        List<StatefulConnection<?, ?>> toClose;
+        List<CompletableFuture<StatefulConnection<?, ?>>> pending;
+
+        lock.lock();
+        try {
+
+            closed = true;
+            toClose = new ArrayList<>(connections.keySet());
+            pending = new ArrayList<>(waiters);
+            connections.clear();
+            waiters.clear();
+            idle.clear();
+            total = 0;
+        } finally {
+            lock.unlock();
+        }
+
+        pending.forEach(it -> it.completeExceptionally(new RedisException("Connection is closed")));
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(toClose.size() + 1);
+        for (StatefulConnection<?, ?> connection : toClose) {
+            futures.add(connection.closeAsync());
+        }
+        futures.add(delegate.closeAsync());
+
+        return Futures.allOf(futures);
+    }
+
+    @Override
+    public void setConnectionFacade(ConnectionFacade connection) {
+        delegate.setConnectionFacade(connection);
+    }
+
+    @Override
+    public void setAutoFlushCommands(boolean autoFlush) {
+        delegate.setAutoFlushCommands(autoFlush);
+    }
+
+    @Override
+    public void flushCommands() {
+        delegate.flushCommands();
+    }
+
+    @Override
+    public ClientResources getClientResources() {
+        return delegate.getClientResources();
+    }
+
+    public RedisChannelWriter getDelegate() {
+        return this.delegate;
+    }
+
+}
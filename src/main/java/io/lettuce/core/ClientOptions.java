@@ -57,6 +57,13 @@ public class ClientOptions implements Serializable {
 
     public static final int DEFAULT_BUFFER_USAGE_RATIO = 3;
 
+    public static final ConcurrencyLimitOptions DEFAULT_CONCURRENCY_LIMIT_OPTIONS = ConcurrencyLimitOptions.create();
+
+    public static final HedgingOptions DEFAULT_HEDGING_OPTIONS = HedgingOptions.create();
+
+    public static final BlockingCommandIsolationOptions DEFAULT_BLOCKING_ISOLATION_OPTIONS = BlockingCommandIsolationOptions
+            .create();
+
     public static final DisconnectedBehavior DEFAULT_DISCONNECTED_BEHAVIOR = DisconnectedBehavior.DEFAULT;
 
     public static final ReauthenticateBehavior DEFAULT_REAUTHENTICATE_BEHAVIOUR = ReauthenticateBehavior.DEFAULT;
@@ -65,12 +72,16 @@ public class ClientOptions implements Serializable {
 
     public static final boolean DEFAULT_PING_BEFORE_ACTIVATE_CONNECTION = true;
 
+    public static final boolean DEFAULT_PIPELINE_HANDSHAKE = false;
+
     public static final ProtocolVersion DEFAULT_PROTOCOL_VERSION = ProtocolVersion.newestSupported();
 
     public static final ReadOnlyCommands.ReadOnlyPredicate DEFAULT_READ_ONLY_COMMANDS = ReadOnlyCommands.asPredicate();
 
     public static final int DEFAULT_REQUEST_QUEUE_SIZE = Integer.MAX_VALUE;
 
+    public static final int DEFAULT_ZERO_COPY_WRITE_THRESHOLD = 0;
+
     public static final Charset DEFAULT_SCRIPT_CHARSET = StandardCharsets.UTF_8;
 
     public static final SocketOptions DEFAULT_SOCKET_OPTIONS = SocketOptions.create();
@@ -109,6 +120,8 @@ public class ClientOptions implements Serializable {
 
     private final boolean pingBeforeActivateConnection;
 
+    private final boolean pipelineHandshake;
+
     private final ProtocolVersion protocolVersion;
 
     private final ReadOnlyCommands.ReadOnlyPredicate readOnlyCommands;
@@ -129,6 +142,14 @@ public class ClientOptions implements Serializable {
 
     private final boolean useHashIndexedQueue;
 
+    private final int zeroCopyWriteThreshold;
+
+    private final ConcurrencyLimitOptions concurrencyLimitOptions;
+
+    private final HedgingOptions hedgingOptions;
+
+    private final BlockingCommandIsolationOptions blockingCommandIsolationOptions;
+
     protected ClientOptions(Builder builder) {
         this.autoReconnect = builder.autoReconnect;
         this.maintenanceEventsOptions = builder.maintenanceEventsOptions;
@@ -138,6 +159,7 @@ public class ClientOptions implements Serializable {
         this.reauthenticateBehavior = builder.reauthenticateBehavior;
         this.publishOnScheduler = builder.publishOnScheduler;
         this.pingBeforeActivateConnection = builder.pingBeforeActivateConnection;
+        this.pipelineHandshake = builder.pipelineHandshake;
         this.protocolVersion = builder.protocolVersion;
         this.readOnlyCommands = builder.readOnlyCommands;
         this.requestQueueSize = builder.requestQueueSize;
@@ -148,6 +170,10 @@ public class ClientOptions implements Serializable {
         this.suspendReconnectOnProtocolFailure = builder.suspendReconnectOnProtocolFailure;
         this.timeoutOptions = builder.timeoutOptions;
         this.useHashIndexedQueue = builder.useHashIndexedQueue;
+        this.zeroCopyWriteThreshold = builder.zeroCopyWriteThreshold;
+        this.concurrencyLimitOptions = builder.concurrencyLimitOptions;
+        this.hedgingOptions = builder.hedgingOptions;
+        this.blockingCommandIsolationOptions = builder.blockingCommandIsolationOptions;
     }
 
     protected ClientOptions(ClientOptions original) {
@@ -159,6 +185,7 @@ public class ClientOptions implements Serializable {
         this.reauthenticateBehavior = original.getReauthenticateBehaviour();
         this.publishOnScheduler = original.isPublishOnScheduler();
         this.pingBeforeActivateConnection = original.isPingBeforeActivateConnection();
+        this.pipelineHandshake = original.isPipelineHandshake();
         this.protocolVersion = original.getConfiguredProtocolVersion();
         this.readOnlyCommands = original.getReadOnlyCommands();
         this.requestQueueSize = original.getRequestQueueSize();
@@ -169,6 +196,10 @@ public class ClientOptions implements Serializable {
         this.suspendReconnectOnProtocolFailure = original.isSuspendReconnectOnProtocolFailure();
         this.timeoutOptions = original.getTimeoutOptions();
         this.useHashIndexedQueue = original.isUseHashIndexedQueue();
+        this.zeroCopyWriteThreshold = original.getZeroCopyWriteThreshold();
+        this.concurrencyLimitOptions = original.getConcurrencyLimitOptions();
+        this.hedgingOptions = original.getHedgingOptions();
+        this.blockingCommandIsolationOptions = original.getBlockingCommandIsolationOptions();
     }
 
     /**
@@ -216,6 +247,8 @@ public class ClientOptions implements Serializable {
 
         private boolean pingBeforeActivateConnection = DEFAULT_PING_BEFORE_ACTIVATE_CONNECTION;
 
+        private boolean pipelineHandshake = DEFAULT_PIPELINE_HANDSHAKE;
+
         private ProtocolVersion protocolVersion;
 
         private boolean publishOnScheduler = DEFAULT_PUBLISH_ON_SCHEDULER;
@@ -240,6 +273,14 @@ public class ClientOptions implements Serializable {
 
         private boolean useHashIndexedQueue = DEFAULT_USE_HASH_INDEX_QUEUE;
 
+        private int zeroCopyWriteThreshold = DEFAULT_ZERO_COPY_WRITE_THRESHOLD;
+
+        private ConcurrencyLimitOptions concurrencyLimitOptions = DEFAULT_CONCURRENCY_LIMIT_OPTIONS;
+
+        private HedgingOptions hedgingOptions = DEFAULT_HEDGING_OPTIONS;
+
+        private BlockingCommandIsolationOptions blockingCommandIsolationOptions = DEFAULT_BLOCKING_ISOLATION_OPTIONS;
+
         protected Builder() {
         }
 
@@ -347,6 +388,23 @@ public class ClientOptions implements Serializable {
             return this;
         }
 
+        /**
+         * Write all connection initialization commands ({@code HELLO}/{@code AUTH}, {@code SELECT}, {@code READONLY},
+         * {@code CLIENT SETNAME}, {@code CLIENT SETINFO} and maintenance events) with a single flush and validate their
+         * responses in order instead of awaiting each step. Defaults to {@code false}. See {@link #DEFAULT_PIPELINE_HANDSHAKE}.
+         * <p>
+         * A pipelined handshake establishes connections within a single round trip. If the server does not support
+         * {@code HELLO} (RESP2 servers during protocol discovery), the handshake falls back to the stepwise initialization.
+         *
+         * @param pipelineHandshake true/false
+         * @return {@code this}
+         * @since 7.0
+         */
+        public Builder pipelineHandshake(boolean pipelineHandshake) {
+            this.pipelineHandshake = pipelineHandshake;
+            return this;
+        }
+
         /**
          * Sets the {@link ProtocolVersion} to use. Defaults to {@literal RESP3}. See {@link #DEFAULT_PROTOCOL_VERSION}.
          *
@@ -508,6 +566,68 @@ public class ClientOptions implements Serializable {
             return this;
         }
 
+        /**
+         * Set the minimum size of direct buffer values that are written without copying them into the command buffer. Such
+         * values are referenced by a composite buffer that native transports write using vectored I/O. Heap values are always
+         * copied. Values must not be modified until the command is written. Setting the threshold to {@code 0} disables
+         * zero-copy writes. Defaults to {@code 0}. See {@link #DEFAULT_ZERO_COPY_WRITE_THRESHOLD}.
+         *
+         * @param zeroCopyWriteThreshold the minimum value size in bytes, {@code 0} to disable zero-copy writes.
+         * @return {@code this}
+         * @since 7.0
+         */
+        public Builder zeroCopyWriteThreshold(int zeroCopyWriteThreshold) {
+
+            LettuceAssert.isTrue(zeroCopyWriteThreshold >= 0, "Zero-copy write threshold must be greater or equal to zero");
+            this.zeroCopyWriteThreshold = zeroCopyWriteThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the {@link ConcurrencyLimitOptions} to adaptively limit the number of in-flight commands per connection. See
+         * {@link #DEFAULT_CONCURRENCY_LIMIT_OPTIONS}.
+         *
+         * @param concurrencyLimitOptions must not be {@code null}.
+         * @return {@code this}
+         * @since 7.0
+         */
+        public Builder concurrencyLimitOptions(ConcurrencyLimitOptions concurrencyLimitOptions) {
+
+            LettuceAssert.notNull(concurrencyLimitOptions, "ConcurrencyLimitOptions must not be null");
+            this.concurrencyLimitOptions = concurrencyLimitOptions;
+            return this;
+        }
+
+        /**
+         * Sets the {@link HedgingOptions} to hedge read-only commands on Master/Replica and Redis Cluster connections using
+         * {@link ReadFrom} with replicas. See {@link #DEFAULT_HEDGING_OPTIONS}.
+         *
+         * @param hedgingOptions must not be {@code null}.
+         * @return {@code this}
+         * @since 7.0
+         */
+        public Builder hedgingOptions(HedgingOptions hedgingOptions) {
+
+            LettuceAssert.notNull(hedgingOptions, "HedgingOptions must not be null");
+            this.hedgingOptions = hedgingOptions;
+            return this;
+        }
+
+        /**
+         * Sets the {@link BlockingCommandIsolationOptions} to route blocking commands to dedicated connections. See
+         * {@link #DEFAULT_BLOCKING_ISOLATION_OPTIONS}.
+         *
+         * @param blockingCommandIsolationOptions must not be {@code null}.
+         * @return {@code this}
+         * @since 7.0
+         */
+        public Builder blockingCommandIsolationOptions(BlockingCommandIsolationOptions blockingCommandIsolationOptions) {
+
+            LettuceAssert.notNull(blockingCommandIsolationOptions, "BlockingCommandIsolationOptions must not be null");
+            this.blockingCommandIsolationOptions = blockingCommandIsolationOptions;
+            return this;
+        }
+
         /**
          * Create a new instance of {@link ClientOptions}.
          *
@@ -534,10 +654,13 @@ public class ClientOptions implements Serializable {
                 .replayFilter(getReplayFilter()).decodeBufferPolicy(getDecodeBufferPolicy())
                 .disconnectedBehavior(getDisconnectedBehavior()).reauthenticateBehavior(getReauthenticateBehaviour())
                 .readOnlyCommands(getReadOnlyCommands()).publishOnScheduler(isPublishOnScheduler())
-                .pingBeforeActivateConnection(isPingBeforeActivateConnection()).protocolVersion(getConfiguredProtocolVersion())
+                .pingBeforeActivateConnection(isPingBeforeActivateConnection()).pipelineHandshake(isPipelineHandshake())
+                .protocolVersion(getConfiguredProtocolVersion())
                 .requestQueueSize(getRequestQueueSize()).scriptCharset(getScriptCharset()).jsonParser(getJsonParser())
                 .socketOptions(getSocketOptions()).sslOptions(getSslOptions())
-                .suspendReconnectOnProtocolFailure(isSuspendReconnectOnProtocolFailure()).timeoutOptions(getTimeoutOptions());
+                .suspendReconnectOnProtocolFailure(isSuspendReconnectOnProtocolFailure()).timeoutOptions(getTimeoutOptions())
+                .zeroCopyWriteThreshold(getZeroCopyWriteThreshold()).concurrencyLimitOptions(getConcurrencyLimitOptions())
+                .hedgingOptions(getHedgingOptions()).blockingCommandIsolationOptions(getBlockingCommandIsolationOptions());
 
         return builder;
     }
@@ -643,6 +766,17 @@ public class ClientOptions implements Serializable {
         return pingBeforeActivateConnection;
     }
 
+    /**
+     * Write all connection initialization commands with a single flush and validate their responses in order. If the server
+     * does not support {@code HELLO}, the handshake falls back to the stepwise initialization.
+     *
+     * @return {@code true} if the connection handshake is pipelined.
+     * @since 7.0
+     */
+    public boolean isPipelineHandshake() {
+        return pipelineHandshake;
+    }
+
     /**
      * Returns the {@link ProtocolVersion} to use.
      *
@@ -787,6 +921,47 @@ public class ClientOptions implements Serializable {
         return useHashIndexedQueue;
     }
 
+    /**
+     * Minimum size of direct buffer values that are written without copying them into the command buffer. {@code 0} if
+     * zero-copy writes are disabled.
+     *
+     * @return the zero-copy write threshold in bytes.
+     * @since 7.0
+     */
+    public int getZeroCopyWriteThreshold() {
+        return zeroCopyWriteThreshold;
+    }
+
+    /**
+     * Returns the {@link ConcurrencyLimitOptions}.
+     *
+     * @return the {@link ConcurrencyLimitOptions}.
+     * @since 7.0
+     */
+    public ConcurrencyLimitOptions getConcurrencyLimitOptions() {
+        return concurrencyLimitOptions;
+    }
+
+    /**
+     * Returns the {@link HedgingOptions}.
+     *
+     * @return the {@link HedgingOptions}.
+     * @since 7.0
+     */
+    public HedgingOptions getHedgingOptions() {
+        return hedgingOptions;
+    }
+
+    /**
+     * Returns the {@link BlockingCommandIsolationOptions}.
+     *
+     * @return the {@link BlockingCommandIsolationOptions}.
+     * @since 7.0
+     */
+    public BlockingCommandIsolationOptions getBlockingCommandIsolationOptions() {
+        return blockingCommandIsolationOptions;
+    }
+
     /**
      * Behavior of connections in disconnected state.
      */
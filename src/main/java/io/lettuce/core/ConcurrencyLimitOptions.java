@@ -0,0 +1,330 @@
+package io.lettuce.core;
+
+import java.io.Serializable;
+
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Options for the adaptive in-flight limit of a connection. When enabled, each connection caps the number of commands that are
+ * awaiting a response. The limit is adjusted continuously from the observed command latency using a gradient algorithm: while
+ * the latency stays close to its long-term average the limit grows, when latency rises (the server or network starts queueing)
+ * the limit shrinks proportionally and command timeouts shrink it multiplicatively.
+ * <p>
+ * Commands exceeding the limit are either held in a per-connection queue until in-flight commands complete or
+ * {@link Builder#failFast(boolean) rejected} immediately. The limit applies to commands that are written with auto-flush
+ * enabled. Connection activation commands are never limited.
+ *
+ * @since 7.0
+ */
+@SuppressWarnings("serial")
+public class ConcurrencyLimitOptions implements Serializable {
+
+    public static final boolean DEFAULT_ENABLED = false;
+
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+
+    public static final int DEFAULT_MIN_LIMIT = 1;
+
+    public static final int DEFAULT_MAX_LIMIT = 1000;
+
+    public static final double DEFAULT_TOLERANCE = 1.5;
+
+    public static final double DEFAULT_SMOOTHING = 0.2;
+
+    public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+
+    public static final boolean DEFAULT_FAIL_FAST = false;
+
+    private final boolean enabled;
+
+    private final int initialLimit;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double tolerance;
+
+    private final double smoothing;
+
+    private final double backoffRatio;
+
+    private final boolean failFast;
+
+    private ConcurrencyLimitOptions(Builder builder) {
+
+        this.enabled = builder.enabled;
+        this.initialLimit = builder.initialLimit;
+        this.minLimit = builder.minLimit;
+        this.maxLimit = builder.maxLimit;
+        this.tolerance = builder.tolerance;
+        this.smoothing = builder.smoothing;
+        this.backoffRatio = builder.backoffRatio;
+        this.failFast = builder.failFast;
+    }
+
+    /**
+     * Returns a new {@link ConcurrencyLimitOptions.Builder} to construct {@link ConcurrencyLimitOptions}.
+     *
+     * @return a new {@link ConcurrencyLimitOptions.Builder} to construct {@link ConcurrencyLimitOptions}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create a new instance of {@link ConcurrencyLimitOptions} with default settings (disabled).
+     *
+     * @return a new instance of {@link ConcurrencyLimitOptions} with default settings.
+     */
+    public static ConcurrencyLimitOptions create() {
+        return builder().build();
+    }
+
+    /**
+     * Create a new instance of {@link ConcurrencyLimitOptions} with the adaptive limit enabled using default settings.
+     *
+     * @return a new instance of {@link ConcurrencyLimitOptions} with the adaptive limit enabled.
+     */
+    public static ConcurrencyLimitOptions enabled() {
+        return builder().enable().build();
+    }
+
+    /**
+     * Builder for {@link ConcurrencyLimitOptions}.
+     */
+    public static class Builder {
+
+        private boolean enabled = DEFAULT_ENABLED;
+
+        private int initialLimit = DEFAULT_INITIAL_LIMIT;
+
+        private int minLimit = DEFAULT_MIN_LIMIT;
+
+        private int maxLimit = DEFAULT_MAX_LIMIT;
+
+        private double tolerance = DEFAULT_TOLERANCE;
+
+        private double smoothing = DEFAULT_SMOOTHING;
+
+        private double backoffRatio = DEFAULT_BACKOFF_RATIO;
+
+        private boolean failFast = DEFAULT_FAIL_FAST;
+
+        private Builder() {
+        }
+
+        /**
+         * Enable the adaptive in-flight limit. Disabled by default, see {@link #DEFAULT_ENABLED}.
+         *
+         * @return {@code this}
+         */
+        public Builder enable() {
+            return enabled(true);
+        }
+
+        /**
+         * Configure whether the adaptive in-flight limit is enabled. Disabled by default, see {@link #DEFAULT_ENABLED}.
+         *
+         * @param enabled {@code true} to enable the limit.
+         * @return {@code this}
+         */
+        public Builder enabled(boolean enabled) {
+
+            this.enabled = enabled;
+            return this;
+        }
+
+        /**
+         * Set the initial in-flight limit. See {@link #DEFAULT_INITIAL_LIMIT}.
+         *
+         * @param initialLimit the initial limit, must be greater than zero.
+         * @return {@code this}
+         */
+        public Builder initialLimit(int initialLimit) {
+
+            LettuceAssert.isTrue(initialLimit > 0, "Initial limit must be greater than zero");
+
+            this.initialLimit = initialLimit;
+            return this;
+        }
+
+        /**
+         * Set the lower bound of the in-flight limit. See {@link #DEFAULT_MIN_LIMIT}.
+         *
+         * @param minLimit the minimum limit, must be greater than zero.
+         * @return {@code this}
+         */
+        public Builder minLimit(int minLimit) {
+
+            LettuceAssert.isTrue(minLimit > 0, "Minimum limit must be greater than zero");
+
+            this.minLimit = minLimit;
+            return this;
+        }
+
+        /**
+         * Set the upper bound of the in-flight limit. See {@link #DEFAULT_MAX_LIMIT}.
+         *
+         * @param maxLimit the maximum limit, must be greater than zero.
+         * @return {@code this}
+         */
+        public Builder maxLimit(int maxLimit) {
+
+            LettuceAssert.isTrue(maxLimit > 0, "Maximum limit must be greater than zero");
+
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        /**
+         * Set the latency tolerance. The limit only shrinks when the recent latency exceeds the long-term average latency by
+         * this factor. See {@link #DEFAULT_TOLERANCE}.
+         *
+         * @param tolerance the tolerance, must be greater or equal to {@code 1}.
+         * @return {@code this}
+         */
+        public Builder tolerance(double tolerance) {
+
+            LettuceAssert.isTrue(tolerance >= 1, "Tolerance must be greater or equal to 1");
+
+            this.tolerance = tolerance;
+            return this;
+        }
+
+        /**
+         * Set the smoothing factor applied when moving the limit towards a new estimate. See {@link #DEFAULT_SMOOTHING}.
+         *
+         * @param smoothing the smoothing factor, must be between {@code 0} (exclusive) and {@code 1} (inclusive).
+         * @return {@code this}
+         */
+        public Builder smoothing(double smoothing) {
+
+            LettuceAssert.isTrue(smoothing > 0 && smoothing <= 1, "Smoothing must be between 0 and 1");
+
+            this.smoothing = smoothing;
+            return this;
+        }
+
+        /**
+         * Set the ratio by which the limit is reduced when a command times out. See {@link #DEFAULT_BACKOFF_RATIO}.
+         *
+         * @param backoffRatio the backoff ratio, must be between {@code 0} and {@code 1} (exclusive).
+         * @return {@code this}
+         */
+        public Builder backoffRatio(double backoffRatio) {
+
+            LettuceAssert.isTrue(backoffRatio > 0 && backoffRatio < 1, "Backoff ratio must be between 0 and 1");
+
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        /**
+         * Reject commands exceeding the limit instead of queueing them until in-flight commands complete. See
+         * {@link #DEFAULT_FAIL_FAST}.
+         *
+         * @param failFast {@code true} to reject commands exceeding the limit.
+         * @return {@code this}
+         */
+        public Builder failFast(boolean failFast) {
+
+            this.failFast = failFast;
+            return this;
+        }
+
+        /**
+         * Create a new instance of {@link ConcurrencyLimitOptions}.
+         *
+         * @return new instance of {@link ConcurrencyLimitOptions}
+         */
+        public ConcurrencyLimitOptions build() {
+
+            LettuceAssert.isTrue(minLimit <= maxLimit, "Minimum limit must not exceed the maximum limit");
+            LettuceAssert.isTrue(initialLimit >= minLimit && initialLimit <= maxLimit,
+                    "Initial limit must be between the minimum and the maximum limit");
+
+            return new ConcurrencyLimitOptions(this);
+        }
+
+    }
+
+    /**
+     * Returns a builder to create new {@link ConcurrencyLimitOptions} whose settings are replicated from the current
+     * {@link ConcurrencyLimitOptions}.
+     *
+     * @return a {@link ConcurrencyLimitOptions.Builder} to create new {@link ConcurrencyLimitOptions} whose settings are
+     *         replicated from the current {@link ConcurrencyLimitOptions}.
+     */
+    public Builder mutate() {
+
+        Builder builder = new Builder();
+        builder.enabled = isEnabled();
+        builder.initialLimit = getInitialLimit();
+        builder.minLimit = getMinLimit();
+        builder.maxLimit = getMaxLimit();
+        builder.tolerance = getTolerance();
+        builder.smoothing = getSmoothing();
+        builder.backoffRatio = getBackoffRatio();
+        builder.failFast = isFailFast();
+
+        return builder;
+    }
+
+    /**
+     * @return {@code true} if the adaptive in-flight limit is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the initial in-flight limit.
+     */
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    /**
+     * @return the lower bound of the in-flight limit.
+     */
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    /**
+     * @return the upper bound of the in-flight limit.
+     */
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * @return the latency tolerance.
+     */
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * @return the smoothing factor.
+     */
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    /**
+     * @return the ratio by which the limit is reduced on command timeouts.
+     */
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    /**
+     * @return {@code true} if commands exceeding the limit are rejected instead of queued.
+     */
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+}
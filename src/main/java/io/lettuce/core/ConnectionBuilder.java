@@ -54,6 +54,7 @@ import io.netty.channel.EventLoopGroup;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.socket.nio.NioChannelOption;
 import io.netty.util.AttributeKey;
+import io.netty.util.internal.PlatformDependent;
 import io.netty.util.internal.logging.InternalLogger;
 import io.netty.util.internal.logging.InternalLoggerFactory;
 
@@ -129,7 +130,7 @@ public class ConnectionBuilder {
         connection.setOptions(clientOptions);
 
         handlers.add(new ChannelGroupListener(channelGroup, clientResources.eventBus()));
-        handlers.add(new CommandEncoder());
+        handlers.add(new CommandEncoder(PlatformDependent.directBufferPreferred(), clientOptions.getZeroCopyWriteThreshold()));
         handlers.add(getHandshakeHandler());
         handlers.add(commandHandlerSupplier.get());
 
@@ -171,6 +172,7 @@ public class ConnectionBuilder {
                     connection, clientResources.eventBus(), endpoint);
         }
 
+        watchdog.setReconnectGovernor(clientResources.reconnectGovernor());
         endpoint.registerConnectionWatchdog(watchdog);
 
         connectionWatchdog = watchdog;
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core;
+
+import java.util.Arrays;
+
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Columnar representation of geo coordinates. Longitudes and latitudes are held in two parallel {@code double} arrays instead
+ * of one {@link GeoCoordinates} per member. Members without a position are represented by {@link Double#NaN} in both
+ * columns.
+ * <p>
+ * Columns are exposed without copying. Callers must not modify the arrays returned by {@link #getLongitudes()} and
+ * {@link #getLatitudes()}.
+ *
+ * @since 7.0
+ * @see io.lettuce.core.output.GeoCoordinatesColumnsOutput
+ */
+public class GeoCoordinatesColumns {
+
+    private static final GeoCoordinatesColumns EMPTY = new GeoCoordinatesColumns(new double[0], new double[0]);
+
+    private final double[] longitudes;
+
+    private final double[] latitudes;
+
+    /**
+     * Creates new {@link GeoCoordinatesColumns}.
+     *
+     * @param longitudes the longitudes, must not be {@code null}.
+     * @param latitudes the latitudes, must not be {@code null} and must have the same length as {@code longitudes}.
+     */
+    public GeoCoordinatesColumns(double[] longitudes, double[] latitudes) {
+
+        LettuceAssert.notNull(longitudes, "Longitudes must not be null");
+        LettuceAssert.notNull(latitudes, "Latitudes must not be null");
+        LettuceAssert.isTrue(longitudes.length == latitudes.length, "Longitudes and latitudes must have the same size");
+
+        this.longitudes = longitudes;
+        this.latitudes = latitudes;
+    }
+
+    /**
+     * @return an empty {@link GeoCoordinatesColumns}.
+     */
+    public static GeoCoordinatesColumns empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @return the number of members.
+     */
+    public int size() {
+        return longitudes.length;
+    }
+
+    /**
+     * @param index the member index.
+     * @return {@code true} if the member at {@code index} has a position.
+     */
+    public boolean isPresent(int index) {
+        return !Double.isNaN(longitudes[index]);
+    }
+
+    /**
+     * @return the longitude column. The array is not copied.
+     */
+    public double[] getLongitudes() {
+        return longitudes;
+    }
+
+    /**
+     * @return the latitude column. The array is not copied.
+     */
+    public double[] getLatitudes() {
+        return latitudes;
+    }
+
+    /**
+     * @param index the member index.
+     * @return the {@link GeoCoordinates} at {@code index} or {@code null} if the member has no position.
+     */
+    public GeoCoordinates getCoordinates(int index) {
+        return isPresent(index) ? GeoCoordinates.create(longitudes[index], latitudes[index]) : null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof GeoCoordinatesColumns))
+            return false;
+
+        GeoCoordinatesColumns that = (GeoCoordinatesColumns) o;
+
+        return Arrays.equals(longitudes, that.longitudes) && Arrays.equals(latitudes, that.latitudes);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(longitudes) + Arrays.hashCode(latitudes);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GeoCoordinatesColumns[longitudes=%s, latitudes=%s]", Arrays.toString(longitudes),
+                Arrays.toString(latitudes));
+    }
+
+}
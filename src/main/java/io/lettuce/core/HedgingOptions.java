@@ -0,0 +1,274 @@
+package io.lettuce.core;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Options for hedged reads on Master/Replica and Redis Cluster connections. When enabled, a read-only command (as classified
+ * by {@link ClientOptions#getReadOnlyCommands()}) that has not received a reply within the hedging delay is sent a second time
+ * to another node eligible through the configured {@link ReadFrom} setting. The first successful reply completes the command,
+ * the other reply is discarded.
+ * <p>
+ * The hedging delay is derived from the observed latency percentile of the node that received the command. Until enough
+ * latency samples are available, or if {@link Builder#adaptive(boolean) adaptive} delays are disabled, the fixed
+ * {@link Builder#delay(Duration) delay} applies. The {@link Builder#budget(double) budget} caps the additional load: at most
+ * the configured fraction of read commands is hedged.
+ * <p>
+ * Hedging applies only to commands written outside of transactions and requires a {@link ReadFrom} setting that selects more
+ * than one node.
+ *
+ * @since 7.0
+ */
+@SuppressWarnings("serial")
+public class HedgingOptions implements Serializable {
+
+    public static final boolean DEFAULT_ENABLED = false;
+
+    public static final Duration DEFAULT_DELAY = Duration.ofMillis(10);
+
+    public static final Duration DEFAULT_MIN_DELAY = Duration.ofMillis(1);
+
+    public static final boolean DEFAULT_ADAPTIVE = true;
+
+    public static final double DEFAULT_PERCENTILE = 0.95;
+
+    public static final double DEFAULT_BUDGET = 0.05;
+
+    private final boolean enabled;
+
+    private final Duration delay;
+
+    private final Duration minDelay;
+
+    private final boolean adaptive;
+
+    private final double percentile;
+
+    private final double budget;
+
+    private HedgingOptions(Builder builder) {
+
+        this.enabled = builder.enabled;
+        this.delay = builder.delay;
+        this.minDelay = builder.minDelay;
+        this.adaptive = builder.adaptive;
+        this.percentile = builder.percentile;
+        this.budget = builder.budget;
+    }
+
+    /**
+     * Returns a new {@link HedgingOptions.Builder} to construct {@link HedgingOptions}.
+     *
+     * @return a new {@link HedgingOptions.Builder} to construct {@link HedgingOptions}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create a new instance of {@link HedgingOptions} with default settings (disabled).
+     *
+     * @return a new instance of {@link HedgingOptions} with default settings.
+     */
+    public static HedgingOptions create() {
+        return builder().build();
+    }
+
+    /**
+     * Create a new instance of {@link HedgingOptions} with hedging enabled using default settings.
+     *
+     * @return a new instance of {@link HedgingOptions} with hedging enabled.
+     */
+    public static HedgingOptions enabled() {
+        return builder().enable().build();
+    }
+
+    /**
+     * Builder for {@link HedgingOptions}.
+     */
+    public static class Builder {
+
+        private boolean enabled = DEFAULT_ENABLED;
+
+        private Duration delay = DEFAULT_DELAY;
+
+        private Duration minDelay = DEFAULT_MIN_DELAY;
+
+        private boolean adaptive = DEFAULT_ADAPTIVE;
+
+        private double percentile = DEFAULT_PERCENTILE;
+
+        private double budget = DEFAULT_BUDGET;
+
+        private Builder() {
+        }
+
+        /**
+         * Enable hedged reads. Disabled by default, see {@link #DEFAULT_ENABLED}.
+         *
+         * @return {@code this}
+         */
+        public Builder enable() {
+            return enabled(true);
+        }
+
+        /**
+         * Configure whether hedged reads are enabled. Disabled by default, see {@link #DEFAULT_ENABLED}.
+         *
+         * @param enabled {@code true} to enable hedged reads.
+         * @return {@code this}
+         */
+        public Builder enabled(boolean enabled) {
+
+            this.enabled = enabled;
+            return this;
+        }
+
+        /**
+         * Set the fixed hedging delay. The fixed delay applies if adaptive delays are disabled or not enough latency samples
+         * are available. See {@link #DEFAULT_DELAY}.
+         *
+         * @param delay the delay, must not be {@code null} or negative.
+         * @return {@code this}
+         */
+        public Builder delay(Duration delay) {
+
+            LettuceAssert.notNull(delay, "Delay must not be null");
+            LettuceAssert.isTrue(!delay.isNegative(), "Delay must not be negative");
+
+            this.delay = delay;
+            return this;
+        }
+
+        /**
+         * Set the lower bound for adaptive hedging delays. See {@link #DEFAULT_MIN_DELAY}.
+         *
+         * @param minDelay the minimum delay, must not be {@code null} or negative.
+         * @return {@code this}
+         */
+        public Builder minDelay(Duration minDelay) {
+
+            LettuceAssert.notNull(minDelay, "Minimum delay must not be null");
+            LettuceAssert.isTrue(!minDelay.isNegative(), "Minimum delay must not be negative");
+
+            this.minDelay = minDelay;
+            return this;
+        }
+
+        /**
+         * Configure whether to derive the hedging delay from the observed latency percentile of each node. See
+         * {@link #DEFAULT_ADAPTIVE}.
+         *
+         * @param adaptive {@code true} to use adaptive delays.
+         * @return {@code this}
+         */
+        public Builder adaptive(boolean adaptive) {
+
+            this.adaptive = adaptive;
+            return this;
+        }
+
+        /**
+         * Set the latency percentile used as adaptive hedging delay. See {@link #DEFAULT_PERCENTILE}.
+         *
+         * @param percentile the percentile, must be between {@code 0} and {@code 1} (exclusive).
+         * @return {@code this}
+         */
+        public Builder percentile(double percentile) {
+
+            LettuceAssert.isTrue(percentile > 0 && percentile < 1, "Percentile must be between 0 and 1");
+
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * Set the hedging budget as fraction of read commands that may be hedged. See {@link #DEFAULT_BUDGET}.
+         *
+         * @param budget the budget, must be between {@code 0} (exclusive) and {@code 1} (inclusive).
+         * @return {@code this}
+         */
+        public Builder budget(double budget) {
+
+            LettuceAssert.isTrue(budget > 0 && budget <= 1, "Budget must be between 0 and 1");
+
+            this.budget = budget;
+            return this;
+        }
+
+        /**
+         * Create a new instance of {@link HedgingOptions}.
+         *
+         * @return new instance of {@link HedgingOptions}
+         */
+        public HedgingOptions build() {
+            return new HedgingOptions(this);
+        }
+
+    }
+
+    /**
+     * Returns a builder to create new {@link HedgingOptions} whose settings are replicated from the current
+     * {@link HedgingOptions}.
+     *
+     * @return a {@link HedgingOptions.Builder} to create new {@link HedgingOptions} whose settings are replicated from the
+     *         current {@link HedgingOptions}.
+     */
+    public Builder mutate() {
+
+        Builder builder = new Builder();
+        builder.enabled = isEnabled();
+        builder.delay = getDelay();
+        builder.minDelay = getMinDelay();
+        builder.adaptive = isAdaptive();
+        builder.percentile = getPercentile();
+        builder.budget = getBudget();
+
+        return builder;
+    }
+
+    /**
+     * @return {@code true} if hedged reads are enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the fixed hedging delay.
+     */
+    public Duration getDelay() {
+        return delay;
+    }
+
+    /**
+     * @return the lower bound for adaptive hedging delays.
+     */
+    public Duration getMinDelay() {
+        return minDelay;
+    }
+
+    /**
+     * @return {@code true} if the hedging delay is derived from observed latencies.
+     */
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * @return the latency percentile used as adaptive hedging delay.
+     */
+    public double getPercentile() {
+        return percentile;
+    }
+
+    /**
+     * @return the fraction of read commands that may be hedged.
+     */
+    public double getBudget() {
+        return budget;
+    }
+
+}
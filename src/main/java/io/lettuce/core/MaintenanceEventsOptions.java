@@ -45,13 +45,18 @@ public class MaintenanceEventsOptions {
 
     public static final AddressTypeSource DEFAULT_ADDRESS_TYPE_SOURCE = new AutoresolveAddressTypeSource();
 
+    public static final boolean DEFAULT_MAKE_BEFORE_BREAK = false;
+
     private final boolean supportMaintenanceEvents;
 
     private final AddressTypeSource addressTypeSource;
 
+    private final boolean makeBeforeBreak;
+
     protected MaintenanceEventsOptions(MaintenanceEventsOptions.Builder builder) {
         this.addressTypeSource = builder.addressTypeSource;
         this.supportMaintenanceEvents = builder.supportMaintenanceEvents;
+        this.makeBeforeBreak = builder.makeBeforeBreak;
     }
 
     public static MaintenanceEventsOptions.Builder builder() {
@@ -119,12 +124,24 @@ public class MaintenanceEventsOptions {
         return addressTypeSource;
     }
 
+    /**
+     * Check if {@code MOVING} events are handled make-before-break.
+     *
+     * @return true if a new connection is established before the current connection is closed
+     * @since 7.0
+     */
+    public boolean isMakeBeforeBreak() {
+        return makeBeforeBreak;
+    }
+
     public static class Builder {
 
         private boolean supportMaintenanceEvents = DEFAULT_SUPPORT_MAINTENANCE_EVENTS;
 
         private AddressTypeSource addressTypeSource = DEFAULT_ADDRESS_TYPE_SOURCE;
 
+        private boolean makeBeforeBreak = DEFAULT_MAKE_BEFORE_BREAK;
+
         public MaintenanceEventsOptions.Builder supportMaintenanceEvents() {
             return supportMaintenanceEvents(true);
         }
@@ -173,6 +190,34 @@ public class MaintenanceEventsOptions {
             return this;
         }
 
+        /**
+         * Handle {@code MOVING} events make-before-break.
+         *
+         * @return this builder
+         * @see #makeBeforeBreak(boolean)
+         * @since 7.0
+         */
+        public Builder makeBeforeBreak() {
+            return makeBeforeBreak(true);
+        }
+
+        /**
+         * Configure whether {@code MOVING} events are handled make-before-break. If enabled, a new connection to the target
+         * endpoint is established and initialized in the background while the current connection keeps serving commands. New
+         * commands are written to the new connection as soon as it is active and the current connection is closed once its
+         * outstanding commands have completed. Commands issued after the switch may therefore complete before commands still
+         * outstanding on the previous connection. If the new connection cannot be established, the current connection is
+         * re-bound as without make-before-break. Defaults to {@code false}.
+         *
+         * @param makeBeforeBreak {@code true} to establish the new connection before closing the current one
+         * @return this builder
+         * @since 7.0
+         */
+        public Builder makeBeforeBreak(boolean makeBeforeBreak) {
+            this.makeBeforeBreak = makeBeforeBreak;
+            return this;
+        }
+
         public MaintenanceEventsOptions build() {
             return new MaintenanceEventsOptions(this);
         }
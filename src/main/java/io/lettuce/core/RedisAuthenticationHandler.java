@@ -340,6 +340,11 @@ public class RedisAuthenticationHandler<K, V> {
         RedisChannelWriter writer = connection.getChannelWriter();
         while (!(writer instanceof Endpoint)) {
 
+            if (writer instanceof BlockingCommandWriter) {
+                writer = ((BlockingCommandWriter) writer).getDelegate();
+                continue;
+            }
+
             if (writer instanceof CommandListenerWriter) {
                 writer = ((CommandListenerWriter) writer).getDelegate();
                 continue;
@@ -120,8 +120,12 @@ public abstract class RedisChannelHandler<K, V> implements Closeable, Connection
         this.timeout = timeout;
 
         RedisChannelWriter writer = channelWriter;
+        if (writer instanceof BlockingCommandWriter) {
+            writer = ((BlockingCommandWriter) writer).getDelegate();
+        }
+
         if (writer instanceof CommandListenerWriter) {
-            writer = ((CommandListenerWriter) channelWriter).getDelegate();
+            writer = ((CommandListenerWriter) writer).getDelegate();
         }
 
         if (writer instanceof CommandExpiryWriter) {
@@ -269,6 +269,11 @@ public class RedisClient extends AbstractRedisClient {
 
     private <K, V> ConnectionFuture<StatefulRedisConnection<K, V>> connectStandaloneAsync(RedisCodec<K, V> codec,
             RedisURI redisURI, Duration timeout) {
+        return connectStandaloneAsync(codec, redisURI, timeout, BlockingCommandWriter.isSupported(getOptions()));
+    }
+
+    private <K, V> ConnectionFuture<StatefulRedisConnection<K, V>> connectStandaloneAsync(RedisCodec<K, V> codec,
+            RedisURI redisURI, Duration timeout, boolean isolateBlockingCommands) {
 
         assertNotNull(codec);
         checkValidRedisURI(redisURI);
@@ -286,6 +291,11 @@ public class RedisClient extends AbstractRedisClient {
             writer = new CommandListenerWriter(writer, getCommandListeners());
         }
 
+        if (isolateBlockingCommands) {
+            writer = new BlockingCommandWriter(writer, getOptions().getBlockingCommandIsolationOptions(),
+                    () -> connectStandaloneAsync(codec, redisURI, timeout, false));
+        }
+
         StatefulRedisConnectionImpl<K, V> connection = newStatefulRedisConnection(writer, endpoint, codec, timeout);
 
         ConnectionFuture<StatefulRedisConnection<K, V>> future = connectStatefulAsync(connection, endpoint, redisURI,
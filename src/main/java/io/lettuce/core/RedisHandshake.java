@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
@@ -65,6 +66,8 @@ class RedisHandshake implements ConnectionInitializer {
 
     private final boolean pingOnConnect;
 
+    private final boolean pipelined;
+
     private final ConnectionState connectionState;
 
     private volatile ProtocolVersion negotiatedProtocolVersion;
@@ -73,10 +76,16 @@ class RedisHandshake implements ConnectionInitializer {
 
     RedisHandshake(ProtocolVersion requestedProtocolVersion, boolean pingOnConnect, ConnectionState connectionState,
             MaintenanceEventsOptions.AddressTypeSource addressTypeSource) {
+        this(requestedProtocolVersion, pingOnConnect, false, connectionState, addressTypeSource);
+    }
+
+    RedisHandshake(ProtocolVersion requestedProtocolVersion, boolean pingOnConnect, boolean pipelined,
+            ConnectionState connectionState, MaintenanceEventsOptions.AddressTypeSource addressTypeSource) {
 
         this.addressTypeSource = addressTypeSource;
         this.requestedProtocolVersion = requestedProtocolVersion;
         this.pingOnConnect = pingOnConnect;
+        this.pipelined = pipelined;
         this.connectionState = connectionState;
     }
 
@@ -97,6 +106,16 @@ class RedisHandshake implements ConnectionInitializer {
     @Override
     public CompletionStage<Void> initialize(Channel channel) {
 
+        if (pipelined && (requestedProtocolVersion == null || requestedProtocolVersion == ProtocolVersion.RESP2
+                || requestedProtocolVersion == ProtocolVersion.RESP3)) {
+            return initializePipelined(channel);
+        }
+
+        return initializeStepwise(channel);
+    }
+
+    private CompletionStage<Void> initializeStepwise(Channel channel) {
+
         CompletionStage<?> handshake;
 
         if (this.requestedProtocolVersion == ProtocolVersion.RESP2) {
@@ -111,6 +130,11 @@ class RedisHandshake implements ConnectionInitializer {
                     new RedisConnectionException("Protocol version" + this.requestedProtocolVersion + " not supported"));
         }
 
+        return applyPostHandshakeStepwise(channel, handshake);
+    }
+
+    private CompletionStage<Void> applyPostHandshakeStepwise(Channel channel, CompletionStage<?> handshake) {
+
         return handshake
                 // post-handshake commands, whose execution failures would cause the connection to be considered
                 // unsuccessfully established
@@ -122,6 +146,136 @@ class RedisHandshake implements ConnectionInitializer {
                 .thenCompose(ignore -> enableMaintenanceEvents(channel));
     }
 
+    /**
+     * Write the protocol handshake and all post-handshake commands with a single flush. Responses are validated in the order
+     * the commands were written. Falls back to {@link #initializeStepwise(Channel) stepwise initialization} using RESP2 if
+     * the server does not support {@code HELLO} during protocol discovery.
+     */
+    private CompletionStage<Void> initializePipelined(Channel channel) {
+
+        RedisCredentialsProvider credentialsProvider = connectionState.getCredentialsProvider();
+
+        if (credentialsProvider instanceof RedisCredentialsProvider.ImmediateRedisCredentialsProvider) {
+            return initializePipelined(channel,
+                    ((RedisCredentialsProvider.ImmediateRedisCredentialsProvider) credentialsProvider).resolveCredentialsNow());
+        }
+
+        CompletableFuture<RedisCredentials> credentialsFuture = credentialsProvider.resolveCredentials().toFuture();
+
+        return credentialsFuture.thenComposeAsync(credentials -> initializePipelined(channel, credentials));
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletionStage<Void> initializePipelined(Channel channel, RedisCredentials credentials) {
+
+        boolean resp2 = requestedProtocolVersion == ProtocolVersion.RESP2;
+        AsyncCommand<String, String, ?> handshake = resp2 ? getAuthOrPing(credentials) : getHello(credentials);
+
+        List<AsyncCommand<?, ?, ?>> postHandshake = getPostHandshakeCommands();
+        List<AsyncCommand<?, ?, ?>> optional = getConnectionMetadataCommands(
+                resp2 ? ProtocolVersion.RESP2 : ProtocolVersion.RESP3);
+        optional.addAll(getMaintenanceEventsCommands(channel));
+
+        List<AsyncCommand<?, ?, ?>> commands = new ArrayList<>(1 + postHandshake.size() + optional.size());
+
+        if (handshake != null) {
+            commands.add(handshake);
+        }
+
+        commands.addAll(postHandshake);
+        commands.addAll(optional);
+
+        if (commands.isEmpty()) {
+            onResp2Handshake();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        channel.writeAndFlush(commands).addListener(writeFuture -> {
+
+            if (!writeFuture.isSuccess()) {
+                commands.forEach(command -> command.completeExceptionally(writeFuture.cause()));
+            }
+        });
+
+        CompletableFuture<Void> result = new CompletableFuture<>();
+
+        CompletableFuture.allOf(commands.toArray(new CompletableFuture[0])).whenComplete((ignore, ignoredThrowable) -> {
+
+            Throwable handshakeError = getError(handshake);
+
+            if (handshakeError != null) {
+
+                if (requestedProtocolVersion == null && (isUnknownCommand(handshakeError) || isNoProto(handshakeError))) {
+                    fallbackToStepwise(channel, handshakeError, result);
+                } else {
+                    result.completeExceptionally(handshakeError);
+                }
+                return;
+            }
+
+            try {
+
+                if (resp2) {
+                    onResp2Handshake();
+                } else {
+                    onHelloResponse((Map<String, Object>) handshake.join());
+                }
+
+                for (AsyncCommand<?, ?, ?> command : postHandshake) {
+
+                    Throwable error = getError(command);
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                        return;
+                    }
+                }
+
+                for (AsyncCommand<?, ?, ?> command : optional) {
+
+                    Throwable error = getError(command);
+                    if (error != null && LOG.isDebugEnabled()) {
+                        LOG.debug("Error applying optional handshake command " + command.getType(), error);
+                    }
+                }
+
+                result.complete(null);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+
+        return result;
+    }
+
+    private void fallbackToStepwise(Channel channel, Throwable helloError, CompletableFuture<Void> result) {
+
+        applyPostHandshakeStepwise(channel, initializeResp2(channel)).whenComplete((ignore, throwable) -> {
+
+            if (throwable != null) {
+                throwable.addSuppressed(helloError);
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(null);
+            }
+        });
+    }
+
+    private static Throwable getError(AsyncCommand<?, ?, ?> command) {
+
+        if (command == null || !command.isCompletedExceptionally()) {
+            return null;
+        }
+
+        try {
+            command.join();
+            return null;
+        } catch (CompletionException e) {
+            return e.getCause();
+        } catch (CancellationException e) {
+            return e;
+        }
+    }
+
     private CompletionStage<?> tryHandshakeResp3(Channel channel) {
 
         CompletableFuture<?> handshake = new CompletableFuture<>();
@@ -171,12 +325,15 @@ class RedisHandshake implements ConnectionInitializer {
 
     private CompletableFuture<?> initializeResp2(Channel channel) {
 
-        return initiateHandshakeResp2(channel, connectionState.getCredentialsProvider()).thenRun(() -> {
-            negotiatedProtocolVersion = ProtocolVersion.RESP2;
+        return initiateHandshakeResp2(channel, connectionState.getCredentialsProvider()).thenRun(this::onResp2Handshake);
+    }
 
-            connectionState.setHandshakeResponse(
-                    new ConnectionState.HandshakeResponse(negotiatedProtocolVersion, null, null, null, null));
-        });
+    private void onResp2Handshake() {
+
+        negotiatedProtocolVersion = ProtocolVersion.RESP2;
+
+        connectionState
+                .setHandshakeResponse(new ConnectionState.HandshakeResponse(negotiatedProtocolVersion, null, null, null, null));
     }
 
     private CompletionStage<Void> initializeResp3(Channel channel) {
@@ -217,15 +374,26 @@ class RedisHandshake implements ConnectionInitializer {
 
     private CompletableFuture<String> dispatchAuthOrPing(Channel channel, RedisCredentials credentials) {
 
+        AsyncCommand<String, String, String> authOrPing = getAuthOrPing(credentials);
+
+        if (authOrPing == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return dispatch(channel, authOrPing);
+    }
+
+    private AsyncCommand<String, String, String> getAuthOrPing(RedisCredentials credentials) {
+
         if (credentials.hasUsername()) {
-            return dispatch(channel, this.commandBuilder.auth(credentials.getUsername(), credentials.getPassword()));
+            return new AsyncCommand<>(this.commandBuilder.auth(credentials.getUsername(), credentials.getPassword()));
         } else if (credentials.hasPassword()) {
-            return dispatch(channel, this.commandBuilder.auth(credentials.getPassword()));
+            return new AsyncCommand<>(this.commandBuilder.auth(credentials.getPassword()));
         } else if (this.pingOnConnect) {
-            return dispatch(channel, this.commandBuilder.ping());
+            return new AsyncCommand<>(this.commandBuilder.ping());
         }
 
-        return CompletableFuture.completedFuture(null);
+        return null;
     }
 
     /**
@@ -249,19 +417,33 @@ class RedisHandshake implements ConnectionInitializer {
     }
 
     private AsyncCommand<String, String, Map<String, Object>> dispatchHello(Channel channel, RedisCredentials credentials) {
+        return dispatch(channel, getHello(credentials));
+    }
+
+    private AsyncCommand<String, String, Map<String, Object>> getHello(RedisCredentials credentials) {
 
         if (credentials.hasPassword()) {
-            return dispatch(channel,
-                    this.commandBuilder.hello(3,
-                            LettuceStrings.isNotEmpty(credentials.getUsername()) ? credentials.getUsername() : "default",
-                            credentials.getPassword(), connectionState.getClientName()));
+            return new AsyncCommand<>(this.commandBuilder.hello(3,
+                    LettuceStrings.isNotEmpty(credentials.getUsername()) ? credentials.getUsername() : "default",
+                    credentials.getPassword(), connectionState.getClientName()));
         }
 
-        return dispatch(channel, this.commandBuilder.hello(3, null, null, connectionState.getClientName()));
+        return new AsyncCommand<>(this.commandBuilder.hello(3, null, null, connectionState.getClientName()));
     }
 
     private CompletableFuture<Void> applyPostHandshake(Channel channel) {
 
+        List<AsyncCommand<?, ?, ?>> postHandshake = getPostHandshakeCommands();
+
+        if (postHandshake.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return dispatch(channel, postHandshake);
+    }
+
+    private List<AsyncCommand<?, ?, ?>> getPostHandshakeCommands() {
+
         List<AsyncCommand<?, ?, ?>> postHandshake = new ArrayList<>();
 
         if (connectionState.getDb() > 0) {
@@ -272,11 +454,7 @@ class RedisHandshake implements ConnectionInitializer {
             postHandshake.add(new AsyncCommand<>(this.commandBuilder.readOnly()));
         }
 
-        if (postHandshake.isEmpty()) {
-            return CompletableFuture.completedFuture(null);
-        }
-
-        return dispatch(channel, postHandshake);
+        return postHandshake;
     }
 
     private String addressType(Channel channel, ConnectionState state, AddressTypeSource addressTypeSource) {
@@ -314,10 +492,20 @@ class RedisHandshake implements ConnectionInitializer {
 
     private CompletableFuture<Void> applyConnectionMetadata(Channel channel) {
 
+        List<AsyncCommand<?, ?, ?>> postHandshake = getConnectionMetadataCommands(getNegotiatedProtocolVersion());
+
+        if (postHandshake.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return dispatch(channel, postHandshake);
+    }
+
+    private List<AsyncCommand<?, ?, ?>> getConnectionMetadataCommands(ProtocolVersion negotiatedProtocolVersion) {
+
         List<AsyncCommand<?, ?, ?>> postHandshake = new ArrayList<>();
 
         ConnectionMetadata metadata = connectionState.getConnectionMetadata();
-        ProtocolVersion negotiatedProtocolVersion = getNegotiatedProtocolVersion();
 
         if (metadata.getClientName() != null && negotiatedProtocolVersion == ProtocolVersion.RESP2) {
             postHandshake.add(new AsyncCommand<>(this.commandBuilder.clientSetname(connectionState.getClientName())));
@@ -331,11 +519,7 @@ class RedisHandshake implements ConnectionInitializer {
             postHandshake.add(new AsyncCommand<>(this.commandBuilder.clientSetinfo("lib-ver", metadata.getLibraryVersion())));
         }
 
-        if (postHandshake.isEmpty()) {
-            return CompletableFuture.completedFuture(null);
-        }
-
-        return dispatch(channel, postHandshake);
+        return postHandshake;
     }
 
     private CompletionStage<Void> enableMaintenanceEvents(Channel channel) {
@@ -351,6 +535,18 @@ class RedisHandshake implements ConnectionInitializer {
     }
 
     private CompletionStage<Void> sendMaintenanceNotificationsOn(Channel channel) {
+
+        List<AsyncCommand<?, ?, ?>> postHandshake = getMaintenanceEventsCommands(channel);
+
+        if (postHandshake.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return dispatch(channel, postHandshake);
+    }
+
+    private List<AsyncCommand<?, ?, ?>> getMaintenanceEventsCommands(Channel channel) {
+
         List<AsyncCommand<?, ?, ?>> postHandshake = new ArrayList<>();
 
         if (addressTypeSource != null) {
@@ -366,11 +562,7 @@ class RedisHandshake implements ConnectionInitializer {
             postHandshake.add(new AsyncCommand<>(maintNotificationsOn));
         }
 
-        if (postHandshake.isEmpty()) {
-            return CompletableFuture.completedFuture(null);
-        }
-
-        return dispatch(channel, postHandshake);
+        return postHandshake;
     }
 
     private CompletableFuture<Void> dispatch(Channel channel, List<AsyncCommand<?, ?, ?>> commands) {
@@ -379,9 +571,7 @@ class RedisHandshake implements ConnectionInitializer {
         return CompletableFuture.allOf(Futures.allOf(commands), writeFuture.toCompletableFuture());
     }
 
-    private <T> AsyncCommand<String, String, T> dispatch(Channel channel, Command<String, String, T> command) {
-
-        AsyncCommand<String, String, T> future = new AsyncCommand<>(command);
+    private <T> AsyncCommand<String, String, T> dispatch(Channel channel, AsyncCommand<String, String, T> future) {
 
         channel.writeAndFlush(future).addListener(writeFuture -> {
 
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Columnar representation of values and their scores. Values and scores are held in two parallel columns instead of one
+ * {@link ScoredValue} per member which avoids per-member allocations when decoding large sorted-set ranges.
+ * <p>
+ * The score column is exposed without copying. Callers must not modify the array returned by {@link #getScores()}.
+ *
+ * @param <V> Value type.
+ * @since 7.0
+ * @see io.lettuce.core.output.ScoredValueColumnsOutput
+ */
+public class ScoredValueColumns<V> {
+
+    private static final ScoredValueColumns<Object> EMPTY = new ScoredValueColumns<>(Collections.emptyList(), new double[0]);
+
+    private final List<V> values;
+
+    private final double[] scores;
+
+    /**
+     * Creates new {@link ScoredValueColumns}.
+     *
+     * @param values the values, must not be {@code null}.
+     * @param scores the scores, must not be {@code null} and must have the same length as {@code values}.
+     */
+    public ScoredValueColumns(List<V> values, double[] scores) {
+
+        LettuceAssert.notNull(values, "Values must not be null");
+        LettuceAssert.notNull(scores, "Scores must not be null");
+        LettuceAssert.isTrue(values.size() == scores.length, "Values and scores must have the same size");
+
+        this.values = values;
+        this.scores = scores;
+    }
+
+    /**
+     * Returns an empty {@link ScoredValueColumns}.
+     *
+     * @param <V> Value type.
+     * @return the empty {@link ScoredValueColumns}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> ScoredValueColumns<V> empty() {
+        return (ScoredValueColumns<V>) EMPTY;
+    }
+
+    /**
+     * @return the number of members.
+     */
+    public int size() {
+        return scores.length;
+    }
+
+    /**
+     * @return {@code true} if there are no members.
+     */
+    public boolean isEmpty() {
+        return scores.length == 0;
+    }
+
+    /**
+     * @return the value column.
+     */
+    public List<V> getValues() {
+        return values;
+    }
+
+    /**
+     * @return the score column. The array is not copied.
+     */
+    public double[] getScores() {
+        return scores;
+    }
+
+    /**
+     * @param index the member index.
+     * @return the value at {@code index}.
+     */
+    public V getValue(int index) {
+        return values.get(index);
+    }
+
+    /**
+     * @param index the member index.
+     * @return the score at {@code index}.
+     */
+    public double getScore(int index) {
+        return scores[index];
+    }
+
+    /**
+     * Materialize the columns as {@link List} of {@link ScoredValue}.
+     *
+     * @return the list of {@link ScoredValue}.
+     */
+    public List<ScoredValue<V>> toScoredValues() {
+
+        List<ScoredValue<V>> result = new ArrayList<>(scores.length);
+
+        for (int i = 0; i < scores.length; i++) {
+            result.add(ScoredValue.just(scores[i], values.get(i)));
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof ScoredValueColumns))
+            return false;
+
+        ScoredValueColumns<?> that = (ScoredValueColumns<?>) o;
+
+        return values.equals(that.values) && Arrays.equals(scores, that.scores);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * values.hashCode() + Arrays.hashCode(scores);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ScoredValueColumns[values=%s, scores=%s]", values, Arrays.toString(scores));
+    }
+
+}
@@ -25,23 +25,28 @@ import java.net.SocketAddress;
 import java.security.GeneralSecurityException;
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSession;
 
+import io.lettuce.core.event.EventBus;
+import io.lettuce.core.event.connection.SslHandshakeEvent;
 import io.lettuce.core.internal.HostAndPort;
 import io.lettuce.core.internal.LettuceAssert;
+import io.lettuce.core.protocol.CommandHandler;
 import io.lettuce.core.resource.ClientResources;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.handler.ssl.SslContext;
-import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.SslHandler;
-import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty.handler.ssl.SslHandshakeCompletionEvent;
 
 /**
  * Connection builder for SSL connections. This class is part of the internal API.
@@ -149,11 +154,14 @@ public class SslConnectionBuilder extends ConnectionBuilder {
         protected void initChannel(Channel channel) throws Exception {
 
             SSLEngine sslEngine = initializeSSLEngine(channel.alloc());
-            SslHandler sslHandler = new SslHandler(sslEngine, startTls);
+            Executor handshakeExecutor = sslOptions.getHandshakeExecutor();
+            SslHandler sslHandler = handshakeExecutor != null ? new SslHandler(sslEngine, startTls, handshakeExecutor)
+                    : new SslHandler(sslEngine, startTls);
             Duration sslHandshakeTimeout = sslOptions.getHandshakeTimeout();
             sslHandler.setHandshakeTimeoutMillis(sslHandshakeTimeout.toMillis());
 
             channel.pipeline().addLast(sslHandler);
+            channel.pipeline().addLast(new SslHandshakeListener(clientResources.eventBus()));
 
             for (ChannelHandler handler : handlers.get()) {
                 channel.pipeline().addLast(handler);
@@ -165,17 +173,15 @@ public class SslConnectionBuilder extends ConnectionBuilder {
         private SSLEngine initializeSSLEngine(ByteBufAllocator alloc) throws IOException, GeneralSecurityException {
 
             SSLParameters sslParams = sslOptions.createSSLParameters();
-            SslContextBuilder sslContextBuilder = sslOptions.createSslContextBuilder();
 
             if (verifyPeer == SslVerifyMode.FULL) {
                 sslParams.setEndpointIdentificationAlgorithm("HTTPS");
             } else if (verifyPeer == SslVerifyMode.CA) {
                 sslParams.setEndpointIdentificationAlgorithm("");
-            } else if (verifyPeer == SslVerifyMode.NONE) {
-                sslContextBuilder.trustManager(InsecureTrustManagerFactory.INSTANCE);
             }
 
-            SslContext sslContext = sslContextBuilder.build();
+            // engines created with host and port participate in the client session cache of a shared context
+            SslContext sslContext = clientResources.sslContextCache().getSslContext(sslOptions, verifyPeer);
 
             SSLEngine sslEngine = hostAndPort != null
                     ? sslContext.newEngine(alloc, hostAndPort.getHostText(), hostAndPort.getPort())
@@ -193,4 +199,69 @@ public class SslConnectionBuilder extends ConnectionBuilder {
 
     }
 
+    /**
+     * Handler measuring the SSL handshake and publishing a {@link SslHandshakeEvent} once the handshake has completed. Removes
+     * itself from the pipeline afterwards.
+     */
+    static class SslHandshakeListener extends ChannelInboundHandlerAdapter {
+
+        private final EventBus eventBus;
+
+        private long startNanos;
+
+        private long startMillis;
+
+        SslHandshakeListener(EventBus eventBus) {
+            this.eventBus = eventBus;
+        }
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) throws Exception {
+
+            startNanos = System.nanoTime();
+            startMillis = System.currentTimeMillis();
+
+            super.channelActive(ctx);
+        }
+
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+
+            if (evt instanceof SslHandshakeCompletionEvent) {
+
+                if (((SslHandshakeCompletionEvent) evt).isSuccess()) {
+                    publishHandshakeEvent(ctx);
+                }
+
+                ctx.pipeline().remove(this);
+            }
+
+            super.userEventTriggered(ctx, evt);
+        }
+
+        private void publishHandshakeEvent(ChannelHandlerContext ctx) {
+
+            SslHandler sslHandler = ctx.pipeline().get(SslHandler.class);
+            if (sslHandler == null) {
+                return;
+            }
+
+            Channel channel = ctx.channel();
+            SSLSession session = sslHandler.engine().getSession();
+            Duration duration = Duration.ofNanos(System.nanoTime() - startNanos);
+
+            // a resumed session retains the creation time of the session it was resumed from
+            boolean resumed = session.getCreationTime() < startMillis;
+
+            CommandHandler commandHandler = ctx.pipeline().get(CommandHandler.class);
+            String redisUri = channel.hasAttr(REDIS_URI) ? channel.attr(REDIS_URI).get() : null;
+            String epId = commandHandler != null ? commandHandler.getEndpoint().getId() : null;
+            String channelId = commandHandler != null ? commandHandler.getChannelId() : null;
+
+            eventBus.publish(new SslHandshakeEvent(redisUri, epId, channelId, ConnectionEventTrigger.local(ctx),
+                    ConnectionEventTrigger.remote(ctx), duration, resumed, session.getProtocol(), session.getCipherSuite()));
+        }
+
+    }
+
 }
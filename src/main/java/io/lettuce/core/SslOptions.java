@@ -31,6 +31,7 @@ import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -82,10 +83,13 @@ public class SslOptions {
 
     private final Duration handshakeTimeout;
 
+    private final Executor handshakeExecutor;
+
     protected SslOptions(Builder builder) {
         this.keyStoreType = builder.keyStoreType;
         this.sslProvider = builder.sslProvider;
         this.handshakeTimeout = builder.sslHandshakeTimeout;
+        this.handshakeExecutor = builder.handshakeExecutor;
         this.keystore = builder.keystore;
         this.keystorePassword = builder.keystorePassword;
         this.truststore = builder.truststore;
@@ -104,6 +108,7 @@ public class SslOptions {
         this.keyStoreType = original.keyStoreType;
         this.sslProvider = original.getSslProvider();
         this.handshakeTimeout = original.handshakeTimeout;
+        this.handshakeExecutor = original.handshakeExecutor;
         this.keystore = original.keystore;
         this.keystorePassword = original.keystorePassword;
         this.truststore = original.getTruststore();
@@ -179,6 +184,8 @@ public class SslOptions {
 
         private Duration sslHandshakeTimeout = Duration.ofSeconds(10);
 
+        private Executor handshakeExecutor;
+
         private Builder() {
         }
 
@@ -246,6 +253,23 @@ public class SslOptions {
             return this;
         }
 
+        /**
+         * Sets the {@link Executor} to run delegated SSL handshake tasks such as certificate validation and key exchange
+         * computations. Running delegated tasks on a dedicated executor keeps the I/O threads responsive when many connections
+         * perform their handshake at the same time. Delegated tasks run on the I/O thread if not set.
+         *
+         * @param handshakeExecutor the executor for delegated handshake tasks, must not be {@code null}.
+         * @return {@code this}
+         * @since 7.0
+         */
+        public Builder handshakeExecutor(Executor handshakeExecutor) {
+
+            LettuceAssert.notNull(handshakeExecutor, "SSL Handshake Executor must not be null");
+
+            this.handshakeExecutor = handshakeExecutor;
+            return this;
+        }
+
         /**
          * Sets the KeyStore type. Defaults to {@link KeyStore#getDefaultType()} if not set.
          *
@@ -692,6 +716,7 @@ public class SslOptions {
         builder.keymanager = this.keymanager;
         builder.trustmanager = this.trustmanager;
         builder.sslHandshakeTimeout = this.handshakeTimeout;
+        builder.handshakeExecutor = this.handshakeExecutor;
 
         return builder;
     }
@@ -735,6 +760,14 @@ public class SslOptions {
         return handshakeTimeout;
     }
 
+    /**
+     * @return the {@link Executor} to run delegated SSL handshake tasks. {@code null} if delegated tasks run on the I/O thread.
+     * @since 7.0
+     */
+    public Executor getHandshakeExecutor() {
+        return handshakeExecutor;
+    }
+
     /**
      * @return the password for the keystore. May be empty.
      * @deprecated since 5.3, {@link javax.net.ssl.KeyManager} is configured via {@link #createSslContextBuilder()}.
@@ -113,6 +113,14 @@ public class StatefulRedisConnectionImpl<K, V> extends RedisChannelHandler<K, V>
         return codec;
     }
 
+    /**
+     * @return the {@link JsonParser} supplier for JSON commands.
+     * @since 7.0
+     */
+    protected Supplier<JsonParser> getJsonParser() {
+        return parser;
+    }
+
     @Override
     public RedisAsyncCommands<K, V> async() {
         return async;
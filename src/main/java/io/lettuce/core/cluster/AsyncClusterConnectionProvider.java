@@ -73,6 +73,17 @@ interface AsyncClusterConnectionProvider extends Closeable {
     <K, V> CompletableFuture<StatefulRedisConnection<K, V>> getConnectionAsync(ConnectionIntent connectionIntent,
             String nodeId);
 
+    /**
+     * Provide an already connected read connection for the cluster slot that is different from {@code exclude}. Candidates are
+     * selected through the configured {@link io.lettuce.core.ReadFrom} setting. Used to hedge read commands.
+     *
+     * @param slot the slot-hash of the key, see {@link SlotHash}.
+     * @param exclude the connection to exclude.
+     * @return an alternate connection or {@code null} if no alternate connection is available.
+     * @since 7.0
+     */
+    <K, V> StatefulRedisConnection<K, V> getAlternateReadConnection(int slot, StatefulRedisConnection<?, ?> exclude);
+
     /**
      * Close the connections and free all resources.
      */
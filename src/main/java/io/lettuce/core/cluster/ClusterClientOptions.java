@@ -23,7 +23,10 @@ import java.nio.charset.Charset;
 import java.time.Duration;
 import java.util.function.Predicate;
 
+import io.lettuce.core.BlockingCommandIsolationOptions;
 import io.lettuce.core.ClientOptions;
+import io.lettuce.core.ConcurrencyLimitOptions;
+import io.lettuce.core.HedgingOptions;
 import io.lettuce.core.SocketOptions;
 import io.lettuce.core.SslOptions;
 import io.lettuce.core.TimeoutOptions;
@@ -56,6 +59,8 @@ public class ClusterClientOptions extends ClientOptions {
     /** Since Lettuce 7.0 validation is by default disabled. */
     public static final boolean DEFAULT_VALIDATE_CLUSTER_MEMBERSHIP = false;
 
+    public static final HotKeyDetectionOptions DEFAULT_HOT_KEY_DETECTION_OPTIONS = HotKeyDetectionOptions.create();
+
     public static final Predicate<RedisClusterNode> DEFAULT_NODE_FILTER = node -> true;
 
     private final int maxRedirects;
@@ -66,6 +71,8 @@ public class ClusterClientOptions extends ClientOptions {
 
     private final Predicate<RedisClusterNode> nodeFilter;
 
+    private final HotKeyDetectionOptions hotKeyDetectionOptions;
+
     protected ClusterClientOptions(Builder builder) {
 
         super(builder);
@@ -84,6 +91,7 @@ public class ClusterClientOptions extends ClientOptions {
         this.maxRedirects = builder.maxRedirects;
         this.validateClusterNodeMembership = builder.validateClusterNodeMembership;
         this.nodeFilter = builder.nodeFilter;
+        this.hotKeyDetectionOptions = builder.hotKeyDetectionOptions;
     }
 
     protected ClusterClientOptions(ClusterClientOptions original) {
@@ -94,6 +102,7 @@ public class ClusterClientOptions extends ClientOptions {
         this.topologyRefreshOptions = original.topologyRefreshOptions;
         this.validateClusterNodeMembership = original.validateClusterNodeMembership;
         this.nodeFilter = original.nodeFilter;
+        this.hotKeyDetectionOptions = original.hotKeyDetectionOptions;
     }
 
     /**
@@ -135,12 +144,17 @@ public class ClusterClientOptions extends ClientOptions {
                 .disconnectedBehavior(clientOptions.getDisconnectedBehavior())
                 .reauthenticateBehavior(clientOptions.getReauthenticateBehaviour())
                 .pingBeforeActivateConnection(clientOptions.isPingBeforeActivateConnection())
+                .pipelineHandshake(clientOptions.isPipelineHandshake())
                 .publishOnScheduler(clientOptions.isPublishOnScheduler())
                 .protocolVersion(clientOptions.getConfiguredProtocolVersion())
                 .requestQueueSize(clientOptions.getRequestQueueSize()).scriptCharset(clientOptions.getScriptCharset())
                 .socketOptions(clientOptions.getSocketOptions()).sslOptions(clientOptions.getSslOptions())
                 .suspendReconnectOnProtocolFailure(clientOptions.isSuspendReconnectOnProtocolFailure())
-                .timeoutOptions(clientOptions.getTimeoutOptions());
+                .timeoutOptions(clientOptions.getTimeoutOptions())
+                .zeroCopyWriteThreshold(clientOptions.getZeroCopyWriteThreshold())
+                .concurrencyLimitOptions(clientOptions.getConcurrencyLimitOptions())
+                .hedgingOptions(clientOptions.getHedgingOptions())
+                .blockingCommandIsolationOptions(clientOptions.getBlockingCommandIsolationOptions());
 
         return builder;
     }
@@ -169,6 +183,8 @@ public class ClusterClientOptions extends ClientOptions {
 
         private ClusterTopologyRefreshOptions topologyRefreshOptions = null;
 
+        private HotKeyDetectionOptions hotKeyDetectionOptions = DEFAULT_HOT_KEY_DETECTION_OPTIONS;
+
         protected Builder() {
             readOnlyCommands(DEFAULT_READ_ONLY_COMMANDS);
         }
@@ -215,6 +231,12 @@ public class ClusterClientOptions extends ClientOptions {
             return this;
         }
 
+        @Override
+        public Builder pipelineHandshake(boolean pipelineHandshake) {
+            super.pipelineHandshake(pipelineHandshake);
+            return this;
+        }
+
         @Override
         public Builder protocolVersion(ProtocolVersion protocolVersion) {
             super.protocolVersion(protocolVersion);
@@ -270,6 +292,30 @@ public class ClusterClientOptions extends ClientOptions {
             return this;
         }
 
+        @Override
+        public Builder zeroCopyWriteThreshold(int zeroCopyWriteThreshold) {
+            super.zeroCopyWriteThreshold(zeroCopyWriteThreshold);
+            return this;
+        }
+
+        @Override
+        public Builder concurrencyLimitOptions(ConcurrencyLimitOptions concurrencyLimitOptions) {
+            super.concurrencyLimitOptions(concurrencyLimitOptions);
+            return this;
+        }
+
+        @Override
+        public Builder hedgingOptions(HedgingOptions hedgingOptions) {
+            super.hedgingOptions(hedgingOptions);
+            return this;
+        }
+
+        @Override
+        public Builder blockingCommandIsolationOptions(BlockingCommandIsolationOptions blockingCommandIsolationOptions) {
+            super.blockingCommandIsolationOptions(blockingCommandIsolationOptions);
+            return this;
+        }
+
         /**
          * Sets the {@link ClusterTopologyRefreshOptions} for detailed control of topology updates.
          *
@@ -281,6 +327,21 @@ public class ClusterClientOptions extends ClientOptions {
             return this;
         }
 
+        /**
+         * Sets the {@link HotKeyDetectionOptions} to sample keyed commands and report hot keys and per-slot request rates. See
+         * {@link #DEFAULT_HOT_KEY_DETECTION_OPTIONS}.
+         *
+         * @param hotKeyDetectionOptions must not be {@code null}.
+         * @return {@code this}
+         * @since 7.0
+         */
+        public Builder hotKeyDetectionOptions(HotKeyDetectionOptions hotKeyDetectionOptions) {
+
+            LettuceAssert.notNull(hotKeyDetectionOptions, "HotKeyDetectionOptions must not be null");
+            this.hotKeyDetectionOptions = hotKeyDetectionOptions;
+            return this;
+        }
+
         /**
          * Validate the cluster node membership before allowing connections to a cluster node. Defaults to {@code false}. See
          * {@link ClusterClientOptions#DEFAULT_VALIDATE_CLUSTER_MEMBERSHIP}.
@@ -339,12 +400,15 @@ public class ClusterClientOptions extends ClientOptions {
         builder.autoReconnect(isAutoReconnect()).decodeBufferPolicy(getDecodeBufferPolicy())
                 .disconnectedBehavior(getDisconnectedBehavior()).reauthenticateBehavior(getReauthenticateBehaviour())
                 .maxRedirects(getMaxRedirects()).publishOnScheduler(isPublishOnScheduler())
-                .pingBeforeActivateConnection(isPingBeforeActivateConnection()).protocolVersion(getConfiguredProtocolVersion())
-                .readOnlyCommands(getReadOnlyCommands()).requestQueueSize(getRequestQueueSize())
+                .pingBeforeActivateConnection(isPingBeforeActivateConnection()).pipelineHandshake(isPipelineHandshake())
+                .protocolVersion(getConfiguredProtocolVersion()).readOnlyCommands(getReadOnlyCommands())
+                .requestQueueSize(getRequestQueueSize())
                 .scriptCharset(getScriptCharset()).socketOptions(getSocketOptions()).sslOptions(getSslOptions())
                 .suspendReconnectOnProtocolFailure(isSuspendReconnectOnProtocolFailure()).timeoutOptions(getTimeoutOptions())
-                .topologyRefreshOptions(getTopologyRefreshOptions())
-                .validateClusterNodeMembership(isValidateClusterNodeMembership()).nodeFilter(getNodeFilter());
+                .topologyRefreshOptions(getTopologyRefreshOptions()).hotKeyDetectionOptions(getHotKeyDetectionOptions())
+                .validateClusterNodeMembership(isValidateClusterNodeMembership()).nodeFilter(getNodeFilter())
+                .zeroCopyWriteThreshold(getZeroCopyWriteThreshold()).concurrencyLimitOptions(getConcurrencyLimitOptions())
+                .hedgingOptions(getHedgingOptions()).blockingCommandIsolationOptions(getBlockingCommandIsolationOptions());
 
         return builder;
     }
@@ -400,6 +464,16 @@ public class ClusterClientOptions extends ClientOptions {
         return topologyRefreshOptions;
     }
 
+    /**
+     * The {@link HotKeyDetectionOptions} for client-side hot-key detection.
+     *
+     * @return the {@link HotKeyDetectionOptions}.
+     * @since 7.0
+     */
+    public HotKeyDetectionOptions getHotKeyDetectionOptions() {
+        return hotKeyDetectionOptions;
+    }
+
     /**
      * Validate the cluster node membership before allowing connections to a cluster node. Defaults to {@code false}.
      *
@@ -98,6 +98,14 @@ interface ClusterConnectionProvider extends Closeable {
      */
     void setPartitions(Partitions partitions);
 
+    /**
+     * Discard cached connections for a {@code slot} after the slot has moved to a different node.
+     *
+     * @param slot the slot hash.
+     * @since 7.0
+     */
+    void resetSlot(int slot);
+
     /**
      * Disable or enable auto-flush behavior. Default is {@code true}. If autoFlushCommands is disabled, multiple commands can
      * be issued without writing them actually to the transport. Commands are buffered until a {@link #flushCommands()} is
@@ -56,6 +56,7 @@ import io.lettuce.core.protocol.CommandKeyword;
 import io.lettuce.core.protocol.CommandType;
 import io.lettuce.core.protocol.ConnectionFacade;
 import io.lettuce.core.protocol.ConnectionIntent;
+import io.lettuce.core.protocol.HedgedReads;
 import io.lettuce.core.protocol.DefaultEndpoint;
 import io.lettuce.core.protocol.ReadOnlyCommands;
 import io.lettuce.core.protocol.RedisCommand;
@@ -80,6 +81,10 @@ class ClusterDistributionChannelWriter implements RedisChannelWriter {
 
     private final int executionLimit;
 
+    private final HedgedReads hedgedReads;
+
+    private final HotKeyDetector hotKeyDetector;
+
     private ClusterConnectionProvider clusterConnectionProvider;
 
     private AsyncClusterConnectionProvider asyncClusterConnectionProvider;
@@ -97,10 +102,25 @@ class ClusterDistributionChannelWriter implements RedisChannelWriter {
             this.executionLimit = 5;
         }
 
+        if (clientOptions instanceof ClusterClientOptions
+                && ((ClusterClientOptions) clientOptions).getHotKeyDetectionOptions().isEnabled()) {
+            this.hotKeyDetector = new HotKeyDetector(((ClusterClientOptions) clientOptions).getHotKeyDetectionOptions(),
+                    this::getNodeId, this::publish);
+        } else {
+            this.hotKeyDetector = null;
+        }
+
         this.defaultWriter = defaultWriter;
         this.clientOptions = clientOptions;
         this.readOnlyCommands = clientOptions.getReadOnlyCommands();
         this.clusterEventListener = clusterEventListener;
+        this.hedgedReads = clientOptions.getHedgingOptions().isEnabled()
+                ? new HedgedReads(clientOptions.getHedgingOptions(), defaultWriter.getClientResources())
+                : null;
+
+        if (hotKeyDetector != null) {
+            hotKeyDetector.start(defaultWriter.getClientResources().eventExecutorGroup());
+        }
     }
 
     @Override
@@ -126,29 +146,29 @@ class ClusterDistributionChannelWriter implements RedisChannelWriter {
                 HostAndPort target;
                 boolean asking;
                 ByteBuffer firstEncodedKey = clusterCommand.getArgs().getFirstEncodedKey();
-                String keyAsString = null;
-                int slot = -1;
-                if (firstEncodedKey != null) {
-                    firstEncodedKey.mark();
-                    keyAsString = StringCodec.UTF8.decodeKey(firstEncodedKey);
-                    firstEncodedKey.reset();
-                    slot = getSlot(firstEncodedKey);
-                }
+                int slot = firstEncodedKey != null ? getSlot(firstEncodedKey) : -1;
+                String error = clusterCommand.getError();
 
                 if (clusterCommand.isMoved()) {
 
-                    target = getMoveTarget(partitions, clusterCommand.getError());
+                    target = getMoveTarget(partitions, error);
+                    applyMovedRedirection(getMovedSlot(error), target);
                     clusterEventListener.onMovedRedirection();
                     asking = false;
 
-                    publish(new MovedRedirectionEvent(clusterCommand.getType().toString(), keyAsString, slot,
-                            clusterCommand.getError()));
+                    if (isEnabled(MovedRedirectionEvent.class)) {
+                        publish(new MovedRedirectionEvent(clusterCommand.getType().toString(), decodeKey(firstEncodedKey),
+                                slot, error));
+                    }
                 } else {
-                    target = getAskTarget(clusterCommand.getError());
+                    target = getAskTarget(error);
                     asking = true;
                     clusterEventListener.onAskRedirection();
-                    publish(new AskRedirectionEvent(clusterCommand.getType().toString(), keyAsString, slot,
-                            clusterCommand.getError()));
+
+                    if (isEnabled(AskRedirectionEvent.class)) {
+                        publish(new AskRedirectionEvent(clusterCommand.getType().toString(), decodeKey(firstEncodedKey), slot,
+                                error));
+                    }
                 }
 
                 command.getOutput().setError((String) null);
@@ -178,9 +198,25 @@ class ClusterDistributionChannelWriter implements RedisChannelWriter {
                 int hash = getSlot(encodedKey);
                 ConnectionIntent connectionIntent = getIntent(command);
 
+                if (hotKeyDetector != null) {
+                    hotKeyDetector.record(hash, encodedKey);
+                }
+
                 CompletableFuture<StatefulRedisConnection<K, V>> connectFuture = ((AsyncClusterConnectionProvider) clusterConnectionProvider)
                         .getConnectionAsync(connectionIntent, hash);
 
+                if (hedgedReads != null && connectionIntent == ConnectionIntent.READ && HedgedReads.supports(getReadFrom())) {
+
+                    if (isSuccessfullyCompleted(connectFuture)) {
+                        writeHedgedRead(commandToSend, hash, connectFuture.join(), null);
+                    } else {
+                        connectFuture.whenComplete(
+                                (connection, throwable) -> writeHedgedRead(commandToSend, hash, connection, throwable));
+                    }
+
+                    return commandToSend;
+                }
+
                 if (isSuccessfullyCompleted(connectFuture)) {
                     writeCommand(commandToSend, false, connectFuture.join(), null);
                 } else {
@@ -197,6 +233,41 @@ class ClusterDistributionChannelWriter implements RedisChannelWriter {
         return commandToSend;
     }
 
+    /**
+     * Point the slot cache to the redirect target so that subsequent commands for the slot are routed to the new owner without
+     * awaiting the next topology refresh.
+     */
+    private void applyMovedRedirection(int slot, HostAndPort target) {
+
+        Partitions partitions = this.partitions;
+        if (slot < 0 || slot >= SlotHash.SLOT_COUNT || partitions == null || clusterConnectionProvider == null) {
+            return;
+        }
+
+        RedisClusterNode node = partitions.getPartition(target.getHostText(), target.getPort());
+        if (node != null && partitions.updateSlotOwner(slot, node)) {
+            clusterConnectionProvider.resetSlot(slot);
+        }
+    }
+
+    private String getNodeId(int slot) {
+
+        Partitions partitions = this.partitions;
+        RedisClusterNode node = partitions != null ? partitions.getMasterBySlot(slot) : null;
+
+        return node != null ? node.getNodeId() : null;
+    }
+
+    private static String decodeKey(ByteBuffer encodedKey) {
+        return encodedKey != null ? StringCodec.UTF8.decodeKey(encodedKey.duplicate()) : null;
+    }
+
+    private boolean isEnabled(Class<? extends Event> eventType) {
+
+        ClientResources clientResources = getClientResources();
+        return clientResources != null && clientResources.eventBus().isEnabled(eventType);
+    }
+
     private void publish(Event event) {
 
         ClientResources clientResources = getClientResources();
@@ -240,6 +311,18 @@ class ClusterDistributionChannelWriter implements RedisChannelWriter {
         }
     }
 
+    private <K, V> void writeHedgedRead(RedisCommand<K, V, ?> command, int slot, StatefulRedisConnection<K, V> connection,
+            Throwable throwable) {
+
+        if (throwable != null) {
+            command.completeExceptionally(throwable);
+            return;
+        }
+
+        hedgedReads.dispatch(command, connection,
+                primary -> asyncClusterConnectionProvider.getAlternateReadConnection(slot, primary));
+    }
+
     private static <V, K> RedisCommand<K, V, ?> asking() {
         return new Command(CommandType.ASKING, new StatusOutput<>(StringCodec.ASCII), new CommandArgs<>(StringCodec.ASCII));
     }
@@ -307,7 +390,11 @@ class ClusterDistributionChannelWriter implements RedisChannelWriter {
                 continue;
             }
 
-            int hash = getSlot(args.getFirstEncodedKey());
+            int hash = getSlot(firstEncodedKey);
+
+            if (hotKeyDetector != null) {
+                hotKeyDetector.record(hash, firstEncodedKey);
+            }
 
             List<ClusterCommand<K, V, ?>> commandPartition = partitions.computeIfAbsent(SlotIntent.of(connectionIntent, hash),
                     slotIntent -> new ArrayList<>());
@@ -401,6 +488,22 @@ class ClusterDistributionChannelWriter implements RedisChannelWriter {
         return HostAndPort.parseCompat(redirectTarget);
     }
 
+    static int getMovedSlot(String errorMessage) {
+
+        int slotStart = errorMessage.indexOf(' ') + 1;
+        int slotEnd = errorMessage.indexOf(' ', slotStart);
+
+        if (slotStart == 0 || slotEnd == -1) {
+            return -1;
+        }
+
+        try {
+            return Integer.parseInt(errorMessage.substring(slotStart, slotEnd));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
     static HostAndPort getAskTarget(String errorMessage) {
 
         LettuceAssert.notEmpty(errorMessage, "ErrorMessage must not be empty");
@@ -433,6 +536,10 @@ class ClusterDistributionChannelWriter implements RedisChannelWriter {
 
         closed = true;
 
+        if (hotKeyDetector != null) {
+            hotKeyDetector.shutdown();
+        }
+
         List<CompletableFuture<Void>> futures = new ArrayList<>();
 
         if (defaultWriter != null) {
@@ -493,6 +600,22 @@ class ClusterDistributionChannelWriter implements RedisChannelWriter {
         getClusterConnectionProvider().flushCommands();
     }
 
+    RedisChannelWriter getDefaultWriter() {
+        return defaultWriter;
+    }
+
+    AsyncClusterConnectionProvider getAsyncClusterConnectionProvider() {
+        return asyncClusterConnectionProvider;
+    }
+
+    void onMovedRedirection() {
+        clusterEventListener.onMovedRedirection();
+    }
+
+    void onAskRedirection() {
+        clusterEventListener.onAskRedirection();
+    }
+
     public ClusterConnectionProvider getClusterConnectionProvider() {
         return clusterConnectionProvider;
     }
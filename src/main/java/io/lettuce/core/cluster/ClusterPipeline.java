@@ -0,0 +1,470 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.cluster;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisChannelWriter;
+import io.lettuce.core.RedisException;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.models.partitions.Partitions;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.internal.Futures;
+import io.lettuce.core.internal.HostAndPort;
+import io.lettuce.core.internal.LettuceAssert;
+import io.lettuce.core.output.CommandOutput;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.protocol.AsyncCommand;
+import io.lettuce.core.protocol.Command;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandKeyword;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.CommandWrapper;
+import io.lettuce.core.protocol.ConnectionIntent;
+import io.lettuce.core.protocol.ProtocolKeyword;
+import io.lettuce.core.protocol.RedisCommand;
+
+/**
+ * Hash-slot aware pipeline for Redis Cluster connections. Commands are collected until {@link #execute()} is called. Upon
+ * execution, commands are grouped by the node that serves their slot (see {@link SlotHash}) and each group is written to its
+ * node connection in a single batch so that each node receives exactly one flush. Commands without a key are sent through the
+ * default connection.
+ * <p>
+ * {@literal MOVED} and {@literal ASK} redirections are handled per group: once all commands of a group have replied, redirected
+ * commands are regrouped by their redirect target and re-sent as a batch. Results are reported in submission order.
+ * <p>
+ * A {@link ClusterPipeline} can be executed only once and is not thread-safe.
+ *
+ * <pre class="code">
+ * 
+ * ClusterPipeline&lt;String, String&gt; pipeline = ClusterPipeline.create(connection);
+ *
+ * RedisFuture&lt;String&gt; set = pipeline.add(CommandType.SET, new StatusOutput&lt;&gt;(codec),
+ *         new CommandArgs&lt;&gt;(codec).addKey("key").addValue("value"));
+ * 
+ * RedisFuture&lt;String&gt; get = pipeline.add(CommandType.GET, new ValueOutput&lt;&gt;(codec),
+ *         new CommandArgs&lt;&gt;(codec).addKey("key"));
+ *
+ * List&lt;Object&gt; results = pipeline.execute().join();
+ * </pre>
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @since 7.0
+ */
+public class ClusterPipeline<K, V> {
+
+    private final ClusterDistributionChannelWriter writer;
+
+    private final int maxRedirections;
+
+    private final List<PipelinedCommand<?>> commands = new ArrayList<>();
+
+    private boolean executed;
+
+    ClusterPipeline(ClusterDistributionChannelWriter writer, int maxRedirections) {
+        this.writer = writer;
+        this.maxRedirections = maxRedirections;
+    }
+
+    /**
+     * Create a new {@link ClusterPipeline} for the given {@link StatefulRedisClusterConnection}.
+     *
+     * @param connection the cluster connection, must not be {@code null}.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return a new {@link ClusterPipeline}.
+     */
+    public static <K, V> ClusterPipeline<K, V> create(StatefulRedisClusterConnection<K, V> connection) {
+
+        LettuceAssert.notNull(connection, "Connection must not be null");
+        LettuceAssert.isTrue(connection instanceof StatefulRedisClusterConnectionImpl,
+                "Connection must be a StatefulRedisClusterConnectionImpl");
+
+        StatefulRedisClusterConnectionImpl<K, V> impl = (StatefulRedisClusterConnectionImpl<K, V>) connection;
+        ClientOptions options = impl.getOptions();
+        int maxRedirects = options instanceof ClusterClientOptions ? ((ClusterClientOptions) options).getMaxRedirects()
+                : ClusterClientOptions.DEFAULT_MAX_REDIRECTS;
+
+        return new ClusterPipeline<>(impl.getClusterDistributionChannelWriter(), maxRedirects);
+    }
+
+    /**
+     * Add a command to this pipeline.
+     *
+     * @param type the command, must not be {@code null}.
+     * @param output the command output, must not be {@code null}.
+     * @param args the command arguments, must not be {@code null}.
+     * @param <T> response type.
+     * @return the {@link RedisFuture} that is completed with the command result.
+     */
+    public <T> RedisFuture<T> add(ProtocolKeyword type, CommandOutput<K, V, T> output, CommandArgs<K, V> args) {
+
+        LettuceAssert.notNull(type, "Command type must not be null");
+        LettuceAssert.notNull(output, "CommandOutput must not be null");
+        LettuceAssert.notNull(args, "CommandArgs must not be null");
+
+        return add(new Command<>(type, output, args));
+    }
+
+    /**
+     * Add a command to this pipeline.
+     *
+     * @param command the command, must not be {@code null}.
+     * @param <T> response type.
+     * @return the {@link RedisFuture} that is completed with the command result.
+     */
+    public <T> RedisFuture<T> add(RedisCommand<K, V, T> command) {
+
+        LettuceAssert.notNull(command, "Command must not be null");
+        LettuceAssert.assertState(!executed, "ClusterPipeline was already executed");
+
+        AsyncCommand<K, V, T> future = command instanceof AsyncCommand ? (AsyncCommand<K, V, T>) command
+                : new AsyncCommand<>(command);
+        commands.add(new PipelinedCommand<>(future, maxRedirections));
+
+        return future;
+    }
+
+    /**
+     * @return the number of commands in this pipeline.
+     */
+    public int size() {
+        return commands.size();
+    }
+
+    /**
+     * Execute all commands of this pipeline. Commands are grouped by their target node and each group is written with a single
+     * flush.
+     *
+     * @return a future that completes once all commands are completed. The result list contains command results in submission
+     *         order. Commands that failed are represented by their exception.
+     */
+    public CompletableFuture<List<Object>> execute() {
+
+        LettuceAssert.assertState(!executed, "ClusterPipeline was already executed");
+        executed = true;
+
+        if (commands.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+
+        Partitions partitions = writer.getPartitions();
+        List<PipelinedCommand<?>> keyless = new ArrayList<>();
+        Map<Object, List<PipelinedCommand<?>>> groups = new LinkedHashMap<>();
+
+        for (PipelinedCommand<?> command : commands) {
+
+            CommandArgs<K, V> args = command.getArgs();
+            ByteBuffer encodedKey = args != null && !CommandType.CLIENT.equals(command.getType()) ? args.getFirstEncodedKey()
+                    : null;
+
+            if (encodedKey == null) {
+                keyless.add(command);
+                continue;
+            }
+
+            int slot = SlotHash.getSlot(encodedKey);
+            command.slot = slot;
+
+            RedisClusterNode node = partitions != null ? partitions.getMasterBySlot(slot) : null;
+            Object groupKey = node != null ? node : Integer.valueOf(slot);
+            groups.computeIfAbsent(groupKey, it -> new ArrayList<>()).add(command);
+        }
+
+        for (List<PipelinedCommand<?>> group : groups.values()) {
+
+            ConnectionIntent intent = writer.getIntent(group);
+            CompletableFuture<StatefulRedisConnection<K, V>> connectFuture = writer.getAsyncClusterConnectionProvider()
+                    .getConnectionAsync(intent, group.get(0).slot);
+
+            dispatch(group, false, connectFuture);
+        }
+
+        if (!keyless.isEmpty()) {
+            write(new Batch(keyless), keyless, writer.getDefaultWriter());
+        }
+
+        List<CompletableFuture<?>> futures = new ArrayList<>(commands.size());
+        for (PipelinedCommand<?> command : commands) {
+            futures.add(command.future);
+        }
+
+        return Futures.allOf(futures).handle((ignore, throwable) -> {
+
+            List<Object> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<?> future : futures) {
+                results.add(getResult(future));
+            }
+            return results;
+        });
+    }
+
+    private static Object getResult(CompletableFuture<?> future) {
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            return e.getCause() != null ? e.getCause() : e;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    private void dispatch(List<PipelinedCommand<?>> group, boolean asking,
+            CompletableFuture<StatefulRedisConnection<K, V>> connectFuture) {
+
+        Batch batch = new Batch(group);
+
+        connectFuture.whenComplete((connection, throwable) -> {
+
+            if (throwable != null) {
+                group.forEach(command -> command.completeExceptionally(throwable));
+                return;
+            }
+
+            RedisChannelWriter channelWriter = ((RedisChannelHandler<K, V>) connection).getChannelWriter();
+
+            if (!asking) {
+                write(batch, group, channelWriter);
+                return;
+            }
+
+            List<RedisCommand<K, V, ?>> toSend = new ArrayList<>(group.size() * 2);
+            for (PipelinedCommand<?> command : group) {
+                toSend.add(asking());
+                toSend.add(command);
+            }
+
+            write(batch, toSend, channelWriter);
+        });
+    }
+
+    private void write(Batch batch, List<? extends RedisCommand<K, V, ?>> toSend, RedisChannelWriter channelWriter) {
+
+        for (RedisCommand<K, V, ?> command : toSend) {
+            if (command instanceof PipelinedCommand) {
+                ((PipelinedCommand<?>) command).batch = batch;
+            }
+        }
+
+        try {
+            channelWriter.write(toSend);
+        } catch (Exception e) {
+            toSend.forEach(command -> command.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Re-send redirected commands of a completed batch grouped by their redirect target.
+     *
+     * @param redirected the redirected commands.
+     */
+    private void redirect(List<PipelinedCommand<?>> redirected) {
+
+        Map<HostAndPort, List<PipelinedCommand<?>>> moved = new LinkedHashMap<>();
+        Map<HostAndPort, List<PipelinedCommand<?>>> ask = new LinkedHashMap<>();
+
+        for (PipelinedCommand<?> command : redirected) {
+
+            String error = command.getError();
+
+            try {
+                if (command.isMoved()) {
+                    moved.computeIfAbsent(ClusterDistributionChannelWriter.getMoveTarget(writer.getPartitions(), error),
+                            it -> new ArrayList<>()).add(command);
+                } else {
+                    ask.computeIfAbsent(ClusterDistributionChannelWriter.getAskTarget(error), it -> new ArrayList<>())
+                            .add(command);
+                }
+            } catch (Exception e) {
+                command.completeExceptionally(e);
+                continue;
+            }
+
+            command.getOutput().setError((String) null);
+        }
+
+        if (!moved.isEmpty()) {
+            writer.onMovedRedirection();
+        }
+
+        if (!ask.isEmpty()) {
+            writer.onAskRedirection();
+        }
+
+        moved.forEach((target, group) -> dispatch(group, false, writer.getAsyncClusterConnectionProvider()
+                .getConnectionAsync(ConnectionIntent.WRITE, target.getHostText(), target.getPort())));
+        ask.forEach((target, group) -> dispatch(group, true, writer.getAsyncClusterConnectionProvider()
+                .getConnectionAsync(ConnectionIntent.WRITE, target.getHostText(), target.getPort())));
+    }
+
+    private static <K, V> RedisCommand<K, V, ?> asking() {
+        return new Command(CommandType.ASKING, new StatusOutput<>(StringCodec.ASCII), new CommandArgs<>(StringCodec.ASCII));
+    }
+
+    /**
+     * A group of commands that was written in a single batch. Tracks outstanding replies to re-send redirected commands once
+     * the whole batch has been answered.
+     */
+    class Batch {
+
+        private final AtomicInteger outstanding;
+
+        private final List<PipelinedCommand<?>> redirected = new ArrayList<>();
+
+        Batch(List<PipelinedCommand<?>> commands) {
+            this.outstanding = new AtomicInteger(commands.size());
+        }
+
+        void onRedirect(PipelinedCommand<?> command) {
+
+            synchronized (redirected) {
+                redirected.add(command);
+            }
+
+            onDone();
+        }
+
+        void onDone() {
+
+            if (outstanding.decrementAndGet() != 0) {
+                return;
+            }
+
+            List<PipelinedCommand<?>> toRedirect;
+            synchronized (redirected) {
+                if (redirected.isEmpty()) {
+                    return;
+                }
+                toRedirect = new ArrayList<>(redirected);
+            }
+
+            try {
+                redirect(toRedirect);
+            } catch (Exception e) {
+                toRedirect.forEach(command -> command.completeExceptionally(new RedisException(e)));
+            }
+        }
+
+    }
+
+    /**
+     * Command wrapper that defers redirections to its {@link Batch}.
+     */
+    class PipelinedCommand<T> extends CommandWrapper<K, V, T> {
+
+        private final AsyncCommand<K, V, T> future;
+
+        private final int maxRedirections;
+
+        private int redirections;
+
+        private volatile boolean completed;
+
+        int slot = -1;
+
+        volatile Batch batch;
+
+        PipelinedCommand(AsyncCommand<K, V, T> command, int maxRedirections) {
+            super(command);
+            this.future = command;
+            this.maxRedirections = maxRedirections;
+        }
+
+        @Override
+        public void complete() {
+
+            Batch batch = this.batch;
+
+            if ((isMoved() || isAsk()) && maxRedirections > redirections) {
+                redirections++;
+                batch.onRedirect(this);
+                return;
+            }
+
+            super.complete();
+            completed = true;
+            batch.onDone();
+        }
+
+        @Override
+        public boolean completeExceptionally(Throwable ex) {
+
+            boolean wasCompleted = completed;
+            completed = true;
+            boolean result = super.completeExceptionally(ex);
+
+            Batch batch = this.batch;
+            if (!wasCompleted && batch != null) {
+                batch.onDone();
+            }
+
+            return result;
+        }
+
+        @Override
+        public void cancel() {
+
+            boolean wasCompleted = completed;
+            completed = true;
+            super.cancel();
+
+            Batch batch = this.batch;
+            if (!wasCompleted && batch != null) {
+                batch.onDone();
+            }
+        }
+
+        @Override
+        public boolean isDone() {
+            return completed;
+        }
+
+        boolean isMoved() {
+            String error = getError();
+            return error != null && error.startsWith(CommandKeyword.MOVED.name());
+        }
+
+        boolean isAsk() {
+            String error = getError();
+            return error != null && error.startsWith(CommandKeyword.ASK.name());
+        }
+
+        String getError() {
+            return getOutput() != null ? getOutput().getError() : null;
+        }
+
+    }
+
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.cluster;
+
+import java.time.Duration;
+
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Options for client-side hot-key detection of {@link RedisClusterClient} connections. When enabled, a sample of the keyed
+ * commands routed by a cluster connection is fed into a count-min sketch that tracks the most frequently accessed keys per
+ * time window. At the end of each window, the hottest keys and the per-slot request rates are published as
+ * {@link io.lettuce.core.cluster.event.HotKeysEvent} through the {@link io.lettuce.core.event.EventBus}.
+ * <p>
+ * Sampling keeps the overhead low: unsampled commands cost a single random number. Counts and rates are estimates scaled by the
+ * sampling probability.
+ *
+ * @since 7.0
+ */
+public class HotKeyDetectionOptions {
+
+    public static final boolean DEFAULT_ENABLED = false;
+
+    public static final double DEFAULT_SAMPLING_PROBABILITY = 0.01;
+
+    public static final Duration DEFAULT_WINDOW = Duration.ofSeconds(10);
+
+    public static final int DEFAULT_TOP_K = 10;
+
+    public static final int DEFAULT_SKETCH_WIDTH = 2048;
+
+    public static final int DEFAULT_SKETCH_DEPTH = 4;
+
+    private final boolean enabled;
+
+    private final double samplingProbability;
+
+    private final Duration window;
+
+    private final int topK;
+
+    private final int sketchWidth;
+
+    private final int sketchDepth;
+
+    private HotKeyDetectionOptions(Builder builder) {
+
+        this.enabled = builder.enabled;
+        this.samplingProbability = builder.samplingProbability;
+        this.window = builder.window;
+        this.topK = builder.topK;
+        this.sketchWidth = builder.sketchWidth;
+        this.sketchDepth = builder.sketchDepth;
+    }
+
+    /**
+     * Returns a new {@link HotKeyDetectionOptions.Builder} to construct {@link HotKeyDetectionOptions}.
+     *
+     * @return a new {@link HotKeyDetectionOptions.Builder} to construct {@link HotKeyDetectionOptions}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create a new instance of {@link HotKeyDetectionOptions} with default settings (disabled).
+     *
+     * @return a new instance of {@link HotKeyDetectionOptions} with default settings.
+     */
+    public static HotKeyDetectionOptions create() {
+        return builder().build();
+    }
+
+    /**
+     * Create a new instance of {@link HotKeyDetectionOptions} with hot-key detection enabled using default settings.
+     *
+     * @return a new instance of {@link HotKeyDetectionOptions} with hot-key detection enabled.
+     */
+    public static HotKeyDetectionOptions enabled() {
+        return builder().enable().build();
+    }
+
+    /**
+     * Builder for {@link HotKeyDetectionOptions}.
+     */
+    public static class Builder {
+
+        private boolean enabled = DEFAULT_ENABLED;
+
+        private double samplingProbability = DEFAULT_SAMPLING_PROBABILITY;
+
+        private Duration window = DEFAULT_WINDOW;
+
+        private int topK = DEFAULT_TOP_K;
+
+        private int sketchWidth = DEFAULT_SKETCH_WIDTH;
+
+        private int sketchDepth = DEFAULT_SKETCH_DEPTH;
+
+        private Builder() {
+        }
+
+        /**
+         * Enable hot-key detection. Disabled by default, see {@link #DEFAULT_ENABLED}.
+         *
+         * @return {@code this}
+         */
+        public Builder enable() {
+            return enabled(true);
+        }
+
+        /**
+         * Configure whether hot-key detection is enabled. Disabled by default, see {@link #DEFAULT_ENABLED}.
+         *
+         * @param enabled {@code true} to enable hot-key detection.
+         * @return {@code this}
+         */
+        public Builder enabled(boolean enabled) {
+
+            this.enabled = enabled;
+            return this;
+        }
+
+        /**
+         * Set the probability with which a keyed command is sampled. See {@link #DEFAULT_SAMPLING_PROBABILITY}.
+         *
+         * @param samplingProbability the probability, must be between {@code 0} (exclusive) and {@code 1} (inclusive).
+         * @return {@code this}
+         */
+        public Builder samplingProbability(double samplingProbability) {
+
+            LettuceAssert.isTrue(samplingProbability > 0 && samplingProbability <= 1,
+                    "Sampling probability must be between 0 and 1");
+
+            this.samplingProbability = samplingProbability;
+            return this;
+        }
+
+        /**
+         * Set the duration of the time window after which hot keys are reported and counters are reset. See
+         * {@link #DEFAULT_WINDOW}.
+         *
+         * @param window the window, must not be {@code null} and must be positive.
+         * @return {@code this}
+         */
+        public Builder window(Duration window) {
+
+            LettuceAssert.notNull(window, "Window must not be null");
+            LettuceAssert.isTrue(!window.isNegative() && !window.isZero(), "Window must be positive");
+
+            this.window = window;
+            return this;
+        }
+
+        /**
+         * Set the number of hot keys to report per window. See {@link #DEFAULT_TOP_K}.
+         *
+         * @param topK the number of hot keys, must be greater than zero.
+         * @return {@code this}
+         */
+        public Builder topK(int topK) {
+
+            LettuceAssert.isTrue(topK > 0, "Top K must be greater than zero");
+
+            this.topK = topK;
+            return this;
+        }
+
+        /**
+         * Set the number of counters per row of the count-min sketch. Wider sketches reduce overestimation. See
+         * {@link #DEFAULT_SKETCH_WIDTH}.
+         *
+         * @param sketchWidth the width, must be greater than zero.
+         * @return {@code this}
+         */
+        public Builder sketchWidth(int sketchWidth) {
+
+            LettuceAssert.isTrue(sketchWidth > 0, "Sketch width must be greater than zero");
+
+            this.sketchWidth = sketchWidth;
+            return this;
+        }
+
+        /**
+         * Set the number of rows of the count-min sketch. Deeper sketches reduce the probability of overestimation. See
+         * {@link #DEFAULT_SKETCH_DEPTH}.
+         *
+         * @param sketchDepth the depth, must be greater than zero.
+         * @return {@code this}
+         */
+        public Builder sketchDepth(int sketchDepth) {
+
+            LettuceAssert.isTrue(sketchDepth > 0, "Sketch depth must be greater than zero");
+
+            this.sketchDepth = sketchDepth;
+            return this;
+        }
+
+        /**
+         * Create a new instance of {@link HotKeyDetectionOptions}.
+         *
+         * @return new instance of {@link HotKeyDetectionOptions}
+         */
+        public HotKeyDetectionOptions build() {
+            return new HotKeyDetectionOptions(this);
+        }
+
+    }
+
+    /**
+     * Returns a builder to create new {@link HotKeyDetectionOptions} whose settings are replicated from the current
+     * {@link HotKeyDetectionOptions}.
+     *
+     * @return a {@link HotKeyDetectionOptions.Builder} to create new {@link HotKeyDetectionOptions} whose settings are
+     *         replicated from the current {@link HotKeyDetectionOptions}.
+     */
+    public Builder mutate() {
+
+        Builder builder = new Builder();
+        builder.enabled = isEnabled();
+        builder.samplingProbability = getSamplingProbability();
+        builder.window = getWindow();
+        builder.topK = getTopK();
+        builder.sketchWidth = getSketchWidth();
+        builder.sketchDepth = getSketchDepth();
+
+        return builder;
+    }
+
+    /**
+     * @return {@code true} if hot-key detection is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the probability with which a keyed command is sampled.
+     */
+    public double getSamplingProbability() {
+        return samplingProbability;
+    }
+
+    /**
+     * @return the reporting window.
+     */
+    public Duration getWindow() {
+        return window;
+    }
+
+    /**
+     * @return the number of hot keys reported per window.
+     */
+    public int getTopK() {
+        return topK;
+    }
+
+    /**
+     * @return the number of counters per row of the count-min sketch.
+     */
+    public int getSketchWidth() {
+        return sketchWidth;
+    }
+
+    /**
+     * @return the number of rows of the count-min sketch.
+     */
+    public int getSketchDepth() {
+        return sketchDepth;
+    }
+
+}
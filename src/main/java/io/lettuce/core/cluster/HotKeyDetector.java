@@ -0,0 +1,326 @@
+package io.lettuce.core.cluster;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+
+import io.lettuce.core.cluster.event.HotKeysEvent;
+import io.netty.util.concurrent.EventExecutorGroup;
+
+/**
+ * Sampling hot-key detector. Sampled keys are counted in a count-min sketch; keys whose estimate ranks among the top K are
+ * retained along with their slot. Sampled commands are additionally counted per slot. Windows are closed by a task
+ * {@link #start(EventExecutorGroup) scheduled} at the window rate: at the end of each window that sampled at least one
+ * command, the detector emits a {@link HotKeysEvent} with counts and rates scaled by the sampling probability and resets its
+ * state.
+ * <p>
+ * Unsampled commands cost a single random number. Sampled commands update the sketch under a lock. Building the event,
+ * including the scan over all slots, happens on the scheduled task and not on the thread that writes commands.
+ *
+ * @since 7.0
+ * @see HotKeyDetectionOptions
+ */
+class HotKeyDetector {
+
+    private final double samplingProbability;
+
+    private final Duration window;
+
+    private final long windowNanos;
+
+    private final IntFunction<String> nodeIdResolver;
+
+    private final Consumer<HotKeysEvent> eventConsumer;
+
+    private final LongSupplier clock;
+
+    private final AtomicLongArray slotSamples = new AtomicLongArray(SlotHash.SLOT_COUNT);
+
+    private final Lock lock = new ReentrantLock();
+
+    private final CountMinSketch sketch;
+
+    private final TopKeys topKeys;
+
+    private long windowStart;
+
+    private long windowSamples;
+
+    private Future<?> task;
+
+    HotKeyDetector(HotKeyDetectionOptions options, IntFunction<String> nodeIdResolver, Consumer<HotKeysEvent> eventConsumer) {
+        this(options, nodeIdResolver, eventConsumer, System::nanoTime);
+    }
+
+    HotKeyDetector(HotKeyDetectionOptions options, IntFunction<String> nodeIdResolver, Consumer<HotKeysEvent> eventConsumer,
+            LongSupplier clock) {
+
+        this.samplingProbability = options.getSamplingProbability();
+        this.window = options.getWindow();
+        this.windowNanos = options.getWindow().toNanos();
+        this.nodeIdResolver = nodeIdResolver;
+        this.eventConsumer = eventConsumer;
+        this.clock = clock;
+        this.sketch = new CountMinSketch(options.getSketchWidth(), options.getSketchDepth());
+        this.topKeys = new TopKeys(options.getTopK());
+        this.windowStart = clock.getAsLong();
+    }
+
+    /**
+     * Record a keyed command.
+     *
+     * @param slot the slot of the key.
+     * @param encodedKey the encoded key. The buffer position is not changed.
+     */
+    void record(int slot, ByteBuffer encodedKey) {
+
+        if (samplingProbability < 1 && ThreadLocalRandom.current().nextDouble() >= samplingProbability) {
+            return;
+        }
+
+        slotSamples.incrementAndGet(slot);
+
+        lock.lock();
+        try {
+            windowSamples++;
+            topKeys.offer(encodedKey, slot, sketch.add(encodedKey));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Close windows periodically on {@code executor}.
+     *
+     * @param executor the executor to schedule the window task on.
+     */
+    synchronized void start(EventExecutorGroup executor) {
+
+        if (task == null) {
+            task = executor.scheduleAtFixedRate(this::closeWindow, windowNanos, windowNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Stop closing windows and emit the event of the current window.
+     */
+    synchronized void shutdown() {
+
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+            closeWindow();
+        }
+    }
+
+    /**
+     * Close the current window and emit its {@link HotKeysEvent} if the window sampled at least one command.
+     */
+    void closeWindow() {
+
+        List<HotKeysEvent.HotKey> hotKeys;
+        long now = clock.getAsLong();
+        long start;
+
+        lock.lock();
+        try {
+
+            start = windowStart;
+            hotKeys = windowSamples > 0 ? getHotKeys() : null;
+
+            sketch.clear();
+            topKeys.clear();
+            windowStart = now;
+            windowSamples = 0;
+        } finally {
+            lock.unlock();
+        }
+
+        if (hotKeys == null) {
+            return;
+        }
+
+        // slot rates are read outside the lock so that sampled commands are not blocked while scanning all slots
+        double scale = 1 / samplingProbability;
+        double seconds = Math.max(now - start, 1) / 1_000_000_000d;
+
+        Map<Integer, Double> slotRates = new LinkedHashMap<>();
+        for (int slot = 0; slot < SlotHash.SLOT_COUNT; slot++) {
+
+            long samples = slotSamples.getAndSet(slot, 0);
+            if (samples > 0) {
+                slotRates.put(slot, samples * scale / seconds);
+            }
+        }
+
+        eventConsumer.accept(
+                new HotKeysEvent(window, Collections.unmodifiableList(hotKeys), Collections.unmodifiableMap(slotRates)));
+    }
+
+    private List<HotKeysEvent.HotKey> getHotKeys() {
+
+        double scale = 1 / samplingProbability;
+
+        List<HotKeysEvent.HotKey> hotKeys = new ArrayList<>(topKeys.size);
+        for (int i = 0; i < topKeys.size; i++) {
+            int slot = topKeys.slots[i];
+            hotKeys.add(new HotKeysEvent.HotKey(topKeys.keys[i], slot, nodeIdResolver.apply(slot),
+                    Math.round(topKeys.counts[i] * scale)));
+        }
+        hotKeys.sort(Comparator.comparingLong(HotKeysEvent.HotKey::getEstimatedCount).reversed());
+
+        return hotKeys;
+    }
+
+    /**
+     * Count-min sketch over encoded keys using double hashing of a 64-bit FNV-1a hash.
+     */
+    static class CountMinSketch {
+
+        private final int width;
+
+        private final long[][] counters;
+
+        CountMinSketch(int width, int depth) {
+            this.width = width;
+            this.counters = new long[depth][width];
+        }
+
+        /**
+         * Increment the count of {@code key}.
+         *
+         * @return the estimated count after the increment.
+         */
+        long add(ByteBuffer key) {
+
+            long hash = hash(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            long estimate = Long.MAX_VALUE;
+
+            for (int i = 0; i < counters.length; i++) {
+
+                int index = Math.floorMod(h1 + i * h2, width);
+                estimate = Math.min(estimate, ++counters[i][index]);
+            }
+
+            return estimate;
+        }
+
+        /**
+         * @return the estimated count of {@code key}.
+         */
+        long estimate(ByteBuffer key) {
+
+            long hash = hash(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            long estimate = Long.MAX_VALUE;
+
+            for (int i = 0; i < counters.length; i++) {
+                estimate = Math.min(estimate, counters[i][Math.floorMod(h1 + i * h2, width)]);
+            }
+
+            return estimate;
+        }
+
+        void clear() {
+
+            for (long[] row : counters) {
+                Arrays.fill(row, 0);
+            }
+        }
+
+        private static long hash(ByteBuffer key) {
+
+            long hash = 0xcbf29ce484222325L;
+
+            for (int i = key.position(); i < key.limit(); i++) {
+                hash ^= key.get(i) & 0xff;
+                hash *= 0x100000001b3L;
+            }
+
+            return hash;
+        }
+
+    }
+
+    /**
+     * Bounded set of the keys with the highest estimates. Keys are copied only when they enter the set.
+     */
+    static class TopKeys {
+
+        private final byte[][] keys;
+
+        private final int[] slots;
+
+        private final long[] counts;
+
+        private int size;
+
+        TopKeys(int capacity) {
+            this.keys = new byte[capacity][];
+            this.slots = new int[capacity];
+            this.counts = new long[capacity];
+        }
+
+        void offer(ByteBuffer key, int slot, long count) {
+
+            int min = -1;
+
+            for (int i = 0; i < size; i++) {
+
+                if (ByteBuffer.wrap(keys[i]).equals(key)) {
+                    counts[i] = count;
+                    return;
+                }
+
+                if (min == -1 || counts[i] < counts[min]) {
+                    min = i;
+                }
+            }
+
+            if (size < keys.length) {
+                set(size++, key, slot, count);
+                return;
+            }
+
+            if (count > counts[min]) {
+                set(min, key, slot, count);
+            }
+        }
+
+        private void set(int index, ByteBuffer key, int slot, long count) {
+
+            byte[] bytes = new byte[key.remaining()];
+            key.duplicate().get(bytes);
+
+            keys[index] = bytes;
+            slots[index] = slot;
+            counts[index] = count;
+        }
+
+        void clear() {
+
+            Arrays.fill(keys, null);
+            size = 0;
+        }
+
+    }
+
+}
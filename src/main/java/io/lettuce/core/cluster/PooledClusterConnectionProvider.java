@@ -325,6 +325,37 @@ class PooledClusterConnectionProvider<K, V>
         });
     }
 
+    @Override
+    public StatefulRedisConnection<K, V> getAlternateReadConnection(int slot, StatefulRedisConnection<?, ?> exclude) {
+
+        CompletableFuture<StatefulRedisConnection<K, V>> readerCandidates[];
+
+        stateLock.lock();
+        try {
+            readerCandidates = readers[slot];
+        } finally {
+            stateLock.unlock();
+        }
+
+        if (readerCandidates == null) {
+            return null;
+        }
+
+        for (CompletableFuture<StatefulRedisConnection<K, V>> candidate : readerCandidates) {
+
+            if (!candidate.isDone() || candidate.isCompletedExceptionally()) {
+                continue;
+            }
+
+            StatefulRedisConnection<K, V> connection = candidate.join();
+            if (connection != exclude && connection.isOpen()) {
+                return connection;
+            }
+        }
+
+        return null;
+    }
+
     private boolean isOrderSensitive(Object[] connections) {
         return OrderingReadFromAccessor.isOrderSensitive(readFrom) || connections.length == 1;
     }
@@ -646,6 +677,18 @@ class PooledClusterConnectionProvider<K, V>
         return connectionProvider.getConnectionCount();
     }
 
+    @Override
+    public void resetSlot(int slot) {
+
+        stateLock.lock();
+        try {
+            writers[slot] = null;
+            readers[slot] = null;
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
     /**
      * Reset the internal connection cache. This is necessary because the {@link Partitions} have no reference to the connection
      * cache.
@@ -537,6 +537,12 @@ public class RedisClusterClient extends AbstractRedisClient {
      */
     <K, V> ConnectionFuture<StatefulRedisConnection<K, V>> connectToNodeAsync(RedisCodec<K, V> codec, String nodeId,
             RedisChannelWriter clusterWriter, Mono<SocketAddress> socketAddressSupplier) {
+        return connectToNodeAsync(codec, nodeId, clusterWriter, socketAddressSupplier,
+                clusterWriter != null && BlockingCommandWriter.isSupported(getClusterClientOptions()));
+    }
+
+    private <K, V> ConnectionFuture<StatefulRedisConnection<K, V>> connectToNodeAsync(RedisCodec<K, V> codec, String nodeId,
+            RedisChannelWriter clusterWriter, Mono<SocketAddress> socketAddressSupplier, boolean isolateBlockingCommands) {
 
         assertNotNull(codec);
         assertNotEmpty(initialUris);
@@ -554,6 +560,11 @@ public class RedisClusterClient extends AbstractRedisClient {
             writer = new CommandListenerWriter(writer, getCommandListeners());
         }
 
+        if (isolateBlockingCommands) {
+            writer = new BlockingCommandWriter(writer, getClusterClientOptions().getBlockingCommandIsolationOptions(),
+                    () -> connectToNodeAsync(codec, nodeId, clusterWriter, socketAddressSupplier, false));
+        }
+
         StatefulRedisConnectionImpl<K, V> connection = newStatefulRedisConnection(writer, endpoint, codec,
                 getFirstUri().getTimeout(), getClusterClientOptions().getJsonParser());
 
@@ -86,6 +86,31 @@ public class SlotHash {
         }
     }
 
+    /**
+     * Determine the part of the key that is hashed. Returns a view on the hash tag, the content between the first pair of curly
+     * braces, if the key contains a non-empty hash tag, otherwise a view on the whole key. The position and limit of
+     * {@code key} remain unchanged.
+     *
+     * @param key the key
+     * @return the hashed part of the key.
+     * @since 7.0
+     */
+    public static ByteBuffer getHashTag(ByteBuffer key) {
+
+        ByteBuffer hashed = key.duplicate();
+
+        int start = indexOf(key, SUBKEY_START);
+        if (start != -1) {
+            int end = indexOf(key, start + 1, SUBKEY_END);
+            if (end != -1 && end != start + 1) {
+                hashed.limit(end);
+                hashed.position(start + 1);
+            }
+        }
+
+        return hashed;
+    }
+
     private static int indexOf(ByteBuffer haystack, byte needle) {
         return indexOf(haystack, haystack.position(), needle);
     }
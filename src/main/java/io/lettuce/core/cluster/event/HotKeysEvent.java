@@ -0,0 +1,125 @@
+package io.lettuce.core.cluster.event;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import io.lettuce.core.event.Event;
+
+/**
+ * Event emitted at the end of each hot-key detection window, see {@link io.lettuce.core.cluster.HotKeyDetectionOptions}.
+ * Carries the most frequently accessed keys ordered by their estimated access count and the estimated request rate of each
+ * slot that received sampled commands during the window.
+ *
+ * @since 7.0
+ */
+public class HotKeysEvent implements Event {
+
+    private final Duration window;
+
+    private final List<HotKey> hotKeys;
+
+    private final Map<Integer, Double> slotRates;
+
+    public HotKeysEvent(Duration window, List<HotKey> hotKeys, Map<Integer, Double> slotRates) {
+        this.window = window;
+        this.hotKeys = hotKeys;
+        this.slotRates = slotRates;
+    }
+
+    /**
+     * @return the duration of the detection window.
+     */
+    public Duration getWindow() {
+        return window;
+    }
+
+    /**
+     * @return the hot keys, ordered by descending estimated access count.
+     */
+    public List<HotKey> getHotKeys() {
+        return hotKeys;
+    }
+
+    /**
+     * @return the estimated requests per second keyed by slot.
+     */
+    public Map<Integer, Double> getSlotRates() {
+        return slotRates;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [window=").append(window);
+        sb.append(", hotKeys=").append(hotKeys);
+        sb.append(", slots=").append(slotRates.size());
+        sb.append(']');
+        return sb.toString();
+    }
+
+    /**
+     * A hot key along with its slot, the node serving the slot and its estimated access count.
+     */
+    public static class HotKey {
+
+        private final byte[] key;
+
+        private final int slot;
+
+        private final String nodeId;
+
+        private final long estimatedCount;
+
+        public HotKey(byte[] key, int slot, String nodeId, long estimatedCount) {
+            this.key = key;
+            this.slot = slot;
+            this.nodeId = nodeId;
+            this.estimatedCount = estimatedCount;
+        }
+
+        /**
+         * @return the encoded key.
+         */
+        public byte[] getKey() {
+            return key;
+        }
+
+        /**
+         * @return the key decoded as UTF-8 string.
+         */
+        public String getKeyAsString() {
+            return new String(key, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * @return the slot of the key.
+         */
+        public int getSlot() {
+            return slot;
+        }
+
+        /**
+         * @return the id of the node serving the slot, can be {@code null} if the slot is not covered.
+         */
+        public String getNodeId() {
+            return nodeId;
+        }
+
+        /**
+         * @return the estimated number of accesses during the window.
+         */
+        public long getEstimatedCount() {
+            return estimatedCount;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s [slot=%d, nodeId=%s, estimatedCount=%d]", getKeyAsString(), slot, nodeId, estimatedCount);
+        }
+
+    }
+
+}
@@ -0,0 +1,32 @@
+package io.lettuce.core.cluster.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event variant of {@link HotKeysEvent}.
+ *
+ * @since 7.0
+ */
+@Category({ "Lettuce", "Cluster Events" })
+@Label("Hot Keys")
+@StackTrace(false)
+class JfrHotKeysEvent extends Event {
+
+    @Timespan
+    private final long window;
+
+    private final String hotKeys;
+
+    private final int slots;
+
+    public JfrHotKeysEvent(HotKeysEvent event) {
+        this.window = event.getWindow().toNanos();
+        this.hotKeys = event.getHotKeys().toString();
+        this.slots = event.getSlotRates().size();
+    }
+
+}
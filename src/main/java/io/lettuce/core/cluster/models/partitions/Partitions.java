@@ -199,6 +199,37 @@ public class Partitions implements Collection<RedisClusterNode> {
         }
     }
 
+    /**
+     * Update the owner of a single slot in the slot cache, typically after a {@code MOVED} redirection. The update applies to
+     * the slot cache only, {@link RedisClusterNode#getSlots() slots} of the nodes remain unchanged until the next topology
+     * refresh or {@link #updateCache()}.
+     *
+     * @param slot the slot hash.
+     * @param node the node that serves the slot, must not be {@code null}.
+     * @return {@code true} if the slot owner has changed.
+     * @since 7.0
+     */
+    public boolean updateSlotOwner(int slot, RedisClusterNode node) {
+
+        LettuceAssert.notNull(node, "RedisClusterNode must not be null");
+
+        lock.lock();
+        try {
+
+            RedisClusterNode[] slotCache = this.slotCache;
+            if (slotCache == EMPTY || (slotCache[slot] == node && masterCache[slot] == node)) {
+                return false;
+            }
+
+            // the redirect target serves the slot as upstream regardless of the role known from the last topology refresh
+            slotCache[slot] = node;
+            masterCache[slot] = node;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
     private void invalidateCache() {
         this.slotCache = EMPTY;
         this.masterCache = EMPTY;
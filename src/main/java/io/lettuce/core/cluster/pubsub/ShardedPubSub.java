@@ -0,0 +1,419 @@
+package io.lettuce.core.cluster.pubsub;
+
+import java.io.Closeable;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import reactor.core.Disposable;
+import io.lettuce.core.cluster.SlotHash;
+import io.lettuce.core.cluster.event.ClusterTopologyChangedEvent;
+import io.lettuce.core.cluster.models.partitions.Partitions;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.internal.LettuceAssert;
+import io.lettuce.core.pubsub.RedisPubSubListener;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import io.lettuce.core.pubsub.api.async.RedisPubSubAsyncCommands;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+/**
+ * Managed sharded Pub/Sub on top of a {@link StatefulRedisClusterPubSubConnection}. Shard channels are subscribed on the
+ * upstream node owning their {@link SlotHash slot} using the node connections of the cluster Pub/Sub connection.
+ * <p>
+ * Subscriptions are batched: channels sharing a slot are subscribed with a single multi-channel {@code SSUBSCRIBE} and all
+ * commands for a node are written to the same node connection. Redis rejects {@code SSUBSCRIBE} for channels of different
+ * slots, so a node receives one command per slot rather than one command per node.
+ * <p>
+ * On {@link ClusterTopologyChangedEvent topology changes} only channels whose slot moved to a different node are unsubscribed
+ * from their previous owner and subscribed on the new owner. Channels that Redis unsubscribes server-side (for example after a
+ * slot migration) are subscribed again on their current owner. Messages of all shards are delivered to the
+ * {@link #addListener(RedisPubSubListener) registered} {@link RedisPubSubListener listeners}. Messages may be delivered twice
+ * for the short period in which a channel is subscribed on both its previous and its new owner.
+ *
+ * <pre class="code">
+ * ShardedPubSub&lt;String, String&gt; pubSub = ShardedPubSub.create(connection, StringCodec.UTF8);
+ * pubSub.addListener(listener);
+ * pubSub.ssubscribe("orders", "payments").join();
+ *
+ * pubSub.spublish("orders", "hello");
+ * </pre>
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @since 7.0
+ */
+public class ShardedPubSub<K, V> implements Closeable {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(ShardedPubSub.class);
+
+    private final StatefulRedisClusterPubSubConnection<K, V> connection;
+
+    private final RedisCodec<K, V> codec;
+
+    private final Map<ByteBuffer, Subscription<K>> subscriptions = new ConcurrentHashMap<>();
+
+    private final List<RedisPubSubListener<K, V>> listeners = new CopyOnWriteArrayList<>();
+
+    private final RedisClusterPubSubListener<K, V> shardListener = new ShardListener();
+
+    private volatile Disposable topologySubscription;
+
+    ShardedPubSub(StatefulRedisClusterPubSubConnection<K, V> connection, RedisCodec<K, V> codec) {
+
+        this.connection = connection;
+        this.codec = codec;
+
+        connection.addListener(shardListener);
+    }
+
+    /**
+     * Create a new {@link ShardedPubSub} for a cluster Pub/Sub connection. {@link #close() Close} the {@link ShardedPubSub} to
+     * unsubscribe its shard channels and to stop listening for topology changes. Closing does not close the connection.
+     *
+     * @param connection the cluster Pub/Sub connection, must not be {@code null}.
+     * @param codec the codec used by {@code connection} to compute the slot of shard channels, must not be {@code null}.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return the {@link ShardedPubSub}.
+     */
+    public static <K, V> ShardedPubSub<K, V> create(StatefulRedisClusterPubSubConnection<K, V> connection,
+            RedisCodec<K, V> codec) {
+
+        LettuceAssert.notNull(connection, "Connection must not be null");
+        LettuceAssert.notNull(codec, "RedisCodec must not be null");
+
+        ShardedPubSub<K, V> pubSub = new ShardedPubSub<>(connection, codec);
+        pubSub.topologySubscription = connection.getResources().eventBus().get()
+                .filter(ClusterTopologyChangedEvent.class::isInstance).cast(ClusterTopologyChangedEvent.class)
+                .subscribe(event -> pubSub.rebalance(toPartitions(event.after())));
+
+        return pubSub;
+    }
+
+    /**
+     * Add a {@link RedisPubSubListener listener} receiving shard messages and subscription notifications of all nodes.
+     *
+     * @param listener the listener, must not be {@code null}.
+     */
+    public void addListener(RedisPubSubListener<K, V> listener) {
+
+        LettuceAssert.notNull(listener, "RedisPubSubListener must not be null");
+
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove an existing {@link RedisPubSubListener listener}.
+     *
+     * @param listener the listener, must not be {@code null}.
+     */
+    public void removeListener(RedisPubSubListener<K, V> listener) {
+
+        LettuceAssert.notNull(listener, "RedisPubSubListener must not be null");
+
+        listeners.remove(listener);
+    }
+
+    /**
+     * Subscribe to shard channels on the upstream nodes owning their slots.
+     *
+     * @param shardChannels the shard channels, must not be empty.
+     * @return future completed once all nodes have confirmed the subscription.
+     */
+    @SafeVarargs
+    public final CompletableFuture<Void> ssubscribe(K... shardChannels) {
+
+        LettuceAssert.notEmpty(shardChannels, "Shard channels must not be empty");
+
+        for (K shardChannel : shardChannels) {
+
+            ByteBuffer key = encode(shardChannel);
+            subscriptions.computeIfAbsent(key, it -> new Subscription<>(shardChannel, SlotHash.getSlot(it.duplicate())));
+        }
+
+        return rebalance(connection.getPartitions());
+    }
+
+    /**
+     * Unsubscribe from shard channels.
+     *
+     * @param shardChannels the shard channels, must not be empty.
+     * @return future completed once all nodes have confirmed the unsubscription.
+     */
+    @SafeVarargs
+    public final CompletableFuture<Void> sunsubscribe(K... shardChannels) {
+
+        LettuceAssert.notEmpty(shardChannels, "Shard channels must not be empty");
+
+        Map<String, List<Subscription<K>>> byNode = new LinkedHashMap<>();
+
+        for (K shardChannel : shardChannels) {
+
+            Subscription<K> subscription = subscriptions.remove(encode(shardChannel));
+            String nodeId = subscription != null ? subscription.nodeId : null;
+
+            if (nodeId != null) {
+                byNode.computeIfAbsent(nodeId, it -> new ArrayList<>()).add(subscription);
+            }
+        }
+
+        return dispatch(byNode, false);
+    }
+
+    /**
+     * Publish a message to a shard channel. The message is routed to the node owning the slot of {@code shardChannel}. Node
+     * connections in subscribed state accept {@code SPUBLISH} only with RESP3, use a regular cluster connection to publish
+     * when using RESP2.
+     *
+     * @param shardChannel the shard channel, must not be {@code null}.
+     * @param message the message.
+     * @return future completed with the number of clients that received the message.
+     */
+    public CompletableFuture<Long> spublish(K shardChannel, V message) {
+
+        LettuceAssert.notNull(shardChannel, "Shard channel must not be null");
+
+        return connection.async().spublish(shardChannel, message).toCompletableFuture();
+    }
+
+    /**
+     * @return the shard channels managed by this {@link ShardedPubSub}.
+     */
+    public Set<K> getShardChannels() {
+
+        Set<K> result = new LinkedHashSet<>();
+        for (Subscription<K> subscription : subscriptions.values()) {
+            result.add(subscription.channel);
+        }
+        return result;
+    }
+
+    /**
+     * Move shard channels whose slot is owned by a different node according to the current {@link Partitions} of the
+     * connection. Invoked automatically on {@link ClusterTopologyChangedEvent topology changes}.
+     *
+     * @return future completed once all moved channels have been subscribed on their new owner.
+     */
+    public CompletableFuture<Void> refresh() {
+        return rebalance(connection.getPartitions());
+    }
+
+    /**
+     * Unsubscribe all shard channels and stop listening for topology changes. Does not close the underlying connection.
+     */
+    @Override
+    public void close() {
+
+        Disposable topologySubscription = this.topologySubscription;
+        if (topologySubscription != null) {
+            topologySubscription.dispose();
+        }
+
+        connection.removeListener(shardListener);
+
+        Map<String, List<Subscription<K>>> byNode = new LinkedHashMap<>();
+        for (Subscription<K> subscription : subscriptions.values()) {
+            if (subscription.nodeId != null) {
+                byNode.computeIfAbsent(subscription.nodeId, it -> new ArrayList<>()).add(subscription);
+            }
+        }
+
+        subscriptions.clear();
+        dispatch(byNode, false);
+    }
+
+    CompletableFuture<Void> rebalance(Partitions partitions) {
+
+        Map<String, List<Subscription<K>>> toUnsubscribe = new LinkedHashMap<>();
+        Map<String, List<Subscription<K>>> toSubscribe = new LinkedHashMap<>();
+
+        synchronized (subscriptions) {
+
+            for (Subscription<K> subscription : subscriptions.values()) {
+
+                RedisClusterNode owner = partitions.getMasterBySlot(subscription.slot);
+
+                if (owner == null || owner.getNodeId().equals(subscription.nodeId)) {
+                    continue;
+                }
+
+                if (subscription.nodeId != null) {
+                    toUnsubscribe.computeIfAbsent(subscription.nodeId, it -> new ArrayList<>()).add(subscription);
+                }
+
+                subscription.nodeId = owner.getNodeId();
+                toSubscribe.computeIfAbsent(owner.getNodeId(), it -> new ArrayList<>()).add(subscription);
+            }
+        }
+
+        if (!toUnsubscribe.isEmpty()) {
+            logger.debug("Moving shard channels away from nodes {}", toUnsubscribe.keySet());
+            dispatch(toUnsubscribe, false);
+        }
+
+        return dispatch(toSubscribe, true);
+    }
+
+    private CompletableFuture<Void> dispatch(Map<String, List<Subscription<K>>> byNode, boolean subscribe) {
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(byNode.size());
+
+        for (Map.Entry<String, List<Subscription<K>>> entry : byNode.entrySet()) {
+
+            String nodeId = entry.getKey();
+            List<Subscription<K>> nodeSubscriptions = entry.getValue();
+
+            CompletableFuture<Void> future = getConnection(nodeId)
+                    .thenCompose(nodeConnection -> dispatch(nodeConnection.async(), nodeSubscriptions, subscribe));
+
+            futures.add(future.whenComplete((ignore, throwable) -> {
+
+                if (throwable == null) {
+                    return;
+                }
+
+                if (subscribe) {
+                    // retry on the next rebalance
+                    synchronized (subscriptions) {
+                        nodeSubscriptions.stream().filter(it -> nodeId.equals(it.nodeId)).forEach(it -> it.nodeId = null);
+                    }
+                } else {
+                    logger.debug("Cannot unsubscribe shard channels from node {}", nodeId, throwable);
+                }
+            }));
+        }
+
+        if (!subscribe) {
+            // the previous owner may no longer be reachable, unsubscription is best-effort
+            return CompletableFuture.allOf(futures.stream().map(it -> it.exceptionally(t -> null))
+                    .toArray(CompletableFuture[]::new));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    private CompletableFuture<Void> dispatch(RedisPubSubAsyncCommands<K, V> commands, List<Subscription<K>> nodeSubscriptions,
+            boolean subscribe) {
+
+        Map<Integer, List<K>> bySlot = new LinkedHashMap<>();
+        for (Subscription<K> subscription : nodeSubscriptions) {
+            bySlot.computeIfAbsent(subscription.slot, it -> new ArrayList<>()).add(subscription.channel);
+        }
+
+        CompletableFuture<?>[] futures = new CompletableFuture[bySlot.size()];
+        int index = 0;
+
+        for (List<K> channels : bySlot.values()) {
+
+            K[] array = toArray(channels);
+            futures[index++] = (subscribe ? commands.ssubscribe(array) : commands.sunsubscribe(array)).toCompletableFuture();
+        }
+
+        return CompletableFuture.allOf(futures);
+    }
+
+    private CompletableFuture<StatefulRedisPubSubConnection<K, V>> getConnection(String nodeId) {
+
+        try {
+            return connection.getConnectionAsync(nodeId);
+        } catch (RuntimeException e) {
+
+            CompletableFuture<StatefulRedisPubSubConnection<K, V>> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    private ByteBuffer encode(K shardChannel) {
+
+        LettuceAssert.notNull(shardChannel, "Shard channel must not be null");
+
+        return codec.encodeKey(shardChannel);
+    }
+
+    private static Partitions toPartitions(List<RedisClusterNode> nodes) {
+
+        Partitions partitions = new Partitions();
+        partitions.reload(nodes);
+        return partitions;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T[] toArray(Collection<T> c) {
+        Class<T> cls = (Class<T>) c.iterator().next().getClass();
+        T[] array = (T[]) Array.newInstance(cls, c.size());
+        return c.toArray(array);
+    }
+
+    static class Subscription<K> {
+
+        final K channel;
+
+        final int slot;
+
+        /**
+         * Id of the node the channel is subscribed on. {@code null} if not subscribed.
+         */
+        volatile String nodeId;
+
+        Subscription(K channel, int slot) {
+            this.channel = channel;
+            this.slot = slot;
+        }
+
+    }
+
+    /**
+     * Listener forwarding shard notifications of all node connections to the {@link ShardedPubSub} listeners.
+     */
+    class ShardListener extends RedisClusterPubSubAdapter<K, V> {
+
+        @Override
+        public void smessage(RedisClusterNode node, K shardChannel, V message) {
+            listeners.forEach(listener -> listener.smessage(shardChannel, message));
+        }
+
+        @Override
+        public void ssubscribed(RedisClusterNode node, K shardChannel, long count) {
+            listeners.forEach(listener -> listener.ssubscribed(shardChannel, count));
+        }
+
+        @Override
+        public void sunsubscribed(RedisClusterNode node, K shardChannel, long count) {
+
+            listeners.forEach(listener -> listener.sunsubscribed(shardChannel, count));
+
+            Subscription<K> subscription = subscriptions.get(codec.encodeKey(shardChannel));
+            if (subscription == null || node == null) {
+                return;
+            }
+
+            boolean unsolicited;
+            synchronized (subscriptions) {
+                unsolicited = node.getNodeId().equals(subscription.nodeId);
+                if (unsolicited) {
+                    subscription.nodeId = null;
+                }
+            }
+
+            if (unsolicited) {
+                logger.debug("Shard channel {} was unsubscribed by node {}, subscribing on current owner", shardChannel,
+                        node.getNodeId());
+                refresh();
+            }
+        }
+
+    }
+
+}
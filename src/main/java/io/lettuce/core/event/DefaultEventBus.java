@@ -1,33 +1,65 @@
 package io.lettuce.core.event;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Sinks;
+import reactor.core.publisher.FluxSink;
 import reactor.core.scheduler.Scheduler;
 import io.lettuce.core.event.jfr.EventRecorder;
+import io.lettuce.core.internal.LettuceAssert;
 
 /**
  * Default implementation for an {@link EventBus}. Events are published using a {@link Scheduler} and events are recorded
  * through {@link EventRecorder#record(Event) EventRecorder}.
+ * <p>
+ * Each subscriber is registered for an event type and receives events through its own serialized sink backed by a
+ * multi-producer queue. Publishing threads therefore do not contend on a shared sink and never spin. Publishing an event that
+ * has no subscribers and is not recorded costs a single iteration over the subscriber list.
  *
  * @author Mark Paluch
  * @since 3.4
  */
 public class DefaultEventBus implements EventBus {
 
-    private final Sinks.Many<Event> bus;
+    private final List<EventSubscriber<?>> subscribers = new CopyOnWriteArrayList<>();
 
     private final Scheduler scheduler;
 
     private final EventRecorder recorder = EventRecorder.getInstance();
 
     public DefaultEventBus(Scheduler scheduler) {
-        this.bus = Sinks.many().multicast().directBestEffort();
         this.scheduler = scheduler;
     }
 
     @Override
     public Flux<Event> get() {
-        return bus.asFlux().onBackpressureDrop().publishOn(scheduler);
+        return get(Event.class);
+    }
+
+    @Override
+    public <T extends Event> Flux<T> get(Class<T> eventType) {
+
+        LettuceAssert.notNull(eventType, "Event type must not be null");
+
+        return Flux.<T> create(sink -> {
+
+            EventSubscriber<T> subscriber = new EventSubscriber<>(eventType, sink);
+            subscribers.add(subscriber);
+            sink.onDispose(() -> subscribers.remove(subscriber));
+        }, FluxSink.OverflowStrategy.DROP).publishOn(scheduler);
+    }
+
+    @Override
+    public boolean isEnabled(Class<? extends Event> eventType) {
+
+        for (EventSubscriber<?> subscriber : subscribers) {
+            if (subscriber.eventType.isAssignableFrom(eventType)) {
+                return true;
+            }
+        }
+
+        return recorder.isEnabled(eventType);
     }
 
     @Override
@@ -35,15 +67,29 @@ public class DefaultEventBus implements EventBus {
 
         recorder.record(event);
 
-        Sinks.EmitResult emitResult;
+        for (EventSubscriber<?> subscriber : subscribers) {
+            subscriber.onEvent(event);
+        }
+    }
+
+    static class EventSubscriber<T extends Event> {
+
+        private final Class<T> eventType;
+
+        private final FluxSink<T> sink;
 
-        while ((emitResult = bus.tryEmitNext(event)) == Sinks.EmitResult.FAIL_NON_SERIALIZED) {
-            // busy-loop
+        EventSubscriber(Class<T> eventType, FluxSink<T> sink) {
+            this.eventType = eventType;
+            this.sink = sink;
         }
 
-        if (emitResult != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
-            emitResult.orThrow();
+        void onEvent(Event event) {
+
+            if (eventType.isInstance(event)) {
+                sink.next(eventType.cast(event));
+            }
         }
+
     }
 
 }
@@ -17,6 +17,20 @@ public interface EventBus {
      */
     Flux<Event> get();
 
+    /**
+     * Subscribe to the event bus and {@link Event}s of the given {@code eventType}. The {@link Flux} drops events on
+     * backpressure to avoid contention. Subscribing to a specific type allows publishers to skip event construction for types
+     * that have no subscribers, see {@link #isEnabled(Class)}.
+     *
+     * @param eventType the event type to subscribe to, must not be {@code null}.
+     * @param <T> event type.
+     * @return the observable to obtain events.
+     * @since 7.0
+     */
+    default <T extends Event> Flux<T> get(Class<T> eventType) {
+        return get().filter(eventType::isInstance).cast(eventType);
+    }
+
     /**
      * Publish a {@link Event} to the bus.
      *
@@ -24,4 +38,16 @@ public interface EventBus {
      */
     void publish(Event event);
 
+    /**
+     * Check whether events of the given {@code eventType} are consumed by any subscriber or recorder. Publishers can use this
+     * method to avoid constructing events that nobody consumes.
+     *
+     * @param eventType the event type.
+     * @return {@code true} if events of the given type are consumed.
+     * @since 7.0
+     */
+    default boolean isEnabled(Class<? extends Event> eventType) {
+        return true;
+    }
+
 }
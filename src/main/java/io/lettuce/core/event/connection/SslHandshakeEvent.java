@@ -0,0 +1,61 @@
+package io.lettuce.core.event.connection;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+
+/**
+ * Event fired after a successful SSL/TLS handshake. Captures the handshake duration and whether the handshake resumed a
+ * previous TLS session. The resumption rate can be derived from the ratio of {@link #isResumed() resumed} handshakes to all
+ * handshakes.
+ *
+ * @since 7.0
+ * @see io.lettuce.core.resource.SslContextCache
+ */
+public class SslHandshakeEvent extends ConnectionEventSupport {
+
+    private final Duration duration;
+
+    private final boolean resumed;
+
+    private final String protocol;
+
+    private final String cipherSuite;
+
+    public SslHandshakeEvent(String redisUri, String epId, String channelId, SocketAddress local, SocketAddress remote,
+            Duration duration, boolean resumed, String protocol, String cipherSuite) {
+        super(redisUri, epId, channelId, local, remote);
+        this.duration = duration;
+        this.resumed = resumed;
+        this.protocol = protocol;
+        this.cipherSuite = cipherSuite;
+    }
+
+    /**
+     * @return the duration of the handshake measured from channel activation until handshake completion.
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return {@code true} if the handshake resumed a previous TLS session; {@code false} if a full handshake was performed.
+     */
+    public boolean isResumed() {
+        return resumed;
+    }
+
+    /**
+     * @return the negotiated protocol, for example {@code TLSv1.3}.
+     */
+    public String getProtocol() {
+        return protocol;
+    }
+
+    /**
+     * @return the negotiated cipher suite.
+     */
+    public String getCipherSuite() {
+        return cipherSuite;
+    }
+
+}
@@ -38,6 +38,17 @@ public interface EventRecorder {
      */
     RecordableEvent start(Event event);
 
+    /**
+     * Check whether events of the given {@code eventType} are recorded.
+     *
+     * @param eventType the event type.
+     * @return {@code true} if events of the given type are recorded.
+     * @since 7.0
+     */
+    default boolean isEnabled(Class<? extends Event> eventType) {
+        return true;
+    }
+
     /**
      * Interface defining a recordable event that is recorded on calling {@link #record()}.
      */
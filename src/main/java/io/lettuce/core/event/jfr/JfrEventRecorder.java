@@ -3,6 +3,7 @@ package io.lettuce.core.event.jfr;
 import java.lang.reflect.Constructor;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 import io.lettuce.core.event.Event;
@@ -26,11 +27,17 @@ class JfrEventRecorder implements EventRecorder {
 
     private final Map<Class<?>, Constructor<?>> constructorMap = new ConcurrentHashMap<>();
 
+    private final Map<Class<?>, Optional<jdk.jfr.EventType>> eventTypeMap = new ConcurrentHashMap<>();
+
     @Override
     public void record(Event event) {
 
         LettuceAssert.notNull(event, "Event must not be null");
 
+        if (!isEnabled(event.getClass())) {
+            return;
+        }
+
         jdk.jfr.Event jfrEvent = createEvent(event);
 
         if (jfrEvent != null) {
@@ -43,6 +50,10 @@ class JfrEventRecorder implements EventRecorder {
 
         LettuceAssert.notNull(event, "Event must not be null");
 
+        if (!isEnabled(event.getClass())) {
+            return NoOpEventRecorder.INSTANCE;
+        }
+
         jdk.jfr.Event jfrEvent = createEvent(event);
 
         if (jfrEvent != null) {
@@ -53,15 +64,32 @@ class JfrEventRecorder implements EventRecorder {
         return NoOpEventRecorder.INSTANCE;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean isEnabled(Class<? extends Event> eventType) {
+
+        Optional<jdk.jfr.EventType> jfrEventType = eventTypeMap.computeIfAbsent(eventType, it -> {
+
+            Class<?> eventClass = findJfrEventClass(it);
+            return eventClass != null
+                    ? Optional.of(jdk.jfr.EventType.getEventType((Class<? extends jdk.jfr.Event>) eventClass))
+                    : Optional.empty();
+        });
+
+        return jfrEventType.isPresent() && jfrEventType.get().isEnabled();
+    }
+
+    private static Class<?> findJfrEventClass(Class<?> eventType) {
+        return LettuceClassUtils.findClass(eventType.getPackage().getName() + ".Jfr" + eventType.getSimpleName());
+    }
+
     private Constructor<?> getEventConstructor(Event event) throws NoSuchMethodException {
 
         Constructor<?> constructor = constructorMap.get(event.getClass());
 
         if (constructor == null) {
 
-            String jfrClassName = event.getClass().getPackage().getName() + ".Jfr" + event.getClass().getSimpleName();
-
-            Class<?> eventClass = LettuceClassUtils.findClass(jfrClassName);
+            Class<?> eventClass = findJfrEventClass(event.getClass());
 
             if (eventClass == null) {
                 constructor = Object.class.getConstructor();
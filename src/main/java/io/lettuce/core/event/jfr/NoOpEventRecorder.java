@@ -22,6 +22,11 @@ enum NoOpEventRecorder implements EventRecorder, EventRecorder.RecordableEvent {
         return this;
     }
 
+    @Override
+    public boolean isEnabled(Class<? extends Event> eventType) {
+        return false;
+    }
+
     @Override
     public void record() {
 
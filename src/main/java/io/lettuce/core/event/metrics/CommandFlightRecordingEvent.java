@@ -0,0 +1,181 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.event.metrics;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+import io.lettuce.core.event.Event;
+import io.lettuce.core.protocol.ProtocolKeyword;
+
+/**
+ * Event carrying the timings of the most recent commands of a connection. Published when a command exceeds the configured
+ * latency threshold or completes with an error, see {@link io.lettuce.core.metrics.CommandFlightRecorderOptions}. The last
+ * {@link CommandTiming} is the command that triggered the recording.
+ *
+ * @since 7.0
+ */
+public class CommandFlightRecordingEvent implements Event {
+
+    private final SocketAddress remoteAddress;
+
+    private final Trigger trigger;
+
+    private final List<CommandTiming> timings;
+
+    public CommandFlightRecordingEvent(SocketAddress remoteAddress, Trigger trigger, List<CommandTiming> timings) {
+        this.remoteAddress = remoteAddress;
+        this.trigger = trigger;
+        this.timings = timings;
+    }
+
+    /**
+     * @return the remote address of the connection.
+     */
+    public SocketAddress getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    /**
+     * @return the reason for the recording.
+     */
+    public Trigger getTrigger() {
+        return trigger;
+    }
+
+    /**
+     * @return command timings, oldest first. The last element is the command that triggered the recording.
+     */
+    public List<CommandTiming> getTimings() {
+        return timings;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [remoteAddress=").append(remoteAddress);
+        sb.append(", trigger=").append(trigger);
+        sb.append(", timings=").append(timings.size());
+        sb.append(']');
+        return sb.toString();
+    }
+
+    /**
+     * Reason for a {@link CommandFlightRecordingEvent}.
+     */
+    public enum Trigger {
+
+        /**
+         * A command exceeded the latency threshold.
+         */
+        LATENCY,
+
+        /**
+         * A command completed with an error response.
+         */
+        ERROR
+    }
+
+    /**
+     * Timing of a single command. The queue time is the time the command spent in the endpoint queues before it was written.
+     * The head-of-line time is the time the written command spent waiting for responses of commands written before it on the
+     * same connection. The server time is the remaining time until its response was decoded and includes network transfer.
+     * Queue and head-of-line time follow the definitions of {@link io.lettuce.core.metrics.CommandLatencyStage#QUEUE} and
+     * {@link io.lettuce.core.metrics.CommandLatencyStage#HEAD_OF_LINE}.
+     */
+    public static class CommandTiming {
+
+        private final ProtocolKeyword type;
+
+        private final int argumentCount;
+
+        private final long queueTimeNanos;
+
+        private final long headOfLineTimeNanos;
+
+        private final long serverTimeNanos;
+
+        private final boolean error;
+
+        public CommandTiming(ProtocolKeyword type, int argumentCount, long queueTimeNanos, long headOfLineTimeNanos,
+                long serverTimeNanos, boolean error) {
+            this.type = type;
+            this.argumentCount = argumentCount;
+            this.queueTimeNanos = queueTimeNanos;
+            this.headOfLineTimeNanos = headOfLineTimeNanos;
+            this.serverTimeNanos = serverTimeNanos;
+            this.error = error;
+        }
+
+        /**
+         * @return the command type.
+         */
+        public ProtocolKeyword getType() {
+            return type;
+        }
+
+        /**
+         * @return number of command arguments.
+         */
+        public int getArgumentCount() {
+            return argumentCount;
+        }
+
+        /**
+         * @return time spent in the endpoint queues before the command was written. {@link Duration#ZERO} if command latency
+         *         metrics are disabled.
+         */
+        public Duration getQueueTime() {
+            return Duration.ofNanos(queueTimeNanos);
+        }
+
+        /**
+         * @return time spent waiting for responses of previously written commands.
+         */
+        public Duration getHeadOfLineTime() {
+            return Duration.ofNanos(headOfLineTimeNanos);
+        }
+
+        /**
+         * @return time from becoming the oldest outstanding command until completion.
+         */
+        public Duration getServerTime() {
+            return Duration.ofNanos(serverTimeNanos);
+        }
+
+        /**
+         * @return {@code true} if the command completed with an error response.
+         */
+        public boolean isError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return type + " [args=" + argumentCount + ", queue=" + (queueTimeNanos / 1000) + "µs, headOfLine="
+                    + (headOfLineTimeNanos / 1000) + "µs, server=" + (serverTimeNanos / 1000) + "µs" + (error ? ", error" : "")
+                    + "]";
+        }
+
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.event.metrics;
+
+import java.net.SocketAddress;
+
+import io.lettuce.core.event.Event;
+
+/**
+ * Event published when the adaptive in-flight limit of a connection changes, see
+ * {@link io.lettuce.core.ConcurrencyLimitOptions}. The most recent event per endpoint reflects the current limit and can be
+ * used to drive a gauge.
+ *
+ * @since 7.0
+ */
+public class ConcurrencyLimitEvent implements Event {
+
+    private final String endpointId;
+
+    private final SocketAddress remoteAddress;
+
+    private final int previousLimit;
+
+    private final int limit;
+
+    private final int inFlight;
+
+    public ConcurrencyLimitEvent(String endpointId, SocketAddress remoteAddress, int previousLimit, int limit, int inFlight) {
+        this.endpointId = endpointId;
+        this.remoteAddress = remoteAddress;
+        this.previousLimit = previousLimit;
+        this.limit = limit;
+        this.inFlight = inFlight;
+    }
+
+    /**
+     * @return the endpoint identifier.
+     */
+    public String getEndpointId() {
+        return endpointId;
+    }
+
+    /**
+     * @return the remote address of the connection, can be {@code null} if the connection is not connected.
+     */
+    public SocketAddress getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    /**
+     * @return the limit before the change.
+     */
+    public int getPreviousLimit() {
+        return previousLimit;
+    }
+
+    /**
+     * @return the new in-flight limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return the number of in-flight commands at the time of the change.
+     */
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [endpointId=").append(endpointId);
+        sb.append(", remoteAddress=").append(remoteAddress);
+        sb.append(", previousLimit=").append(previousLimit);
+        sb.append(", limit=").append(limit);
+        sb.append(", inFlight=").append(inFlight);
+        sb.append(']');
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.event.metrics;
+
+import java.time.Duration;
+
+import io.lettuce.core.event.Event;
+
+/**
+ * Event published when a hedged read completes, see {@link io.lettuce.core.HedgingOptions}. The event carries the outcome of
+ * the hedged command and the cumulative counters of the publishing connection. Hedge rate and win rate can be derived from
+ * the counters of the most recent event.
+ *
+ * @since 7.0
+ */
+public class HedgedReadEvent implements Event {
+
+    private final String commandType;
+
+    private final Duration delay;
+
+    private final boolean hedgeWon;
+
+    private final long reads;
+
+    private final long hedges;
+
+    private final long wins;
+
+    public HedgedReadEvent(String commandType, Duration delay, boolean hedgeWon, long reads, long hedges, long wins) {
+        this.commandType = commandType;
+        this.delay = delay;
+        this.hedgeWon = hedgeWon;
+        this.reads = reads;
+        this.hedges = hedges;
+        this.wins = wins;
+    }
+
+    /**
+     * @return the command type.
+     */
+    public String getCommandType() {
+        return commandType;
+    }
+
+    /**
+     * @return the delay after which the hedge was sent.
+     */
+    public Duration getDelay() {
+        return delay;
+    }
+
+    /**
+     * @return {@code true} if the hedge replied first, {@code false} if the original command replied first.
+     */
+    public boolean isHedgeWon() {
+        return hedgeWon;
+    }
+
+    /**
+     * @return the total number of read commands eligible for hedging.
+     */
+    public long getReads() {
+        return reads;
+    }
+
+    /**
+     * @return the total number of hedges sent.
+     */
+    public long getHedges() {
+        return hedges;
+    }
+
+    /**
+     * @return the total number of hedges that replied first.
+     */
+    public long getWins() {
+        return wins;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [commandType=").append(commandType);
+        sb.append(", delay=").append(delay);
+        sb.append(", hedgeWon=").append(hedgeWon);
+        sb.append(", reads=").append(reads);
+        sb.append(", hedges=").append(hedges);
+        sb.append(", wins=").append(wins);
+        sb.append(']');
+        return sb.toString();
+    }
+
+}
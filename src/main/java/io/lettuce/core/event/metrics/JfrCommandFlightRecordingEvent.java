@@ -0,0 +1,54 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.event.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event variant of {@link CommandFlightRecordingEvent}. Commits a {@link JfrCommandTiming} for each recorded
+ * command.
+ *
+ * @since 7.0
+ * @see JfrCommandTiming
+ */
+@Category({ "Lettuce", "Command Events" })
+@Label("Command Flight Recording")
+@StackTrace(false)
+class JfrCommandFlightRecordingEvent extends Event {
+
+    private final String remoteAddress;
+
+    private final String trigger;
+
+    private final int size;
+
+    public JfrCommandFlightRecordingEvent(CommandFlightRecordingEvent event) {
+
+        this.remoteAddress = String.valueOf(event.getRemoteAddress());
+        this.trigger = event.getTrigger().name();
+        this.size = event.getTimings().size();
+
+        event.getTimings().forEach(timing -> new JfrCommandTiming(remoteAddress, timing).commit());
+    }
+
+}
@@ -30,6 +30,7 @@ import jdk.jfr.StackTrace;
  * @author Hash.Jang
  * @since 6.2
  * @see JfrCommandLatency
+ * @see JfrCommandStageLatency
  */
 @Category({ "Lettuce", "Command Events" })
 @Label("Command Latency Trigger")
@@ -44,6 +45,9 @@ class JfrCommandLatencyEvent extends Event {
 
         commandLatencyEvent.getLatencies().forEach((commandLatencyId, commandMetrics) -> {
             new JfrCommandLatency(commandLatencyId, commandMetrics).commit();
+            commandMetrics.getStages().forEach((stage, latency) -> {
+                new JfrCommandStageLatency(commandLatencyId, stage, commandMetrics.getTimeUnit(), latency).commit();
+            });
         });
     }
 
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.event.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import io.lettuce.core.metrics.CommandLatencyId;
+import io.lettuce.core.metrics.CommandLatencyStage;
+import io.lettuce.core.metrics.CommandMetrics;
+
+/**
+ * A JFR event for the latency of a single {@link CommandLatencyStage} triggered by JfrCommandLatencyEvent.
+ *
+ * @since 7.0
+ * @see JfrCommandLatency
+ */
+@Category({ "Lettuce", "Command Events" })
+@Label("Command Stage Latency")
+@StackTrace(false)
+class JfrCommandStageLatency extends Event {
+
+    private final String remoteAddress;
+
+    private final String commandType;
+
+    private final String stage;
+
+    @Timespan(Timespan.MICROSECONDS)
+    @Description("Stage latency minimum in µs")
+    private final long min;
+
+    @Timespan(Timespan.MICROSECONDS)
+    @Description("Stage latency maximum in µs")
+    private final long max;
+
+    private final String percentiles;
+
+    public JfrCommandStageLatency(CommandLatencyId commandLatencyId, CommandLatencyStage stage, TimeUnit timeUnit,
+            CommandMetrics.CommandLatency latency) {
+
+        this.remoteAddress = commandLatencyId.remoteAddress().toString();
+        this.commandType = commandLatencyId.commandType().toString();
+        this.stage = stage.name();
+        this.min = timeUnit.toMicros(latency.getMin());
+        this.max = timeUnit.toMicros(latency.getMax());
+        this.percentiles = latency.getPercentiles().toString();
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.event.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A JFR event for each command timing of a {@link CommandFlightRecordingEvent}.
+ *
+ * @since 7.0
+ * @see JfrCommandFlightRecordingEvent
+ */
+@Category({ "Lettuce", "Command Events" })
+@Label("Command Timing")
+@StackTrace(false)
+class JfrCommandTiming extends Event {
+
+    private final String remoteAddress;
+
+    private final String commandType;
+
+    private final int argumentCount;
+
+    @Timespan(Timespan.MICROSECONDS)
+    @Description("Time in the endpoint queues before the command was written in µs")
+    private final long queueTime;
+
+    @Timespan(Timespan.MICROSECONDS)
+    @Description("Time waiting for responses of previously written commands in µs")
+    private final long headOfLineTime;
+
+    @Timespan(Timespan.MICROSECONDS)
+    @Description("Time until completion after becoming the oldest outstanding command in µs")
+    private final long serverTime;
+
+    private final boolean error;
+
+    public JfrCommandTiming(String remoteAddress, CommandFlightRecordingEvent.CommandTiming timing) {
+        this.remoteAddress = remoteAddress;
+        this.commandType = timing.getType().toString();
+        this.argumentCount = timing.getArgumentCount();
+        this.queueTime = TimeUnit.NANOSECONDS.toMicros(timing.getQueueTime().toNanos());
+        this.headOfLineTime = TimeUnit.NANOSECONDS.toMicros(timing.getHeadOfLineTime().toNanos());
+        this.serverTime = TimeUnit.NANOSECONDS.toMicros(timing.getServerTime().toNanos());
+        this.error = timing.isError();
+    }
+
+}
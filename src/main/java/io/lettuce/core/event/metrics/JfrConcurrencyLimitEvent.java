@@ -0,0 +1,56 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.event.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event variant of {@link ConcurrencyLimitEvent}.
+ *
+ * @since 7.0
+ */
+@Category({ "Lettuce", "Connection Events" })
+@Label("Concurrency Limit Changed")
+@StackTrace(false)
+class JfrConcurrencyLimitEvent extends Event {
+
+    private final String endpointId;
+
+    private final String remoteAddress;
+
+    private final int previousLimit;
+
+    private final int limit;
+
+    private final int inFlight;
+
+    public JfrConcurrencyLimitEvent(ConcurrencyLimitEvent event) {
+
+        this.endpointId = event.getEndpointId();
+        this.remoteAddress = String.valueOf(event.getRemoteAddress());
+        this.previousLimit = event.getPreviousLimit();
+        this.limit = event.getLimit();
+        this.inFlight = event.getInFlight();
+    }
+
+}
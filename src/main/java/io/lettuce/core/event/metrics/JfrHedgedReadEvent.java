@@ -0,0 +1,61 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.event.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event variant of {@link HedgedReadEvent}.
+ *
+ * @since 7.0
+ */
+@Category({ "Lettuce", "Command Events" })
+@Label("Hedged Read")
+@StackTrace(false)
+class JfrHedgedReadEvent extends Event {
+
+    private final String commandType;
+
+    @Timespan
+    private final long delay;
+
+    private final boolean hedgeWon;
+
+    private final long reads;
+
+    private final long hedges;
+
+    private final long wins;
+
+    public JfrHedgedReadEvent(HedgedReadEvent event) {
+
+        this.commandType = event.getCommandType();
+        this.delay = event.getDelay().toNanos();
+        this.hedgeWon = event.isHedgeWon();
+        this.reads = event.getReads();
+        this.hedges = event.getHedges();
+        this.wins = event.getWins();
+    }
+
+}
@@ -30,6 +30,7 @@ import io.lettuce.core.api.StatefulRedisConnection;
 import io.lettuce.core.internal.LettuceAssert;
 import io.lettuce.core.protocol.ConnectionFacade;
 import io.lettuce.core.protocol.ConnectionIntent;
+import io.lettuce.core.protocol.HedgedReads;
 import io.lettuce.core.protocol.ProtocolKeyword;
 import io.lettuce.core.protocol.RedisCommand;
 import io.lettuce.core.resource.ClientResources;
@@ -50,6 +51,8 @@ class MasterReplicaChannelWriter implements RedisChannelWriter {
 
     private final io.lettuce.core.protocol.ReadOnlyCommands.ReadOnlyPredicate readOnlyCommands;
 
+    private final HedgedReads hedgedReads;
+
     private boolean closed = false;
 
     private boolean inTransaction;
@@ -60,6 +63,9 @@ class MasterReplicaChannelWriter implements RedisChannelWriter {
         this.clientResources = clientResources;
         this.clientOptions = clientOptions;
         this.readOnlyCommands = clientOptions.getReadOnlyCommands();
+        this.hedgedReads = clientOptions.getHedgingOptions().isEnabled()
+                ? new HedgedReads(clientOptions.getHedgingOptions(), clientResources)
+                : null;
     }
 
     @Override
@@ -85,6 +91,18 @@ class MasterReplicaChannelWriter implements RedisChannelWriter {
             inTransaction = false;
         }
 
+        if (hedgedReads != null && connectionIntent == ConnectionIntent.READ
+                && HedgedReads.supports(masterReplicaConnectionProvider.getReadFrom())) {
+
+            if (isSuccessfullyCompleted(future)) {
+                writeHedgedRead(command, future.join(), null);
+            } else {
+                future.whenComplete((c, t) -> writeHedgedRead(command, c, t));
+            }
+
+            return command;
+        }
+
         if (isSuccessfullyCompleted(future)) {
             writeCommand(command, future.join(), null);
         } else {
@@ -110,6 +128,19 @@ class MasterReplicaChannelWriter implements RedisChannelWriter {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private <K, V> void writeHedgedRead(RedisCommand<K, V, ?> command, StatefulRedisConnection<K, V> connection,
+            Throwable throwable) {
+
+        if (throwable != null) {
+            command.completeExceptionally(throwable);
+            return;
+        }
+
+        MasterReplicaConnectionProvider<K, V> provider = (MasterReplicaConnectionProvider) masterReplicaConnectionProvider;
+        hedgedReads.dispatch(command, connection, provider::getAlternateReadConnection);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <K, V> Collection<RedisCommand<K, V, ?>> write(Collection<? extends RedisCommand<K, V, ?>> commands) {
@@ -112,19 +112,7 @@ class MasterReplicaConnectionProvider<K, V> {
         }
 
         if (readFrom != null && intent == ConnectionIntent.READ) {
-            List<RedisNodeDescription> selection = readFrom.select(new ReadFrom.Nodes() {
-
-                @Override
-                public List<RedisNodeDescription> getNodes() {
-                    return knownNodes;
-                }
-
-                @Override
-                public Iterator<RedisNodeDescription> iterator() {
-                    return knownNodes.iterator();
-                }
-
-            });
+            List<RedisNodeDescription> selection = selectReadCandidates(readFrom);
 
             if (selection.isEmpty()) {
                 throw new RedisException(String.format("Cannot determine a node to read (Known nodes: %s) with setting %s",
@@ -155,6 +143,56 @@ class MasterReplicaConnectionProvider<K, V> {
         return getConnection(getMaster());
     }
 
+    /**
+     * Retrieve an already connected read connection that is different from {@code exclude}. Candidates are selected through
+     * the {@link ReadFrom} setting. Used to hedge read commands.
+     *
+     * @param exclude the connection to exclude.
+     * @return an alternate connection or {@code null} if no alternate connection is available.
+     * @since 7.0
+     */
+    public StatefulRedisConnection<K, V> getAlternateReadConnection(StatefulRedisConnection<?, ?> exclude) {
+
+        ReadFrom readFrom = this.readFrom;
+
+        if (readFrom == null) {
+            return null;
+        }
+
+        for (RedisNodeDescription node : selectReadCandidates(readFrom)) {
+
+            CompletableFuture<StatefulRedisConnection<K, V>> candidate = getConnection(node);
+
+            if (!candidate.isDone() || candidate.isCompletedExceptionally()) {
+                continue;
+            }
+
+            StatefulRedisConnection<K, V> connection = candidate.join();
+            if (connection != exclude && connection.isOpen()) {
+                return connection;
+            }
+        }
+
+        return null;
+    }
+
+    private List<RedisNodeDescription> selectReadCandidates(ReadFrom readFrom) {
+
+        return readFrom.select(new ReadFrom.Nodes() {
+
+            @Override
+            public List<RedisNodeDescription> getNodes() {
+                return knownNodes;
+            }
+
+            @Override
+            public Iterator<RedisNodeDescription> iterator() {
+                return knownNodes.iterator();
+            }
+
+        });
+    }
+
     protected CompletableFuture<StatefulRedisConnection<K, V>> getConnection(RedisNodeDescription redisNodeDescription) {
 
         RedisURI uri = redisNodeDescription.getUri();
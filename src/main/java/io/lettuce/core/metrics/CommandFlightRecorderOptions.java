@@ -0,0 +1,191 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import java.time.Duration;
+
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Configuration options for the per-connection command flight recorder. The flight recorder keeps the timings of the most
+ * recent commands of a connection in a preallocated ring buffer. The buffer is published as
+ * {@link io.lettuce.core.event.metrics.CommandFlightRecordingEvent} (and thereby recorded with Java Flight Recorder if
+ * available) only when a command exceeds the {@link #getLatencyThreshold() latency threshold} or completes with an error.
+ *
+ * @since 7.0
+ */
+public class CommandFlightRecorderOptions {
+
+    public static final int DEFAULT_CAPACITY = 128;
+
+    public static final Duration DEFAULT_LATENCY_THRESHOLD = Duration.ofMillis(100);
+
+    public static final boolean DEFAULT_RECORD_ERRORS = true;
+
+    private static final CommandFlightRecorderOptions DISABLED = builder().disable().build();
+
+    private final boolean enabled;
+
+    private final int capacity;
+
+    private final Duration latencyThreshold;
+
+    private final boolean recordErrors;
+
+    protected CommandFlightRecorderOptions(Builder builder) {
+        this.enabled = builder.enabled;
+        this.capacity = builder.capacity;
+        this.latencyThreshold = builder.latencyThreshold;
+        this.recordErrors = builder.recordErrors;
+    }
+
+    /**
+     * Create a new {@link CommandFlightRecorderOptions} instance using default settings.
+     *
+     * @return a new instance of {@link CommandFlightRecorderOptions} using default settings.
+     */
+    public static CommandFlightRecorderOptions create() {
+        return builder().build();
+    }
+
+    /**
+     * Create a {@link CommandFlightRecorderOptions} instance with disabled flight recording.
+     *
+     * @return a {@link CommandFlightRecorderOptions} with disabled flight recording.
+     */
+    public static CommandFlightRecorderOptions disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Returns a new {@link CommandFlightRecorderOptions.Builder} to construct {@link CommandFlightRecorderOptions}.
+     *
+     * @return a new {@link CommandFlightRecorderOptions.Builder}.
+     */
+    public static CommandFlightRecorderOptions.Builder builder() {
+        return new CommandFlightRecorderOptions.Builder();
+    }
+
+    /**
+     * Builder for {@link CommandFlightRecorderOptions}.
+     */
+    public static class Builder {
+
+        private boolean enabled = true;
+
+        private int capacity = DEFAULT_CAPACITY;
+
+        private Duration latencyThreshold = DEFAULT_LATENCY_THRESHOLD;
+
+        private boolean recordErrors = DEFAULT_RECORD_ERRORS;
+
+        private Builder() {
+        }
+
+        /**
+         * Disable the flight recorder.
+         *
+         * @return this {@link Builder}.
+         */
+        public Builder disable() {
+            this.enabled = false;
+            return this;
+        }
+
+        /**
+         * Number of recent commands to retain per connection. Defaults to {@value #DEFAULT_CAPACITY}.
+         *
+         * @param capacity the ring buffer capacity, must be greater {@code 0}.
+         * @return this {@link Builder}.
+         */
+        public Builder capacity(int capacity) {
+
+            LettuceAssert.isTrue(capacity > 0, "Capacity must be greater 0");
+
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Completion latency from which a command triggers a recording. {@link Duration#ZERO} disables latency-triggered
+         * recordings. Defaults to {@literal 100 ms}.
+         *
+         * @param latencyThreshold the latency threshold, must not be {@code null} or negative.
+         * @return this {@link Builder}.
+         */
+        public Builder latencyThreshold(Duration latencyThreshold) {
+
+            LettuceAssert.notNull(latencyThreshold, "Latency threshold must not be null");
+            LettuceAssert.isTrue(!latencyThreshold.isNegative(), "Latency threshold must not be negative");
+
+            this.latencyThreshold = latencyThreshold;
+            return this;
+        }
+
+        /**
+         * Whether commands completing with an error response trigger a recording. Defaults to {@code true}.
+         *
+         * @param recordErrors {@code true} to trigger recordings on error responses.
+         * @return this {@link Builder}.
+         */
+        public Builder recordErrors(boolean recordErrors) {
+            this.recordErrors = recordErrors;
+            return this;
+        }
+
+        /**
+         * @return a new instance of {@link CommandFlightRecorderOptions}.
+         */
+        public CommandFlightRecorderOptions build() {
+            return new CommandFlightRecorderOptions(this);
+        }
+
+    }
+
+    /**
+     * @return {@code true} if the flight recorder is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the number of recent commands retained per connection.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the completion latency from which a command triggers a recording. {@link Duration#ZERO} if latency-triggered
+     *         recordings are disabled.
+     */
+    public Duration getLatencyThreshold() {
+        return latencyThreshold;
+    }
+
+    /**
+     * @return {@code true} if error responses trigger a recording.
+     */
+    public boolean isRecordErrors() {
+        return recordErrors;
+    }
+
+}
@@ -84,6 +84,23 @@ public interface CommandLatencyRecorder {
     void recordCommandLatency(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType, long firstResponseLatency,
             long completionLatency);
 
+    /**
+     * Record the latency of a single {@link CommandLatencyStage} per {@code connectionPoint} and {@code commandType}. Called
+     * once per recorded stage after {@link #recordCommandLatency(SocketAddress, SocketAddress, RedisCommand, long, long)}.
+     * Stages that were not observed for a command (e.g. {@link CommandLatencyStage#QUEUE} for commands that bypassed the
+     * endpoint) are not reported.
+     *
+     * @param local the local address
+     * @param remote the remote address
+     * @param command the command
+     * @param stage the command stage
+     * @param latency latency value in {@link java.util.concurrent.TimeUnit#NANOSECONDS} spent in {@code stage}
+     * @since 7.0
+     */
+    default void recordStageLatency(SocketAddress local, SocketAddress remote, RedisCommand<?, ?, ?> command,
+            CommandLatencyStage stage, long latency) {
+    }
+
     /**
      * Returns {@code true} if the metric collector is enabled.
      *
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+/**
+ * Stages of a command's lifecycle for which latencies are recorded. Stages are consecutive and do not overlap so that their
+ * sum approximates the completion latency measured from the time the command was handed to the endpoint.
+ *
+ * @since 7.0
+ * @see CommandLatencyRecorder#recordStageLatency
+ */
+public enum CommandLatencyStage {
+
+    /**
+     * Time between handing the command to the endpoint and writing it to the channel, including time spent in the command
+     * buffer (manual flushing) or in the disconnected buffer while reconnecting.
+     */
+    QUEUE,
+
+    /**
+     * Time spent in the outbound channel pipeline to encode the command.
+     */
+    ENCODE,
+
+    /**
+     * Time between encoding the command and flushing it to the transport.
+     */
+    FLUSH,
+
+    /**
+     * Time the command waited for previously written commands to complete before its response could be read.
+     */
+    HEAD_OF_LINE,
+
+    /**
+     * Time until the first response byte was decoded. Covers the network round trip and the processing time on the server.
+     */
+    NETWORK,
+
+    /**
+     * Time between the first response byte and the completion of the command.
+     */
+    RESPONSE;
+
+}
@@ -1,5 +1,6 @@
 package io.lettuce.core.metrics;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -18,11 +19,22 @@ public class CommandMetrics {
 
     private final CommandLatency completion;
 
+    private final Map<CommandLatencyStage, CommandLatency> stages;
+
     public CommandMetrics(long count, TimeUnit timeUnit, CommandLatency firstResponse, CommandLatency completion) {
+        this(count, timeUnit, firstResponse, completion, Collections.emptyMap());
+    }
+
+    /**
+     * @since 7.0
+     */
+    public CommandMetrics(long count, TimeUnit timeUnit, CommandLatency firstResponse, CommandLatency completion,
+            Map<CommandLatencyStage, CommandLatency> stages) {
         this.count = count;
         this.timeUnit = timeUnit;
         this.firstResponse = firstResponse;
         this.completion = completion;
+        this.stages = stages;
     }
 
     /**
@@ -57,6 +69,15 @@ public class CommandMetrics {
         return completion;
     }
 
+    /**
+     *
+     * @return latencies per {@link CommandLatencyStage}. Contains only stages that were recorded.
+     * @since 7.0
+     */
+    public Map<CommandLatencyStage, CommandLatency> getStages() {
+        return stages;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -64,6 +85,9 @@ public class CommandMetrics {
         sb.append(", timeUnit=").append(timeUnit);
         sb.append(", firstResponse=").append(firstResponse);
         sb.append(", completion=").append(completion);
+        if (!stages.isEmpty()) {
+            sb.append(", stages=").append(stages);
+        }
         sb.append(']');
         return sb.toString();
     }
@@ -23,6 +23,7 @@ import static io.lettuce.core.internal.LettuceClassUtils.*;
 
 import java.net.SocketAddress;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
@@ -30,6 +31,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -44,6 +46,7 @@ import io.lettuce.core.internal.LettuceAssert;
 import io.lettuce.core.metrics.CommandMetrics.CommandLatency;
 import io.lettuce.core.protocol.CommandType;
 import io.lettuce.core.protocol.ProtocolKeyword;
+import io.lettuce.core.protocol.RedisCommand;
 import io.netty.channel.local.LocalAddress;
 import io.netty.util.internal.logging.InternalLogger;
 import io.netty.util.internal.logging.InternalLoggerFactory;
@@ -105,6 +108,25 @@ public class DefaultCommandLatencyCollector implements CommandLatencyCollector {
             return;
         }
 
+        Latencies latencies = getLatencies(local, remote, commandType);
+
+        latencies.firstResponse.recordLatency(rangify(firstResponseLatency));
+        latencies.completion.recordLatency(rangify(completionLatency));
+    }
+
+    @Override
+    public void recordStageLatency(SocketAddress local, SocketAddress remote, RedisCommand<?, ?, ?> command,
+            CommandLatencyStage stage, long latency) {
+
+        if (!isEnabled()) {
+            return;
+        }
+
+        getLatencies(local, remote, command.getType()).recordStage(stage, rangify(latency));
+    }
+
+    private Latencies getLatencies(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType) {
+
         PauseDetector pauseDetector;
 
         do {
@@ -119,7 +141,7 @@ public class DefaultCommandLatencyCollector implements CommandLatencyCollector {
         } while (pauseDetector == null);
 
         PauseDetector pauseDetectorToUse = pauseDetector;
-        Latencies latencies = latencyMetricsRef.get().computeIfAbsent(createId(local, remote, commandType), id -> {
+        return latencyMetricsRef.get().computeIfAbsent(createId(local, remote, commandType), id -> {
 
             if (options.resetLatenciesAfterEvent()) {
                 return new Latencies(pauseDetectorToUse);
@@ -127,9 +149,6 @@ public class DefaultCommandLatencyCollector implements CommandLatencyCollector {
 
             return new CummulativeLatencies(pauseDetectorToUse);
         });
-
-        latencies.firstResponse.recordLatency(rangify(firstResponseLatency));
-        latencies.completion.recordLatency(rangify(completionLatency));
     }
 
     private CommandLatencyId createId(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType) {
@@ -198,8 +217,17 @@ public class DefaultCommandLatencyCollector implements CommandLatencyCollector {
             CommandLatency firstResponseLatency = getMetric(firstResponse);
             CommandLatency completionLatency = getMetric(completion);
 
+            Map<CommandLatencyStage, CommandLatency> stages = new EnumMap<>(CommandLatencyStage.class);
+            for (CommandLatencyStage stage : CommandLatencyStage.values()) {
+
+                Histogram histogram = latencies.getStageHistogram(stage);
+                if (histogram != null && histogram.getTotalCount() != 0) {
+                    stages.put(stage, getMetric(histogram));
+                }
+            }
+
             CommandMetrics metrics = new CommandMetrics(firstResponse.getTotalCount(), options.targetUnit(),
-                    firstResponseLatency, completionLatency);
+                    firstResponseLatency, completionLatency, stages);
 
             result.put(entry.getKey(), metrics);
         }
@@ -273,15 +301,46 @@ public class DefaultCommandLatencyCollector implements CommandLatencyCollector {
 
     private static class Latencies {
 
+        private final PauseDetector pauseDetector;
+
         private final LatencyStats firstResponse;
 
         private final LatencyStats completion;
 
+        // created on first use, recorders that do not report stages do not pay for them
+        private final AtomicReferenceArray<LatencyStats> stages = new AtomicReferenceArray<>(
+                CommandLatencyStage.values().length);
+
         Latencies(PauseDetector pauseDetector) {
+            this.pauseDetector = pauseDetector;
             firstResponse = LatencyStats.Builder.create().pauseDetector(pauseDetector).build();
             completion = LatencyStats.Builder.create().pauseDetector(pauseDetector).build();
         }
 
+        public void recordStage(CommandLatencyStage stage, long latency) {
+
+            LatencyStats stats = stages.get(stage.ordinal());
+
+            if (stats == null) {
+
+                LatencyStats created = LatencyStats.Builder.create().pauseDetector(pauseDetector).build();
+                if (stages.compareAndSet(stage.ordinal(), null, created)) {
+                    stats = created;
+                } else {
+                    created.stop();
+                    stats = stages.get(stage.ordinal());
+                }
+            }
+
+            stats.recordLatency(latency);
+        }
+
+        public Histogram getStageHistogram(CommandLatencyStage stage) {
+
+            LatencyStats stats = stages.get(stage.ordinal());
+            return stats != null ? stats.getIntervalHistogram() : null;
+        }
+
         public Histogram getFirstResponseHistogram() {
             return firstResponse.getIntervalHistogram();
         }
@@ -293,6 +352,13 @@ public class DefaultCommandLatencyCollector implements CommandLatencyCollector {
         public void stop() {
             firstResponse.stop();
             completion.stop();
+
+            for (int i = 0; i < stages.length(); i++) {
+                LatencyStats stats = stages.get(i);
+                if (stats != null) {
+                    stats.stop();
+                }
+            }
         }
 
     }
@@ -303,6 +369,8 @@ public class DefaultCommandLatencyCollector implements CommandLatencyCollector {
 
         private final Histogram completion;
 
+        private final Histogram[] stages = new Histogram[CommandLatencyStage.values().length];
+
         CummulativeLatencies(PauseDetector pauseDetector) {
             super(pauseDetector);
 
@@ -324,6 +392,25 @@ public class DefaultCommandLatencyCollector implements CommandLatencyCollector {
             return completion;
         }
 
+        @Override
+        public Histogram getStageHistogram(CommandLatencyStage stage) {
+
+            Histogram interval = super.getStageHistogram(stage);
+            Histogram cumulative = stages[stage.ordinal()];
+
+            if (interval == null) {
+                return cumulative;
+            }
+
+            if (cumulative == null) {
+                stages[stage.ordinal()] = interval.copy();
+            } else {
+                cumulative.add(interval);
+            }
+
+            return stages[stage.ordinal()];
+        }
+
     }
 
     /**
@@ -45,10 +45,14 @@ public class MicrometerCommandLatencyRecorder implements CommandLatencyRecorder
 
     static final String LABEL_REMOTE = "remote";
 
+    static final String LABEL_STAGE = "stage";
+
     static final String METRIC_COMPLETION = "lettuce.command.completion";
 
     static final String METRIC_FIRST_RESPONSE = "lettuce.command.firstresponse";
 
+    static final String METRIC_STAGE = "lettuce.command.stage";
+
     private final MeterRegistry meterRegistry;
 
     private final MicrometerOptions options;
@@ -57,6 +61,8 @@ public class MicrometerCommandLatencyRecorder implements CommandLatencyRecorder
 
     private final Map<CommandLatencyId, Timer> firstResponseTimers = new ConcurrentHashMap<>();
 
+    private final Map<CommandLatencyId, Timer[]> stageTimers = new ConcurrentHashMap<>();
+
     /**
      * Create a new {@link MicrometerCommandLatencyRecorder} instance given {@link MeterRegistry} and {@link MicrometerOptions}.
      *
@@ -98,6 +104,26 @@ public class MicrometerCommandLatencyRecorder implements CommandLatencyRecorder
         completionTimer.record(completionLatency, TimeUnit.NANOSECONDS);
     }
 
+    @Override
+    public void recordStageLatency(SocketAddress local, SocketAddress remote, RedisCommand<?, ?, ?> redisCommand,
+            CommandLatencyStage stage, long latency) {
+
+        if (!isEnabled() || !isCommandEnabled(redisCommand)) {
+            return;
+        }
+
+        CommandLatencyId commandLatencyId = createId(local, remote, redisCommand.getType());
+        Timer[] timers = stageTimers.computeIfAbsent(commandLatencyId, id -> new Timer[CommandLatencyStage.values().length]);
+
+        // racing registrations resolve to the same meter in the registry
+        Timer timer = timers[stage.ordinal()];
+        if (timer == null) {
+            timer = timers[stage.ordinal()] = stageTimer(commandLatencyId, stage);
+        }
+
+        timer.record(latency, TimeUnit.NANOSECONDS);
+    }
+
     @Override
     public boolean isEnabled() {
         return options.isEnabled();
@@ -127,6 +153,22 @@ public class MicrometerCommandLatencyRecorder implements CommandLatencyRecorder
         return timer.register(meterRegistry);
     }
 
+    protected Timer stageTimer(CommandLatencyId commandLatencyId, CommandLatencyStage stage) {
+
+        Timer.Builder timer = Timer.builder(METRIC_STAGE).description("Latency of a single stage of the command lifecycle")
+                .tag(LABEL_COMMAND, commandLatencyId.commandType().toString())
+                .tag(LABEL_LOCAL, commandLatencyId.localAddress().toString())
+                .tag(LABEL_REMOTE, commandLatencyId.remoteAddress().toString()).tag(LABEL_STAGE, stage.name())
+                .tags(options.tags());
+
+        if (options.isHistogram()) {
+            timer.publishPercentileHistogram().publishPercentiles(options.targetPercentiles())
+                    .minimumExpectedValue(options.minLatency()).maximumExpectedValue(options.maxLatency());
+        }
+
+        return timer.register(meterRegistry);
+    }
+
     protected Timer firstResponseTimer(CommandLatencyId commandLatencyId) {
 
         Timer.Builder timer = Timer.builder(METRIC_FIRST_RESPONSE)
@@ -0,0 +1,22 @@
+package io.lettuce.core.output;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Streaming API for the bytes of a single bulk string. You can implement this interface in order to receive a call to
+ * {@code onChunk} for each fragment of a bulk string as it is received.
+ *
+ * @since 7.0
+ * @see BulkStringStreamingOutput
+ */
+@FunctionalInterface
+public interface BulkStringChannel {
+
+    /**
+     * Called on every received fragment. The buffer is only valid during the call and must be copied if it is retained.
+     *
+     * @param chunk the fragment.
+     */
+    void onChunk(ByteBuffer chunk);
+
+}
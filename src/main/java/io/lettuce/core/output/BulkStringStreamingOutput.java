@@ -0,0 +1,43 @@
+package io.lettuce.core.output;
+
+import java.nio.ByteBuffer;
+
+import io.lettuce.core.codec.RedisCodec;
+
+/**
+ * Streaming-Output of a single bulk string. Fragments are passed to a {@link BulkStringChannel} as they are received so that
+ * the bulk string is never held in memory as a whole. Returns the number of bytes streamed or {@code null} if the reply was a
+ * null bulk string.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @since 7.0
+ */
+public class BulkStringStreamingOutput<K, V> extends CommandOutput<K, V, Long> implements ChunkedOutput {
+
+    private final BulkStringChannel channel;
+
+    private long count;
+
+    public BulkStringStreamingOutput(RedisCodec<K, V> codec, BulkStringChannel channel) {
+        super(codec, null);
+        this.channel = channel;
+    }
+
+    @Override
+    public void setChunk(ByteBuffer bytes) {
+
+        count += bytes.remaining();
+        output = count;
+        channel.onChunk(bytes);
+    }
+
+    @Override
+    public void set(ByteBuffer bytes) {
+
+        if (bytes != null) {
+            setChunk(bytes);
+        }
+    }
+
+}
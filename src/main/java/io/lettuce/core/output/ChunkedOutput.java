@@ -0,0 +1,23 @@
+package io.lettuce.core.output;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Implementors of this interface receive bulk strings in fragments while the bulk string is still being received. Each
+ * fragment that is available before the bulk string is complete is passed to {@link #setChunk(ByteBuffer)}, the final
+ * fragment is passed to {@link CommandOutput#set(ByteBuffer)}. Outputs implementing this interface therefore do not require the
+ * entire bulk string to be buffered.
+ *
+ * @since 7.0
+ */
+public interface ChunkedOutput {
+
+    /**
+     * Set a fragment of a bulk string whose remaining bytes have not yet been received. The buffer is only valid during the
+     * call.
+     *
+     * @param bytes the fragment.
+     */
+    void setChunk(ByteBuffer bytes);
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.output;
+
+import static java.lang.Double.*;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import io.lettuce.core.GeoCoordinatesColumns;
+import io.lettuce.core.codec.RedisCodec;
+
+/**
+ * Columnar output for geo coordinates, for example {@code GEOPOS}. Longitudes and latitudes are decoded directly into
+ * {@code double} arrays sized from the array header instead of allocating a {@link io.lettuce.core.GeoCoordinates} per
+ * member. Members without a position are reported as {@link Double#NaN}. Use with {@code dispatch(…)}:
+ *
+ * <pre class="code">
+ * GeoCoordinatesColumns positions = commands.dispatch(CommandType.GEOPOS, new GeoCoordinatesColumnsOutput&lt;&gt;(codec),
+ *         new CommandArgs&lt;&gt;(codec).addKey("stores").addValues(members));
+ * </pre>
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @since 7.0
+ */
+public class GeoCoordinatesColumnsOutput<K, V> extends CommandOutput<K, V, GeoCoordinatesColumns> {
+
+    private boolean initialized;
+
+    private double[] longitudes;
+
+    private double[] latitudes;
+
+    private int size;
+
+    private double x;
+
+    private boolean hasX;
+
+    public GeoCoordinatesColumnsOutput(RedisCodec<K, V> codec) {
+        super(codec, GeoCoordinatesColumns.empty());
+    }
+
+    @Override
+    public void set(ByteBuffer bytes) {
+
+        if (bytes == null) {
+            add(NaN, NaN);
+            return;
+        }
+
+        set(parseDouble(decodeString(bytes)));
+    }
+
+    @Override
+    public void set(double number) {
+
+        if (!hasX) {
+            x = number;
+            hasX = true;
+            return;
+        }
+
+        add(x, number);
+        hasX = false;
+    }
+
+    @Override
+    public void multi(int count) {
+
+        if (!initialized) {
+            longitudes = new double[Math.max(count, 0)];
+            latitudes = new double[Math.max(count, 0)];
+            initialized = true;
+            return;
+        }
+
+        if (count == -1) {
+            add(NaN, NaN);
+        }
+    }
+
+    @Override
+    public void complete(int depth) {
+
+        if (depth == 0 && initialized) {
+            output = size == longitudes.length ? new GeoCoordinatesColumns(longitudes, latitudes)
+                    : new GeoCoordinatesColumns(Arrays.copyOf(longitudes, size), Arrays.copyOf(latitudes, size));
+        }
+    }
+
+    private void add(double longitude, double latitude) {
+
+        if (size == longitudes.length) {
+            longitudes = Arrays.copyOf(longitudes, Math.max(size * 2, 1));
+            latitudes = Arrays.copyOf(latitudes, Math.max(size * 2, 1));
+        }
+
+        longitudes[size] = longitude;
+        latitudes[size++] = latitude;
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.output;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.lettuce.core.ScoredValueColumns;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.internal.LettuceStrings;
+
+/**
+ * Columnar output for values and their associated scores, for example {@code ZRANGE … WITHSCORES}. Values and scores are
+ * decoded directly into preallocated columns sized from the array header instead of allocating a
+ * {@link io.lettuce.core.ScoredValue} per member. Use with {@code dispatch(…)}:
+ *
+ * <pre class="code">
+ * ScoredValueColumns&lt;String&gt; leaderboard = commands.dispatch(CommandType.ZRANGE,
+ *         new ScoredValueColumnsOutput&lt;&gt;(codec),
+ *         new CommandArgs&lt;&gt;(codec).addKey("leaderboard").add(0).add(-1).add(CommandKeyword.WITHSCORES));
+ * </pre>
+ *
+ * The output accepts both, the flat RESP2 reply ({@code member, score, member, score, …}) and the nested RESP3 reply
+ * ({@code [member, score], [member, score], …}).
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @since 7.0
+ */
+public class ScoredValueColumnsOutput<K, V> extends CommandOutput<K, V, ScoredValueColumns<V>> {
+
+    private int count = -1;
+
+    private boolean nested;
+
+    private List<V> values;
+
+    private double[] scores;
+
+    private int size;
+
+    private V value;
+
+    private boolean hasValue;
+
+    public ScoredValueColumnsOutput(RedisCodec<K, V> codec) {
+        super(codec, ScoredValueColumns.empty());
+    }
+
+    @Override
+    public void set(ByteBuffer bytes) {
+
+        if (!hasValue) {
+            value = codec.decodeValue(bytes);
+            hasValue = true;
+            return;
+        }
+
+        set(LettuceStrings.toDouble(decodeString(bytes)));
+    }
+
+    @Override
+    public void set(double number) {
+
+        ensureCapacity();
+
+        values.add(value);
+        scores[size++] = number;
+        value = null;
+        hasValue = false;
+    }
+
+    @Override
+    public void multi(int count) {
+
+        if (this.count == -1) {
+            this.count = Math.max(count, 0);
+            return;
+        }
+
+        nested = true;
+    }
+
+    @Override
+    public void complete(int depth) {
+
+        if (depth == 0 && scores != null) {
+            output = new ScoredValueColumns<>(values, size == scores.length ? scores : Arrays.copyOf(scores, size));
+        }
+    }
+
+    private void ensureCapacity() {
+
+        if (scores == null) {
+
+            // RESP3 replies nest each pair, RESP2 replies report members and scores as flat array
+            int capacity = Math.max(nested ? count : count / 2, 1);
+
+            values = new ArrayList<>(capacity);
+            scores = new double[capacity];
+            return;
+        }
+
+        if (size == scores.length) {
+            scores = Arrays.copyOf(scores, size * 2);
+        }
+    }
+
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.protocol;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import io.lettuce.core.ConcurrencyLimitOptions;
+
+/**
+ * Adaptive limit for in-flight commands using a gradient algorithm. Latency samples are aggregated in windows of roughly one
+ * limit's worth of completions. At the end of each window the average latency of the window is compared to a long-term
+ * exponential average: the limit shrinks proportionally to the latency gradient once the window latency exceeds the long-term
+ * latency by more than the configured tolerance, and grows by {@code sqrt(limit)} otherwise. Timed out commands shrink the
+ * limit multiplicatively.
+ * <p>
+ * Acquiring permits is lock-free. Releasing a permit with a latency sample synchronizes on the limiter to aggregate the sample
+ * into the current window and to update the limit once per window.
+ *
+ * @since 7.0
+ */
+class AdaptiveConcurrencyLimiter {
+
+    private static final AtomicIntegerFieldUpdater<AdaptiveConcurrencyLimiter> IN_FLIGHT = AtomicIntegerFieldUpdater
+            .newUpdater(AdaptiveConcurrencyLimiter.class, "inFlight");
+
+    private static final int MIN_WINDOW_SIZE = 10;
+
+    private static final double LONG_RTT_WEIGHT = 0.1;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double tolerance;
+
+    private final double smoothing;
+
+    private final double backoffRatio;
+
+    private volatile int limit;
+
+    // access via IN_FLIGHT
+    @SuppressWarnings("unused")
+    private volatile int inFlight;
+
+    // guarded by this
+    private double estimatedLimit;
+
+    private double longRtt;
+
+    private long windowRttSum;
+
+    private int windowSamples;
+
+    private int windowMaxInFlight;
+
+    private boolean windowDropped;
+
+    AdaptiveConcurrencyLimiter(ConcurrencyLimitOptions options) {
+
+        this.minLimit = options.getMinLimit();
+        this.maxLimit = options.getMaxLimit();
+        this.tolerance = options.getTolerance();
+        this.smoothing = options.getSmoothing();
+        this.backoffRatio = options.getBackoffRatio();
+        this.limit = options.getInitialLimit();
+        this.estimatedLimit = options.getInitialLimit();
+    }
+
+    /**
+     * Acquire a permit for a command.
+     *
+     * @return {@code true} if the command may be written, {@code false} if the limit is reached.
+     */
+    boolean tryAcquire() {
+
+        for (;;) {
+
+            int current = IN_FLIGHT.get(this);
+            if (current >= limit) {
+                return false;
+            }
+
+            if (IN_FLIGHT.compareAndSet(this, current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release a permit without recording a latency sample.
+     */
+    void release() {
+        IN_FLIGHT.decrementAndGet(this);
+    }
+
+    /**
+     * Release a permit and record the latency of the completed command.
+     *
+     * @param rttNanos command latency.
+     * @param dropped {@code true} if the command timed out.
+     * @return {@code true} if the limit has changed.
+     */
+    boolean release(long rttNanos, boolean dropped) {
+
+        int inFlightBeforeRelease = IN_FLIGHT.getAndDecrement(this);
+
+        synchronized (this) {
+
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlightBeforeRelease);
+            windowSamples++;
+
+            if (dropped) {
+                windowDropped = true;
+            } else {
+                windowRttSum += rttNanos;
+            }
+
+            if (windowSamples < Math.max(MIN_WINDOW_SIZE, limit)) {
+                return false;
+            }
+
+            return updateLimit();
+        }
+    }
+
+    private boolean updateLimit() {
+
+        int previous = limit;
+
+        if (windowDropped) {
+            estimatedLimit = estimatedLimit * backoffRatio;
+        } else {
+
+            double shortRtt = (double) windowRttSum / windowSamples;
+
+            if (longRtt == 0) {
+                longRtt = shortRtt;
+            } else {
+                longRtt = longRtt * (1 - LONG_RTT_WEIGHT) + shortRtt * LONG_RTT_WEIGHT;
+            }
+
+            // let the long-term latency recover quickly after a period of elevated latency
+            if (longRtt / shortRtt > 2) {
+                longRtt *= 0.95;
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+            double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+
+            // do not grow when the connection did not make use of the current limit
+            if (newLimit > estimatedLimit && windowMaxInFlight < estimatedLimit / 2) {
+                newLimit = estimatedLimit;
+            }
+
+            estimatedLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        }
+
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+        limit = (int) estimatedLimit;
+
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        windowDropped = false;
+
+        return limit != previous;
+    }
+
+    /**
+     * @return the current in-flight limit.
+     */
+    int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return the number of in-flight commands.
+     */
+    int getInFlight() {
+        return IN_FLIGHT.get(this);
+    }
+
+}
@@ -0,0 +1,53 @@
+package io.lettuce.core.protocol;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Classifies commands that block the connection until the server replies. Blocking list and sorted set commands are identified
+ * by their name, {@code XREAD} and {@code XREADGROUP} only if they use the {@code BLOCK} option. {@code WAIT} and
+ * {@code WAITAOF} are not considered blocking as they refer to the writes previously issued on the same connection and must
+ * not be moved to a different connection. This class is part of the internal API and may change without further notice.
+ *
+ * @since 7.0
+ */
+public class BlockingCommands {
+
+    private static final Set<String> BLOCKING_COMMANDS = new HashSet<>(Arrays.asList("BLMOVE", "BLMPOP", "BLPOP", "BRPOP",
+            "BRPOPLPUSH", "BZMPOP", "BZPOPMAX", "BZPOPMIN"));
+
+    private static final Set<String> OPTIONALLY_BLOCKING_COMMANDS = new HashSet<>(Arrays.asList("XREAD", "XREADGROUP"));
+
+    private BlockingCommands() {
+    }
+
+    /**
+     * @param command must not be {@code null}.
+     * @return {@code true} if the command blocks the connection until the server replies.
+     */
+    public static boolean isBlocking(RedisCommand<?, ?, ?> command) {
+
+        LettuceAssert.notNull(command, "Command must not be null");
+
+        String type = command.getType().toString();
+
+        if (BLOCKING_COMMANDS.contains(type)) {
+            return true;
+        }
+
+        return OPTIONALLY_BLOCKING_COMMANDS.contains(type) && command.getArgs() != null
+                && CommandArgsAccessor.containsKeyword(command.getArgs(), CommandKeyword.BLOCK);
+    }
+
+    /**
+     * @return an unmodifiable {@link Set} of command names that always block the connection.
+     */
+    public static Set<String> getBlockingCommands() {
+        return Collections.unmodifiableSet(BLOCKING_COMMANDS);
+    }
+
+}
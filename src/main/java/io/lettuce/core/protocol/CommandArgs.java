@@ -486,7 +486,9 @@ public class CommandArgs<K, V> {
             IntegerArgument.writeInteger(target, value.remaining());
             target.writeBytes(CRLF);
 
-            target.writeBytes(value);
+            if (!CompositeWriteBuffer.writeZeroCopy(target, value)) {
+                target.writeBytes(value);
+            }
             target.writeBytes(CRLF);
         }
 
@@ -497,7 +499,9 @@ public class CommandArgs<K, V> {
             IntegerArgument.writeInteger(target, value.readableBytes());
             target.writeBytes(CRLF);
 
-            target.writeBytes(value);
+            if (!CompositeWriteBuffer.writeZeroCopy(target, value)) {
+                target.writeBytes(value);
+            }
             target.writeBytes(CRLF);
         }
 
@@ -724,17 +728,20 @@ public class CommandArgs<K, V> {
 
     static <T> void encode(ByteBuf target, ToByteBufEncoder<T, T> encoder, T item, EncodeFunction<T> encodeFunction) {
 
-        if (encoder.isEstimateExact()) {
+        int estimatedSize = encoder.estimateSize(item);
+
+        // large values are encoded into a separate buffer that is appended to a CompositeWriteBuffer without copying
+        if (encoder.isEstimateExact() && !CompositeWriteBuffer.isZeroCopyCandidate(target, estimatedSize)) {
 
             target.writeByte('$');
-            IntegerArgument.writeInteger(target, encoder.estimateSize(item));
+            IntegerArgument.writeInteger(target, estimatedSize);
             target.writeBytes(CRLF);
 
             encodeFunction.encode(encoder, item, target);
             target.writeBytes(CRLF);
         } else {
 
-            ByteBuf temporaryBuffer = target.alloc().buffer(encoder.estimateSize(item) + 6);
+            ByteBuf temporaryBuffer = target.alloc().buffer(estimatedSize + 6);
 
             try {
                 encodeFunction.encode(encoder, item, temporaryBuffer);
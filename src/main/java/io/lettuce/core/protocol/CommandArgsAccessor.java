@@ -2,11 +2,18 @@ package io.lettuce.core.protocol;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.ToByteBufEncoder;
+import io.lettuce.core.protocol.CommandArgs.BytesArgument;
 import io.lettuce.core.protocol.CommandArgs.CharArrayArgument;
+import io.lettuce.core.protocol.CommandArgs.KeyArgument;
 import io.lettuce.core.protocol.CommandArgs.SingularArgument;
 import io.lettuce.core.protocol.CommandArgs.StringArgument;
+import io.lettuce.core.protocol.CommandArgs.ValueArgument;
 
 /**
  * Accessor for first encoded key, first string and first {@link Long integer} argument of {@link CommandArgs}. This class is
@@ -36,6 +43,33 @@ public class CommandArgsAccessor {
         return null;
     }
 
+    /**
+     * Get all encoded keys.
+     *
+     * @param commandArgs must not be null.
+     * @return the encoded keys in argument order, empty if the arguments contain no keys.
+     * @since 7.0
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> List<ByteBuffer> encodeKeys(CommandArgs<K, V> commandArgs) {
+
+        List<ByteBuffer> keys = null;
+
+        for (SingularArgument singularArgument : commandArgs.singularArguments) {
+
+            if (singularArgument instanceof KeyArgument) {
+
+                if (keys == null) {
+                    keys = new ArrayList<>(2);
+                }
+
+                keys.add(commandArgs.codec.encodeKey(((KeyArgument<K, V>) singularArgument).key));
+            }
+        }
+
+        return keys != null ? keys : Collections.emptyList();
+    }
+
     /**
      * Get the first {@link String} argument.
      *
@@ -139,4 +173,98 @@ public class CommandArgsAccessor {
         return null;
     }
 
+    /**
+     * Check whether the arguments contain the given {@link ProtocolKeyword} as keyword, {@code byte[]} or {@link String}
+     * argument. Key and value arguments are not considered.
+     *
+     * @param commandArgs must not be null.
+     * @param keyword must not be null.
+     * @return {@code true} if the arguments contain the keyword.
+     * @since 7.0
+     */
+    public static <K, V> boolean containsKeyword(CommandArgs<K, V> commandArgs, ProtocolKeyword keyword) {
+
+        byte[] bytes = keyword.getBytes();
+
+        for (SingularArgument singularArgument : commandArgs.singularArguments) {
+
+            if (singularArgument instanceof BytesArgument && Arrays.equals(((BytesArgument) singularArgument).val, bytes)) {
+                return true;
+            }
+
+            if (singularArgument instanceof StringArgument
+                    && ((StringArgument) singularArgument).val.equalsIgnoreCase(keyword.toString())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Estimate the number of bytes the arguments occupy when encoded. Keys and values are sized through
+     * {@link ToByteBufEncoder#estimateSize(Object)} if the codec supports it. Otherwise, {@code byte[]}, {@link ByteBuffer} and
+     * {@link CharSequence} keys and values are sized by their length and other types with a fixed estimate; keys and values
+     * are never encoded to determine their size. Numeric arguments are sized with a fixed estimate.
+     *
+     * @param commandArgs must not be null.
+     * @return the estimated encoded size in bytes.
+     * @since 7.0
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> long estimateSize(CommandArgs<K, V> commandArgs) {
+
+        long size = 0;
+
+        for (SingularArgument singularArgument : commandArgs.singularArguments) {
+
+            // $<length>\r\n<payload>\r\n
+            size += 8;
+
+            if (singularArgument instanceof KeyArgument) {
+                KeyArgument<K, V> argument = (KeyArgument<K, V>) singularArgument;
+                size += estimateSize(argument.codec, argument.key);
+            } else if (singularArgument instanceof ValueArgument) {
+                ValueArgument<K, V> argument = (ValueArgument<K, V>) singularArgument;
+                size += estimateSize(argument.codec, argument.val);
+            } else if (singularArgument instanceof BytesArgument) {
+                size += ((BytesArgument) singularArgument).val.length;
+            } else if (singularArgument instanceof StringArgument) {
+                size += ((StringArgument) singularArgument).val.length();
+            } else if (singularArgument instanceof CharArrayArgument) {
+                size += ((CharArrayArgument) singularArgument).val.length;
+            } else {
+                size += 16;
+            }
+        }
+
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> int estimateSize(RedisCodec<K, V> codec, Object keyOrValue) {
+
+        if (codec instanceof ToByteBufEncoder) {
+            return ((ToByteBufEncoder<K, V>) codec).estimateSize(keyOrValue);
+        }
+
+        if (keyOrValue == null) {
+            return 0;
+        }
+
+        if (keyOrValue instanceof byte[]) {
+            return ((byte[]) keyOrValue).length;
+        }
+
+        if (keyOrValue instanceof ByteBuffer) {
+            return ((ByteBuffer) keyOrValue).remaining();
+        }
+
+        if (keyOrValue instanceof CharSequence) {
+            return ((CharSequence) keyOrValue).length();
+        }
+
+        return 16;
+    }
+
 }
@@ -26,17 +26,36 @@ public class CommandEncoder extends MessageToByteEncoder<Object> {
 
     private final boolean debugEnabled = logger.isDebugEnabled();
 
+    private final int zeroCopyThreshold;
+
     public CommandEncoder() {
         this(PlatformDependent.directBufferPreferred());
     }
 
     public CommandEncoder(boolean preferDirect) {
+        this(preferDirect, 0);
+    }
+
+    /**
+     * Create a new {@link CommandEncoder}.
+     *
+     * @param preferDirect {@code true} to encode commands into direct buffers.
+     * @param zeroCopyThreshold minimum size of direct values that are written without copying them into the command buffer,
+     *        {@code 0} to copy all values. Only effective with {@code preferDirect}.
+     * @since 7.0
+     */
+    public CommandEncoder(boolean preferDirect, int zeroCopyThreshold) {
         super(preferDirect);
+        this.zeroCopyThreshold = zeroCopyThreshold;
     }
 
     @Override
     protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Object msg, boolean preferDirect) throws Exception {
 
+        if (preferDirect && zeroCopyThreshold > 0) {
+            return new CompositeWriteBuffer(ctx.alloc(), zeroCopyThreshold);
+        }
+
         if (msg instanceof Collection) {
 
             if (preferDirect) {
@@ -78,6 +97,9 @@ public class CommandEncoder extends MessageToByteEncoder<Object> {
             command.encode(out);
         } catch (RuntimeException e) {
             out.resetWriterIndex();
+            if (out instanceof CompositeWriteBuffer) {
+                ((CompositeWriteBuffer) out).discardWritable();
+            }
             command.completeExceptionally(new EncoderException(
                     "Cannot encode command. Please close the connection as the connection state may be out of sync.", e));
         }
@@ -39,6 +39,10 @@ import io.netty.util.Timer;
 /**
  * Extension to {@link RedisChannelWriter} that expires commands. Command timeout starts at the time the command is written
  * regardless to {@link #setAutoFlushCommands(boolean) flushing mode} (user-controlled batching).
+ * <p>
+ * Commands are expired through a {@link CommandTimeoutQueue} that exploits in-order completion of Redis replies so that
+ * commands completing in time do not require scheduling and cancelling an individual timer task. Commands whose deadline would
+ * precede already queued deadlines are expired using an individual timer task.
  *
  * @author Mark Paluch
  * @author Tianyi Yang
@@ -59,6 +63,8 @@ public class CommandExpiryWriter implements RedisChannelWriter {
 
     private final boolean applyConnectionTimeout;
 
+    private final CommandTimeoutQueue timeoutQueue;
+
     volatile long timeout = -1;
 
     /**
@@ -69,6 +75,20 @@ public class CommandExpiryWriter implements RedisChannelWriter {
      * @param clientResources must not be {@code null}.
      */
     public CommandExpiryWriter(RedisChannelWriter delegate, ClientOptions clientOptions, ClientResources clientResources) {
+        this(delegate, clientOptions, clientResources, true);
+    }
+
+    /**
+     * Create a new {@link CommandExpiryWriter}.
+     *
+     * @param delegate must not be {@code null}.
+     * @param clientOptions must not be {@code null}.
+     * @param clientResources must not be {@code null}.
+     * @param useTimeoutQueue whether to expire commands through a {@link CommandTimeoutQueue}. Subclasses that expire commands
+     *        on their own do not need a queue.
+     */
+    CommandExpiryWriter(RedisChannelWriter delegate, ClientOptions clientOptions, ClientResources clientResources,
+            boolean useTimeoutQueue) {
 
         LettuceAssert.notNull(delegate, "RedisChannelWriter must not be null");
         LettuceAssert.isTrue(isSupported(clientOptions), "Command timeout not enabled");
@@ -81,6 +101,7 @@ public class CommandExpiryWriter implements RedisChannelWriter {
         this.timeUnit = source.getTimeUnit();
         this.executorService = clientResources.eventExecutorGroup();
         this.timer = clientResources.timer();
+        this.timeoutQueue = useTimeoutQueue ? new CommandTimeoutQueue(this.timer, this.executorService) : null;
     }
 
     /**
@@ -191,6 +212,10 @@ public class CommandExpiryWriter implements RedisChannelWriter {
             return;
         }
 
+        if (timeoutQueue != null && timeoutQueue.offer(command, timeUnit.toNanos(timeout))) {
+            return;
+        }
+
         Timeout commandTimeout = timer.newTimeout(t -> {
             if (!command.isDone()) {
                 executors.submit(() -> command.completeExceptionally(ExceptionFactory
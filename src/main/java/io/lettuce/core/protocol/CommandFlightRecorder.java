@@ -0,0 +1,136 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.protocol;
+
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.lettuce.core.event.metrics.CommandFlightRecordingEvent;
+import io.lettuce.core.metrics.CommandFlightRecorderOptions;
+
+/**
+ * Per-connection ring buffer of recent command timings. All storage is preallocated so that recording a command does not
+ * allocate. A {@link CommandFlightRecordingEvent} is only materialized when a command triggers a recording. Triggered
+ * recordings do not overlap: after a recording, at least {@code capacity} further commands must complete before the next one.
+ * <p>
+ * Not thread-safe, must be used from the channel's event loop.
+ *
+ * @since 7.0
+ */
+class CommandFlightRecorder {
+
+    private final int capacity;
+
+    private final long latencyThresholdNanos;
+
+    private final boolean recordErrors;
+
+    private final ProtocolKeyword[] types;
+
+    private final int[] argumentCounts;
+
+    private final long[] queueTimes;
+
+    private final long[] headOfLineTimes;
+
+    private final long[] serverTimes;
+
+    private final boolean[] errors;
+
+    private long recorded;
+
+    private long lastRecording = Long.MIN_VALUE / 2;
+
+    CommandFlightRecorder(CommandFlightRecorderOptions options) {
+
+        this.capacity = options.getCapacity();
+        this.latencyThresholdNanos = options.getLatencyThreshold().toNanos();
+        this.recordErrors = options.isRecordErrors();
+        this.types = new ProtocolKeyword[capacity];
+        this.argumentCounts = new int[capacity];
+        this.queueTimes = new long[capacity];
+        this.headOfLineTimes = new long[capacity];
+        this.serverTimes = new long[capacity];
+        this.errors = new boolean[capacity];
+    }
+
+    /**
+     * Record a completed command. Timings are measured by {@link CommandHandler} and follow the definitions of the
+     * corresponding {@link io.lettuce.core.metrics.CommandLatencyStage command latency stages}.
+     *
+     * @param command the command.
+     * @param queueNanos time spent in the endpoint queues, see {@link io.lettuce.core.metrics.CommandLatencyStage#QUEUE}.
+     * @param headOfLineNanos time spent waiting for responses of previously written commands, see
+     *        {@link io.lettuce.core.metrics.CommandLatencyStage#HEAD_OF_LINE}.
+     * @param serverNanos remaining time until completion.
+     * @param error whether the command completed with an error response.
+     * @return the trigger if the command triggers a recording, {@code null} otherwise.
+     */
+    CommandFlightRecordingEvent.Trigger record(RedisCommand<?, ?, ?> command, long queueNanos, long headOfLineNanos,
+            long serverNanos, boolean error) {
+
+        int index = (int) (recorded++ % capacity);
+
+        types[index] = command.getType();
+        argumentCounts[index] = command.getArgs() != null ? command.getArgs().count() : 0;
+        queueTimes[index] = queueNanos;
+        headOfLineTimes[index] = headOfLineNanos;
+        serverTimes[index] = serverNanos;
+        errors[index] = error;
+
+        CommandFlightRecordingEvent.Trigger trigger = null;
+        if (error && recordErrors) {
+            trigger = CommandFlightRecordingEvent.Trigger.ERROR;
+        } else if (latencyThresholdNanos > 0 && headOfLineNanos + serverNanos >= latencyThresholdNanos) {
+            trigger = CommandFlightRecordingEvent.Trigger.LATENCY;
+        }
+
+        if (trigger == null || recorded - lastRecording < capacity) {
+            return null;
+        }
+
+        lastRecording = recorded;
+        return trigger;
+    }
+
+    /**
+     * Create a {@link CommandFlightRecordingEvent} from the buffered timings, oldest first.
+     *
+     * @param remoteAddress the remote address.
+     * @param trigger the recording trigger.
+     * @return the {@link CommandFlightRecordingEvent}.
+     */
+    CommandFlightRecordingEvent toEvent(SocketAddress remoteAddress, CommandFlightRecordingEvent.Trigger trigger) {
+
+        int size = (int) Math.min(recorded, capacity);
+        List<CommandFlightRecordingEvent.CommandTiming> timings = new ArrayList<>(size);
+
+        for (long i = recorded - size; i < recorded; i++) {
+
+            int index = (int) (i % capacity);
+            timings.add(new CommandFlightRecordingEvent.CommandTiming(types[index], argumentCounts[index], queueTimes[index],
+                    headOfLineTimes[index], serverTimes[index], errors[index]));
+        }
+
+        return new CommandFlightRecordingEvent(remoteAddress, trigger, timings);
+    }
+
+}
@@ -46,9 +46,12 @@ import io.lettuce.core.RedisURI;
 import io.lettuce.core.api.push.PushListener;
 import io.lettuce.core.api.push.PushMessage;
 import io.lettuce.core.datastructure.queue.HashIndexedQueue;
+import io.lettuce.core.event.metrics.CommandFlightRecordingEvent;
 import io.lettuce.core.internal.LettuceAssert;
 import io.lettuce.core.internal.LettuceSets;
+import io.lettuce.core.metrics.CommandFlightRecorderOptions;
 import io.lettuce.core.metrics.CommandLatencyRecorder;
+import io.lettuce.core.metrics.CommandLatencyStage;
 import io.lettuce.core.output.CommandOutput;
 import io.lettuce.core.output.PushOutput;
 import io.lettuce.core.resource.ClientResources;
@@ -113,6 +116,10 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
 
     private final boolean latencyMetricsEnabled;
 
+    private final CommandFlightRecorder flightRecorder;
+
+    private final boolean commandTimingEnabled;
+
     private final boolean tracingEnabled;
 
     private final DecodeBufferPolicy decodeBufferPolicy;
@@ -141,6 +148,10 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
 
     private Tracing.Endpoint tracedEndpoint;
 
+    private RedisURI tracedRedisUri;
+
+    private long lastCompletion = Long.MIN_VALUE;
+
     /**
      * Initialize a new instance that handles commands from the supplied queue.
      *
@@ -159,6 +170,12 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
         this.endpoint = endpoint;
         this.commandLatencyRecorder = clientResources.commandLatencyRecorder();
         this.latencyMetricsEnabled = commandLatencyRecorder.isEnabled();
+
+        CommandFlightRecorderOptions flightRecorderOptions = clientResources.commandFlightRecorderOptions();
+        this.flightRecorder = flightRecorderOptions != null && flightRecorderOptions.isEnabled()
+                ? new CommandFlightRecorder(flightRecorderOptions)
+                : null;
+        this.commandTimingEnabled = latencyMetricsEnabled || flightRecorder != null;
         this.boundedQueues = clientOptions.getRequestQueueSize() != Integer.MAX_VALUE;
         this.stack = clientOptions.isUseHashIndexedQueue() ? new HashIndexedQueue<>() : new ArrayDeque<>();
 
@@ -368,6 +385,7 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
         }
 
         tracedEndpoint = null;
+        tracedRedisUri = null;
         setState(LifecycleState.DISCONNECTED);
         setState(LifecycleState.DEACTIVATING);
 
@@ -431,11 +449,15 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
             return;
         }
 
-        addToStack(command, promise);
+        RedisCommand<?, ?, ?> stacked = addToStack(command, promise);
 
         attachTracing(ctx, command);
 
         ctx.write(command, promise);
+
+        if (stacked instanceof WithLatency) {
+            ((WithLatency) stacked).encoded(nanoTime());
+        }
     }
 
     private void writeBatch(ChannelHandlerContext ctx, Collection<RedisCommand<?, ?, ?>> batch, ChannelPromise promise) {
@@ -462,9 +484,15 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
             throw e;
         }
 
+        List<WithLatency> timed = commandTimingEnabled ? new ArrayList<>(deduplicated.size()) : null;
+
         for (RedisCommand<?, ?, ?> command : deduplicated) {
             attachTracing(ctx, command);
-            addToStack(command, promise);
+            RedisCommand<?, ?, ?> stacked = addToStack(command, promise);
+
+            if (timed != null && stacked instanceof WithLatency) {
+                timed.add((WithLatency) stacked);
+            }
         }
 
         if (!deduplicated.isEmpty()) {
@@ -472,6 +500,14 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
         } else {
             promise.trySuccess();
         }
+
+        if (timed != null) {
+
+            long encoded = nanoTime();
+            for (WithLatency withLatency : timed) {
+                withLatency.encoded(encoded);
+            }
+        }
     }
 
     private void attachTracing(ChannelHandlerContext ctx, RedisCommand<?, ?, ?> command) {
@@ -489,14 +525,19 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
             TraceContext context = provider.getTraceContext();
 
             Tracer.Span span = tracer.nextSpan(context);
+
+            if (!span.isRecording()) {
+                return;
+            }
+
             span.name(command.getType().toString());
 
-            if (channel.hasAttr(ConnectionBuilder.REDIS_URI)) {
-                String redisUriStr = channel.attr(ConnectionBuilder.REDIS_URI).get();
-                RedisURI redisURI = RedisURI.create(redisUriStr);
-                span.tag("server.address", redisURI.toString());
-                span.tag("db.namespace", String.valueOf(redisURI.getDatabase()));
-                span.tag("user.name", Optional.ofNullable(redisURI.getCredentialsProvider().resolveCredentials().block())
+            RedisURI redisURI = getTracedRedisUri();
+            if (redisURI != null) {
+                // tag values are resolved lazily, deferred spans that are never reported do not resolve credentials
+                span.tag("server.address", redisURI::toString);
+                span.tag("db.namespace", () -> String.valueOf(redisURI.getDatabase()));
+                span.tag("user.name", () -> Optional.ofNullable(redisURI.getCredentialsProvider().resolveCredentials().block())
                         .map(RedisCredentials::getUsername).orElse(""));
             }
 
@@ -514,7 +555,16 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
         }
     }
 
-    private void addToStack(RedisCommand<?, ?, ?> command, ChannelPromise promise) {
+    private RedisURI getTracedRedisUri() {
+
+        if (tracedRedisUri == null && channel.hasAttr(ConnectionBuilder.REDIS_URI)) {
+            tracedRedisUri = RedisURI.create(channel.attr(ConnectionBuilder.REDIS_URI).get());
+        }
+
+        return tracedRedisUri;
+    }
+
+    private RedisCommand<?, ?, ?> addToStack(RedisCommand<?, ?, ?> command, ChannelPromise promise) {
 
         try {
 
@@ -533,6 +583,8 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
             if (!promise.isVoid()) {
                 promise.addListener(AddToStack.newInstance(stack, redisCommand));
             }
+
+            return redisCommand;
         } catch (Exception e) {
             command.completeExceptionally(e);
             throw e;
@@ -563,7 +615,7 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
 
     private RedisCommand<?, ?, ?> potentiallyWrapLatencyCommand(RedisCommand<?, ?, ?> command) {
 
-        if (!latencyMetricsEnabled) {
+        if (!commandTimingEnabled) {
             return command;
         }
 
@@ -794,7 +846,7 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
      */
     private boolean decode(ChannelHandlerContext ctx, ByteBuf buffer, RedisCommand<?, ?, ?> command) {
 
-        if (latencyMetricsEnabled && command instanceof WithLatency) {
+        if (commandTimingEnabled && command instanceof WithLatency) {
 
             WithLatency withLatency = (WithLatency) command;
             if (withLatency.getFirstResponse() == -1) {
@@ -805,7 +857,7 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
                 return false;
             }
 
-            recordLatency(withLatency, command);
+            recordTimings(withLatency, command);
 
             return true;
         }
@@ -941,14 +993,94 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
         decodeBufferPolicy.afterCommandDecoded(readBuffer);
     }
 
-    private void recordLatency(WithLatency withLatency, RedisCommand<?, ?, ?> command) {
+    private void recordTimings(WithLatency withLatency, RedisCommand<?, ?, ?> command) {
+
+        long completed = nanoTime();
+        long written = getWritten(withLatency);
+
+        // responses are decoded in order: a response can only be read once its predecessor has completed
+        long headOfLine = Math.max(written, Math.min(lastCompletion, withLatency.getFirstResponse()));
 
-        if (withLatency != null && latencyMetricsEnabled && channel != null && remote() != null) {
+        if (latencyMetricsEnabled && channel != null && remote() != null) {
 
             long firstResponseLatency = withLatency.getFirstResponse() - withLatency.getSent();
-            long completionLatency = nanoTime() - withLatency.getSent();
+            long completionLatency = completed - withLatency.getSent();
 
             commandLatencyRecorder.recordCommandLatency(local(), remote(), command, firstResponseLatency, completionLatency);
+            recordStageLatencies(withLatency, command, written, headOfLine, completed);
+        }
+
+        if (flightRecorder != null) {
+            recordFlight(withLatency, command, written, headOfLine, completed);
+        }
+
+        lastCompletion = completed;
+    }
+
+    /**
+     * @return the time the command was completely written to the transport: flushed if recorded, otherwise encoded or sent.
+     */
+    private static long getWritten(WithLatency withLatency) {
+
+        long written = withLatency.getSent();
+
+        if (withLatency.getEncoded() != -1) {
+            written = withLatency.getEncoded();
+        }
+
+        if (withLatency.getFlushed() != -1 && withLatency.getFlushed() >= written) {
+            written = withLatency.getFlushed();
+        }
+
+        return written;
+    }
+
+    private static long getQueueTime(WithLatency withLatency) {
+        return withLatency.getQueued() != -1 ? withLatency.getSent() - withLatency.getQueued() : 0;
+    }
+
+    private void recordStageLatencies(WithLatency withLatency, RedisCommand<?, ?, ?> command, long written, long headOfLine,
+            long completed) {
+
+        SocketAddress local = local();
+        SocketAddress remote = remote();
+        long sent = withLatency.getSent();
+
+        if (withLatency.getQueued() != -1) {
+            commandLatencyRecorder.recordStageLatency(local, remote, command, CommandLatencyStage.QUEUE,
+                    getQueueTime(withLatency));
+        }
+
+        long encoded = sent;
+
+        if (withLatency.getEncoded() != -1) {
+            encoded = withLatency.getEncoded();
+            commandLatencyRecorder.recordStageLatency(local, remote, command, CommandLatencyStage.ENCODE, encoded - sent);
+        }
+
+        if (withLatency.getFlushed() != -1 && withLatency.getFlushed() >= encoded) {
+            commandLatencyRecorder.recordStageLatency(local, remote, command, CommandLatencyStage.FLUSH, written - encoded);
+        }
+
+        commandLatencyRecorder.recordStageLatency(local, remote, command, CommandLatencyStage.HEAD_OF_LINE,
+                headOfLine - written);
+        commandLatencyRecorder.recordStageLatency(local, remote, command, CommandLatencyStage.NETWORK,
+                withLatency.getFirstResponse() - headOfLine);
+        commandLatencyRecorder.recordStageLatency(local, remote, command, CommandLatencyStage.RESPONSE,
+                completed - withLatency.getFirstResponse());
+    }
+
+    private void recordFlight(WithLatency withLatency, RedisCommand<?, ?, ?> command, long written, long headOfLine,
+            long completed) {
+
+        CommandOutput<?, ?, ?> output = command.getOutput();
+        boolean error = output != null && output.getError() != null;
+
+        CommandFlightRecordingEvent.Trigger trigger = flightRecorder.record(command, getQueueTime(withLatency),
+                headOfLine - written, completed - headOfLine, error);
+
+        if (trigger != null && channel != null) {
+            clientResources.eventBus().publish(flightRecorder.toEvent(remote(), trigger));
         }
     }
 
@@ -1096,6 +1228,8 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
             try {
                 if (!future.isSuccess()) {
                     stack.remove(command);
+                } else if (command instanceof WithLatency) {
+                    ((WithLatency) command).flushed(nanoTime());
                 }
             } finally {
                 recycle();
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.protocol;
+
+import java.time.Duration;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import io.lettuce.core.internal.ExceptionFactory;
+import io.netty.util.Timer;
+
+/**
+ * Queue of command deadlines that expires commands in the order they were written. Redis replies arrive in the order commands
+ * were sent and commands written through a connection share mostly the same timeout, so deadlines are monotonic in write order.
+ * This allows expiring commands by inspecting only the head of the queue instead of scheduling (and cancelling) a {@link Timer
+ * timer task} for each command:
+ * <ul>
+ * <li>Completed commands remove their deadline when they complete. Deadlines of commands that do not notify completion are
+ * discarded from the queue head when writing further commands or when sweeping.</li>
+ * <li>A single sweep task is scheduled for the deadline of the queue head. It expires overdue commands and reschedules itself
+ * for the next pending deadline.</li>
+ * </ul>
+ * Commands whose deadline would precede the deadline of an already queued command (e.g. after lowering the timeout) are
+ * rejected by {@link #offer(RedisCommand, long)} and must be expired individually. Commands are accepted again once the command
+ * with the latest deadline completed or its deadline has passed.
+ *
+ * @since 7.0
+ * @see CommandExpiryWriter
+ */
+class CommandTimeoutQueue {
+
+    /**
+     * Tolerance for deadlines that are slightly out of order because of concurrent writers.
+     */
+    static final long RESOLUTION_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Deque<Deadline> deadlines = new ConcurrentLinkedDeque<>();
+
+    private final AtomicLong lastDeadline = new AtomicLong(Long.MIN_VALUE);
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private final AtomicBoolean sweepScheduled = new AtomicBoolean();
+
+    private final Timer timer;
+
+    private final Executor executor;
+
+    private final LongSupplier clock;
+
+    CommandTimeoutQueue(Timer timer, Executor executor) {
+        this(timer, executor, System::nanoTime);
+    }
+
+    CommandTimeoutQueue(Timer timer, Executor executor, LongSupplier clock) {
+        this.timer = timer;
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    /**
+     * Enqueue {@code command} to expire after {@code timeoutNanos}.
+     *
+     * @param command the command.
+     * @param timeoutNanos the timeout in nanoseconds.
+     * @return {@code true} if the command was enqueued; {@code false} if its deadline would precede the deadline of an already
+     *         queued command.
+     */
+    boolean offer(RedisCommand<?, ?, ?> command, long timeoutNanos) {
+
+        long now = clock.getAsLong();
+        long deadline = now + timeoutNanos;
+        long previous = lastDeadline.getAndAccumulate(deadline, Math::max);
+
+        if (previous != Long.MIN_VALUE && deadline + RESOLUTION_NANOS < previous) {
+            return false;
+        }
+
+        drain(now);
+
+        Deadline entry = new Deadline(command, deadline, timeoutNanos);
+        deadlines.add(entry);
+
+        if (command instanceof CompleteableCommand) {
+            ((CompleteableCommand<?>) command).onComplete((o, throwable) -> remove(entry));
+        }
+
+        if (sweepScheduled.compareAndSet(false, true)) {
+            schedule(now);
+        }
+
+        return true;
+    }
+
+    /**
+     * @return number of queued deadlines, including deadlines of completed commands that were not yet discarded.
+     */
+    int size() {
+        return deadlines.size();
+    }
+
+    void sweep() {
+
+        long now = clock.getAsLong();
+        drain(now);
+
+        if (!deadlines.isEmpty()) {
+            schedule(now);
+            return;
+        }
+
+        sweepScheduled.set(false);
+
+        // re-check to not miss commands enqueued after draining
+        if (!deadlines.isEmpty() && sweepScheduled.compareAndSet(false, true)) {
+            schedule(now);
+        }
+    }
+
+    /**
+     * Remove the deadline of a completed command. If the command held the latest deadline, the latest deadline falls back to
+     * the deadline of the queue tail so that commands with shorter timeouts are accepted again.
+     */
+    private void remove(Deadline entry) {
+
+        if (entry.dequeued) {
+            return;
+        }
+
+        deadlines.remove(entry);
+
+        if (lastDeadline.get() == entry.deadline) {
+
+            Deadline tail = deadlines.peekLast();
+            lastDeadline.compareAndSet(entry.deadline, tail != null ? tail.deadline : Long.MIN_VALUE);
+        }
+    }
+
+    private void drain(long now) {
+
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+
+            Deadline head;
+            while ((head = deadlines.peek()) != null) {
+
+                if (head.command.isDone()) {
+                    head.dequeued = true;
+                    deadlines.remove(head);
+                    continue;
+                }
+
+                if (head.deadline - now > 0) {
+                    break;
+                }
+
+                head.dequeued = true;
+                deadlines.remove(head);
+                expire(head);
+            }
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    private void expire(Deadline deadline) {
+
+        RedisCommand<?, ?, ?> command = deadline.command;
+        executor.execute(() -> command.completeExceptionally(ExceptionFactory
+                .createTimeoutException(command.getType().toString(), Duration.ofNanos(deadline.timeoutNanos))));
+    }
+
+    private void schedule(long now) {
+
+        Deadline head = deadlines.peek();
+        long delay = head != null ? Math.max(head.deadline - now, RESOLUTION_NANOS) : RESOLUTION_NANOS;
+
+        timer.newTimeout(t -> sweep(), delay, TimeUnit.NANOSECONDS);
+    }
+
+    static class Deadline {
+
+        final RedisCommand<?, ?, ?> command;
+
+        final long deadline;
+
+        final long timeoutNanos;
+
+        volatile boolean dequeued;
+
+        Deadline(RedisCommand<?, ?, ?> command, long deadline, long timeoutNanos) {
+            this.command = command;
+            this.deadline = deadline;
+            this.timeoutNanos = timeoutNanos;
+        }
+
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.protocol;
+
+import java.nio.ByteBuffer;
+
+import io.netty.buffer.AbstractByteBufAllocator;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * {@link CompositeByteBuf} used as encoding target that references large direct values as components instead of copying them.
+ * Protocol framing and small arguments are written into small padding components while values of at least {@code threshold}
+ * bytes are appended as-is so native transports can write the buffer through a vectored write without copying payloads.
+ * <p>
+ * Wrapped {@link ByteBuffer} values are referenced until the buffer has been written to the transport and must not be
+ * modified until then.
+ *
+ * @since 7.0
+ */
+class CompositeWriteBuffer extends CompositeByteBuf {
+
+    private final int threshold;
+
+    CompositeWriteBuffer(ByteBufAllocator alloc, int threshold) {
+        super(new PaddingAllocator(alloc), true, Integer.MAX_VALUE);
+        this.threshold = threshold;
+    }
+
+    /**
+     * Append {@code value} as component if {@code target} is a {@link CompositeWriteBuffer} and {@code value} is eligible for
+     * zero-copy writes. The {@code value} position is advanced as if the value had been written.
+     *
+     * @param target the encoding target.
+     * @param value the value to append.
+     * @return {@code true} if the value was appended as component, {@code false} if it must be copied.
+     */
+    static boolean writeZeroCopy(ByteBuf target, ByteBuffer value) {
+
+        if (!(target instanceof CompositeWriteBuffer) || !value.isDirect()
+                || !((CompositeWriteBuffer) target).isZeroCopyCandidate(value.remaining())) {
+            return false;
+        }
+
+        ((CompositeWriteBuffer) target).append(Unpooled.wrappedBuffer(value.asReadOnlyBuffer()));
+        value.position(value.limit());
+        return true;
+    }
+
+    /**
+     * Append a retained slice of {@code value} as component if {@code target} is a {@link CompositeWriteBuffer} and
+     * {@code value} is eligible for zero-copy writes. The {@code value} reader index is advanced as if the value had been
+     * written.
+     *
+     * @param target the encoding target.
+     * @param value the value to append.
+     * @return {@code true} if the value was appended as component, {@code false} if it must be copied.
+     */
+    static boolean writeZeroCopy(ByteBuf target, ByteBuf value) {
+
+        if (!(target instanceof CompositeWriteBuffer) || !value.isDirect()
+                || !((CompositeWriteBuffer) target).isZeroCopyCandidate(value.readableBytes())) {
+            return false;
+        }
+
+        int length = value.readableBytes();
+        ((CompositeWriteBuffer) target).append(value.retainedSlice());
+        value.skipBytes(length);
+        return true;
+    }
+
+    /**
+     * @param target the encoding target.
+     * @param length the value length.
+     * @return {@code true} if a value of {@code length} bytes written to {@code target} is appended as component.
+     */
+    static boolean isZeroCopyCandidate(ByteBuf target, int length) {
+        return target instanceof CompositeWriteBuffer && ((CompositeWriteBuffer) target).isZeroCopyCandidate(length);
+    }
+
+    private boolean isZeroCopyCandidate(int length) {
+        return length >= threshold;
+    }
+
+    /**
+     * Discard everything after the writer index, including appended components. Used to roll back after a failed encoding
+     * attempt so that subsequent writes cannot end up in appended value buffers.
+     */
+    void discardWritable() {
+
+        if (capacity() > writerIndex()) {
+            capacity(writerIndex());
+        }
+    }
+
+    private void append(ByteBuf component) {
+
+        // drop unused padding so the component starts at the writer index
+        discardWritable();
+        addComponent(true, component);
+    }
+
+    /**
+     * Allocator that grows the composite buffer by small padding components instead of doubling its capacity.
+     */
+    static class PaddingAllocator extends AbstractByteBufAllocator {
+
+        static final int PADDING = 1024;
+
+        private final ByteBufAllocator delegate;
+
+        PaddingAllocator(ByteBufAllocator delegate) {
+            super(true);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int calculateNewCapacity(int minNewCapacity, int maxCapacity) {
+            return (int) Math.min(maxCapacity, (long) minNewCapacity + PADDING);
+        }
+
+        @Override
+        protected ByteBuf newHeapBuffer(int initialCapacity, int maxCapacity) {
+            return delegate.heapBuffer(initialCapacity, maxCapacity);
+        }
+
+        @Override
+        protected ByteBuf newDirectBuffer(int initialCapacity, int maxCapacity) {
+            return delegate.directBuffer(initialCapacity, maxCapacity);
+        }
+
+        @Override
+        public boolean isDirectBufferPooled() {
+            return delegate.isDirectBufferPooled();
+        }
+
+    }
+
+}
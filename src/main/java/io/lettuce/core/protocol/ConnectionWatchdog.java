@@ -36,6 +36,7 @@ import io.lettuce.core.event.connection.ReconnectFailedEvent;
 import io.lettuce.core.internal.LettuceAssert;
 import io.lettuce.core.resource.Delay;
 import io.lettuce.core.resource.Delay.StatefulDelay;
+import io.lettuce.core.resource.ReconnectGovernor;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
@@ -83,7 +84,9 @@ public class ConnectionWatchdog extends ChannelInboundHandlerAdapter {
 
     private final String epid;
 
-    private Channel channel;
+    private volatile ReconnectGovernor reconnectGovernor = ReconnectGovernor.unlimited();
+
+    private volatile Channel channel;
 
     private SocketAddress remoteAddress;
 
@@ -204,6 +207,13 @@ public class ConnectionWatchdog extends ChannelInboundHandlerAdapter {
             return;
         }
 
+        Channel current = channel;
+        if (current != null && current != ctx.channel() && current.isActive()) {
+            logger.debug("{} Superseded channel became inactive, not reconnecting", logPrefix());
+            super.channelInactive(ctx);
+            return;
+        }
+
         channel = null;
 
         if (listenOnChannelInactive && !reconnectionHandler.isReconnectSuspended()) {
@@ -325,8 +335,59 @@ public class ConnectionWatchdog extends ChannelInboundHandlerAdapter {
             infoLevel = InternalLogLevel.DEBUG;
         }
 
+        InternalLogLevel infoLevelToUse = infoLevel;
         InternalLogLevel warnLevelToUse = warnLevel;
 
+        SocketAddress remote = remoteAddress;
+        if (remote == null) {
+            reconnect(attempt, delay, infoLevelToUse, warnLevelToUse, null);
+            return;
+        }
+
+        CompletableFuture<ReconnectGovernor.Permit> permitFuture = reconnectGovernor.acquire(remote);
+
+        if (permitFuture.isDone() && !permitFuture.isCompletedExceptionally() && permitFuture.join().getDelay().isZero()) {
+            reconnect(attempt, delay, infoLevelToUse, warnLevelToUse, permitFuture.join());
+            return;
+        }
+
+        logger.debug("{} Reconnect attempt {} queued by {}", logPrefix(), attempt, reconnectGovernor);
+
+        permitFuture.whenComplete((permit, throwable) -> {
+
+            if (throwable != null) {
+
+                logger.log(warnLevelToUse, "Cannot reconnect to [{}]: {}", remote, throwable.getMessage());
+                eventBus.publish(new ReconnectFailedEvent(redisUri, epid, LocalAddress.ANY, remote, throwable, attempt));
+
+                if (!isReconnectSuspended()) {
+                    scheduleReconnect();
+                }
+                return;
+            }
+
+            Runnable reconnect = () -> reconnectWorkers.submit(() -> {
+
+                if (!isEventLoopGroupActive() || !isListenOnChannelInactive() || isReconnectSuspended()) {
+                    permit.release();
+                    return null;
+                }
+
+                reconnect(attempt, delay, infoLevelToUse, warnLevelToUse, permit);
+                return null;
+            });
+
+            if (permit.getDelay().isZero()) {
+                reconnect.run();
+            } else {
+                timer.newTimeout(it -> reconnect.run(), permit.getDelay().toNanos(), TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    private void reconnect(int attempt, Duration delay, InternalLogLevel infoLevel, InternalLogLevel warnLevel,
+            ReconnectGovernor.Permit permit) {
+
         try {
             reconnectionListener.onReconnectAttempt(new ConnectionEvents.Reconnect(attempt));
             eventBus.publish(new ReconnectAttemptEvent(redisUri, epid, LocalAddress.ANY, remoteAddress, attempt, delay));
@@ -337,6 +398,10 @@ public class ConnectionWatchdog extends ChannelInboundHandlerAdapter {
 
             future.whenComplete((c, t) -> {
 
+                if (permit != null) {
+                    permit.release();
+                }
+
                 if (c != null && t == null) {
                     return;
                 }
@@ -355,10 +420,10 @@ public class ConnectionWatchdog extends ChannelInboundHandlerAdapter {
                     if (logger.isDebugEnabled()) {
                         logger.debug(message, t);
                     } else {
-                        logger.log(warnLevelToUse, message);
+                        logger.log(warnLevel, message);
                     }
                 } else {
-                    logger.log(warnLevelToUse, message, t);
+                    logger.log(warnLevel, message, t);
                 }
 
                 eventBus.publish(new ReconnectFailedEvent(redisUri, epid, LocalAddress.ANY, remote, t, attempt));
@@ -368,6 +433,11 @@ public class ConnectionWatchdog extends ChannelInboundHandlerAdapter {
                 }
             });
         } catch (Exception e) {
+
+            if (permit != null) {
+                permit.release();
+            }
+
             logger.log(warnLevel, "Cannot reconnect: {}", e.toString());
             eventBus.publish(new ReconnectFailedEvent(redisUri, epid, LocalAddress.ANY, remoteAddress, e, attempt));
         }
@@ -418,6 +488,19 @@ public class ConnectionWatchdog extends ChannelInboundHandlerAdapter {
         return reconnectionHandler.isReconnectSuspended();
     }
 
+    /**
+     * Set the {@link ReconnectGovernor} to throttle reconnect attempts.
+     *
+     * @param reconnectGovernor the reconnect governor, must not be {@code null}.
+     * @since 7.0
+     */
+    public void setReconnectGovernor(ReconnectGovernor reconnectGovernor) {
+
+        LettuceAssert.notNull(reconnectGovernor, "ReconnectGovernor must not be null");
+
+        this.reconnectGovernor = reconnectGovernor;
+    }
+
     ReconnectionHandler getReconnectionHandler() {
         return reconnectionHandler;
     }
@@ -29,6 +29,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
@@ -38,14 +39,18 @@ import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import io.lettuce.core.ClientOptions;
+import io.lettuce.core.ConcurrencyLimitOptions;
 import io.lettuce.core.ConnectionEvents;
 import io.lettuce.core.RedisChannelWriter;
+import io.lettuce.core.RedisCommandTimeoutException;
 import io.lettuce.core.RedisConnectionException;
 import io.lettuce.core.RedisException;
 import io.lettuce.core.api.push.PushListener;
+import io.lettuce.core.event.metrics.ConcurrencyLimitEvent;
 import io.lettuce.core.internal.Futures;
 import io.lettuce.core.internal.LettuceAssert;
 import io.lettuce.core.internal.LettuceFactories;
+import io.lettuce.core.metrics.CommandLatencyRecorder;
 import io.lettuce.core.resource.ClientResources;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
@@ -75,6 +80,9 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
     private static final AtomicIntegerFieldUpdater<DefaultEndpoint> STATUS = AtomicIntegerFieldUpdater
             .newUpdater(DefaultEndpoint.class, "status");
 
+    private static final AtomicIntegerFieldUpdater<DefaultEndpoint> CONCURRENCY_LIMITED_DRAIN = AtomicIntegerFieldUpdater
+            .newUpdater(DefaultEndpoint.class, "concurrencyLimitedDrain");
+
     private static final int ST_OPEN = 0;
 
     private static final int ST_CLOSED = 1;
@@ -93,10 +101,21 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
 
     private final Queue<RedisCommand<?, ?, ?>> commandBuffer;
 
+    // commands written to a connected channel while buffered commands are replayed, written once the replay is complete
+    private final Queue<RedisCommand<?, ?, ?>> deferredBuffer;
+
     private final boolean boundedQueues;
 
     private final boolean rejectCommandsWhileDisconnected;
 
+    private final boolean queueTimingEnabled;
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    private final boolean concurrencyLimitFailFast;
+
+    private final Queue<RedisCommand<?, ?, ?>> concurrencyLimitedBuffer;
+
     private final long endpointId = ENDPOINT_COUNTER.incrementAndGet();
 
     private final List<PushListener> pushListeners = new CopyOnWriteArrayList<>();
@@ -119,6 +138,8 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
 
     private volatile Throwable connectionError;
 
+    private volatile boolean replayInProgress;
+
     // access via QUEUE_SIZE
     @SuppressWarnings("unused")
     private volatile int queueSize = 0;
@@ -127,6 +148,10 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
     @SuppressWarnings("unused")
     private volatile int status = ST_OPEN;
 
+    // access via CONCURRENCY_LIMITED_DRAIN
+    @SuppressWarnings("unused")
+    private volatile int concurrencyLimitedDrain = 0;
+
     private final String cachedEndpointId;
 
     /**
@@ -146,8 +171,21 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
         this.replayFilter = clientOptions.getReplayFilter();
         this.disconnectedBuffer = LettuceFactories.newConcurrentQueue(clientOptions.getRequestQueueSize());
         this.commandBuffer = LettuceFactories.newConcurrentQueue(clientOptions.getRequestQueueSize());
+        this.deferredBuffer = LettuceFactories.newConcurrentQueue(clientOptions.getRequestQueueSize());
         this.boundedQueues = clientOptions.getRequestQueueSize() != Integer.MAX_VALUE;
         this.rejectCommandsWhileDisconnected = isRejectCommand(clientOptions);
+
+        CommandLatencyRecorder commandLatencyRecorder = clientResources.commandLatencyRecorder();
+        this.queueTimingEnabled = commandLatencyRecorder != null && commandLatencyRecorder.isEnabled();
+
+        ConcurrencyLimitOptions concurrencyLimitOptions = clientOptions.getConcurrencyLimitOptions();
+        if (concurrencyLimitOptions == null) {
+            concurrencyLimitOptions = ConcurrencyLimitOptions.create();
+        }
+        this.concurrencyLimiter = concurrencyLimitOptions.isEnabled() ? new AdaptiveConcurrencyLimiter(concurrencyLimitOptions)
+                : null;
+        this.concurrencyLimitFailFast = concurrencyLimitOptions.isFailFast();
+        this.concurrencyLimitedBuffer = LettuceFactories.newConcurrentQueue(clientOptions.getRequestQueueSize());
         this.cachedEndpointId = "0x" + Long.toHexString(endpointId);
     }
 
@@ -199,16 +237,24 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
                 command = processActivationCommand(command);
             }
 
+            RedisCommand<K, V, T> toWrite = queueTimingEnabled ? recordQueued(command) : command;
+
             if (autoFlushCommands) {
                 Channel channel = this.channel;
-                if (isConnected(channel)) {
-                    writeToChannelAndFlush(channel, command);
+                if (isConnected(channel) && !replayInProgress) {
+                    if (concurrencyLimiter != null) {
+                        writeConcurrencyLimited(toWrite);
+                    } else {
+                        writeToChannelAndFlush(channel, toWrite);
+                    }
+                } else if (isConnected(channel)) {
+                    writeToDeferredBuffer(toWrite);
                 } else {
-                    writeToDisconnectedBuffer(command);
+                    writeToDisconnectedBuffer(toWrite);
                 }
 
             } else {
-                writeToBuffer(command);
+                writeToBuffer(toWrite);
             }
         } finally {
             sharedLock.decrementWriters();
@@ -240,16 +286,24 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
                 commands = processActivationCommands(commands);
             }
 
+            Collection<? extends RedisCommand<K, V, ?>> toWrite = queueTimingEnabled ? recordQueued(commands) : commands;
+
             if (autoFlushCommands) {
                 Channel channel = this.channel;
-                if (isConnected(channel)) {
-                    writeToChannelAndFlush(channel, commands);
+                if (isConnected(channel) && !replayInProgress) {
+                    if (concurrencyLimiter != null) {
+                        writeConcurrencyLimited(toWrite);
+                    } else {
+                        writeToChannelAndFlush(channel, toWrite);
+                    }
+                } else if (isConnected(channel)) {
+                    writeToDeferredBuffer(toWrite);
                 } else {
-                    writeToDisconnectedBuffer(commands);
+                    writeToDisconnectedBuffer(toWrite);
                 }
 
             } else {
-                writeToBuffer(commands);
+                writeToBuffer(toWrite);
             }
         } finally {
             sharedLock.decrementWriters();
@@ -287,6 +341,33 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
         return commandsToReturn;
     }
 
+    /**
+     * Wrap the command to record the time it was handed to the endpoint. The caller keeps the unwrapped command, the wrapper
+     * is buffered and written so that {@link CommandHandler} can report the time spent in the endpoint queues. The wrapper
+     * is removed again when commands are drained from the endpoint, see {@link #drainCommands()}.
+     */
+    @SuppressWarnings("unchecked")
+    private static <K, V, T> RedisCommand<K, V, T> recordQueued(RedisCommand<K, V, T> command) {
+
+        LatencyMeteredCommand<K, V, T> metered = command instanceof LatencyMeteredCommand
+                ? (LatencyMeteredCommand<K, V, T>) command
+                : new LatencyMeteredCommand<>(command);
+        metered.queued(System.nanoTime());
+
+        return metered;
+    }
+
+    private static <K, V> Collection<RedisCommand<K, V, ?>> recordQueued(Collection<? extends RedisCommand<K, V, ?>> commands) {
+
+        Collection<RedisCommand<K, V, ?>> metered = new ArrayList<>(commands.size());
+
+        for (RedisCommand<K, V, ?> command : commands) {
+            metered.add(recordQueued(command));
+        }
+
+        return metered;
+    }
+
     private RedisException validateWrite(int commands) {
 
         if (isClosed()) {
@@ -306,10 +387,20 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
                         + ". Commands are not accepted until the queue size drops.");
             }
 
+            if (connected && replayInProgress && deferredBuffer.size() + commands > clientOptions.getRequestQueueSize()) {
+                return new RedisException("Request queue size exceeded: " + clientOptions.getRequestQueueSize()
+                        + ". Commands are not accepted until the queue size drops.");
+            }
+
             if (connected && commandBuffer.size() + commands > clientOptions.getRequestQueueSize()) {
                 return new RedisException("Command buffer size exceeded: " + clientOptions.getRequestQueueSize()
                         + ". Commands are not accepted until the queue size drops.");
             }
+
+            if (concurrencyLimitedBuffer.size() + commands > clientOptions.getRequestQueueSize()) {
+                return new RedisException("Concurrency limit buffer size exceeded: " + clientOptions.getRequestQueueSize()
+                        + ". Commands are not accepted until the queue size drops.");
+            }
         }
 
         if (!connected && rejectCommandsWhileDisconnected) {
@@ -359,7 +450,31 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
             logger.debug("{} writeToDisconnectedBuffer() buffering (disconnected) command {}", logPrefix(), command);
         }
 
-        disconnectedBuffer.add(command);
+        if (concurrencyLimiter != null) {
+            // keep commands subject to the limit once reconnected
+            concurrencyLimitedBuffer.add(command);
+        } else {
+            disconnectedBuffer.add(command);
+        }
+    }
+
+    private void writeToDeferredBuffer(Collection<? extends RedisCommand<?, ?, ?>> commands) {
+        for (RedisCommand<?, ?, ?> command : commands) {
+            writeToDeferredBuffer(command);
+        }
+    }
+
+    /**
+     * Hold back a command written while buffered commands are replayed. Unlike {@link #writeToDisconnectedBuffer} the command
+     * is not subject to the replay filter as it was never written to a channel.
+     */
+    private void writeToDeferredBuffer(RedisCommand<?, ?, ?> command) {
+
+        if (debugEnabled) {
+            logger.debug("{} writeToDeferredBuffer() buffering command {} until replay is complete", logPrefix(), command);
+        }
+
+        deferredBuffer.add(command);
     }
 
     protected <C extends RedisCommand<?, ?, T>, T> void writeToBuffer(C command) {
@@ -381,6 +496,169 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
         commandBuffer.add(command);
     }
 
+    private void writeConcurrencyLimited(Collection<? extends RedisCommand<?, ?, ?>> commands) {
+
+        for (RedisCommand<?, ?, ?> command : commands) {
+            writeConcurrencyLimited(command);
+        }
+    }
+
+    /**
+     * Write a command subject to the adaptive in-flight limit. Commands exceeding the limit are rejected (fail-fast) or
+     * buffered until in-flight commands complete. Buffered commands are written in order, commands that are not subject to the
+     * limit are buffered as well when other commands are waiting to retain ordering. Activation commands are never limited.
+     */
+    private void writeConcurrencyLimited(RedisCommand<?, ?, ?> command) {
+
+        if (ActivationCommand.isActivationCommand(command)) {
+            writeToChannelAndFlush(this.channel, command);
+            return;
+        }
+
+        if (concurrencyLimitFailFast && isConcurrencyLimited(command)) {
+
+            if (!concurrencyLimiter.tryAcquire()) {
+                command.completeExceptionally(new RedisException(
+                        "Concurrency limit exceeded: " + concurrencyLimiter.getLimit() + " commands in flight"));
+                return;
+            }
+
+            releaseOnComplete(command);
+            writeToChannelAndFlush(this.channel, command);
+            return;
+        }
+
+        concurrencyLimitedBuffer.add(command);
+        drainConcurrencyLimited();
+    }
+
+    private static boolean isConcurrencyLimited(RedisCommand<?, ?, ?> command) {
+        return unwrapQueued(command) instanceof CompleteableCommand;
+    }
+
+    /**
+     * Write buffered commands as long as the limit permits. Must be called while holding the writer lock. Only one thread
+     * drains at a time so that commands buffered by a caller and commands drained by a completing command retain their order.
+     * Concurrent calls make the draining thread check the buffer again instead of waiting for it.
+     */
+    private void drainConcurrencyLimited() {
+
+        if (CONCURRENCY_LIMITED_DRAIN.getAndIncrement(this) != 0) {
+            return;
+        }
+
+        int missed = 1;
+
+        try {
+            for (;;) {
+
+                Channel channel = this.channel;
+
+                // commands remain buffered while disconnected or replaying and are drained once the channel is ready
+                if (isConnected(channel) && !replayInProgress) {
+
+                    List<RedisCommand<?, ?, ?>> toWrite = pollConcurrencyLimited();
+
+                    if (toWrite.size() == 1) {
+                        writeToChannelAndFlush(channel, toWrite.get(0));
+                    } else if (!toWrite.isEmpty()) {
+                        writeToChannelAndFlush(channel, toWrite);
+                    }
+                }
+
+                missed = CONCURRENCY_LIMITED_DRAIN.addAndGet(this, -missed);
+
+                if (missed == 0) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            CONCURRENCY_LIMITED_DRAIN.set(this, 0);
+            throw e;
+        }
+    }
+
+    private List<RedisCommand<?, ?, ?>> pollConcurrencyLimited() {
+
+        List<RedisCommand<?, ?, ?>> toWrite = Collections.emptyList();
+        RedisCommand<?, ?, ?> command;
+
+        while ((command = concurrencyLimitedBuffer.peek()) != null) {
+
+            boolean limited = isConcurrencyLimited(command);
+
+            if (limited && !command.isDone() && !concurrencyLimiter.tryAcquire()) {
+                break;
+            }
+
+            concurrencyLimitedBuffer.poll();
+
+            if (command.isDone()) {
+                continue;
+            }
+
+            if (limited) {
+                releaseOnComplete(command);
+            }
+
+            if (toWrite.isEmpty()) {
+                toWrite = new ArrayList<>();
+            }
+            toWrite.add(command);
+        }
+
+        return toWrite;
+    }
+
+    private void releaseOnComplete(RedisCommand<?, ?, ?> command) {
+
+        long start = System.nanoTime();
+
+        ((CompleteableCommand<?>) command).onComplete((o, throwable) -> {
+
+            int previousLimit = concurrencyLimiter.getLimit();
+
+            if (throwable instanceof CancellationException) {
+                concurrencyLimiter.release();
+            } else if (concurrencyLimiter.release(System.nanoTime() - start, throwable instanceof RedisCommandTimeoutException)
+                    && clientResources.eventBus().isEnabled(ConcurrencyLimitEvent.class)) {
+
+                Channel channel = this.channel;
+                clientResources.eventBus()
+                        .publish(new ConcurrencyLimitEvent(getId(), channel != null ? channel.remoteAddress() : null,
+                                previousLimit, concurrencyLimiter.getLimit(), concurrencyLimiter.getInFlight()));
+            }
+
+            if (concurrencyLimitedBuffer.isEmpty()) {
+                return;
+            }
+
+            // completion may happen while the completing thread already holds the writer lock
+            if (sharedLock.isHeldByCurrentThread()) {
+                drainConcurrencyLimited();
+                return;
+            }
+
+            sharedLock.incrementWriters();
+            try {
+                drainConcurrencyLimited();
+            } finally {
+                sharedLock.decrementWriters();
+            }
+        });
+    }
+
+    /**
+     * Returns the current adaptive in-flight limit of this endpoint.
+     *
+     * @return the current in-flight limit or {@code -1} if the limit is not enabled.
+     * @since 7.0
+     * @see ConcurrencyLimitOptions
+     */
+    public int getConcurrencyLimit() {
+        return concurrencyLimiter != null ? concurrencyLimiter.getLimit() : -1;
+    }
+
     private void writeToChannelAndFlush(Channel channel, RedisCommand<?, ?, ?> command) {
 
         QUEUE_SIZE.incrementAndGet(this);
@@ -489,7 +767,17 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
                     inActivation = false;
                 }
 
-                flushCommands(channel, disconnectedBuffer);
+                int replayBatchSize = getReplayBatchSize();
+                if (disconnectedBuffer.size() > replayBatchSize) {
+                    replayInProgress = true;
+                    replayBufferedCommands(channel, replayBatchSize);
+                } else {
+                    flushCommands(channel, disconnectedBuffer);
+
+                    if (concurrencyLimiter != null) {
+                        drainConcurrencyLimited();
+                    }
+                }
             } catch (Exception e) {
 
                 if (debugEnabled) {
@@ -501,9 +789,116 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
         });
     }
 
+    private int getReplayBatchSize() {
+        return clientResources.reconnectGovernor().getReplayBatchSize();
+    }
+
+    /**
+     * Replay commands buffered while disconnected in batches of {@code replayBatchSize}. Each batch is written and flushed in a
+     * separate event loop task so that the event loop can process replies in between. New commands are appended to the
+     * disconnected buffer until the replay is complete to retain command ordering.
+     *
+     * @param channel the channel to replay commands on.
+     * @param replayBatchSize number of commands per batch.
+     */
+    private void replayBufferedCommands(Channel channel, int replayBatchSize) {
+
+        boolean continueReplay = sharedLock.doExclusive(() -> {
+
+            if (channel != this.channel || !isConnected(channel)) {
+                replayInProgress = false;
+                requeueDeferredCommands();
+                return false;
+            }
+
+            List<RedisCommand<?, ?, ?>> batch = new ArrayList<>(Math.min(replayBatchSize, disconnectedBuffer.size()));
+
+            RedisCommand<?, ?, ?> cmd;
+            while (batch.size() < replayBatchSize && (cmd = disconnectedBuffer.poll()) != null) {
+
+                if (!cmd.isDone() && !ActivationCommand.isActivationCommand(cmd)) {
+                    batch.add(cmd);
+                }
+            }
+
+            if (debugEnabled) {
+                logger.debug("{} replayBufferedCommands() Replaying {} commands, {} remaining", logPrefix(), batch.size(),
+                        disconnectedBuffer.size());
+            }
+
+            if (!batch.isEmpty()) {
+                writeToChannelAndFlush(channel, batch);
+            }
+
+            if (disconnectedBuffer.isEmpty()) {
+                replayInProgress = false;
+                flushDeferredCommands(channel);
+                return false;
+            }
+
+            return true;
+        });
+
+        if (continueReplay) {
+            channel.eventLoop().execute(() -> replayBufferedCommands(channel, replayBatchSize));
+        }
+    }
+
+    /**
+     * Write commands that were held back during the replay. Must be called while holding the exclusive lock after the replay
+     * is complete.
+     */
+    private void flushDeferredCommands(Channel channel) {
+
+        List<RedisCommand<?, ?, ?>> deferred = drainCommands(deferredBuffer);
+
+        if (debugEnabled) {
+            logger.debug("{} flushDeferredCommands() Writing {} commands held back during replay", logPrefix(),
+                    deferred.size());
+        }
+
+        if (concurrencyLimiter != null) {
+            writeConcurrencyLimited(deferred);
+            drainConcurrencyLimited();
+        } else if (!deferred.isEmpty()) {
+            writeToChannelAndFlush(channel, deferred);
+        }
+    }
+
+    /**
+     * Move commands that were held back during an aborted replay behind the commands that are still to be replayed or, if the
+     * concurrency limit is enabled, behind the commands waiting for a permit. Must be called while holding the exclusive lock.
+     */
+    private void requeueDeferredCommands() {
+
+        Queue<RedisCommand<?, ?, ?>> target = concurrencyLimiter != null ? concurrencyLimitedBuffer : disconnectedBuffer;
+
+        for (RedisCommand<?, ?, ?> command : drainCommands(deferredBuffer)) {
+
+            if (!target.offer(command)) {
+                command.completeExceptionally(new RedisException("Request queue size exceeded: "
+                        + clientOptions.getRequestQueueSize() + ". Commands are not accepted until the queue size drops."));
+            }
+        }
+    }
+
     @Override
     public void notifyChannelInactive(Channel channel) {
 
+        Channel current = this.channel;
+        if (current != null && current != channel && current.isActive()) {
+
+            if (debugEnabled) {
+                logger.debug("{} superseded channel became inactive, keeping endpoint active", logPrefix());
+            }
+            return;
+        }
+
+        sharedLock.doExclusive(() -> {
+            replayInProgress = false;
+            requeueDeferredCommands();
+        });
+
         if (isClosed()) {
             Lazy<RedisException> lazy = Lazy.of(() -> new RedisException("Connection closed"));
             cancelCommands("Connection closed", drainCommands(), it -> it.completeExceptionally(lazy.get()));
@@ -545,6 +940,15 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
     @Override
     @SuppressWarnings({ "rawtypes", "unchecked" })
     public void flushCommands() {
+
+        if (replayInProgress) {
+            sharedLock.doExclusive(() -> {
+                if (replayInProgress) {
+                    drainCommands(commandBuffer, deferredBuffer);
+                }
+            });
+        }
+
         flushCommands(this.channel, commandBuffer);
     }
 
@@ -684,12 +1088,16 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
                 logger.debug("{} notifyQueuedCommands adding {} command(s) to buffer", logPrefix(), commands.size());
             }
 
+            // commands held back by the concurrency limit remain buffered, in-flight commands already hold a permit
             drainCommands(disconnectedBuffer, commands);
+            drainCommands(deferredBuffer, commands);
 
             for (RedisCommand<?, ?, ?> command : commands) {
 
-                if (command instanceof DemandAware.Sink) {
-                    ((DemandAware.Sink) command).removeSource();
+                DemandAware.Sink sink = CommandWrapper.unwrap(command, DemandAware.Sink.class);
+
+                if (sink != null) {
+                    sink.removeSource();
                 }
             }
 
@@ -709,6 +1117,10 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
             }
 
             flushCommands(this.channel, disconnectedBuffer);
+
+            if (concurrencyLimiter != null) {
+                drainConcurrencyLimited();
+            }
         });
     }
 
@@ -729,14 +1141,27 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
 
     protected List<RedisCommand<?, ?, ?>> drainCommands() {
 
-        List<RedisCommand<?, ?, ?>> target = new ArrayList<>(disconnectedBuffer.size() + commandBuffer.size());
+        List<RedisCommand<?, ?, ?>> target = new ArrayList<>(disconnectedBuffer.size() + deferredBuffer.size()
+                + commandBuffer.size() + concurrencyLimitedBuffer.size());
 
         drainCommands(disconnectedBuffer, target);
+        drainCommands(deferredBuffer, target);
         drainCommands(commandBuffer, target);
+        drainCommands(concurrencyLimitedBuffer, target);
+
+        target.replaceAll(DefaultEndpoint::unwrapQueued);
 
         return target;
     }
 
+    /**
+     * Remove the {@link LatencyMeteredCommand} applied by {@link #recordQueued(RedisCommand)} or {@link CommandHandler} so that
+     * commands leaving the endpoint are the commands that were written to it.
+     */
+    private static RedisCommand<?, ?, ?> unwrapQueued(RedisCommand<?, ?, ?> command) {
+        return command instanceof LatencyMeteredCommand ? ((LatencyMeteredCommand<?, ?, ?>) command).getDelegate() : command;
+    }
+
     /**
      * Drain commands from a queue and return only active commands.
      *
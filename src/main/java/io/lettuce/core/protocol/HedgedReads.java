@@ -0,0 +1,695 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.protocol;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+import io.lettuce.core.HedgingOptions;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.event.EventBus;
+import io.lettuce.core.event.metrics.HedgedReadEvent;
+import io.lettuce.core.internal.LettuceAssert;
+import io.lettuce.core.output.CommandOutput;
+import io.lettuce.core.output.ReplayOutput;
+import io.lettuce.core.resource.ClientResources;
+import io.netty.util.concurrent.ScheduledFuture;
+
+/**
+ * Dispatcher for hedged read commands. A hedged command is sent to its primary connection. If no reply arrives within the
+ * hedging delay, the same command is sent to an alternate connection. The primary attempt decodes its reply directly into the
+ * output of the original command unless a hedge was sent before the reply started to arrive. Once hedged, both attempts capture
+ * their reply, the first reply is replayed on the original command and the other reply is discarded. Connection failures of
+ * one attempt are masked as long as the other attempt is in flight.
+ * <p>
+ * The hedging delay is derived from the observed latency percentile of each connection, see {@link HedgingOptions}. A token
+ * bucket that is refilled by each read caps the number of hedges to the configured budget.
+ * <p>
+ * This class is part of the internal API and may change without further notice.
+ *
+ * @since 7.0
+ */
+public class HedgedReads {
+
+    private static final long TOKEN = 1000;
+
+    private static final long MAX_TOKENS = 10 * TOKEN;
+
+    private static final int MAX_TRACKED_CONNECTIONS = 64;
+
+    private final HedgingOptions options;
+
+    private final ClientResources clientResources;
+
+    private final long refill;
+
+    private final AtomicLong tokens = new AtomicLong();
+
+    private final Map<StatefulRedisConnection<?, ?>, LatencyTracker> latencies = new ConcurrentHashMap<>();
+
+    private final LongAdder reads = new LongAdder();
+
+    private final LongAdder hedges = new LongAdder();
+
+    private final LongAdder wins = new LongAdder();
+
+    public HedgedReads(HedgingOptions options, ClientResources clientResources) {
+
+        LettuceAssert.notNull(options, "HedgingOptions must not be null");
+        LettuceAssert.notNull(clientResources, "ClientResources must not be null");
+
+        this.options = options;
+        this.clientResources = clientResources;
+        this.refill = Math.max(1, Math.round(options.getBudget() * TOKEN));
+    }
+
+    /**
+     * Check whether hedging can be applied with the given {@link ReadFrom} setting. Hedging requires a setting that can select
+     * nodes other than the upstream.
+     *
+     * @param readFrom the read from setting, can be {@code null}.
+     * @return {@code true} if hedging can be applied.
+     */
+    public static boolean supports(ReadFrom readFrom) {
+        return readFrom != null && readFrom != ReadFrom.UPSTREAM && readFrom != ReadFrom.MASTER;
+    }
+
+    /**
+     * Dispatch a read-only {@link RedisCommand} to {@code connection} and hedge it on the connection provided by
+     * {@code alternateSelector} if the command does not complete within the hedging delay.
+     *
+     * @param command the command.
+     * @param connection the primary connection.
+     * @param alternateSelector function returning an alternate connection given the primary connection. May return
+     *        {@code null} if no alternate connection is available.
+     * @return the command.
+     */
+    public <K, V, T> RedisCommand<K, V, T> dispatch(RedisCommand<K, V, T> command, StatefulRedisConnection<K, V> connection,
+            UnaryOperator<StatefulRedisConnection<K, V>> alternateSelector) {
+
+        reads.increment();
+        tokens.accumulateAndGet(refill, (current, delta) -> Math.min(MAX_TOKENS, current + delta));
+
+        if (command.isDone() || command.getOutput() == null) {
+            write(connection, command);
+            return command;
+        }
+
+        HedgedRead<K, V, T> hedgedRead = new HedgedRead<>(command);
+        LatencyTracker tracker = getLatencyTracker(connection);
+        long delay = getDelay(tracker);
+
+        hedgedRead.send(connection, tracker, false);
+
+        if (!hedgedRead.completed.get()) {
+            hedgedRead.hedge = clientResources.eventExecutorGroup()
+                    .schedule(() -> hedge(hedgedRead, connection, alternateSelector, delay), delay, TimeUnit.NANOSECONDS);
+
+            if (hedgedRead.completed.get()) {
+                hedgedRead.hedge.cancel(false);
+            }
+        }
+
+        return command;
+    }
+
+    private <K, V, T> void hedge(HedgedRead<K, V, T> hedgedRead, StatefulRedisConnection<K, V> connection,
+            UnaryOperator<StatefulRedisConnection<K, V>> alternateSelector, long delay) {
+
+        if (hedgedRead.completed.get() || hedgedRead.command.isDone()) {
+            return;
+        }
+
+        StatefulRedisConnection<K, V> alternate = alternateSelector.apply(connection);
+
+        if (alternate == null || alternate == connection || !alternate.isOpen() || !acquireToken()) {
+            return;
+        }
+
+        // the primary reply is already being decoded into the command output, hedging would not complete any sooner
+        if (!hedgedRead.owner.compareAndSet(HedgedRead.OPEN, HedgedRead.HEDGED)) {
+            tokens.accumulateAndGet(TOKEN, (current, delta) -> Math.min(MAX_TOKENS, current + delta));
+            return;
+        }
+
+        hedges.increment();
+        hedgedRead.delay = delay;
+        hedgedRead.send(alternate, getLatencyTracker(alternate), true);
+    }
+
+    private boolean acquireToken() {
+
+        for (;;) {
+
+            long current = tokens.get();
+
+            if (current < TOKEN) {
+                return false;
+            }
+
+            if (tokens.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    long getDelay(LatencyTracker tracker) {
+
+        long delay = options.getDelay().toNanos();
+
+        if (options.isAdaptive()) {
+
+            long percentile = tracker.getPercentile();
+
+            if (percentile > 0) {
+                delay = Math.max(percentile, options.getMinDelay().toNanos());
+            }
+        }
+
+        return delay;
+    }
+
+    LatencyTracker getLatencyTracker(StatefulRedisConnection<?, ?> connection) {
+
+        LatencyTracker tracker = latencies.get(connection);
+
+        if (tracker != null) {
+            return tracker;
+        }
+
+        if (latencies.size() >= MAX_TRACKED_CONNECTIONS) {
+            latencies.keySet().removeIf(it -> !it.isOpen());
+        }
+
+        return latencies.computeIfAbsent(connection, it -> new LatencyTracker(options.getPercentile()));
+    }
+
+    /**
+     * @return the total number of read commands eligible for hedging.
+     */
+    public long getReadCount() {
+        return reads.sum();
+    }
+
+    /**
+     * @return the total number of hedges sent.
+     */
+    public long getHedgeCount() {
+        return hedges.sum();
+    }
+
+    /**
+     * @return the total number of hedges that replied first.
+     */
+    public long getWinCount() {
+        return wins.sum();
+    }
+
+    private void onHedgeCompleted(RedisCommand<?, ?, ?> command, long delay, boolean hedgeWon) {
+
+        if (hedgeWon) {
+            wins.increment();
+        }
+
+        EventBus eventBus = clientResources.eventBus();
+
+        if (eventBus.isEnabled(HedgedReadEvent.class)) {
+            eventBus.publish(new HedgedReadEvent(command.getType().toString(), Duration.ofNanos(delay), hedgeWon,
+                    getReadCount(), getHedgeCount(), getWinCount()));
+        }
+    }
+
+    private static void write(StatefulRedisConnection<?, ?> connection, RedisCommand<?, ?, ?> command) {
+
+        try {
+            ((RedisChannelHandler<?, ?>) connection).getChannelWriter().write(command);
+        } catch (Exception e) {
+            command.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * State of a single hedged command.
+     */
+    class HedgedRead<K, V, T> {
+
+        static final int OPEN = 0;
+
+        static final int PRIMARY = 1;
+
+        static final int HEDGED = 2;
+
+        final RedisCommand<K, V, T> command;
+
+        final AtomicBoolean completed = new AtomicBoolean();
+
+        /**
+         * Either the primary attempt claims the command output by starting to decode its reply ({@link #PRIMARY}) or the
+         * hedge claims it by being sent first ({@link #HEDGED}).
+         */
+        final AtomicInteger owner = new AtomicInteger(OPEN);
+
+        final AtomicInteger outstanding = new AtomicInteger();
+
+        volatile ScheduledFuture<?> hedge;
+
+        volatile long delay = -1;
+
+        HedgedRead(RedisCommand<K, V, T> command) {
+            this.command = command;
+        }
+
+        void send(StatefulRedisConnection<K, V> connection, LatencyTracker tracker, boolean isHedge) {
+
+            outstanding.incrementAndGet();
+
+            if (completed.get()) {
+                outstanding.decrementAndGet();
+                return;
+            }
+
+            CapturingOutput<K, V> output = isHedge ? new CapturingOutput<>() : new PrimaryOutput<>(this);
+            AsyncCommand<K, V, List<ReplayOutput.Signal>> attempt = new AsyncCommand<>(
+                    new Command<>(command.getType(), output, command.getArgs()));
+            long start = System.nanoTime();
+
+            attempt.whenComplete((signals, throwable) -> {
+
+                boolean reply = throwable == null || output.hasError();
+
+                if (reply) {
+                    tracker.record(System.nanoTime() - start);
+                }
+
+                onAttemptCompleted(output, reply ? null : throwable, isHedge);
+            });
+
+            write(connection, attempt);
+        }
+
+        private void onAttemptCompleted(CapturingOutput<K, V> output, Throwable throwable, boolean isHedge) {
+
+            int remaining = outstanding.decrementAndGet();
+
+            if (throwable != null) {
+
+                if (remaining == 0 && completed.compareAndSet(false, true)) {
+                    command.completeExceptionally(throwable);
+                }
+                return;
+            }
+
+            if (!completed.compareAndSet(false, true)) {
+                return;
+            }
+
+            ScheduledFuture<?> hedge = this.hedge;
+            if (hedge != null) {
+                hedge.cancel(false);
+            }
+
+            if (command.isDone()) {
+                return;
+            }
+
+            try {
+                if (!(output instanceof PrimaryOutput && ((PrimaryOutput<K, V>) output).decodesDirectly())) {
+                    output.replay(command.getOutput());
+                }
+                command.complete();
+            } catch (Exception e) {
+                command.completeExceptionally(e);
+            }
+
+            if (delay != -1) {
+                onHedgeCompleted(command, delay, isHedge);
+            }
+        }
+
+    }
+
+    /**
+     * Sliding window of recent latency samples to compute the latency percentile of a connection. The percentile is
+     * recalculated every {@link #RECALCULATE_INTERVAL} samples.
+     */
+    static class LatencyTracker {
+
+        static final int WINDOW_SIZE = 64;
+
+        static final int RECALCULATE_INTERVAL = 16;
+
+        private final double percentile;
+
+        private final long[] samples = new long[WINDOW_SIZE];
+
+        private int count;
+
+        private volatile long value = -1;
+
+        LatencyTracker(double percentile) {
+            this.percentile = percentile;
+        }
+
+        synchronized void record(long latency) {
+
+            samples[count % WINDOW_SIZE] = latency;
+            count++;
+
+            if (count % RECALCULATE_INTERVAL == 0) {
+
+                long[] window = Arrays.copyOf(samples, Math.min(count, WINDOW_SIZE));
+                Arrays.sort(window);
+                value = window[Math.min(window.length - 1, (int) Math.ceil(percentile * window.length) - 1)];
+            }
+
+            if (count == Integer.MAX_VALUE) {
+                count = WINDOW_SIZE;
+            }
+        }
+
+        /**
+         * @return the latency percentile in nanoseconds or {@code -1} if not enough samples were recorded.
+         */
+        long getPercentile() {
+            return value;
+        }
+
+    }
+
+    /**
+     * {@link ReplayOutput} that also captures RESP3 aggregate types and booleans so that replaying preserves the exact decoding
+     * signals for the original command output.
+     */
+    static class CapturingOutput<K, V> extends ReplayOutput<K, V> {
+
+        @Override
+        public void set(boolean value) {
+            output.add(new BooleanSignal(value));
+        }
+
+        @Override
+        public void setBigNumber(ByteBuffer bytes) {
+            output.add(new BigNumberSignal(bytes));
+        }
+
+        @Override
+        public void multiArray(int count) {
+            output.add(new AggregateSignal(AggregateSignal.ARRAY, count));
+        }
+
+        @Override
+        public void multiMap(int count) {
+            output.add(new AggregateSignal(AggregateSignal.MAP, count));
+        }
+
+        @Override
+        public void multiSet(int count) {
+            output.add(new AggregateSignal(AggregateSignal.SET, count));
+        }
+
+        @Override
+        public void multiPush(int count) {
+            output.add(new AggregateSignal(AggregateSignal.PUSH, count));
+        }
+
+    }
+
+    /**
+     * Output of the primary attempt. Decodes the reply directly into the output of the original command if the primary attempt
+     * claims the output before a hedge is sent, otherwise captures the reply for replay.
+     */
+    static class PrimaryOutput<K, V> extends CapturingOutput<K, V> {
+
+        private final HedgedRead<K, V, ?> hedgedRead;
+
+        private final CommandOutput<K, V, ?> target;
+
+        PrimaryOutput(HedgedRead<K, V, ?> hedgedRead) {
+            this.hedgedRead = hedgedRead;
+            this.target = hedgedRead.command.getOutput();
+        }
+
+        boolean decodesDirectly() {
+
+            AtomicInteger owner = hedgedRead.owner;
+            return owner.get() == HedgedRead.PRIMARY || owner.compareAndSet(HedgedRead.OPEN, HedgedRead.PRIMARY);
+        }
+
+        @Override
+        public void set(ByteBuffer bytes) {
+
+            if (decodesDirectly()) {
+                target.set(bytes);
+            } else {
+                super.set(bytes);
+            }
+        }
+
+        @Override
+        public void setSingle(ByteBuffer bytes) {
+
+            if (decodesDirectly()) {
+                target.setSingle(bytes);
+            } else {
+                super.setSingle(bytes);
+            }
+        }
+
+        @Override
+        public void setBigNumber(ByteBuffer bytes) {
+
+            if (decodesDirectly()) {
+                target.setBigNumber(bytes);
+            } else {
+                super.setBigNumber(bytes);
+            }
+        }
+
+        @Override
+        public void set(long integer) {
+
+            if (decodesDirectly()) {
+                target.set(integer);
+            } else {
+                super.set(integer);
+            }
+        }
+
+        @Override
+        public void set(double number) {
+
+            if (decodesDirectly()) {
+                target.set(number);
+            } else {
+                super.set(number);
+            }
+        }
+
+        @Override
+        public void set(boolean value) {
+
+            if (decodesDirectly()) {
+                target.set(value);
+            } else {
+                super.set(value);
+            }
+        }
+
+        @Override
+        public void setError(ByteBuffer error) {
+
+            if (decodesDirectly()) {
+                target.setError(error);
+            } else {
+                super.setError(error);
+            }
+        }
+
+        @Override
+        public void setError(String error) {
+
+            if (decodesDirectly()) {
+                target.setError(error);
+            } else {
+                super.setError(error);
+            }
+        }
+
+        @Override
+        public boolean hasError() {
+            return hedgedRead.owner.get() == HedgedRead.PRIMARY ? target.hasError() : super.hasError();
+        }
+
+        @Override
+        public String getError() {
+            return hedgedRead.owner.get() == HedgedRead.PRIMARY ? target.getError() : super.getError();
+        }
+
+        @Override
+        public void complete(int depth) {
+
+            if (decodesDirectly()) {
+                target.complete(depth);
+            } else {
+                super.complete(depth);
+            }
+        }
+
+        @Override
+        public void multi(int count) {
+
+            if (decodesDirectly()) {
+                target.multi(count);
+            } else {
+                super.multi(count);
+            }
+        }
+
+        @Override
+        public void multiArray(int count) {
+
+            if (decodesDirectly()) {
+                target.multiArray(count);
+            } else {
+                super.multiArray(count);
+            }
+        }
+
+        @Override
+        public void multiMap(int count) {
+
+            if (decodesDirectly()) {
+                target.multiMap(count);
+            } else {
+                super.multiMap(count);
+            }
+        }
+
+        @Override
+        public void multiSet(int count) {
+
+            if (decodesDirectly()) {
+                target.multiSet(count);
+            } else {
+                super.multiSet(count);
+            }
+        }
+
+        @Override
+        public void multiPush(int count) {
+
+            if (decodesDirectly()) {
+                target.multiPush(count);
+            } else {
+                super.multiPush(count);
+            }
+        }
+
+    }
+
+    static class BooleanSignal extends ReplayOutput.Signal {
+
+        final boolean value;
+
+        BooleanSignal(boolean value) {
+            this.value = value;
+        }
+
+        @Override
+        protected void replay(CommandOutput<?, ?, ?> target) {
+            target.set(value);
+        }
+
+    }
+
+    static class BigNumberSignal extends ReplayOutput.Signal {
+
+        final ByteBuffer value;
+
+        BigNumberSignal(ByteBuffer value) {
+
+            if (value != null) {
+                this.value = ByteBuffer.allocate(value.remaining());
+                this.value.put(value.duplicate());
+                this.value.rewind();
+            } else {
+                this.value = null;
+            }
+        }
+
+        @Override
+        protected void replay(CommandOutput<?, ?, ?> target) {
+            target.setBigNumber(value == null ? null : value.duplicate());
+        }
+
+    }
+
+    static class AggregateSignal extends ReplayOutput.Signal {
+
+        static final int ARRAY = 0;
+
+        static final int MAP = 1;
+
+        static final int SET = 2;
+
+        static final int PUSH = 3;
+
+        final int type;
+
+        final int count;
+
+        AggregateSignal(int type, int count) {
+            this.type = type;
+            this.count = count;
+        }
+
+        @Override
+        protected void replay(CommandOutput<?, ?, ?> target) {
+
+            switch (type) {
+                case MAP:
+                    target.multiMap(count);
+                    break;
+                case SET:
+                    target.multiSet(count);
+                    break;
+                case PUSH:
+                    target.multiPush(count);
+                    break;
+                default:
+                    target.multiArray(count);
+            }
+        }
+
+    }
+
+}
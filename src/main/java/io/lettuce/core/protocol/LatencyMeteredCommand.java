@@ -8,8 +8,14 @@ package io.lettuce.core.protocol;
  */
 class LatencyMeteredCommand<K, V, T> extends CommandWrapper<K, V, T> implements WithLatency {
 
+    private long queuedNs = -1;
+
     private long sentNs = -1;
 
+    private long encodedNs = -1;
+
+    private long flushedNs = -1;
+
     private long firstResponseNs = -1;
 
     private long completedNs = -1;
@@ -18,13 +24,30 @@ class LatencyMeteredCommand<K, V, T> extends CommandWrapper<K, V, T> implements
         super(command);
     }
 
+    @Override
+    public void queued(long timeNs) {
+        queuedNs = timeNs;
+    }
+
     @Override
     public void sent(long timeNs) {
         sentNs = timeNs;
+        encodedNs = -1;
+        flushedNs = -1;
         firstResponseNs = -1;
         completedNs = -1;
     }
 
+    @Override
+    public void encoded(long timeNs) {
+        encodedNs = timeNs;
+    }
+
+    @Override
+    public void flushed(long timeNs) {
+        flushedNs = timeNs;
+    }
+
     @Override
     public void firstResponse(long timeNs) {
         firstResponseNs = timeNs;
@@ -35,11 +58,26 @@ class LatencyMeteredCommand<K, V, T> extends CommandWrapper<K, V, T> implements
         completedNs = timeNs;
     }
 
+    @Override
+    public long getQueued() {
+        return queuedNs;
+    }
+
     @Override
     public long getSent() {
         return sentNs;
     }
 
+    @Override
+    public long getEncoded() {
+        return encodedNs;
+    }
+
+    @Override
+    public long getFlushed() {
+        return flushedNs;
+    }
+
     @Override
     public long getFirstResponse() {
         return firstResponseNs;
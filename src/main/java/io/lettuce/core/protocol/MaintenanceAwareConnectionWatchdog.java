@@ -35,6 +35,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -75,6 +76,10 @@ public class MaintenanceAwareConnectionWatchdog extends ConnectionWatchdog imple
 
     private RebindAwareAddressSupplier rebindAwareAddressSupplier;
 
+    private final boolean makeBeforeBreak;
+
+    private final AtomicBoolean handoverInProgress = new AtomicBoolean();
+
     public MaintenanceAwareConnectionWatchdog(Delay reconnectDelay, ClientOptions clientOptions, Bootstrap bootstrap,
             Timer timer, EventExecutorGroup reconnectWorkers, Mono<SocketAddress> socketAddressSupplier,
             ReconnectionListener reconnectionListener, ConnectionFacade connectionFacade, EventBus eventBus,
@@ -82,6 +87,8 @@ public class MaintenanceAwareConnectionWatchdog extends ConnectionWatchdog imple
 
         super(reconnectDelay, clientOptions, bootstrap, timer, reconnectWorkers, socketAddressSupplier, reconnectionListener,
                 connectionFacade, eventBus, endpoint);
+
+        this.makeBeforeBreak = clientOptions.getMaintenanceEventsOptions().isMakeBeforeBreak();
     }
 
     @Override
@@ -150,6 +157,66 @@ public class MaintenanceAwareConnectionWatchdog extends ConnectionWatchdog imple
     }
 
     private void rebind(MovingEvent movingEvent) {
+
+        if (makeBeforeBreak) {
+            handover(movingEvent);
+        } else {
+            breakBeforeMake(channel, movingEvent);
+        }
+    }
+
+    /**
+     * Establish and initialize a new channel to the re-bind endpoint while the current channel keeps serving commands. The
+     * endpoint writes new commands to the new channel as soon as it is active. The previous channel is closed once its
+     * command stack has drained.
+     */
+    private void handover(MovingEvent movingEvent) {
+
+        Channel previous = channel;
+
+        if (!handoverInProgress.compareAndSet(false, true)) {
+            logger.debug("[{}] Handover already in progress", ChannelLogDescriptor.logDescriptor(previous));
+            return;
+        }
+
+        logger.debug("[{}] Handover to '{}'", ChannelLogDescriptor.logDescriptor(previous), movingEvent.getEndpoint());
+        rebindAwareAddressSupplier.rebind(movingEvent.getTime(), movingEvent.getEndpoint());
+        notifyRebindStarted(movingEvent.getTime(), movingEvent.getEndpoint());
+
+        reconnectionHandler.reconnect().getT1().whenComplete((next, throwable) -> {
+
+            handoverInProgress.set(false);
+
+            if (throwable != null) {
+                logger.warn("[{}] Handover to '{}' failed, re-binding current connection: {}",
+                        ChannelLogDescriptor.logDescriptor(previous), movingEvent.getEndpoint(), throwable.toString());
+                previous.eventLoop().execute(() -> breakBeforeMake(previous, movingEvent));
+                return;
+            }
+
+            previous.eventLoop().execute(() -> drainAndClose(previous));
+        });
+    }
+
+    /**
+     * Close {@code previous} once all commands written to it have completed. If commands are still outstanding, the channel is
+     * marked as re-binding so that {@link CommandHandler} reports the drained stack and {@link #channelReadComplete} closes
+     * the channel.
+     */
+    private void drainAndClose(Channel previous) {
+
+        CommandHandler commandHandler = previous.pipeline().get(CommandHandler.class);
+
+        if (commandHandler == null || commandHandler.getStack().isEmpty()) {
+            logger.debug("[{}] Closing channel after handover", ChannelLogDescriptor.logDescriptor(previous));
+            previous.close();
+            notifyRebindCompleted();
+        } else {
+            previous.attr(REBIND_ATTRIBUTE).set(RebindState.STARTED);
+        }
+    }
+
+    private void breakBeforeMake(Channel channel, MovingEvent movingEvent) {
         logger.debug("[{}] Rebind to '{}'", ChannelLogDescriptor.logDescriptor(channel), movingEvent.getEndpoint());
         channel.attr(REBIND_ATTRIBUTE).set(RebindState.STARTED);
         rebindAwareAddressSupplier.rebind(movingEvent.getTime(), movingEvent.getEndpoint());
@@ -73,7 +73,7 @@ public class MaintenanceAwareExpiryWriter extends CommandExpiryWriter implements
     public MaintenanceAwareExpiryWriter(RedisChannelWriter delegate, ClientOptions clientOptions,
             ClientResources clientResources) {
 
-        super(delegate, clientOptions, clientResources);
+        super(delegate, clientOptions, clientResources, false);
 
         TimeoutOptions timeoutOptions = clientOptions.getTimeoutOptions();
         this.delegate = delegate;
@@ -1,15 +1,18 @@
-package io.lettuce.core.masterreplica;
+package io.lettuce.core.protocol;
 
 import java.util.Collection;
 import java.util.Collections;
 
 import io.lettuce.core.api.push.PushListener;
-import io.lettuce.core.protocol.PushHandler;
 
 /**
+ * {@link PushHandler} that ignores listeners. Used by connections that do not dispatch push messages themselves, such as
+ * Master/Replica and sharded connections.
+ *
  * @author Mark Paluch
+ * @since 7.0
  */
-enum NoOpPushHandler implements PushHandler {
+public enum NoOpPushHandler implements PushHandler {
 
     INSTANCE;
 
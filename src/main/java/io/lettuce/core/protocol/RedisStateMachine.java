@@ -27,6 +27,7 @@ import java.util.Arrays;
 import java.util.function.Consumer;
 
 import io.lettuce.core.internal.LettuceStrings;
+import io.lettuce.core.output.ChunkedOutput;
 import io.lettuce.core.output.CommandOutput;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
@@ -596,6 +597,11 @@ public class RedisStateMachine {
         ByteBuffer bytes;
 
         if ((bytes = rsm.readBytes(buffer, state.count)) == null) {
+
+            if (output instanceof ChunkedOutput) {
+                rsm.readChunk(state, buffer, (ChunkedOutput) output, errorHandler);
+            }
+
             return State.Result.BREAK_LOOP;
         }
         rsm.safeSet(output, bytes, errorHandler);
@@ -700,6 +706,29 @@ public class RedisStateMachine {
         return null;
     }
 
+    /**
+     * Pass the readable part of an incomplete bulk string to a {@link ChunkedOutput} and consume it from the buffer so that the
+     * buffer does not need to hold the entire bulk string.
+     */
+    private void readChunk(State state, ByteBuf buffer, ChunkedOutput output, Consumer<Exception> errorHandler) {
+
+        int length = Math.min(buffer.readableBytes(), state.count - TERMINATOR_LENGTH);
+
+        if (length <= 0) {
+            return;
+        }
+
+        ByteBuffer chunk = readBytes0(buffer, length);
+        buffer.markReaderIndex();
+        state.count -= length;
+
+        try {
+            output.setChunk(chunk);
+        } catch (Exception e) {
+            errorHandler.accept(e);
+        }
+    }
+
     private ByteBuffer readBytes0(ByteBuf buffer, int count) {
 
         ByteBuffer byteBuffer = buffer.internalNioBuffer(buffer.readerIndex(), count);
@@ -69,6 +69,13 @@ class SharedLock {
         threadWriters.set(threadWriters.get() - 1);
     }
 
+    /**
+     * @return {@code true} if the current thread holds the shared or the exclusive lock.
+     */
+    boolean isHeldByCurrentThread() {
+        return exclusiveLockOwner == Thread.currentThread() || threadWriters.get() > 0;
+    }
+
     /**
      * Execute a {@link Runnable} guarded by an exclusive lock.
      *
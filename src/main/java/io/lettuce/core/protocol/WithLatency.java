@@ -7,6 +7,14 @@ package io.lettuce.core.protocol;
  */
 interface WithLatency {
 
+    /**
+     * Sets the time of when the item was handed to the endpoint.
+     *
+     * @param time the time of when the item was queued.
+     * @since 7.0
+     */
+    void queued(long time);
+
     /**
      * Sets the time of sending the item.
      *
@@ -14,6 +22,22 @@ interface WithLatency {
      */
     void sent(long time);
 
+    /**
+     * Sets the time of when the item was encoded into the outbound buffer.
+     *
+     * @param time the time of encoding.
+     * @since 7.0
+     */
+    void encoded(long time);
+
+    /**
+     * Sets the time of when the item was flushed to the transport.
+     *
+     * @param time the time of flushing.
+     * @since 7.0
+     */
+    void flushed(long time);
+
     /**
      * Sets the time of the first response.
      *
@@ -28,11 +52,29 @@ interface WithLatency {
      */
     void completed(long time);
 
+    /**
+     * @return the time of when the item was queued, {@code -1} if not recorded.
+     * @since 7.0
+     */
+    long getQueued();
+
     /**
      * @return the time of when the item was sent.
      */
     long getSent();
 
+    /**
+     * @return the time of when the item was encoded, {@code -1} if not recorded.
+     * @since 7.0
+     */
+    long getEncoded();
+
+    /**
+     * @return the time of when the item was flushed, {@code -1} if not recorded.
+     * @since 7.0
+     */
+    long getFlushed();
+
     /**
      *
      * @return the time of the first response.
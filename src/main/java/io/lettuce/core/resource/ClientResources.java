@@ -25,6 +25,7 @@ import java.util.function.Supplier;
 import io.lettuce.core.event.EventBus;
 import io.lettuce.core.event.EventPublisherOptions;
 import io.lettuce.core.metrics.CommandLatencyCollector;
+import io.lettuce.core.metrics.CommandFlightRecorderOptions;
 import io.lettuce.core.metrics.CommandLatencyCollectorOptions;
 import io.lettuce.core.metrics.CommandLatencyRecorder;
 import io.lettuce.core.tracing.Tracing;
@@ -48,7 +49,9 @@ import io.netty.util.concurrent.Future;
  * <li>{@link EventLoopGroupProvider} to obtain particular {@link io.netty.channel.EventLoopGroup EventLoopGroups}</li>
  * <li>{@link EventExecutorGroup} to perform internal computation tasks</li>
  * <li>Reconnect {@link Delay}.</li>
+ * <li>{@link ReconnectGovernor} to throttle reconnect attempts.</li>
  * <li>{@link SocketAddressResolver} for to map/resolve DNS addresses to a {@link java.net.InetSocketAddress}.</li>
+ * <li>{@link SslContextCache} to share {@link io.netty.handler.ssl.SslContext SslContexts} across connections.</li>
  * <li>{@link Timer} for scheduling</li>
  * <li>{@link Tracing} to trace Redis commands.</li>
  * </ul>
@@ -111,6 +114,18 @@ public interface ClientResources {
          */
         Builder addressResolverGroup(AddressResolverGroup<?> addressResolverGroup);
 
+        /**
+         * Sets the {@link CommandFlightRecorderOptions} to retain recent command timings per connection and to publish them
+         * when a command is slow or fails. Defaults to {@link CommandFlightRecorderOptions#disabled()}.
+         *
+         * @param commandFlightRecorderOptions the flight recorder options, must not be {@code null}.
+         * @return {@code this} {@link Builder}.
+         * @since 7.0
+         */
+        default Builder commandFlightRecorderOptions(CommandFlightRecorderOptions commandFlightRecorderOptions) {
+            throw new UnsupportedOperationException("Command flight recording is not supported by this builder");
+        }
+
         /**
          * Sets the {@link CommandLatencyCollector} that can be used across different instances of the RedisClient.
          *
@@ -232,6 +247,18 @@ public interface ClientResources {
          */
         Builder reconnectDelay(Supplier<Delay> reconnectDelay);
 
+        /**
+         * Sets the {@link ReconnectGovernor} to throttle concurrent reconnect attempts per remote address and to replay
+         * buffered commands in batches. Defaults to {@link ReconnectGovernor#unlimited()}.
+         *
+         * @param reconnectGovernor the reconnect governor, must not be {@code null}.
+         * @return this
+         * @since 7.0
+         */
+        default Builder reconnectGovernor(ReconnectGovernor reconnectGovernor) {
+            throw new UnsupportedOperationException("Reconnect throttling is not supported by this builder");
+        }
+
         /**
          * Sets the {@link SocketAddressResolver} that is used to resolve {@link io.lettuce.core.RedisURI} to
          * {@link java.net.SocketAddress}. Defaults to {@link SocketAddressResolver} using the configured {@link DnsResolver}.
@@ -242,6 +269,19 @@ public interface ClientResources {
          */
         Builder socketAddressResolver(SocketAddressResolver socketAddressResolver);
 
+        /**
+         * Sets the {@link SslContextCache} that provides {@link io.netty.handler.ssl.SslContext SslContexts} for SSL
+         * connections. Use {@link SslContextCache#create()} to share a context per {@link io.lettuce.core.SslOptions} and to
+         * enable TLS session resumption across reconnects. Defaults to {@link SslContextCache#uncached()}.
+         *
+         * @param sslContextCache the SSL context cache, must not be {@code null}.
+         * @return {@code this} {@link Builder}.
+         * @since 7.0
+         */
+        default Builder sslContextCache(SslContextCache sslContextCache) {
+            throw new UnsupportedOperationException("SslContext caching is not supported by this builder");
+        }
+
         /**
          * Provide a default {@link ThreadFactoryProvider} to obtain {@link java.util.concurrent.ThreadFactory} for a
          * {@code poolName} to create threads.
@@ -324,6 +364,17 @@ public interface ClientResources {
      */
     AddressResolverGroup<?> addressResolverGroup();
 
+    /**
+     * Return the {@link CommandFlightRecorderOptions} for per-connection command flight recording. Defaults to
+     * {@link CommandFlightRecorderOptions#disabled()}.
+     *
+     * @return the {@link CommandFlightRecorderOptions}.
+     * @since 7.0
+     */
+    default CommandFlightRecorderOptions commandFlightRecorderOptions() {
+        return CommandFlightRecorderOptions.disabled();
+    }
+
     /**
      * Return the {@link EventPublisherOptions} for latency event publishing.
      *
@@ -398,6 +449,17 @@ public interface ClientResources {
      */
     Delay reconnectDelay();
 
+    /**
+     * Return the {@link ReconnectGovernor} that is shared across all connections to throttle reconnect attempts. Defaults to
+     * {@link ReconnectGovernor#unlimited()}.
+     *
+     * @return the {@link ReconnectGovernor}.
+     * @since 7.0
+     */
+    default ReconnectGovernor reconnectGovernor() {
+        return ReconnectGovernor.unlimited();
+    }
+
     /**
      * Return the {@link SocketAddressResolver}.
      *
@@ -406,6 +468,17 @@ public interface ClientResources {
      */
     SocketAddressResolver socketAddressResolver();
 
+    /**
+     * Return the {@link SslContextCache} that provides {@link io.netty.handler.ssl.SslContext SslContexts} for SSL connections.
+     * Defaults to {@link SslContextCache#uncached()}.
+     *
+     * @return the {@link SslContextCache}.
+     * @since 7.0
+     */
+    default SslContextCache sslContextCache() {
+        return SslContextCache.uncached();
+    }
+
     /**
      * Return the {@link Timer} to schedule events. A timer object may run single- or multi-threaded but must be used for
      * scheduling of short-running jobs only. Long-running jobs should be scheduled and executed using
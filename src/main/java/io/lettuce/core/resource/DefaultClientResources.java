@@ -31,6 +31,7 @@ import io.lettuce.core.event.metrics.MetricEventPublisher;
 import io.lettuce.core.internal.LettuceAssert;
 import io.lettuce.core.internal.LettuceLists;
 import io.lettuce.core.metrics.CommandLatencyCollector;
+import io.lettuce.core.metrics.CommandFlightRecorderOptions;
 import io.lettuce.core.metrics.CommandLatencyCollectorOptions;
 import io.lettuce.core.metrics.CommandLatencyRecorder;
 import io.lettuce.core.metrics.DefaultCommandLatencyCollector;
@@ -75,7 +76,9 @@ import reactor.core.scheduler.Schedulers;
  * <li>a {@code eventExecutorGroup} which is a provided instance of {@link EventExecutorGroup}. Higher precedence than
  * {@code computationThreadPoolSize}.</li>
  * <li>a {@code nettyCustomizer} that is a provided instance of {@link NettyCustomizer}.</li>
+ * <li>a {@code reconnectGovernor} which is a provided instance of {@link ReconnectGovernor}.</li>
  * <li>a {@code socketAddressResolver} which is a provided instance of {@link SocketAddressResolver}.</li>
+ * <li>a {@code sslContextCache} which is a provided instance of {@link SslContextCache}.</li>
  * <li>a {@code threadFactoryProvider} to provide a {@link java.util.concurrent.ThreadFactory} for default timer, event loop and
  * event executor instances.</li>
  * <li>a {@code timer} that is a provided instance of {@link io.netty.util.HashedWheelTimer}.</li>
@@ -144,6 +147,8 @@ public class DefaultClientResources implements ClientResources {
 
     private final EventPublisherOptions commandLatencyPublisherOptions;
 
+    private final CommandFlightRecorderOptions commandFlightRecorderOptions;
+
     private final EventBus eventBus;
 
     private final boolean sharedEventLoopGroupProvider;
@@ -160,8 +165,12 @@ public class DefaultClientResources implements ClientResources {
 
     private final Supplier<Delay> reconnectDelay;
 
+    private final ReconnectGovernor reconnectGovernor;
+
     private final SocketAddressResolver socketAddressResolver;
 
+    private final SslContextCache sslContextCache;
+
     private final ThreadFactoryProvider threadFactoryProvider;
 
     private final Timer timer;
@@ -247,6 +256,7 @@ public class DefaultClientResources implements ClientResources {
         }
 
         commandLatencyPublisherOptions = builder.commandLatencyPublisherOptions;
+        commandFlightRecorderOptions = builder.commandFlightRecorderOptions;
 
         if (commandLatencyRecorder.isEnabled() && commandLatencyPublisherOptions != null
                 && commandLatencyRecorder instanceof CommandLatencyCollector) {
@@ -263,6 +273,8 @@ public class DefaultClientResources implements ClientResources {
         }
 
         reconnectDelay = builder.reconnectDelay;
+        reconnectGovernor = builder.reconnectGovernor;
+        sslContextCache = builder.sslContextCache;
         nettyCustomizer = builder.nettyCustomizer;
         tracing = builder.tracing;
 
@@ -300,6 +312,8 @@ public class DefaultClientResources implements ClientResources {
 
         private EventPublisherOptions commandLatencyPublisherOptions = DefaultEventPublisherOptions.create();
 
+        private CommandFlightRecorderOptions commandFlightRecorderOptions = CommandFlightRecorderOptions.disabled();
+
         private boolean sharedCommandLatencyCollector;
 
         private int computationThreadPoolSize = DEFAULT_COMPUTATION_THREADS;
@@ -322,6 +336,10 @@ public class DefaultClientResources implements ClientResources {
 
         private Supplier<Delay> reconnectDelay = DEFAULT_RECONNECT_DELAY;
 
+        private ReconnectGovernor reconnectGovernor = ReconnectGovernor.unlimited();
+
+        private SslContextCache sslContextCache = SslContextCache.uncached();
+
         private boolean sharedTimer;
 
         private ThreadFactoryProvider threadFactoryProvider = DefaultThreadFactoryProvider.INSTANCE;
@@ -370,6 +388,23 @@ public class DefaultClientResources implements ClientResources {
             return this;
         }
 
+        /**
+         * Sets the {@link CommandFlightRecorderOptions} to retain recent command timings per connection and to publish them
+         * when a command is slow or fails. Defaults to {@link CommandFlightRecorderOptions#disabled()}.
+         *
+         * @param commandFlightRecorderOptions the flight recorder options, must not be {@code null}.
+         * @return {@code this} {@link Builder}.
+         * @since 7.0
+         */
+        @Override
+        public Builder commandFlightRecorderOptions(CommandFlightRecorderOptions commandFlightRecorderOptions) {
+
+            LettuceAssert.notNull(commandFlightRecorderOptions, "CommandFlightRecorderOptions must not be null");
+
+            this.commandFlightRecorderOptions = commandFlightRecorderOptions;
+            return this;
+        }
+
         /**
          * Sets the {@link EventPublisherOptions} to publish command latency metrics using the {@link EventBus} if the
          * {@link CommandLatencyRecorder} is an instance of {@link CommandLatencyCollector} that allows latency metric
@@ -558,6 +593,23 @@ public class DefaultClientResources implements ClientResources {
             return this;
         }
 
+        /**
+         * Sets the {@link ReconnectGovernor} to throttle concurrent reconnect attempts per remote address and to replay
+         * buffered commands in batches. Defaults to {@link ReconnectGovernor#unlimited()}.
+         *
+         * @param reconnectGovernor the reconnect governor, must not be {@code null}.
+         * @return this
+         * @since 7.0
+         */
+        @Override
+        public Builder reconnectGovernor(ReconnectGovernor reconnectGovernor) {
+
+            LettuceAssert.notNull(reconnectGovernor, "ReconnectGovernor must not be null");
+
+            this.reconnectGovernor = reconnectGovernor;
+            return this;
+        }
+
         /**
          * Sets the {@link SocketAddressResolver} that is used to resolve {@link io.lettuce.core.RedisURI} to
          * {@link java.net.SocketAddress}. Defaults to {@link SocketAddressResolver} using the configured {@link DnsResolver}.
@@ -575,6 +627,24 @@ public class DefaultClientResources implements ClientResources {
             return this;
         }
 
+        /**
+         * Sets the {@link SslContextCache} that provides {@link io.netty.handler.ssl.SslContext SslContexts} for SSL
+         * connections. Use {@link SslContextCache#create()} to share a context per {@link io.lettuce.core.SslOptions} and to
+         * enable TLS session resumption across reconnects. Defaults to {@link SslContextCache#uncached()}.
+         *
+         * @param sslContextCache the SSL context cache, must not be {@code null}.
+         * @return {@code this} {@link Builder}.
+         * @since 7.0
+         */
+        @Override
+        public Builder sslContextCache(SslContextCache sslContextCache) {
+
+            LettuceAssert.notNull(sslContextCache, "SslContextCache must not be null");
+
+            this.sslContextCache = sslContextCache;
+            return this;
+        }
+
         /**
          * Provide a default {@link ThreadFactoryProvider} to obtain {@link java.util.concurrent.ThreadFactory} for a
          * {@code poolName}.
@@ -672,11 +742,12 @@ public class DefaultClientResources implements ClientResources {
         Builder builder = new Builder();
 
         builder.afterBuild(() -> this.shutdownCheck = false).commandLatencyRecorder(commandLatencyRecorder())
-                .commandLatencyPublisherOptions(commandLatencyPublisherOptions()).eventBus(eventBus())
-                .eventExecutorGroup(eventExecutorGroup()).reconnectDelay(reconnectDelay)
-                .socketAddressResolver(socketAddressResolver()).nettyCustomizer(nettyCustomizer())
-                .threadFactoryProvider(threadFactoryProvider).timer(timer()).tracing(tracing())
-                .addressResolverGroup(addressResolverGroup());
+                .commandLatencyPublisherOptions(commandLatencyPublisherOptions())
+                .commandFlightRecorderOptions(commandFlightRecorderOptions()).eventBus(eventBus())
+                .eventExecutorGroup(eventExecutorGroup()).reconnectDelay(reconnectDelay).reconnectGovernor(reconnectGovernor())
+                .socketAddressResolver(socketAddressResolver()).sslContextCache(sslContextCache())
+                .nettyCustomizer(nettyCustomizer()).threadFactoryProvider(threadFactoryProvider).timer(timer())
+                .tracing(tracing()).addressResolverGroup(addressResolverGroup());
 
         builder.sharedCommandLatencyCollector = sharedEventLoopGroupProvider;
         builder.sharedEventExecutor = sharedEventExecutor;
@@ -755,6 +826,11 @@ public class DefaultClientResources implements ClientResources {
         return commandLatencyRecorder;
     }
 
+    @Override
+    public CommandFlightRecorderOptions commandFlightRecorderOptions() {
+        return commandFlightRecorderOptions;
+    }
+
     @Override
     public EventPublisherOptions commandLatencyPublisherOptions() {
         return commandLatencyPublisherOptions;
@@ -795,11 +871,21 @@ public class DefaultClientResources implements ClientResources {
         return reconnectDelay.get();
     }
 
+    @Override
+    public ReconnectGovernor reconnectGovernor() {
+        return reconnectGovernor;
+    }
+
     @Override
     public SocketAddressResolver socketAddressResolver() {
         return socketAddressResolver;
     }
 
+    @Override
+    public SslContextCache sslContextCache() {
+        return sslContextCache;
+    }
+
     @Override
     public Timer timer() {
         return timer;
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.resource;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.lettuce.core.RedisConnectionException;
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Default {@link ReconnectGovernor} implementation limiting concurrent connection attempts per remote address. Queued attempts
+ * are admitted in FIFO order with a random delay between zero and {@code maxJitter} to spread handshakes over time.
+ *
+ * @since 7.0
+ */
+class DefaultReconnectGovernor implements ReconnectGovernor {
+
+    private final int maxConcurrentConnects;
+
+    private final int maxQueueDepth;
+
+    private final long maxJitterNanos;
+
+    private final int replayBatchSize;
+
+    private final Map<SocketAddress, Gate> gates = new ConcurrentHashMap<>();
+
+    DefaultReconnectGovernor(int maxConcurrentConnects, int maxQueueDepth, Duration maxJitter, int replayBatchSize) {
+
+        LettuceAssert.isTrue(maxConcurrentConnects > 0, "Max concurrent connects must be greater zero");
+        LettuceAssert.isTrue(maxQueueDepth >= 0, "Max queue depth must be greater or equal to zero");
+        LettuceAssert.notNull(maxJitter, "Max jitter must not be null");
+        LettuceAssert.isTrue(!maxJitter.isNegative(), "Max jitter must not be negative");
+        LettuceAssert.isTrue(replayBatchSize > 0, "Replay batch size must be greater zero");
+
+        this.maxConcurrentConnects = maxConcurrentConnects;
+        this.maxQueueDepth = maxQueueDepth;
+        this.maxJitterNanos = maxJitter.toNanos();
+        this.replayBatchSize = replayBatchSize;
+    }
+
+    @Override
+    public CompletableFuture<Permit> acquire(SocketAddress remoteAddress) {
+
+        LettuceAssert.notNull(remoteAddress, "Remote address must not be null");
+
+        for (;;) {
+
+            Gate gate = gates.computeIfAbsent(remoteAddress, Gate::new);
+
+            synchronized (gate) {
+
+                if (gate.retired) {
+                    continue;
+                }
+
+                if (gate.active < maxConcurrentConnects) {
+                    gate.active++;
+                    return CompletableFuture.completedFuture(new GatePermit(gate, Duration.ZERO));
+                }
+
+                if (gate.waiters.size() >= maxQueueDepth) {
+                    CompletableFuture<Permit> rejected = new CompletableFuture<>();
+                    rejected.completeExceptionally(new RedisConnectionException(
+                            String.format("Reconnect queue for %s exceeded: %d", remoteAddress, maxQueueDepth)));
+                    return rejected;
+                }
+
+                CompletableFuture<Permit> waiter = new CompletableFuture<>();
+                gate.waiters.add(waiter);
+                return waiter;
+            }
+        }
+    }
+
+    private void release(Gate gate) {
+
+        for (;;) {
+
+            CompletableFuture<Permit> next;
+
+            synchronized (gate) {
+
+                next = gate.waiters.poll();
+
+                if (next == null) {
+
+                    gate.active--;
+
+                    if (gate.active == 0) {
+                        gate.retired = true;
+                        gates.remove(gate.remoteAddress, gate);
+                    }
+                    return;
+                }
+            }
+
+            // active count is handed over to the next waiter
+            if (next.complete(new GatePermit(gate, jitter()))) {
+                return;
+            }
+        }
+    }
+
+    private Duration jitter() {
+
+        if (maxJitterNanos == 0) {
+            return Duration.ZERO;
+        }
+
+        return Duration.ofNanos(ThreadLocalRandom.current().nextLong(maxJitterNanos + 1));
+    }
+
+    @Override
+    public int getReplayBatchSize() {
+        return replayBatchSize;
+    }
+
+    @Override
+    public int getConnectsInProgress() {
+
+        int result = 0;
+        for (Gate gate : gates.values()) {
+            synchronized (gate) {
+                result += gate.active;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int getConnectsInProgress(SocketAddress remoteAddress) {
+
+        Gate gate = gates.get(remoteAddress);
+        if (gate == null) {
+            return 0;
+        }
+
+        synchronized (gate) {
+            return gate.active;
+        }
+    }
+
+    @Override
+    public int getQueueDepth() {
+
+        int result = 0;
+        for (Gate gate : gates.values()) {
+            synchronized (gate) {
+                result += gate.waiters.size();
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int getQueueDepth(SocketAddress remoteAddress) {
+
+        Gate gate = gates.get(remoteAddress);
+        if (gate == null) {
+            return 0;
+        }
+
+        synchronized (gate) {
+            return gate.waiters.size();
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [maxConcurrentConnects=").append(maxConcurrentConnects);
+        sb.append(", maxQueueDepth=").append(maxQueueDepth);
+        sb.append(", maxJitter=").append(Duration.ofNanos(maxJitterNanos));
+        sb.append(", replayBatchSize=").append(replayBatchSize);
+        sb.append(']');
+        return sb.toString();
+    }
+
+    /**
+     * Per-address admission state. Guarded by its own monitor.
+     */
+    static class Gate {
+
+        final SocketAddress remoteAddress;
+
+        final Queue<CompletableFuture<Permit>> waiters = new ArrayDeque<>();
+
+        int active;
+
+        boolean retired;
+
+        Gate(SocketAddress remoteAddress) {
+            this.remoteAddress = remoteAddress;
+        }
+
+    }
+
+    class GatePermit implements Permit {
+
+        private final Gate gate;
+
+        private final Duration delay;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        GatePermit(Gate gate, Duration delay) {
+            this.gate = gate;
+            this.delay = delay;
+        }
+
+        @Override
+        public Duration getDelay() {
+            return delay;
+        }
+
+        @Override
+        public void release() {
+
+            if (released.compareAndSet(false, true)) {
+                DefaultReconnectGovernor.this.release(gate);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.resource;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import io.lettuce.core.SslOptions;
+import io.lettuce.core.SslVerifyMode;
+import io.lettuce.core.internal.LettuceAssert;
+import io.netty.handler.ssl.SslContext;
+
+/**
+ * Default {@link SslContextCache} retaining one {@link SslContext} per {@link SslOptions} instance and {@link SslVerifyMode}.
+ * {@link SslOptions} are weakly referenced so that contexts of discarded options can be garbage-collected.
+ *
+ * @since 7.0
+ */
+class DefaultSslContextCache implements SslContextCache {
+
+    private final Map<SslOptions, Map<SslVerifyMode, SslContext>> contexts = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @Override
+    public SslContext getSslContext(SslOptions sslOptions, SslVerifyMode verifyMode)
+            throws IOException, GeneralSecurityException {
+
+        LettuceAssert.notNull(sslOptions, "SslOptions must not be null");
+        LettuceAssert.notNull(verifyMode, "SslVerifyMode must not be null");
+
+        synchronized (contexts) {
+
+            Map<SslVerifyMode, SslContext> byVerifyMode = contexts.computeIfAbsent(sslOptions,
+                    it -> new EnumMap<>(SslVerifyMode.class));
+            SslContext sslContext = byVerifyMode.get(verifyMode);
+
+            if (sslContext == null) {
+                sslContext = UncachedSslContextCache.createSslContext(sslOptions, verifyMode);
+                byVerifyMode.put(verifyMode, sslContext);
+            }
+
+            return sslContext;
+        }
+    }
+
+    @Override
+    public void invalidate(SslOptions sslOptions) {
+
+        LettuceAssert.notNull(sslOptions, "SslOptions must not be null");
+
+        contexts.remove(sslOptions);
+    }
+
+    @Override
+    public void clear() {
+        contexts.clear();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [cachedOptions=" + contexts.size() + "]";
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.resource;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Governor for reconnect attempts that is shared across all connections using the same {@link ClientResources}. A
+ * {@link ReconnectGovernor} caps the number of concurrent connection attempts (including the connection handshake) per remote
+ * address and queues further attempts. It also controls the batch size in which commands that were buffered while disconnected
+ * are replayed after a successful reconnect.
+ * <p>
+ * Throttling reconnects prevents a reconnect storm against a restarting Redis node when many connections lose their connection
+ * at the same time.
+ *
+ * @since 7.0
+ * @see io.lettuce.core.protocol.ConnectionWatchdog
+ * @see ClientResources#reconnectGovernor()
+ */
+public interface ReconnectGovernor {
+
+    /**
+     * Create a {@link ReconnectGovernor} that does not limit reconnect attempts and replays buffered commands in a single
+     * batch.
+     *
+     * @return the unlimited {@link ReconnectGovernor}.
+     */
+    static ReconnectGovernor unlimited() {
+        return UnlimitedReconnectGovernor.INSTANCE;
+    }
+
+    /**
+     * Create a new {@link ReconnectGovernor} limiting concurrent connection attempts per remote address.
+     *
+     * @param maxConcurrentConnects maximum number of concurrent connection attempts per remote address, must be greater
+     *        {@code 0}.
+     * @param maxQueueDepth maximum number of queued connection attempts per remote address. Attempts exceeding the queue are
+     *        rejected and retried according to the reconnect {@link Delay}. Must be greater or equal to {@code 0}.
+     * @param maxJitter maximum jitter applied to queued connection attempts once they are admitted, must not be {@code null}.
+     * @param replayBatchSize number of buffered commands to replay in a single batch after reconnecting, must be greater
+     *        {@code 0}.
+     * @return the {@link ReconnectGovernor}.
+     */
+    static ReconnectGovernor create(int maxConcurrentConnects, int maxQueueDepth, Duration maxJitter, int replayBatchSize) {
+        return new DefaultReconnectGovernor(maxConcurrentConnects, maxQueueDepth, maxJitter, replayBatchSize);
+    }
+
+    /**
+     * Acquire a {@link Permit} to connect to {@code remoteAddress}. The returned future completes once the connection attempt
+     * may proceed. The future completes exceptionally if the attempt cannot be queued. Callers must {@link Permit#release()
+     * release} the permit after the connection attempt and its handshake have completed.
+     *
+     * @param remoteAddress the remote address to connect to.
+     * @return a future completing with the {@link Permit}.
+     */
+    CompletableFuture<Permit> acquire(SocketAddress remoteAddress);
+
+    /**
+     * @return number of commands that are replayed in a single batch after a reconnect.
+     */
+    int getReplayBatchSize();
+
+    /**
+     * @return total number of connection attempts that are currently in progress.
+     */
+    int getConnectsInProgress();
+
+    /**
+     * @param remoteAddress the remote address.
+     * @return number of connection attempts to {@code remoteAddress} that are currently in progress.
+     */
+    int getConnectsInProgress(SocketAddress remoteAddress);
+
+    /**
+     * @return total number of connection attempts that are waiting for a {@link Permit}.
+     */
+    int getQueueDepth();
+
+    /**
+     * @param remoteAddress the remote address.
+     * @return number of connection attempts to {@code remoteAddress} that are waiting for a {@link Permit}.
+     */
+    int getQueueDepth(SocketAddress remoteAddress);
+
+    /**
+     * Permission to perform a connection attempt.
+     */
+    interface Permit {
+
+        /**
+         * @return the delay to apply before the connection attempt. Returns {@link Duration#ZERO} if the attempt was admitted
+         *         without queueing.
+         */
+        Duration getDelay();
+
+        /**
+         * Release this permit. Releasing a permit admits the next queued connection attempt.
+         */
+        void release();
+
+    }
+
+}
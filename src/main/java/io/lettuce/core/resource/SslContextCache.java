@@ -0,0 +1,88 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.resource;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+
+import io.lettuce.core.SslOptions;
+import io.lettuce.core.SslVerifyMode;
+import io.netty.handler.ssl.SslContext;
+
+/**
+ * Provider for {@link SslContext} instances that is shared across all connections using the same {@link ClientResources}.
+ * <p>
+ * A caching {@link SslContextCache} creates a single {@link SslContext} per {@link SslOptions} instance and
+ * {@link SslVerifyMode}. Reusing the {@link SslContext} avoids loading key and trust material for each connection and, more
+ * importantly, retains the client-side TLS session cache of the context so that reconnects to the same host and port can
+ * resume a previous TLS session (session ID or session ticket) instead of performing a full handshake.
+ * <p>
+ * {@link SslOptions} are cached by identity. Key or trust material that changes on disk is therefore not picked up until the
+ * cached context is {@link #invalidate(SslOptions) invalidated} or new {@link SslOptions} are used.
+ *
+ * @since 7.0
+ * @see ClientResources#sslContextCache()
+ */
+public interface SslContextCache {
+
+    /**
+     * Create a {@link SslContextCache} that creates a new {@link SslContext} for each connection.
+     *
+     * @return the non-caching {@link SslContextCache}.
+     */
+    static SslContextCache uncached() {
+        return UncachedSslContextCache.INSTANCE;
+    }
+
+    /**
+     * Create a new {@link SslContextCache} that retains one {@link SslContext} per {@link SslOptions} instance and
+     * {@link SslVerifyMode}.
+     *
+     * @return a new caching {@link SslContextCache}.
+     */
+    static SslContextCache create() {
+        return new DefaultSslContextCache();
+    }
+
+    /**
+     * Obtain a {@link SslContext} for the given {@link SslOptions} and {@link SslVerifyMode}.
+     *
+     * @param sslOptions the SSL options, must not be {@code null}.
+     * @param verifyMode the peer verification mode, must not be {@code null}.
+     * @return the {@link SslContext}.
+     * @throws IOException thrown when loading the keystore or the truststore fails.
+     * @throws GeneralSecurityException thrown when loading the keystore or the truststore fails.
+     */
+    SslContext getSslContext(SslOptions sslOptions, SslVerifyMode verifyMode) throws IOException, GeneralSecurityException;
+
+    /**
+     * Discard cached {@link SslContext contexts} for the given {@link SslOptions}. The next connection using these
+     * {@link SslOptions} creates a new {@link SslContext} and re-reads key and trust material.
+     *
+     * @param sslOptions the SSL options, must not be {@code null}.
+     */
+    void invalidate(SslOptions sslOptions);
+
+    /**
+     * Discard all cached {@link SslContext contexts}.
+     */
+    void clear();
+
+}
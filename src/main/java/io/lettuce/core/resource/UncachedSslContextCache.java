@@ -0,0 +1,70 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.resource;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+
+import io.lettuce.core.SslOptions;
+import io.lettuce.core.SslVerifyMode;
+import io.lettuce.core.internal.LettuceAssert;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+
+/**
+ * {@link SslContextCache} that creates a new {@link SslContext} for each connection.
+ *
+ * @since 7.0
+ */
+enum UncachedSslContextCache implements SslContextCache {
+
+    INSTANCE;
+
+    @Override
+    public SslContext getSslContext(SslOptions sslOptions, SslVerifyMode verifyMode)
+            throws IOException, GeneralSecurityException {
+        return createSslContext(sslOptions, verifyMode);
+    }
+
+    @Override
+    public void invalidate(SslOptions sslOptions) {
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    static SslContext createSslContext(SslOptions sslOptions, SslVerifyMode verifyMode)
+            throws IOException, GeneralSecurityException {
+
+        LettuceAssert.notNull(sslOptions, "SslOptions must not be null");
+        LettuceAssert.notNull(verifyMode, "SslVerifyMode must not be null");
+
+        SslContextBuilder sslContextBuilder = sslOptions.createSslContextBuilder();
+
+        if (verifyMode == SslVerifyMode.NONE) {
+            sslContextBuilder.trustManager(InsecureTrustManagerFactory.INSTANCE);
+        }
+
+        return sslContextBuilder.build();
+    }
+
+}
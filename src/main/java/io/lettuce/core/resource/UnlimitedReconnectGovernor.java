@@ -0,0 +1,76 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.resource;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link ReconnectGovernor} that admits all connection attempts immediately.
+ *
+ * @since 7.0
+ */
+enum UnlimitedReconnectGovernor implements ReconnectGovernor, ReconnectGovernor.Permit {
+
+    INSTANCE;
+
+    private final CompletableFuture<Permit> permit = CompletableFuture.completedFuture(this);
+
+    @Override
+    public CompletableFuture<Permit> acquire(SocketAddress remoteAddress) {
+        return permit;
+    }
+
+    @Override
+    public int getReplayBatchSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int getConnectsInProgress() {
+        return 0;
+    }
+
+    @Override
+    public int getConnectsInProgress(SocketAddress remoteAddress) {
+        return 0;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return 0;
+    }
+
+    @Override
+    public int getQueueDepth(SocketAddress remoteAddress) {
+        return 0;
+    }
+
+    @Override
+    public Duration getDelay() {
+        return Duration.ZERO;
+    }
+
+    @Override
+    public void release() {
+    }
+
+}
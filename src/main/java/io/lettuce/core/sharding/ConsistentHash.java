@@ -0,0 +1,236 @@
+package io.lettuce.core.sharding;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.lettuce.core.cluster.SlotHash;
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Ketama-style consistent hash ring. Each node is placed on the ring at {@code pointsPerNode} positions derived from the MD5
+ * digest of its identifier. A key is owned by the node at the first ring position at or after the 32-bit MurmurHash3 of the
+ * {@link SlotHash#getHashTag(ByteBuffer) hashed part} of the key. MD5 is used only to build the ring so that key lookups
+ * avoid the cost of a cryptographic digest. Adding or removing a node reassigns only the keys that hash to positions of that
+ * node. Instances are immutable.
+ *
+ * @param <T> Node type.
+ * @since 7.0
+ */
+class ConsistentHash<T> {
+
+    static final int DEFAULT_POINTS_PER_NODE = 160;
+
+    private static final int INDEX_BITS = 20;
+
+    private final Map<String, T> nodes;
+
+    private final int pointsPerNode;
+
+    private final long[] points;
+
+    private final Object[] owners;
+
+    /**
+     * Create a new {@link ConsistentHash}.
+     *
+     * @param nodes nodes by their identifier.
+     * @param pointsPerNode number of ring positions per node, must be a positive multiple of {@code 4}.
+     */
+    ConsistentHash(Map<String, T> nodes, int pointsPerNode) {
+
+        LettuceAssert.notNull(nodes, "Nodes must not be null");
+        LettuceAssert.isTrue(nodes.size() < 1 << INDEX_BITS, "Too many nodes");
+        LettuceAssert.isTrue(pointsPerNode > 0 && pointsPerNode % 4 == 0, "Points per node must be a positive multiple of 4");
+
+        this.nodes = Collections.unmodifiableMap(new LinkedHashMap<>(nodes));
+        this.pointsPerNode = pointsPerNode;
+
+        List<String> ids = new ArrayList<>(nodes.keySet());
+        Collections.sort(ids);
+
+        MessageDigest md5 = md5();
+
+        // ring position in the upper bits, node index in the lower bits so that equal positions resolve deterministically
+        long[] entries = new long[ids.size() * pointsPerNode];
+        int count = 0;
+
+        for (int index = 0; index < ids.size(); index++) {
+            for (int i = 0; i < pointsPerNode / 4; i++) {
+
+                byte[] digest = md5.digest((ids.get(index) + "-" + i).getBytes(StandardCharsets.UTF_8));
+
+                for (int h = 0; h < 4; h++) {
+                    entries[count++] = (position(digest, h) << INDEX_BITS) | index;
+                }
+            }
+        }
+
+        Arrays.sort(entries);
+
+        long[] points = new long[entries.length];
+        Object[] owners = new Object[entries.length];
+        int size = 0;
+
+        for (long entry : entries) {
+
+            long position = entry >>> INDEX_BITS;
+
+            if (size > 0 && points[size - 1] == position) {
+                continue;
+            }
+
+            points[size] = position;
+            owners[size] = nodes.get(ids.get((int) (entry & ((1 << INDEX_BITS) - 1))));
+            size++;
+        }
+
+        this.points = Arrays.copyOf(points, size);
+        this.owners = Arrays.copyOf(owners, size);
+    }
+
+    /**
+     * Create a new {@link ConsistentHash} with {@code node} added or replaced.
+     *
+     * @param id the node identifier.
+     * @param node the node.
+     * @return a new {@link ConsistentHash}.
+     */
+    ConsistentHash<T> with(String id, T node) {
+
+        Map<String, T> nodes = new LinkedHashMap<>(this.nodes);
+        nodes.put(id, node);
+
+        return new ConsistentHash<>(nodes, pointsPerNode);
+    }
+
+    /**
+     * Create a new {@link ConsistentHash} without the node {@code id}.
+     *
+     * @param id the node identifier.
+     * @return a new {@link ConsistentHash}.
+     */
+    ConsistentHash<T> without(String id) {
+
+        Map<String, T> nodes = new LinkedHashMap<>(this.nodes);
+        nodes.remove(id);
+
+        return new ConsistentHash<>(nodes, pointsPerNode);
+    }
+
+    /**
+     * Lookup the node owning {@code key}.
+     *
+     * @param key the encoded key.
+     * @return the owning node or {@code null} if the ring has no nodes.
+     */
+    @SuppressWarnings("unchecked")
+    T get(ByteBuffer key) {
+
+        if (points.length == 0) {
+            return null;
+        }
+
+        int index = Arrays.binarySearch(points, hash(key));
+
+        if (index < 0) {
+            index = -index - 1;
+            if (index == points.length) {
+                index = 0;
+            }
+        }
+
+        return (T) owners[index];
+    }
+
+    /**
+     * @return the nodes by their identifier.
+     */
+    Map<String, T> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return the nodes.
+     */
+    Collection<T> values() {
+        return nodes.values();
+    }
+
+    /**
+     * Calculate the ring position of {@code key} using the 32-bit MurmurHash3 of its hashed part.
+     *
+     * @param key the encoded key.
+     * @return the ring position.
+     */
+    static long hash(ByteBuffer key) {
+
+        ByteBuffer tag = SlotHash.getHashTag(key);
+        int offset = tag.position();
+        int length = tag.remaining();
+        int blocks = length & ~3;
+        int h = 0;
+
+        for (int i = 0; i < blocks; i += 4) {
+
+            int k = (tag.get(offset + i) & 0xFF) | (tag.get(offset + i + 1) & 0xFF) << 8
+                    | (tag.get(offset + i + 2) & 0xFF) << 16 | (tag.get(offset + i + 3) & 0xFF) << 24;
+
+            h ^= mixK(k);
+            h = Integer.rotateLeft(h, 13) * 5 + 0xe6546b64;
+        }
+
+        int tail = length & 3;
+
+        if (tail > 0) {
+
+            int k = tag.get(offset + blocks) & 0xFF;
+
+            if (tail > 1) {
+                k |= (tag.get(offset + blocks + 1) & 0xFF) << 8;
+            }
+
+            if (tail > 2) {
+                k |= (tag.get(offset + blocks + 2) & 0xFF) << 16;
+            }
+
+            h ^= mixK(k);
+        }
+
+        h ^= length;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+
+        return h & 0xFFFFFFFFL;
+    }
+
+    private static int mixK(int k) {
+        return Integer.rotateLeft(k * 0xcc9e2d51, 15) * 0x1b873593;
+    }
+
+    private static long position(byte[] digest, int h) {
+        return ((long) (digest[3 + h * 4] & 0xFF) << 24) | ((long) (digest[2 + h * 4] & 0xFF) << 16)
+                | ((long) (digest[1 + h * 4] & 0xFF) << 8) | (digest[h * 4] & 0xFF);
+    }
+
+    private static MessageDigest md5() {
+
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not supported", e);
+        }
+    }
+
+}
@@ -0,0 +1,283 @@
+package io.lettuce.core.sharding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.RedisAsyncCommandsImpl;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.cluster.MultiNodeExecution;
+import io.lettuce.core.cluster.PipelinedRedisFuture;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.json.JsonParser;
+import io.lettuce.core.output.KeyValueStreamingChannel;
+import io.lettuce.core.sharding.ShardedChannelWriter.Shard;
+
+/**
+ * Asynchronous command API for sharded connections. Multi-key commands are split by their owning shard, executed on each
+ * shard and the results are merged.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @since 7.0
+ */
+@SuppressWarnings("unchecked")
+class RedisShardedAsyncCommandsImpl<K, V> extends RedisAsyncCommandsImpl<K, V> {
+
+    private final RedisCodec<K, V> codec;
+
+    /**
+     * Initialize a new instance.
+     *
+     * @param connection the connection to operate on.
+     * @param codec the codec for command encoding.
+     * @param parser the implementation of the {@link JsonParser} to use.
+     */
+    RedisShardedAsyncCommandsImpl(StatefulRedisShardedConnectionImpl<K, V> connection, RedisCodec<K, V> codec,
+            Supplier<JsonParser> parser) {
+        super(connection, codec, parser);
+        this.codec = codec;
+    }
+
+    @Override
+    public RedisFuture<Long> del(K... keys) {
+        return del(Arrays.asList(keys));
+    }
+
+    @Override
+    public RedisFuture<Long> del(Iterable<K> keys) {
+
+        Map<Shard, List<K>> partitioned = partition(keys);
+
+        if (partitioned.size() < 2) {
+            return super.del(keys);
+        }
+
+        Map<Shard, RedisFuture<Long>> executions = new HashMap<>();
+
+        for (Map.Entry<Shard, List<K>> entry : partitioned.entrySet()) {
+            executions.put(entry.getKey(), super.del(entry.getValue()));
+        }
+
+        return MultiNodeExecution.aggregateAsync(executions);
+    }
+
+    @Override
+    public RedisFuture<Long> exists(K... keys) {
+        return exists(Arrays.asList(keys));
+    }
+
+    @Override
+    public RedisFuture<Long> exists(Iterable<K> keys) {
+
+        Map<Shard, List<K>> partitioned = partition(keys);
+
+        if (partitioned.size() < 2) {
+            return super.exists(keys);
+        }
+
+        Map<Shard, RedisFuture<Long>> executions = new HashMap<>();
+
+        for (Map.Entry<Shard, List<K>> entry : partitioned.entrySet()) {
+            executions.put(entry.getKey(), super.exists(entry.getValue()));
+        }
+
+        return MultiNodeExecution.aggregateAsync(executions);
+    }
+
+    @Override
+    public RedisFuture<List<KeyValue<K, V>>> mget(K... keys) {
+        return mget(Arrays.asList(keys));
+    }
+
+    @Override
+    public RedisFuture<List<KeyValue<K, V>>> mget(Iterable<K> keys) {
+
+        List<Shard> owners = new ArrayList<>();
+        Map<Shard, List<K>> partitioned = new LinkedHashMap<>();
+
+        for (K key : keys) {
+            Shard shard = getShard(key);
+            owners.add(shard);
+            partitioned.computeIfAbsent(shard, it -> new ArrayList<>()).add(key);
+        }
+
+        if (partitioned.size() < 2) {
+            return super.mget(keys);
+        }
+
+        Map<Shard, RedisFuture<List<KeyValue<K, V>>>> executions = new HashMap<>();
+
+        for (Map.Entry<Shard, List<K>> entry : partitioned.entrySet()) {
+            executions.put(entry.getKey(), super.mget(entry.getValue()));
+        }
+
+        // restore order of keys, each shard returns values in the order of its keys
+        return new PipelinedRedisFuture<>(executions, objectPipelinedRedisFuture -> {
+
+            Map<Shard, Iterator<KeyValue<K, V>>> values = new HashMap<>();
+
+            for (Map.Entry<Shard, RedisFuture<List<KeyValue<K, V>>>> entry : executions.entrySet()) {
+                values.put(entry.getKey(), MultiNodeExecution.execute(() -> entry.getValue().get()).iterator());
+            }
+
+            List<KeyValue<K, V>> result = new ArrayList<>(owners.size());
+
+            for (Shard owner : owners) {
+                result.add(values.get(owner).next());
+            }
+
+            return result;
+        });
+    }
+
+    @Override
+    public RedisFuture<Long> mget(KeyValueStreamingChannel<K, V> channel, K... keys) {
+        return mget(channel, Arrays.asList(keys));
+    }
+
+    @Override
+    public RedisFuture<Long> mget(KeyValueStreamingChannel<K, V> channel, Iterable<K> keys) {
+
+        Map<Shard, List<K>> partitioned = partition(keys);
+
+        if (partitioned.size() < 2) {
+            return super.mget(channel, keys);
+        }
+
+        Map<Shard, RedisFuture<Long>> executions = new HashMap<>();
+
+        for (Map.Entry<Shard, List<K>> entry : partitioned.entrySet()) {
+            executions.put(entry.getKey(), super.mget(channel, entry.getValue()));
+        }
+
+        return MultiNodeExecution.aggregateAsync(executions);
+    }
+
+    @Override
+    public RedisFuture<String> mset(Map<K, V> map) {
+
+        Map<Shard, List<K>> partitioned = partition(map.keySet());
+
+        if (partitioned.size() < 2) {
+            return super.mset(map);
+        }
+
+        Map<Shard, RedisFuture<String>> executions = new HashMap<>();
+
+        for (Map.Entry<Shard, List<K>> entry : partitioned.entrySet()) {
+            executions.put(entry.getKey(), super.mset(subMap(map, entry.getValue())));
+        }
+
+        return MultiNodeExecution.firstOfAsync(executions);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Keys owned by different shards are set per shard. The result is {@code true} only if all shards have set their keys.
+     * This operation is not atomic across shards.
+     */
+    @Override
+    public RedisFuture<Boolean> msetnx(Map<K, V> map) {
+
+        Map<Shard, List<K>> partitioned = partition(map.keySet());
+
+        if (partitioned.size() < 2) {
+            return super.msetnx(map);
+        }
+
+        Map<Shard, RedisFuture<Boolean>> executions = new HashMap<>();
+
+        for (Map.Entry<Shard, List<K>> entry : partitioned.entrySet()) {
+            executions.put(entry.getKey(), super.msetnx(subMap(map, entry.getValue())));
+        }
+
+        return new PipelinedRedisFuture<>(executions, objectPipelinedRedisFuture -> {
+
+            for (RedisFuture<Boolean> future : executions.values()) {
+                Boolean b = MultiNodeExecution.execute(future::get);
+                if (b == null || !b) {
+                    return false;
+                }
+            }
+
+            return !executions.isEmpty();
+        });
+    }
+
+    @Override
+    public RedisFuture<Long> touch(K... keys) {
+        return touch(Arrays.asList(keys));
+    }
+
+    @Override
+    public RedisFuture<Long> touch(Iterable<K> keys) {
+
+        Map<Shard, List<K>> partitioned = partition(keys);
+
+        if (partitioned.size() < 2) {
+            return super.touch(keys);
+        }
+
+        Map<Shard, RedisFuture<Long>> executions = new HashMap<>();
+
+        for (Map.Entry<Shard, List<K>> entry : partitioned.entrySet()) {
+            executions.put(entry.getKey(), super.touch(entry.getValue()));
+        }
+
+        return MultiNodeExecution.aggregateAsync(executions);
+    }
+
+    @Override
+    public RedisFuture<Long> unlink(K... keys) {
+        return unlink(Arrays.asList(keys));
+    }
+
+    @Override
+    public RedisFuture<Long> unlink(Iterable<K> keys) {
+
+        Map<Shard, List<K>> partitioned = partition(keys);
+
+        if (partitioned.size() < 2) {
+            return super.unlink(keys);
+        }
+
+        Map<Shard, RedisFuture<Long>> executions = new HashMap<>();
+
+        for (Map.Entry<Shard, List<K>> entry : partitioned.entrySet()) {
+            executions.put(entry.getKey(), super.unlink(entry.getValue()));
+        }
+
+        return MultiNodeExecution.aggregateAsync(executions);
+    }
+
+    private Shard getShard(K key) {
+        return ((StatefulRedisShardedConnectionImpl<K, V>) getStatefulConnection()).getChannelWriter().getShard(codec, key);
+    }
+
+    private Map<Shard, List<K>> partition(Iterable<K> keys) {
+
+        Map<Shard, List<K>> partitioned = new LinkedHashMap<>();
+
+        for (K key : keys) {
+            partitioned.computeIfAbsent(getShard(key), it -> new ArrayList<>()).add(key);
+        }
+
+        return partitioned;
+    }
+
+    private static <K, V> Map<K, V> subMap(Map<K, V> map, List<K> keys) {
+
+        Map<K, V> result = new LinkedHashMap<>();
+        keys.forEach(k -> result.put(k, map.get(k)));
+        return result;
+    }
+
+}
@@ -0,0 +1,336 @@
+package io.lettuce.core.sharding;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisChannelWriter;
+import io.lettuce.core.RedisException;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.internal.Futures;
+import io.lettuce.core.internal.LettuceAssert;
+import io.lettuce.core.protocol.CommandArgsAccessor;
+import io.lettuce.core.protocol.ConnectionFacade;
+import io.lettuce.core.protocol.RedisCommand;
+import io.lettuce.core.resource.ClientResources;
+
+/**
+ * Channel writer that routes commands to the shard owning their keys using a {@link ConsistentHash}. Commands without keys
+ * and commands whose keys are owned by different shards are completed exceptionally.
+ *
+ * @since 7.0
+ */
+class ShardedChannelWriter implements RedisChannelWriter {
+
+    private final ClientResources clientResources;
+
+    private final int pointsPerShard;
+
+    private final Lock lock = new ReentrantLock();
+
+    private volatile ConsistentHash<Shard> shards;
+
+    private volatile boolean autoFlush = true;
+
+    private volatile boolean closed;
+
+    ShardedChannelWriter(ClientResources clientResources, Map<RedisURI, ? extends StatefulRedisConnection<?, ?>> connections,
+            int pointsPerShard) {
+
+        this.clientResources = clientResources;
+        this.pointsPerShard = pointsPerShard;
+
+        Map<String, Shard> shards = new LinkedHashMap<>();
+
+        for (Map.Entry<RedisURI, ? extends StatefulRedisConnection<?, ?>> entry : connections.entrySet()) {
+
+            String id = getShardId(entry.getKey());
+            LettuceAssert.isTrue(!shards.containsKey(id), () -> "Duplicate shard " + id);
+
+            shards.put(id, new Shard(entry.getKey(), entry.getValue()));
+        }
+
+        this.shards = new ConsistentHash<>(shards, pointsPerShard);
+    }
+
+    /**
+     * Determine the identifier of a shard. The identifier determines the positions of the shard on the hash ring.
+     *
+     * @param redisURI the shard endpoint.
+     * @return {@code host:port} or the socket path, suffixed with {@code /database} if the database is not {@code 0}.
+     */
+    static String getShardId(RedisURI redisURI) {
+
+        String id = redisURI.getSocket() != null ? redisURI.getSocket() : redisURI.getHost() + ":" + redisURI.getPort();
+
+        return redisURI.getDatabase() != 0 ? id + "/" + redisURI.getDatabase() : id;
+    }
+
+    @Override
+    public <K, V, T> RedisCommand<K, V, T> write(RedisCommand<K, V, T> command) {
+
+        LettuceAssert.notNull(command, "Command must not be null");
+
+        if (closed) {
+            throw new RedisException("Connection is closed");
+        }
+
+        Shard shard;
+        try {
+            shard = getShard(command);
+        } catch (RedisException e) {
+            command.completeExceptionally(e);
+            return command;
+        }
+
+        try {
+            shard.getChannelWriter().write(command);
+        } catch (Exception e) {
+            command.completeExceptionally(e);
+        }
+
+        return command;
+    }
+
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public <K, V> Collection<RedisCommand<K, V, ?>> write(Collection<? extends RedisCommand<K, V, ?>> commands) {
+
+        LettuceAssert.notNull(commands, "Commands must not be null");
+
+        if (closed) {
+            throw new RedisException("Connection is closed");
+        }
+
+        Map<Shard, List<RedisCommand<K, V, ?>>> partitions = new LinkedHashMap<>();
+
+        for (RedisCommand<K, V, ?> command : commands) {
+
+            try {
+                partitions.computeIfAbsent(getShard(command), it -> new ArrayList<>()).add(command);
+            } catch (RedisException e) {
+                command.completeExceptionally(e);
+            }
+        }
+
+        for (Map.Entry<Shard, List<RedisCommand<K, V, ?>>> entry : partitions.entrySet()) {
+
+            try {
+                entry.getKey().getChannelWriter().write(entry.getValue());
+            } catch (Exception e) {
+                entry.getValue().forEach(it -> it.completeExceptionally(e));
+            }
+        }
+
+        return (Collection) commands;
+    }
+
+    private Shard getShard(RedisCommand<?, ?, ?> command) {
+
+        List<ByteBuffer> keys = command.getArgs() != null ? CommandArgsAccessor.encodeKeys(command.getArgs())
+                : Collections.emptyList();
+
+        if (keys.isEmpty()) {
+            throw new RedisException(String.format("Command %s has no key and cannot be routed to a shard. "
+                    + "Use getConnection(key) or getConnections() instead.", command.getType()));
+        }
+
+        ConsistentHash<Shard> shards = this.shards;
+        Shard shard = shards.get(keys.get(0));
+
+        if (shard == null) {
+            throw new RedisException("No shards available");
+        }
+
+        for (int i = 1; i < keys.size(); i++) {
+            if (shards.get(keys.get(i)) != shard) {
+                throw new RedisException(String.format(
+                        "Keys of command %s are owned by different shards. Use keys with a common {hashtag} instead.",
+                        command.getType()));
+            }
+        }
+
+        return shard;
+    }
+
+    /**
+     * Lookup the shard owning {@code key}.
+     *
+     * @param codec codec to encode the key.
+     * @param key the key.
+     * @return the shard.
+     */
+    <K, V> Shard getShard(RedisCodec<K, V> codec, K key) {
+
+        Shard shard = shards.get(codec.encodeKey(key));
+
+        if (shard == null) {
+            throw new RedisException("No shards available");
+        }
+
+        return shard;
+    }
+
+    /**
+     * @return the current shards.
+     */
+    Collection<Shard> getShards() {
+        return shards.values();
+    }
+
+    /**
+     * Add a shard. Keys owned by the new shard are routed to {@code connection} from now on.
+     *
+     * @param redisURI the shard endpoint.
+     * @param connection the shard connection.
+     * @return {@code true} if the shard was added; {@code false} if a shard with the same identifier exists already.
+     */
+    boolean addShard(RedisURI redisURI, StatefulRedisConnection<?, ?> connection) {
+
+        String id = getShardId(redisURI);
+
+        lock.lock();
+        try {
+
+            if (closed || shards.getNodes().containsKey(id)) {
+                return false;
+            }
+
+            connection.setAutoFlushCommands(autoFlush);
+            shards = shards.with(id, new Shard(redisURI, connection));
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove a shard. Keys owned by the shard are routed to the remaining shards from now on.
+     *
+     * @param redisURI the shard endpoint.
+     * @return the removed shard or {@code null} if there was no shard with the same identifier.
+     */
+    Shard removeShard(RedisURI redisURI) {
+
+        String id = getShardId(redisURI);
+
+        lock.lock();
+        try {
+
+            Shard shard = shards.getNodes().get(id);
+
+            if (shard != null) {
+                shards = shards.without(id);
+            }
+
+            return shard;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        closeAsync().join();
+    }
+
+    @Override
+    public CompletableFuture<Void> closeAsync() {
+
+        Collection<Shard> toClose;
+
+        lock.lock();
+        try {
+
+            if (closed) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            closed = true;
+            toClose = shards.values();
+        } finally {
+            lock.unlock();
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(toClose.size());
+        for (Shard shard : toClose) {
+            futures.add(shard.getConnection().closeAsync());
+        }
+
+        return Futures.allOf(futures);
+    }
+
+    @Override
+    public void setConnectionFacade(ConnectionFacade connection) {
+    }
+
+    @Override
+    public ClientResources getClientResources() {
+        return clientResources;
+    }
+
+    @Override
+    public void setAutoFlushCommands(boolean autoFlush) {
+
+        lock.lock();
+        try {
+            this.autoFlush = autoFlush;
+            shards.values().forEach(it -> it.getConnection().setAutoFlushCommands(autoFlush));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void flushCommands() {
+        shards.values().forEach(it -> it.getConnection().flushCommands());
+    }
+
+    /**
+     * A shard endpoint and its connection. Commands are written to the {@link RedisChannelWriter} of the connection.
+     */
+    static class Shard {
+
+        private final RedisURI redisURI;
+
+        private final StatefulRedisConnection<?, ?> connection;
+
+        private final RedisChannelWriter channelWriter;
+
+        Shard(RedisURI redisURI, StatefulRedisConnection<?, ?> connection) {
+            this.redisURI = redisURI;
+            this.connection = connection;
+            this.channelWriter = ((RedisChannelHandler<?, ?>) connection).getChannelWriter();
+        }
+
+        RedisURI getRedisURI() {
+            return redisURI;
+        }
+
+        RedisChannelWriter getChannelWriter() {
+            return channelWriter;
+        }
+
+        @SuppressWarnings("unchecked")
+        <K, V> StatefulRedisConnection<K, V> getConnection() {
+            return (StatefulRedisConnection<K, V>) connection;
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + " [" + redisURI + "]";
+        }
+
+    }
+
+}
@@ -0,0 +1,140 @@
+package io.lettuce.core.sharding;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionException;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.internal.Exceptions;
+import io.lettuce.core.internal.Futures;
+import io.lettuce.core.internal.LettuceAssert;
+import io.lettuce.core.internal.LettuceLists;
+
+/**
+ * Client-side sharding across independent Redis Standalone servers.
+ * <p>
+ * Keys are distributed across the servers using Ketama-style consistent hashing of the encoded key. Keys containing a hash tag
+ * ({@code {…}}) are hashed by their hash tag only, the same way as Redis Cluster determines the slot of a key. Each server is
+ * identified by {@code host:port} (or its socket path) so that the distribution does not depend on the order of the
+ * {@link RedisURI URIs}. Adding or removing a server through {@link StatefulRedisShardedConnection#addShard(RedisURI)} and
+ * {@link StatefulRedisShardedConnection#removeShard(RedisURI)} moves only the keys owned by that server.
+ *
+ * <pre class="code">
+ * RedisClient client = RedisClient.create();
+ * StatefulRedisShardedConnection&lt;String, String&gt; connection = Sharding.connect(client, StringCodec.UTF8,
+ *         Arrays.asList(RedisURI.create(&quot;redis://cache-1&quot;), RedisURI.create(&quot;redis://cache-2&quot;)));
+ *
+ * connection.sync().set(&quot;key&quot;, &quot;value&quot;);
+ * connection.sync().mget(&quot;key&quot;, &quot;other&quot;);
+ * // ...
+ *
+ * connection.close();
+ * client.shutdown();
+ * </pre>
+ *
+ * @since 7.0
+ * @see StatefulRedisShardedConnection
+ */
+public class Sharding {
+
+    private Sharding() {
+    }
+
+    /**
+     * Open a new sharded connection to the supplied Redis Standalone servers using the supplied {@link RedisCodec codec} to
+     * encode/decode keys. All servers must be reachable.
+     *
+     * @param redisClient the Redis client.
+     * @param codec Use this codec to encode/decode keys and values, must not be {@code null}.
+     * @param redisURIs the Redis servers to connect to, must not be {@code null} or empty.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return a new connection.
+     * @throws RedisConnectionException in case of connection failures.
+     */
+    public static <K, V> StatefulRedisShardedConnection<K, V> connect(RedisClient redisClient, RedisCodec<K, V> codec,
+            Iterable<RedisURI> redisURIs) {
+
+        CompletableFuture<StatefulRedisShardedConnection<K, V>> future = connectAsync(redisClient, codec, redisURIs);
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw RedisConnectionException.create(redisURIs.toString(), e);
+        } catch (ExecutionException e) {
+
+            if (e.getCause() instanceof RedisConnectionException) {
+                throw (RedisConnectionException) e.getCause();
+            }
+
+            throw RedisConnectionException.create(redisURIs.toString(), e.getCause());
+        }
+    }
+
+    /**
+     * Open asynchronously a new sharded connection to the supplied Redis Standalone servers using the supplied
+     * {@link RedisCodec codec} to encode/decode keys. All servers must be reachable.
+     *
+     * @param redisClient the Redis client.
+     * @param codec Use this codec to encode/decode keys and values, must not be {@code null}.
+     * @param redisURIs the Redis servers to connect to, must not be {@code null} or empty.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return {@link CompletableFuture} that is notified once the connect is finished.
+     */
+    public static <K, V> CompletableFuture<StatefulRedisShardedConnection<K, V>> connectAsync(RedisClient redisClient,
+            RedisCodec<K, V> codec, Iterable<RedisURI> redisURIs) {
+
+        LettuceAssert.notNull(redisClient, "RedisClient must not be null");
+        LettuceAssert.notNull(codec, "RedisCodec must not be null");
+        LettuceAssert.notNull(redisURIs, "RedisURIs must not be null");
+
+        List<RedisURI> uriList = LettuceLists.newList(redisURIs);
+        LettuceAssert.isTrue(!uriList.isEmpty(), "RedisURIs must not be empty");
+
+        Set<String> ids = new HashSet<>();
+        for (RedisURI redisURI : uriList) {
+            LettuceAssert.isTrue(ids.add(ShardedChannelWriter.getShardId(redisURI)), () -> "Duplicate shard " + redisURI);
+        }
+
+        Map<RedisURI, CompletableFuture<StatefulRedisConnection<K, V>>> futures = new LinkedHashMap<>();
+        for (RedisURI redisURI : uriList) {
+            futures.put(redisURI, redisClient.connectAsync(codec, redisURI).toCompletableFuture());
+        }
+
+        CompletableFuture<StatefulRedisShardedConnection<K, V>> result = new CompletableFuture<>();
+
+        Futures.allOf(futures.values()).whenComplete((ignore, throwable) -> {
+
+            if (throwable != null) {
+                futures.values().forEach(it -> it.thenAccept(StatefulRedisConnection::closeAsync));
+                result.completeExceptionally(Exceptions.unwrap(throwable));
+                return;
+            }
+
+            Map<RedisURI, StatefulRedisConnection<K, V>> connections = new LinkedHashMap<>();
+            futures.forEach((redisURI, future) -> connections.put(redisURI, future.join()));
+
+            ShardedChannelWriter writer = new ShardedChannelWriter(redisClient.getResources(), connections,
+                    ConsistentHash.DEFAULT_POINTS_PER_NODE);
+
+            StatefulRedisShardedConnectionImpl<K, V> connection = new StatefulRedisShardedConnectionImpl<>(writer, redisClient,
+                    codec, uriList.get(0).getTimeout(), redisClient.getOptions().getJsonParser());
+            connection.setOptions(redisClient.getOptions());
+
+            result.complete(connection);
+        });
+
+        return result;
+    }
+
+}
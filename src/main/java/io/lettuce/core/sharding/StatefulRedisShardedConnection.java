@@ -0,0 +1,72 @@
+package io.lettuce.core.sharding;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+
+/**
+ * Connection to a set of independent Redis Standalone servers that shards keys across the servers using consistent hashing.
+ * Commands are routed to the shard owning their keys. Keys containing a hash tag ({@code {…}}) are hashed by their hash tag
+ * only so that related keys are owned by the same shard. {@code DEL}, {@code EXISTS}, {@code MGET}, {@code MSET},
+ * {@code MSETNX}, {@code TOUCH} and {@code UNLINK} are fanned out to the owning shards and their results are merged when using
+ * the asynchronous and synchronous API.
+ * <p>
+ * Commands without keys (such as {@code PING}, {@code MULTI}, {@code SCAN}) and other commands whose keys are owned by
+ * different shards fail with {@link io.lettuce.core.RedisException}. Use {@link #getConnection(Object)} or
+ * {@link #getConnections()} to run such commands against individual shards. Shard connections are managed by this connection
+ * and must not be closed individually.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @since 7.0
+ */
+public interface StatefulRedisShardedConnection<K, V> extends StatefulRedisConnection<K, V> {
+
+    /**
+     * Retrieve the connection to the shard owning {@code key}.
+     *
+     * @param key the key, must not be {@code null}.
+     * @return the shard connection.
+     */
+    StatefulRedisConnection<K, V> getConnection(K key);
+
+    /**
+     * Retrieve the endpoint of the shard owning {@code key}.
+     *
+     * @param key the key, must not be {@code null}.
+     * @return the shard endpoint.
+     */
+    RedisURI getShard(K key);
+
+    /**
+     * @return the endpoints of all shards.
+     */
+    List<RedisURI> getShards();
+
+    /**
+     * @return the connections to all shards by their endpoint.
+     */
+    Map<RedisURI, StatefulRedisConnection<K, V>> getConnections();
+
+    /**
+     * Connect to {@code redisURI} and add it as shard. Only the keys owned by the new shard move to it, all other keys remain
+     * on their shard. Data is not migrated.
+     *
+     * @param redisURI the shard endpoint, must not be {@code null}.
+     * @return a future that completes once the shard receives commands.
+     */
+    CompletableFuture<Void> addShard(RedisURI redisURI);
+
+    /**
+     * Remove a shard and close its connection. Only the keys owned by the removed shard move to the remaining shards. Data is
+     * not migrated.
+     *
+     * @param redisURI the shard endpoint, must not be {@code null}.
+     * @return a future that completes once the shard connection is closed.
+     */
+    CompletableFuture<Void> removeShard(RedisURI redisURI);
+
+}
@@ -0,0 +1,127 @@
+package io.lettuce.core.sharding;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import io.lettuce.core.RedisAsyncCommandsImpl;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisException;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.StatefulRedisConnectionImpl;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.internal.Futures;
+import io.lettuce.core.internal.LettuceAssert;
+import io.lettuce.core.json.JsonParser;
+import io.lettuce.core.protocol.NoOpPushHandler;
+import io.lettuce.core.sharding.ShardedChannelWriter.Shard;
+
+/**
+ * {@link StatefulRedisShardedConnection} that routes commands to shards through a {@link ShardedChannelWriter}.
+ */
+class StatefulRedisShardedConnectionImpl<K, V> extends StatefulRedisConnectionImpl<K, V>
+        implements StatefulRedisShardedConnection<K, V> {
+
+    private final RedisClient redisClient;
+
+    /**
+     * Initialize a new connection.
+     *
+     * @param writer the channel writer.
+     * @param redisClient the client to connect shards.
+     * @param codec Codec used to encode/decode keys and values.
+     * @param timeout Maximum time to wait for a response.
+     * @param parser the JSON parser to use.
+     */
+    StatefulRedisShardedConnectionImpl(ShardedChannelWriter writer, RedisClient redisClient, RedisCodec<K, V> codec,
+            Duration timeout, Supplier<JsonParser> parser) {
+        super(writer, NoOpPushHandler.INSTANCE, codec, timeout, parser);
+        this.redisClient = redisClient;
+    }
+
+    @Override
+    protected RedisAsyncCommandsImpl<K, V> newRedisAsyncCommandsImpl() {
+        return new RedisShardedAsyncCommandsImpl<>(this, codec, getJsonParser());
+    }
+
+    @Override
+    public StatefulRedisConnection<K, V> getConnection(K key) {
+
+        LettuceAssert.notNull(key, "Key must not be null");
+
+        return getChannelWriter().getShard(codec, key).getConnection();
+    }
+
+    @Override
+    public RedisURI getShard(K key) {
+
+        LettuceAssert.notNull(key, "Key must not be null");
+
+        return getChannelWriter().getShard(codec, key).getRedisURI();
+    }
+
+    @Override
+    public List<RedisURI> getShards() {
+
+        List<RedisURI> result = new ArrayList<>();
+
+        for (Shard shard : getChannelWriter().getShards()) {
+            result.add(shard.getRedisURI());
+        }
+
+        return result;
+    }
+
+    @Override
+    public Map<RedisURI, StatefulRedisConnection<K, V>> getConnections() {
+
+        Map<RedisURI, StatefulRedisConnection<K, V>> result = new LinkedHashMap<>();
+
+        for (Shard shard : getChannelWriter().getShards()) {
+            result.put(shard.getRedisURI(), shard.getConnection());
+        }
+
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Void> addShard(RedisURI redisURI) {
+
+        LettuceAssert.notNull(redisURI, "RedisURI must not be null");
+
+        return redisClient.connectAsync(codec, redisURI).toCompletableFuture().thenCompose(connection -> {
+
+            if (getChannelWriter().addShard(redisURI, connection)) {
+                return CompletableFuture.<Void> completedFuture(null);
+            }
+
+            return connection.closeAsync().thenCompose(v -> Futures.<Void> failed(
+                    new RedisException(String.format("Cannot add shard %s: Shard exists or connection is closed", redisURI))));
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> removeShard(RedisURI redisURI) {
+
+        LettuceAssert.notNull(redisURI, "RedisURI must not be null");
+
+        Shard shard = getChannelWriter().removeShard(redisURI);
+
+        if (shard == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return shard.getConnection().closeAsync();
+    }
+
+    @Override
+    public ShardedChannelWriter getChannelWriter() {
+        return (ShardedChannelWriter) super.getChannelWriter();
+    }
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Client-side sharding of keys across independent Redis Standalone servers using consistent hashing.
+ */
+package io.lettuce.core.sharding;
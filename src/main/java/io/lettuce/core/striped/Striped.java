@@ -0,0 +1,147 @@
+package io.lettuce.core.striped;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionException;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.StatefulRedisConnectionImpl;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.internal.Exceptions;
+import io.lettuce.core.internal.Futures;
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Striped connection API.
+ * <p>
+ * A striped connection is a single logical {@link StatefulRedisConnection} that is backed by multiple connections (stripes) to
+ * the same Redis server. Each stripe uses its own channel and therefore its own event loop so that encoding and decoding of
+ * large replies scales beyond a single thread. Commands are assigned to stripes as follows:
+ *
+ * <ul>
+ * <li>Blocking commands such as {@code BLPOP} or {@code XREAD … BLOCK} are pinned to a dedicated stripe.</li>
+ * <li>Commands with a key are assigned to one of the remaining stripes by the hash slot of their first key. Commands for the
+ * same key (or the same hash tag) retain their order.</li>
+ * <li>Keyless commands are distributed round-robin across the remaining stripes.</li>
+ * </ul>
+ *
+ * Ordering is guaranteed only per key. Commands for different keys and keyless commands may be executed in a different order
+ * than they were issued. Connection state (database, credentials, protocol version) is configured through {@link RedisURI};
+ * commands that change connection state such as {@code SELECT}, {@code AUTH}, {@code CLIENT SETNAME} or
+ * {@code CLIENT TRACKING} are rejected. Transactions ({@code MULTI}, {@code EXEC}, {@code DISCARD}, {@code WATCH} and
+ * {@code UNWATCH}) are rejected as well and require a dedicated connection.
+ *
+ * <pre class="code">
+ * RedisClient client = RedisClient.create();
+ * StatefulRedisConnection&lt;String, String&gt; connection = Striped.connect(client, StringCodec.UTF8,
+ *         RedisURI.create(&quot;redis://localhost&quot;), 4);
+ * // ...
+ *
+ * connection.close();
+ * client.shutdown();
+ * </pre>
+ *
+ * @since 7.0
+ */
+public class Striped {
+
+    private Striped() {
+    }
+
+    /**
+     * Open a new striped connection to a Redis server using the supplied {@link RedisURI} and the supplied {@link RedisCodec
+     * codec} to encode/decode keys.
+     *
+     * @param redisClient the Redis client.
+     * @param codec Use this codec to encode/decode keys and values, must not be {@code null}.
+     * @param redisURI the Redis server to connect to, must not be {@code null}.
+     * @param stripes number of connections, must be greater or equal to {@code 2}.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return a new connection.
+     */
+    public static <K, V> StatefulRedisConnection<K, V> connect(RedisClient redisClient, RedisCodec<K, V> codec,
+            RedisURI redisURI, int stripes) {
+
+        try {
+            return connectAsync(redisClient, codec, redisURI, stripes).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw RedisConnectionException.create(redisURI.toString(), e);
+        } catch (ExecutionException e) {
+
+            if (e.getCause() instanceof RedisConnectionException) {
+                throw (RedisConnectionException) e.getCause();
+            }
+
+            throw RedisConnectionException.create(redisURI.toString(), e.getCause());
+        }
+    }
+
+    /**
+     * Open asynchronously a new striped connection to a Redis server using the supplied {@link RedisURI} and the supplied
+     * {@link RedisCodec codec} to encode/decode keys. Stripes that were connected successfully are closed if any stripe fails
+     * to connect.
+     *
+     * @param redisClient the Redis client.
+     * @param codec Use this codec to encode/decode keys and values, must not be {@code null}.
+     * @param redisURI the Redis server to connect to, must not be {@code null}.
+     * @param stripes number of connections, must be greater or equal to {@code 2}.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return {@link CompletableFuture} that is notified once the connect is finished.
+     */
+    public static <K, V> CompletableFuture<StatefulRedisConnection<K, V>> connectAsync(RedisClient redisClient,
+            RedisCodec<K, V> codec, RedisURI redisURI, int stripes) {
+
+        LettuceAssert.notNull(redisClient, "RedisClient must not be null");
+        LettuceAssert.notNull(codec, "RedisCodec must not be null");
+        LettuceAssert.notNull(redisURI, "RedisURI must not be null");
+        LettuceAssert.isTrue(stripes >= 2, "Stripes must be greater or equal to 2");
+
+        List<CompletableFuture<StatefulRedisConnection<K, V>>> futures = new ArrayList<>(stripes);
+
+        for (int i = 0; i < stripes; i++) {
+            futures.add(redisClient.connectAsync(codec, redisURI).toCompletableFuture());
+        }
+
+        CompletableFuture<StatefulRedisConnection<K, V>> result = new CompletableFuture<>();
+
+        Futures.allOf(futures).whenComplete((ignore, throwable) -> {
+
+            if (throwable != null) {
+                futures.forEach(future -> future.thenAccept(StatefulConnection::closeAsync));
+
+                Throwable cause = Exceptions.unwrap(throwable);
+                result.completeExceptionally(cause instanceof RedisConnectionException ? cause
+                        : RedisConnectionException.create(redisURI.toString(), cause));
+                return;
+            }
+
+            List<StatefulRedisConnection<K, V>> connections = new ArrayList<>(stripes);
+            futures.forEach(future -> connections.add(future.join()));
+
+            result.complete(createConnection(redisClient, codec, redisURI, connections));
+        });
+
+        return result;
+    }
+
+    private static <K, V> StatefulRedisConnection<K, V> createConnection(RedisClient redisClient, RedisCodec<K, V> codec,
+            RedisURI redisURI, List<StatefulRedisConnection<K, V>> connections) {
+
+        StripedChannelWriter channelWriter = new StripedChannelWriter(connections, redisClient.getResources());
+
+        StatefulRedisConnectionImpl<K, V> connection = new StatefulRedisConnectionImpl<>(channelWriter, channelWriter, codec,
+                redisURI.getTimeout(), redisClient.getOptions().getJsonParser());
+        connection.setOptions(redisClient.getOptions());
+
+        return connection;
+    }
+
+}
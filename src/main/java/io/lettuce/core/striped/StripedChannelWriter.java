@@ -0,0 +1,268 @@
+package io.lettuce.core.striped;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisChannelWriter;
+import io.lettuce.core.RedisException;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushListener;
+import io.lettuce.core.cluster.SlotHash;
+import io.lettuce.core.internal.Futures;
+import io.lettuce.core.internal.LettuceAssert;
+import io.lettuce.core.protocol.BlockingCommands;
+import io.lettuce.core.protocol.CommandArgsAccessor;
+import io.lettuce.core.protocol.CommandKeyword;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.ConnectionFacade;
+import io.lettuce.core.protocol.ProtocolKeyword;
+import io.lettuce.core.protocol.PushHandler;
+import io.lettuce.core.protocol.RedisCommand;
+import io.lettuce.core.resource.ClientResources;
+
+/**
+ * Channel writer that dispatches commands of a single logical connection to multiple stripes. The first stripe is dedicated
+ * to blocking commands, all other commands are assigned to the remaining stripes by the hash slot of their first key or
+ * round-robin if the command has no key. Commands that change the state of a single stripe (transactions, {@code SELECT},
+ * {@code CLIENT SETNAME} and alike) are rejected.
+ *
+ * @since 7.0
+ */
+class StripedChannelWriter implements RedisChannelWriter, PushHandler {
+
+    static final int DEDICATED_STRIPE = 0;
+
+    private static final Set<String> CONNECTION_STATE_COMMANDS = new HashSet<>(
+            Arrays.asList("AUTH", "HELLO", "READONLY", "READWRITE", "RESET", "SELECT"));
+
+    private static final Set<String> TRANSACTION_COMMANDS = new HashSet<>(
+            Arrays.asList("DISCARD", "EXEC", "MULTI", "UNWATCH", "WATCH"));
+
+    private static final ProtocolKeyword[] CONNECTION_STATE_CLIENT_SUBCOMMANDS = { CommandKeyword.CACHING,
+            CommandKeyword.SETINFO, CommandKeyword.SETNAME, CommandKeyword.TRACKING };
+
+    private final List<? extends StatefulRedisConnection<?, ?>> connections;
+
+    private final RedisChannelWriter[] stripes;
+
+    private final ClientResources clientResources;
+
+    private final AtomicInteger roundRobin = new AtomicInteger();
+
+    private final List<PushListener> pushListeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean closed = false;
+
+    StripedChannelWriter(List<? extends StatefulRedisConnection<?, ?>> connections, ClientResources clientResources) {
+
+        LettuceAssert.isTrue(connections.size() >= 2, "Striped connections require at least two stripes");
+
+        this.connections = connections;
+        this.stripes = new RedisChannelWriter[connections.size()];
+        this.clientResources = clientResources;
+
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = ((RedisChannelHandler<?, ?>) connections.get(i)).getChannelWriter();
+        }
+    }
+
+    @Override
+    public <K, V, T> RedisCommand<K, V, T> write(RedisCommand<K, V, T> command) {
+
+        LettuceAssert.notNull(command, "Command must not be null");
+
+        if (closed) {
+            throw new RedisException("Connection is closed");
+        }
+
+        RedisException unsupported = checkSupported(command);
+
+        if (unsupported != null) {
+            command.completeExceptionally(unsupported);
+            return command;
+        }
+
+        return stripes[getStripe(command)].write(command);
+    }
+
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public <K, V> Collection<RedisCommand<K, V, ?>> write(Collection<? extends RedisCommand<K, V, ?>> commands) {
+
+        LettuceAssert.notNull(commands, "Commands must not be null");
+
+        if (closed) {
+            throw new RedisException("Connection is closed");
+        }
+
+        List<RedisCommand<K, V, ?>>[] commandsPerStripe = new List[stripes.length];
+
+        for (RedisCommand<K, V, ?> command : commands) {
+
+            RedisException unsupported = checkSupported(command);
+
+            if (unsupported != null) {
+                command.completeExceptionally(unsupported);
+                continue;
+            }
+
+            int stripe = getStripe(command);
+
+            if (commandsPerStripe[stripe] == null) {
+                commandsPerStripe[stripe] = new ArrayList<>();
+            }
+
+            commandsPerStripe[stripe].add(command);
+        }
+
+        for (int i = 0; i < stripes.length; i++) {
+            if (commandsPerStripe[i] != null) {
+                stripes[i].write(commandsPerStripe[i]);
+            }
+        }
+
+        return (Collection) commands;
+    }
+
+    /**
+     * Determine the stripe for a {@link RedisCommand}. Blocking commands are pinned to the {@link #DEDICATED_STRIPE dedicated
+     * stripe}.
+     *
+     * @param command the command.
+     * @return the stripe index.
+     */
+    int getStripe(RedisCommand<?, ?, ?> command) {
+
+        if (BlockingCommands.isBlocking(command)) {
+            return DEDICATED_STRIPE;
+        }
+
+        int shared = stripes.length - 1;
+        ByteBuffer encodedKey = command.getArgs() != null ? command.getArgs().getFirstEncodedKey() : null;
+
+        if (encodedKey != null) {
+            return 1 + SlotHash.getSlot(encodedKey) % shared;
+        }
+
+        return 1 + Math.floorMod(roundRobin.getAndIncrement(), shared);
+    }
+
+    /**
+     * Check whether {@code command} can be dispatched to a stripe. Transactions and commands that change connection state
+     * apply only to the stripe that runs them, while subsequent commands may run on any stripe.
+     *
+     * @param command the command.
+     * @return the exception to complete the command with or {@code null} if the command is supported.
+     */
+    private static RedisException checkSupported(RedisCommand<?, ?, ?> command) {
+
+        String type = command.getType().toString();
+
+        if (TRANSACTION_COMMANDS.contains(type)) {
+            return new RedisException(String.format(
+                    "%s is not supported on striped connections. Use a dedicated connection for transactions instead.",
+                    type));
+        }
+
+        if (CONNECTION_STATE_COMMANDS.contains(type) || isConnectionStateClientCommand(command)) {
+            return new RedisException(String.format(
+                    "%s is not supported on striped connections. Configure connection state through RedisURI instead.",
+                    type));
+        }
+
+        return null;
+    }
+
+    private static boolean isConnectionStateClientCommand(RedisCommand<?, ?, ?> command) {
+
+        if (command.getType() != CommandType.CLIENT || command.getArgs() == null) {
+            return false;
+        }
+
+        for (ProtocolKeyword subcommand : CONNECTION_STATE_CLIENT_SUBCOMMANDS) {
+            if (CommandArgsAccessor.containsKeyword(command.getArgs(), subcommand)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public void close() {
+        closeAsync().join();
+    }
+
+    @Override
+    public CompletableFuture<Void> closeAsync() {
+
+        if (closed) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        closed = true;
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(connections.size());
+        connections.forEach(connection -> futures.add(connection.closeAsync()));
+
+        return Futures.allOf(futures);
+    }
+
+    @Override
+    public void setConnectionFacade(ConnectionFacade connection) {
+    }
+
+    @Override
+    public ClientResources getClientResources() {
+        return clientResources;
+    }
+
+    @Override
+    public void setAutoFlushCommands(boolean autoFlush) {
+
+        for (RedisChannelWriter stripe : stripes) {
+            stripe.setAutoFlushCommands(autoFlush);
+        }
+    }
+
+    @Override
+    public void flushCommands() {
+
+        for (RedisChannelWriter stripe : stripes) {
+            stripe.flushCommands();
+        }
+    }
+
+    @Override
+    public void addListener(PushListener listener) {
+
+        LettuceAssert.notNull(listener, "PushListener must not be null");
+
+        pushListeners.add(listener);
+        connections.forEach(connection -> connection.addListener(listener));
+    }
+
+    @Override
+    public void removeListener(PushListener listener) {
+
+        LettuceAssert.notNull(listener, "PushListener must not be null");
+
+        pushListeners.remove(listener);
+        connections.forEach(connection -> connection.removeListener(listener));
+    }
+
+    @Override
+    public Collection<PushListener> getPushListeners() {
+        return pushListeners;
+    }
+
+}
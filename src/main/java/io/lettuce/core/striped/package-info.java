@@ -0,0 +1,16 @@
+/**
+ * Client support for striped connections. {@link io.lettuce.core.striped.Striped} spreads commands of a single logical
+ * connection across multiple channels to the same Redis server so that decoding is not limited by a single event loop.
+ *
+ * <pre class="code">
+ *
+ * RedisClient client = RedisClient.create();
+ * StatefulRedisConnection<String, String> connection = Striped.connect(client, StringCodec.UTF8,
+ *         RedisURI.create("redis://localhost"), 4);
+ * // ...
+ *
+ * connection.close();
+ * client.shutdown();
+ * </pre>
+ */
+package io.lettuce.core.striped;
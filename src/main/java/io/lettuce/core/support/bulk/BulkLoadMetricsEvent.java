@@ -0,0 +1,108 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.support.bulk;
+
+import java.time.Duration;
+
+import io.lettuce.core.event.Event;
+
+/**
+ * Event that transports {@link BulkLoader} metrics collected over a reporting interval. Counters reflect activity since the
+ * previous event.
+ *
+ * @since 7.0
+ */
+public class BulkLoadMetricsEvent implements Event {
+
+    private final Duration interval;
+
+    private final long submitted;
+
+    private final long completed;
+
+    private final long failed;
+
+    private final long inFlight;
+
+    public BulkLoadMetricsEvent(Duration interval, long submitted, long completed, long failed, long inFlight) {
+        this.interval = interval;
+        this.submitted = submitted;
+        this.completed = completed;
+        this.failed = failed;
+        this.inFlight = inFlight;
+    }
+
+    /**
+     * @return the reporting interval.
+     */
+    public Duration getInterval() {
+        return interval;
+    }
+
+    /**
+     * @return number of commands submitted to the loader within the interval.
+     */
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    /**
+     * @return number of commands that completed successfully within the interval.
+     */
+    public long getCompleted() {
+        return completed;
+    }
+
+    /**
+     * @return number of commands that failed within the interval.
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return number of commands that were submitted but not yet completed at the end of the interval, including buffered
+     *         commands.
+     */
+    public long getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * @return completed and failed commands per second within the interval.
+     */
+    public double getThroughput() {
+        return interval.isZero() ? 0 : (completed + failed) * 1_000_000_000d / interval.toNanos();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [interval=").append(interval);
+        sb.append(", submitted=").append(submitted);
+        sb.append(", completed=").append(completed);
+        sb.append(", failed=").append(failed);
+        sb.append(", inFlight=").append(inFlight);
+        sb.append(']');
+        return sb.toString();
+    }
+
+}
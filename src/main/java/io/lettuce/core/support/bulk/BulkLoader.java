@@ -0,0 +1,697 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.support.bulk;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.RedisCommandInterruptedException;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.cluster.SlotHash;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.internal.ExceptionFactory;
+import io.lettuce.core.internal.LettuceAssert;
+import io.lettuce.core.output.VoidOutput;
+import io.lettuce.core.protocol.Command;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandArgsAccessor;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.CompleteableCommand;
+import io.lettuce.core.protocol.ProtocolKeyword;
+import io.lettuce.core.protocol.RedisCommand;
+import io.lettuce.core.resource.ClientResources;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+/**
+ * Pipelined bulk loader that writes a stream of commands while keeping a bounded window of in-flight commands. Commands are
+ * buffered and written as one batch once {@link Builder#batchSize(int) batchSize} commands or
+ * {@link Builder#batchBytes(long) batchBytes} encoded bytes are buffered. At most {@link Builder#windowSize(int) windowSize}
+ * commands are buffered or in flight per connection. With Redis Cluster, commands are grouped and windowed per upstream node
+ * that serves the slot of the first key; redirections are followed by the cluster connection.
+ * <p>
+ * Commands do not allocate a future. Failures are reported to the {@link Builder#onFailure(BiConsumer) failure handler}, which
+ * is called on the I/O thread and must not block. Metrics are published periodically as {@link BulkLoadMetricsEvent} on the
+ * {@link ClientResources#eventBus() event bus}.
+ * <p>
+ * Submitting a command blocks the calling thread while the window is full. Do not use a {@link BulkLoader} from an I/O thread.
+ * The connection is not closed by {@link #close()}.
+ *
+ * <pre class="code">
+ * try (BulkLoader&lt;String, String&gt; loader = BulkLoader.builder(connection, StringCodec.UTF8)
+ *         .onFailure((command, e) -&gt; failures.add(command)).build()) {
+ *     source.forEach(it -&gt; loader.set(it.getKey(), it.getValue()));
+ * }
+ * </pre>
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @since 7.0
+ */
+public class BulkLoader<K, V> implements Closeable {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(BulkLoader.class);
+
+    private final StatefulConnection<K, V> connection;
+
+    private final StatefulRedisClusterConnection<K, V> clusterConnection;
+
+    private final RedisCodec<K, V> codec;
+
+    private final BiConsumer<? super RedisCommand<K, V, ?>, ? super Throwable> failureHandler;
+
+    private final int windowSize;
+
+    private final int batchSize;
+
+    private final long batchBytes;
+
+    private final Window<K, V> defaultWindow;
+
+    private final Map<String, Window<K, V>> windows = new ConcurrentHashMap<>();
+
+    private final LongAdder submitted = new LongAdder();
+
+    private final LongAdder completed = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final AtomicBoolean open = new AtomicBoolean(true);
+
+    private final Future<?> metricsTask;
+
+    private long lastMetricsNanos;
+
+    private long lastSubmitted;
+
+    private long lastCompleted;
+
+    private long lastFailed;
+
+    private BulkLoader(Builder<K, V> builder) {
+
+        this.connection = builder.connection;
+        this.clusterConnection = builder.clusterConnection;
+        this.codec = builder.codec;
+        this.failureHandler = builder.failureHandler;
+        this.windowSize = builder.windowSize;
+        this.batchSize = builder.batchSize;
+        this.batchBytes = builder.batchBytes;
+        this.defaultWindow = new Window<>(this);
+        this.lastMetricsNanos = System.nanoTime();
+
+        if (builder.metricsInterval.isZero()) {
+            this.metricsTask = null;
+        } else {
+            this.metricsTask = connection.getResources().eventExecutorGroup().scheduleAtFixedRate(this::publishMetrics,
+                    builder.metricsInterval.toNanos(), builder.metricsInterval.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Create a new {@link Builder} for a {@link BulkLoader} using a Redis Standalone connection.
+     *
+     * @param connection the connection, must not be {@code null}.
+     * @param codec the codec used by the connection, must not be {@code null}.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return a new {@link Builder}.
+     */
+    public static <K, V> Builder<K, V> builder(StatefulRedisConnection<K, V> connection, RedisCodec<K, V> codec) {
+
+        LettuceAssert.notNull(connection, "Connection must not be null");
+
+        return new Builder<>(connection, null, codec);
+    }
+
+    /**
+     * Create a new {@link Builder} for a {@link BulkLoader} using a Redis Cluster connection. Commands are windowed per
+     * upstream node.
+     *
+     * @param connection the connection, must not be {@code null}.
+     * @param codec the codec used by the connection, must not be {@code null}.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return a new {@link Builder}.
+     */
+    public static <K, V> Builder<K, V> builder(StatefulRedisClusterConnection<K, V> connection, RedisCodec<K, V> codec) {
+
+        LettuceAssert.notNull(connection, "Connection must not be null");
+
+        return new Builder<>(connection, connection, codec);
+    }
+
+    /**
+     * Submit {@code SET key value}. Blocks while the window is full.
+     *
+     * @param key the key, must not be {@code null}.
+     * @param value the value.
+     */
+    public void set(K key, V value) {
+
+        LettuceAssert.notNull(key, "Key must not be null");
+
+        add(CommandType.SET, new CommandArgs<>(codec).addKey(key).addValue(value));
+    }
+
+    /**
+     * Submit {@code SET key value} for each {@link KeyValue}. Empty {@link KeyValue}s are skipped. Blocks while the window is
+     * full.
+     *
+     * @param keyValues the key-values, must not be {@code null}.
+     */
+    public void setAll(Stream<? extends KeyValue<K, V>> keyValues) {
+
+        LettuceAssert.notNull(keyValues, "Key-values must not be null");
+
+        keyValues.forEachOrdered(it -> {
+            if (it.hasValue()) {
+                set(it.getKey(), it.getValue());
+            }
+        });
+    }
+
+    /**
+     * Submit a command. The reply is discarded, error replies are reported to the failure handler. Blocks while the window is
+     * full.
+     *
+     * @param type the command type, must not be {@code null}.
+     * @param args the command arguments, must not be {@code null}.
+     */
+    public void add(ProtocolKeyword type, CommandArgs<K, V> args) {
+
+        LettuceAssert.notNull(type, "Command type must not be null");
+        LettuceAssert.notNull(args, "CommandArgs must not be null");
+        LettuceAssert.assertState(open.get(), "BulkLoader is closed");
+
+        Window<K, V> window = getWindow(args);
+        window.add(new BulkCommand<>(type, new VoidOutput<>(codec), args, window), CommandArgsAccessor.estimateSize(args));
+    }
+
+    /**
+     * Write all buffered commands without waiting for their completion.
+     */
+    public void flush() {
+
+        defaultWindow.flush();
+        windows.values().forEach(Window::flush);
+    }
+
+    /**
+     * Write all buffered commands and wait until all submitted commands have completed.
+     *
+     * @param timeout the maximum time to wait, must not be {@code null}.
+     * @return {@code true} if all submitted commands have completed; {@code false} if the timeout elapsed.
+     */
+    public boolean await(Duration timeout) {
+
+        LettuceAssert.notNull(timeout, "Timeout must not be null");
+
+        flush();
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        if (!defaultWindow.await(deadline - System.nanoTime())) {
+            return false;
+        }
+
+        for (Window<K, V> window : windows.values()) {
+            if (!window.await(deadline - System.nanoTime())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Write all buffered commands, wait until all submitted commands have completed and stop publishing metrics. A final
+     * {@link BulkLoadMetricsEvent} is published if metrics are enabled. The connection is not closed.
+     */
+    @Override
+    public void close() {
+
+        if (!open.compareAndSet(true, false)) {
+            return;
+        }
+
+        await(Duration.ofNanos(Long.MAX_VALUE));
+
+        if (metricsTask != null) {
+            metricsTask.cancel(false);
+            publishMetrics();
+        }
+    }
+
+    /**
+     * @return total number of submitted commands.
+     */
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    /**
+     * @return total number of commands that completed successfully.
+     */
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /**
+     * @return total number of failed commands.
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * @return number of submitted commands that did not complete yet, including buffered commands.
+     */
+    public long getInFlight() {
+        return submitted.sum() - completed.sum() - failed.sum();
+    }
+
+    private Window<K, V> getWindow(CommandArgs<K, V> args) {
+
+        if (clusterConnection == null) {
+            return defaultWindow;
+        }
+
+        ByteBuffer encodedKey = CommandArgsAccessor.encodeFirstKey(args);
+
+        if (encodedKey == null) {
+            return defaultWindow;
+        }
+
+        RedisClusterNode upstream = clusterConnection.getPartitions().getMasterBySlot(SlotHash.getSlot(encodedKey));
+
+        if (upstream == null || upstream.getNodeId() == null) {
+            return defaultWindow;
+        }
+
+        return windows.computeIfAbsent(upstream.getNodeId(), it -> new Window<>(this));
+    }
+
+    private void dispatch(List<RedisCommand<K, V, ?>> batch) {
+
+        try {
+            connection.dispatch(batch);
+        } catch (RuntimeException e) {
+            batch.forEach(it -> it.completeExceptionally(e));
+        }
+    }
+
+    private void onComplete(BulkCommand<K, V> command, Throwable error) {
+
+        if (error == null) {
+            completed.increment();
+            return;
+        }
+
+        failed.increment();
+
+        try {
+            failureHandler.accept(command, error);
+        } catch (Exception e) {
+            logger.warn("Failure handler of " + command.getType() + " failed", e);
+        }
+    }
+
+    private synchronized void publishMetrics() {
+
+        long now = System.nanoTime();
+        Duration interval = Duration.ofNanos(now - lastMetricsNanos);
+        lastMetricsNanos = now;
+
+        long failed = this.failed.sum();
+        long completed = this.completed.sum();
+        long submitted = this.submitted.sum();
+
+        BulkLoadMetricsEvent event = new BulkLoadMetricsEvent(interval, submitted - lastSubmitted, completed - lastCompleted,
+                failed - lastFailed, submitted - completed - failed);
+
+        lastSubmitted = submitted;
+        lastCompleted = completed;
+        lastFailed = failed;
+
+        connection.getResources().eventBus().publish(event);
+    }
+
+    /**
+     * Per-endpoint buffer and window of in-flight commands. A permit is taken for each buffered or in-flight command and
+     * returned on command completion.
+     */
+    static class Window<K, V> {
+
+        private final BulkLoader<K, V> loader;
+
+        private final Semaphore permits;
+
+        private List<RedisCommand<K, V, ?>> buffer;
+
+        private long bufferedBytes;
+
+        Window(BulkLoader<K, V> loader) {
+            this.loader = loader;
+            this.permits = new Semaphore(loader.windowSize);
+            this.buffer = new ArrayList<>(loader.batchSize);
+        }
+
+        void add(BulkCommand<K, V> command, long size) {
+
+            if (!permits.tryAcquire()) {
+
+                // buffered commands hold permits as well so write them before waiting for completions
+                flush();
+
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RedisCommandInterruptedException(e);
+                }
+            }
+
+            loader.submitted.increment();
+
+            synchronized (this) {
+
+                buffer.add(command);
+                bufferedBytes += size;
+
+                if (buffer.size() >= loader.batchSize || bufferedBytes >= loader.batchBytes) {
+                    dispatchBuffer();
+                }
+            }
+        }
+
+        synchronized void flush() {
+
+            if (!buffer.isEmpty()) {
+                dispatchBuffer();
+            }
+        }
+
+        private void dispatchBuffer() {
+
+            List<RedisCommand<K, V, ?>> batch = buffer;
+            buffer = new ArrayList<>(loader.batchSize);
+            bufferedBytes = 0;
+
+            loader.dispatch(batch);
+        }
+
+        boolean await(long timeoutNanos) {
+
+            try {
+                if (!permits.tryAcquire(loader.windowSize, Math.max(timeoutNanos, 0), TimeUnit.NANOSECONDS)) {
+                    return false;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RedisCommandInterruptedException(e);
+            }
+
+            permits.release(loader.windowSize);
+            return true;
+        }
+
+        void release(BulkCommand<K, V> command, Throwable error) {
+
+            permits.release();
+            loader.onComplete(command, error);
+        }
+
+    }
+
+    /**
+     * Command that discards its reply and reports completion to its {@link Window} instead of completing a future.
+     */
+    static class BulkCommand<K, V> extends Command<K, V, Void> implements CompleteableCommand<Void> {
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<BulkCommand> COMPLETION = AtomicIntegerFieldUpdater
+                .newUpdater(BulkCommand.class, "completion");
+
+        private final Window<K, V> window;
+
+        private volatile int completion;
+
+        private List<BiConsumer<? super Void, Throwable>> callbacks;
+
+        private boolean notified;
+
+        private Throwable failure;
+
+        BulkCommand(ProtocolKeyword type, VoidOutput<K, V> output, CommandArgs<K, V> args, Window<K, V> window) {
+            super(type, output, args);
+            this.window = window;
+        }
+
+        @Override
+        public void complete() {
+
+            if (!COMPLETION.compareAndSet(this, 0, 1)) {
+                return;
+            }
+
+            super.complete();
+            notifyCompletion(getOutput().hasError() ? ExceptionFactory.createExecutionException(getOutput().getError()) : null);
+        }
+
+        @Override
+        public boolean completeExceptionally(Throwable throwable) {
+
+            if (!COMPLETION.compareAndSet(this, 0, 1)) {
+                return false;
+            }
+
+            super.completeExceptionally(throwable);
+            notifyCompletion(throwable);
+            return true;
+        }
+
+        @Override
+        public void cancel() {
+
+            if (!COMPLETION.compareAndSet(this, 0, 1)) {
+                return;
+            }
+
+            super.cancel();
+            notifyCompletion(new CancellationException());
+        }
+
+        private void notifyCompletion(Throwable error) {
+
+            window.release(this, error);
+
+            List<BiConsumer<? super Void, Throwable>> callbacks;
+
+            synchronized (this) {
+                callbacks = this.callbacks;
+                this.callbacks = null;
+                this.failure = error;
+                this.notified = true;
+            }
+
+            if (callbacks != null) {
+                callbacks.forEach(it -> it.accept(null, error));
+            }
+        }
+
+        @Override
+        public void onComplete(Consumer<? super Void> action) {
+
+            onComplete((result, error) -> {
+                if (error == null) {
+                    action.accept(result);
+                }
+            });
+        }
+
+        @Override
+        public void onComplete(BiConsumer<? super Void, Throwable> action) {
+
+            Throwable error;
+
+            synchronized (this) {
+
+                if (!notified) {
+
+                    if (callbacks == null) {
+                        callbacks = new ArrayList<>(2);
+                    }
+
+                    callbacks.add(action);
+                    return;
+                }
+
+                error = failure;
+            }
+
+            action.accept(null, error);
+        }
+
+    }
+
+    /**
+     * Builder for {@link BulkLoader}.
+     */
+    public static class Builder<K, V> {
+
+        private final StatefulConnection<K, V> connection;
+
+        private final StatefulRedisClusterConnection<K, V> clusterConnection;
+
+        private final RedisCodec<K, V> codec;
+
+        private BiConsumer<? super RedisCommand<K, V, ?>, ? super Throwable> failureHandler = (command, e) -> {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Bulk load command " + command.getType() + " failed", e);
+            }
+        };
+
+        private int windowSize = 1000;
+
+        private int batchSize = 100;
+
+        private long batchBytes = 64 * 1024;
+
+        private Duration metricsInterval = Duration.ofSeconds(10);
+
+        private Builder(StatefulConnection<K, V> connection, StatefulRedisClusterConnection<K, V> clusterConnection,
+                RedisCodec<K, V> codec) {
+
+            LettuceAssert.notNull(codec, "RedisCodec must not be null");
+
+            this.connection = connection;
+            this.clusterConnection = clusterConnection;
+            this.codec = codec;
+        }
+
+        /**
+         * Configure the maximum number of buffered and in-flight commands per connection or, with Redis Cluster, per upstream
+         * node. Defaults to {@code 1000}.
+         *
+         * @param windowSize the window size.
+         * @return {@code this} {@link Builder}.
+         */
+        public Builder<K, V> windowSize(int windowSize) {
+
+            LettuceAssert.isTrue(windowSize > 0, "Window size must be greater zero");
+
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * Configure the number of commands that are written as one batch. Defaults to {@code 100}.
+         *
+         * @param batchSize the batch size.
+         * @return {@code this} {@link Builder}.
+         */
+        public Builder<K, V> batchSize(int batchSize) {
+
+            LettuceAssert.isTrue(batchSize > 0, "Batch size must be greater zero");
+
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Configure the estimated number of encoded bytes after which buffered commands are written as one batch regardless of
+         * the {@link #batchSize(int) batch size}. Defaults to {@code 64 KiB}.
+         *
+         * @param batchBytes the batch size in bytes.
+         * @return {@code this} {@link Builder}.
+         */
+        public Builder<K, V> batchBytes(long batchBytes) {
+
+            LettuceAssert.isTrue(batchBytes > 0, "Batch bytes must be greater zero");
+
+            this.batchBytes = batchBytes;
+            return this;
+        }
+
+        /**
+         * Configure the handler for failed commands. The handler is called with the failed command and the failure on the I/O
+         * thread and must not block. Defaults to logging failures at debug level. Failures are counted regardless of the
+         * handler.
+         *
+         * @param failureHandler the failure handler.
+         * @return {@code this} {@link Builder}.
+         */
+        public Builder<K, V> onFailure(BiConsumer<? super RedisCommand<K, V, ?>, ? super Throwable> failureHandler) {
+
+            LettuceAssert.notNull(failureHandler, "Failure handler must not be null");
+
+            this.failureHandler = failureHandler;
+            return this;
+        }
+
+        /**
+         * Configure the interval to publish {@link BulkLoadMetricsEvent}s. {@link Duration#ZERO} disables metrics. Defaults
+         * to {@code 10 seconds}.
+         *
+         * @param metricsInterval the metrics interval.
+         * @return {@code this} {@link Builder}.
+         */
+        public Builder<K, V> metricsInterval(Duration metricsInterval) {
+
+            LettuceAssert.notNull(metricsInterval, "Metrics interval must not be null");
+            LettuceAssert.isTrue(!metricsInterval.isNegative(), "Metrics interval must not be negative");
+
+            this.metricsInterval = metricsInterval;
+            return this;
+        }
+
+        /**
+         * @return a new {@link BulkLoader}.
+         */
+        public BulkLoader<K, V> build() {
+
+            LettuceAssert.isTrue(windowSize >= batchSize, "Window size must be greater or equal to batch size");
+
+            return new BulkLoader<>(this);
+        }
+
+    }
+
+}
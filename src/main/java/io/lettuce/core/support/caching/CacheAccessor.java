@@ -1,5 +1,6 @@
 package io.lettuce.core.support.caching;
 
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -36,6 +37,18 @@ public interface CacheAccessor<K, V> {
      */
     V get(K key);
 
+    /**
+     * Return whether this cache contains a mapping for the specified key. Implementations should not consider the lookup an
+     * access for their eviction policy.
+     *
+     * @param key the key whose presence is to be checked.
+     * @return {@code true} if the cache contains a mapping for this key.
+     * @since 7.0
+     */
+    default boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
     /**
      * Associate the specified value with the specified key in this cache.
      * <p>
@@ -59,4 +72,20 @@ public interface CacheAccessor<K, V> {
      */
     void evict(K key);
 
+    /**
+     * Evict the mappings for all {@code keys} from this cache if they are present.
+     * <p>
+     * Actual eviction may be performed in an asynchronous or deferred fashion, with subsequent lookups possibly still seeing
+     * the entries.
+     *
+     * @param keys the keys whose mappings are to be removed from the cache.
+     * @since 7.0
+     */
+    default void evictAll(Collection<? extends K> keys) {
+
+        for (K key : keys) {
+            evict(key);
+        }
+    }
+
 }
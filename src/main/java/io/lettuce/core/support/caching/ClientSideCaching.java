@@ -1,9 +1,16 @@
 package io.lettuce.core.support.caching;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 
 import io.lettuce.core.StatefulRedisConnectionImpl;
 import io.lettuce.core.TrackingArgs;
@@ -35,12 +42,32 @@ import io.lettuce.core.codec.RedisCodec;
  */
 public class ClientSideCaching<K, V> implements CacheFrontend<K, V> {
 
+    private static final int MIN_PRUNE_THRESHOLD = 1024;
+
     private final CacheAccessor<K, V> cacheAccessor;
 
     private final RedisCache<K, V> redisCache;
 
     private final List<Consumer<K>> invalidationListeners = new CopyOnWriteArrayList<>();
 
+    private final List<Consumer<? super Collection<K>>> batchInvalidationListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Current cache generation. A full invalidation starts a new generation instead of clearing the client-side cache.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Generation in which each locally cached key was cached. Entries of previous generations and entries without a generation
+     * are evicted lazily when read. The map is cleared on full invalidations and keys evicted by the {@link CacheAccessor} on
+     * its own are pruned periodically.
+     */
+    private final Map<K, Long> generations = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean pruning = new AtomicBoolean();
+
+    private volatile int pruneThreshold = MIN_PRUNE_THRESHOLD;
+
     private ClientSideCaching(CacheAccessor<K, V> cacheAccessor, RedisCache<K, V> redisCache) {
         this.cacheAccessor = cacheAccessor;
         this.redisCache = redisCache;
@@ -84,28 +111,75 @@ public class ClientSideCaching<K, V> implements CacheFrontend<K, V> {
      */
     public static <K, V> CacheFrontend<K, V> create(CacheAccessor<K, V> cacheAccessor,
             StatefulRedisConnection<K, V> connection) {
+        return create(cacheAccessor, connection, Duration.ZERO);
+    }
+
+    /**
+     * Create a server-assisted Client side caching for the given {@link CacheAccessor} and {@link StatefulRedisConnection}
+     * that coalesces invalidations received within {@code invalidationWindow} into a single eviction. This method expects that
+     * client key tracking is already configured.
+     * <p>
+     * Note that the {@link CacheFrontend} is associated with a Redis connection. Make sure to {@link CacheFrontend#close()
+     * close} the frontend object to release the Redis connection after use.
+     *
+     * @param cacheAccessor the accessor used to interact with the client-side cache.
+     * @param connection the Redis connection to use. The connection will be associated with {@link CacheFrontend} and must be
+     *        closed through {@link CacheFrontend#close()}.
+     * @param invalidationWindow the window to coalesce invalidations, {@link Duration#ZERO} to evict keys for each
+     *        invalidation message.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return the {@link CacheFrontend} for value retrieval.
+     * @since 7.0
+     */
+    public static <K, V> CacheFrontend<K, V> create(CacheAccessor<K, V> cacheAccessor, StatefulRedisConnection<K, V> connection,
+            Duration invalidationWindow) {
 
         StatefulRedisConnectionImpl<K, V> connectionImpl = (StatefulRedisConnectionImpl) connection;
         RedisCodec<K, V> codec = connectionImpl.getCodec();
-        RedisCache<K, V> redisCache = new DefaultRedisCache<>(connection, codec);
+        RedisCache<K, V> redisCache = new DefaultRedisCache<>(connection, codec, invalidationWindow);
 
         return create(cacheAccessor, redisCache);
     }
 
-    private static <K, V> CacheFrontend<K, V> create(CacheAccessor<K, V> cacheAccessor, RedisCache<K, V> redisCache) {
+    static <K, V> CacheFrontend<K, V> create(CacheAccessor<K, V> cacheAccessor, RedisCache<K, V> redisCache) {
 
         ClientSideCaching<K, V> caching = new ClientSideCaching<>(cacheAccessor, redisCache);
 
-        redisCache.addInvalidationListener(caching::notifyInvalidate);
-        caching.addInvalidationListener(cacheAccessor::evict);
+        redisCache.addBatchInvalidationListener(caching::notifyInvalidate);
 
         return caching;
     }
 
-    private void notifyInvalidate(K key) {
+    private void notifyInvalidate(Collection<K> keys) {
+
+        if (keys == null) {
+
+            generation.incrementAndGet();
+            generations.clear();
+
+            for (Consumer<K> invalidationListener : invalidationListeners) {
+                invalidationListener.accept(null);
+            }
+        } else {
+
+            cacheAccessor.evictAll(keys);
+
+            for (K key : keys) {
+                generations.remove(key);
+            }
+
+            if (!invalidationListeners.isEmpty()) {
+                for (K key : keys) {
+                    for (Consumer<K> invalidationListener : invalidationListeners) {
+                        invalidationListener.accept(key);
+                    }
+                }
+            }
+        }
 
-        for (java.util.function.Consumer<K> invalidationListener : invalidationListeners) {
-            invalidationListener.accept(key);
+        for (Consumer<? super Collection<K>> invalidationListener : batchInvalidationListeners) {
+            invalidationListener.accept(keys);
         }
     }
 
@@ -114,20 +188,40 @@ public class ClientSideCaching<K, V> implements CacheFrontend<K, V> {
         redisCache.close();
     }
 
+    /**
+     * Register a {@code invalidationListener} that is notified for each invalidated key. The listener is notified with
+     * {@code null} if all keys were invalidated, for example after {@code FLUSHALL}.
+     *
+     * @param invalidationListener the listener to notify.
+     */
     public void addInvalidationListener(java.util.function.Consumer<K> invalidationListener) {
         invalidationListeners.add(invalidationListener);
     }
 
+    /**
+     * Register a {@code invalidationListener} that is notified with batches of invalidated keys. The listener is notified with
+     * {@code null} if all keys were invalidated, for example after {@code FLUSHALL}.
+     *
+     * @param invalidationListener the listener to notify.
+     * @since 7.0
+     */
+    public void addBatchInvalidationListener(Consumer<? super Collection<K>> invalidationListener) {
+        batchInvalidationListeners.add(invalidationListener);
+    }
+
     @Override
     public V get(K key) {
 
-        V value = cacheAccessor.get(key);
+        V value = getLocal(key);
 
         if (value == null) {
+
+            LongSupplier sequence = redisCache.getInvalidationSequence(key);
+            long expected = sequence.getAsLong();
             value = redisCache.get(key);
 
             if (value != null) {
-                cacheAccessor.put(key, value);
+                putIfNotInvalidated(key, value, sequence, expected);
             }
         }
 
@@ -137,9 +231,12 @@ public class ClientSideCaching<K, V> implements CacheFrontend<K, V> {
     @Override
     public V get(K key, Callable<V> valueLoader) {
 
-        V value = cacheAccessor.get(key);
+        V value = getLocal(key);
 
         if (value == null) {
+
+            LongSupplier sequence = redisCache.getInvalidationSequence(key);
+            long expected = sequence.getAsLong();
             value = redisCache.get(key);
 
             if (value == null) {
@@ -161,10 +258,85 @@ public class ClientSideCaching<K, V> implements CacheFrontend<K, V> {
                 redisCache.get(key);
             }
 
-            cacheAccessor.put(key, value);
+            putIfNotInvalidated(key, value, sequence, expected);
+        }
+
+        return value;
+    }
+
+    /**
+     * Obtain a value from the client-side cache. Values cached before the last full invalidation are evicted.
+     */
+    private V getLocal(K key) {
+
+        V value = cacheAccessor.get(key);
+
+        if (value == null) {
+            return null;
+        }
+
+        Long cachedIn = generations.get(key);
+
+        if (cachedIn == null || cachedIn != generation.get()) {
+
+            cacheAccessor.evict(key);
+
+            if (cachedIn != null) {
+                generations.remove(key, cachedIn);
+            }
+
+            return null;
         }
 
         return value;
     }
 
+    /**
+     * Cache {@code value} unless an invalidation for {@code key} was received after {@code expected} was obtained. The sequence
+     * is checked again after caching the value to evict it if an invalidation was received concurrently.
+     */
+    private void putIfNotInvalidated(K key, V value, LongSupplier sequence, long expected) {
+
+        if (sequence.getAsLong() != expected) {
+            return;
+        }
+
+        // record the generation first so concurrent readers do not consider the entry stale
+        generations.put(key, generation.get());
+        cacheAccessor.put(key, value);
+
+        if (sequence.getAsLong() != expected) {
+            cacheAccessor.evict(key);
+            generations.remove(key);
+        }
+
+        pruneGenerations();
+    }
+
+    /**
+     * Remove the generations of keys that are no longer cached, for example because the {@link CacheAccessor} evicted them
+     * through a size limit. Pruning runs once the number of tracked keys doubled since the last run so that its cost is
+     * amortized across puts. A key that is pruned while being cached concurrently is considered stale and loaded again.
+     */
+    private void pruneGenerations() {
+
+        if (generations.size() < pruneThreshold || !pruning.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            generations.keySet().removeIf(key -> !cacheAccessor.containsKey(key));
+            pruneThreshold = Math.max(MIN_PRUNE_THRESHOLD, generations.size() * 2);
+        } finally {
+            pruning.set(false);
+        }
+    }
+
+    /**
+     * @return the number of keys whose generation is tracked.
+     */
+    int getTrackedKeyCount() {
+        return generations.size();
+    }
+
 }
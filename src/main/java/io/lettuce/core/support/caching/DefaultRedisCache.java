@@ -1,12 +1,34 @@
 package io.lettuce.core.support.caching;
 
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 
 import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushListener;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.cluster.SlotHash;
 import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.internal.LettuceAssert;
 
 /**
  * Default {@link RedisCache} implementation using {@code GET} and {@code SET} operations to map cache values to top-level keys.
+ * <p>
+ * Batch invalidation listeners are notified once per {@code invalidate} push message. If an invalidation window is configured,
+ * invalidations received within the window are coalesced into a single notification.
+ * <p>
+ * Invalidation sequences are tracked per hash slot and incremented as soon as an {@code invalidate} push message is received,
+ * regardless of the invalidation window. A full invalidation increments the sequence of all keys.
  *
  * @param <K> Key type.
  * @param <V> Value type.
@@ -17,9 +39,48 @@ class DefaultRedisCache<K, V> implements RedisCache<K, V> {
 
     private final RedisCodec<K, V> codec;
 
+    private final Duration invalidationWindow;
+
+    private final List<Consumer<? super Collection<K>>> batchInvalidationListeners = new CopyOnWriteArrayList<>();
+
+    private final PushListener invalidationPushListener = this::onPushMessage;
+
+    private final AtomicLongArray slotSequences = new AtomicLongArray(SlotHash.SLOT_COUNT);
+
+    private final AtomicLong flushSequence = new AtomicLong();
+
+    // guarded by this
+    private Set<K> pendingInvalidations = new LinkedHashSet<>();
+
+    // guarded by this
+    private boolean pendingFlush;
+
+    // guarded by this
+    private boolean deliveryScheduled;
+
     public DefaultRedisCache(StatefulRedisConnection<K, V> connection, RedisCodec<K, V> codec) {
+        this(connection, codec, Duration.ZERO);
+    }
+
+    /**
+     * Create a new {@link DefaultRedisCache} coalescing invalidations received within {@code invalidationWindow}.
+     *
+     * @param connection the Redis connection.
+     * @param codec the codec to decode invalidated keys.
+     * @param invalidationWindow the window to coalesce invalidations, {@link Duration#ZERO} to notify batch listeners for each
+     *        invalidation message.
+     * @since 7.0
+     */
+    public DefaultRedisCache(StatefulRedisConnection<K, V> connection, RedisCodec<K, V> codec, Duration invalidationWindow) {
+
+        LettuceAssert.notNull(invalidationWindow, "Invalidation window must not be null");
+        LettuceAssert.isTrue(!invalidationWindow.isNegative(), "Invalidation window must not be negative");
+
         this.connection = connection;
         this.codec = codec;
+        this.invalidationWindow = invalidationWindow;
+
+        connection.addListener(invalidationPushListener);
     }
 
     @Override
@@ -40,11 +101,103 @@ class DefaultRedisCache<K, V> implements RedisCache<K, V> {
 
                 List<Object> content = message.getContent(codec::decodeKey);
                 List<K> keys = (List<K>) content.get(1);
-                keys.forEach(listener);
+
+                if (keys != null) {
+                    keys.forEach(listener);
+                }
             }
         });
     }
 
+    @Override
+    public void addBatchInvalidationListener(Consumer<? super Collection<K>> listener) {
+        batchInvalidationListeners.add(listener);
+    }
+
+    @Override
+    public LongSupplier getInvalidationSequence(K key) {
+
+        int slot = SlotHash.getSlot(codec.encodeKey(key));
+
+        return () -> flushSequence.get() + slotSequences.get(slot);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onPushMessage(PushMessage message) {
+
+        if (!message.getType().equals("invalidate")) {
+            return;
+        }
+
+        List<ByteBuffer> encodedKeys = (List<ByteBuffer>) message.getContent().get(1);
+        List<K> keys = null;
+
+        if (encodedKeys == null) {
+            flushSequence.incrementAndGet();
+        } else {
+
+            keys = new ArrayList<>(encodedKeys.size());
+
+            for (ByteBuffer encodedKey : encodedKeys) {
+
+                // duplicate to leave the buffer position of the message untouched for other listeners
+                ByteBuffer buffer = encodedKey.duplicate();
+                slotSequences.incrementAndGet(SlotHash.getSlot(buffer));
+                keys.add(codec.decodeKey(buffer));
+            }
+        }
+
+        if (batchInvalidationListeners.isEmpty()) {
+            return;
+        }
+
+        if (invalidationWindow.isZero()) {
+            notifyBatchInvalidationListeners(keys);
+            return;
+        }
+
+        synchronized (this) {
+
+            if (keys == null) {
+                pendingFlush = true;
+                pendingInvalidations.clear();
+            } else if (!pendingFlush) {
+                pendingInvalidations.addAll(keys);
+            }
+
+            if (deliveryScheduled) {
+                return;
+            }
+
+            deliveryScheduled = true;
+        }
+
+        connection.getResources().eventExecutorGroup().schedule(this::deliverPendingInvalidations,
+                invalidationWindow.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void deliverPendingInvalidations() {
+
+        Collection<K> keys;
+
+        synchronized (this) {
+
+            keys = pendingFlush ? null : pendingInvalidations;
+            pendingInvalidations = new LinkedHashSet<>();
+            pendingFlush = false;
+            deliveryScheduled = false;
+        }
+
+        notifyBatchInvalidationListeners(keys);
+    }
+
+    private void notifyBatchInvalidationListeners(Collection<K> keys) {
+
+        for (Consumer<? super Collection<K>> listener : batchInvalidationListeners) {
+            listener.accept(keys);
+        }
+    }
+
     @Override
     public void close() {
         connection.close();
@@ -23,6 +23,11 @@ class MapCacheAccessor<K, V> implements CacheAccessor<K, V> {
         return map.get(key);
     }
 
+    @Override
+    public boolean containsKey(K key) {
+        return map.containsKey(key);
+    }
+
     @Override
     public void put(K key, V value) {
         map.put(key, value);
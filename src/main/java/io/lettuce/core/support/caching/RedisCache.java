@@ -1,5 +1,10 @@
 package io.lettuce.core.support.caching;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
 /**
  * Interface defining common Redis Cache operations.
  *
@@ -34,6 +39,36 @@ public interface RedisCache<K, V> {
      */
     void addInvalidationListener(java.util.function.Consumer<? super K> listener);
 
+    /**
+     * Register a invalidation {@code listener} that is notified with batches of keys in this Redis cache that expired or got
+     * modified. The listener is notified with {@code null} if all keys were invalidated, for example after {@code FLUSHALL}.
+     * <p>
+     * The default implementation notifies the listener for each individual key.
+     *
+     * @param listener the listener to notify.
+     * @since 7.0
+     */
+    default void addBatchInvalidationListener(Consumer<? super Collection<K>> listener) {
+        addInvalidationListener(key -> listener.accept(Collections.singletonList(key)));
+    }
+
+    /**
+     * Return the invalidation sequence for {@code key}. The sequence changes whenever an invalidation affecting {@code key} is
+     * received. Callers can compare sequences obtained before retrieving a value and before caching it locally to detect
+     * invalidations that happened concurrently. Sequences may be shared across keys so a change does not necessarily mean that
+     * {@code key} itself was invalidated.
+     * <p>
+     * The returned supplier resolves {@code key} once so that the sequence can be obtained repeatedly without encoding the key
+     * again. The default implementation does not track invalidations and always supplies {@code 0}.
+     *
+     * @param key the key.
+     * @return supplier of the current invalidation sequence for {@code key}.
+     * @since 7.0
+     */
+    default LongSupplier getInvalidationSequence(K key) {
+        return () -> 0;
+    }
+
     /**
      * Closes this Redis cache and releases any connections associated with it. If the cache is already closed then invoking
      * this method has no effect.
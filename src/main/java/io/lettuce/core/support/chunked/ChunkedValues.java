@@ -0,0 +1,455 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.support.chunked;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import io.lettuce.core.RedisException;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.BaseRedisAsyncCommands;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.internal.LettuceAssert;
+import io.lettuce.core.output.BulkStringChannel;
+import io.lettuce.core.output.BulkStringStreamingOutput;
+import io.lettuce.core.output.IntegerOutput;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandType;
+
+/**
+ * Streaming access to large string values. Peak memory of a transfer is bounded by the chunk size and the number of chunks in
+ * flight instead of the value size.
+ * <p>
+ * Reads issue a single {@code GET} whose reply is passed to the target as it is received from the socket, see
+ * {@link BulkStringStreamingOutput}. Targets are invoked on the I/O thread and should not block for long.
+ * <p>
+ * Writes split the source into chunks of {@link #withChunkSize(int) chunk size} bytes and send them as a sequence of
+ * {@code SET}/{@code SETRANGE}, {@code APPEND} or {@code SETRANGE} commands with up to {@link #withMaxInFlight(int)
+ * max-in-flight} commands pipelined. The source must provide exactly the declared number of bytes. Writes are not atomic:
+ * other clients may observe a partially written value and a failed write leaves the chunks written so far in place.
+ *
+ * <pre class="code">
+ * ChunkedValues&lt;String, String&gt; values = ChunkedValues.create(connection, StringCodec.UTF8);
+ *
+ * values.set("video", Files.newInputStream(path), Files.size(path)).join();
+ * values.get("video", FileChannel.open(target, WRITE, CREATE)).get();
+ * </pre>
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @since 7.0
+ */
+public class ChunkedValues<K, V> {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    private final BaseRedisAsyncCommands<K, V> commands;
+
+    private final RedisCodec<K, V> codec;
+
+    private final int chunkSize;
+
+    private final int maxInFlight;
+
+    ChunkedValues(BaseRedisAsyncCommands<K, V> commands, RedisCodec<K, V> codec, int chunkSize, int maxInFlight) {
+        this.commands = commands;
+        this.codec = codec;
+        this.chunkSize = chunkSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Create a new {@link ChunkedValues} for a standalone connection.
+     *
+     * @param connection the connection, must not be {@code null}.
+     * @param codec the codec used by the connection to encode keys, must not be {@code null}.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return the {@link ChunkedValues}.
+     */
+    public static <K, V> ChunkedValues<K, V> create(StatefulRedisConnection<K, V> connection, RedisCodec<K, V> codec) {
+
+        LettuceAssert.notNull(connection, "Connection must not be null");
+        LettuceAssert.notNull(codec, "RedisCodec must not be null");
+
+        return new ChunkedValues<>(connection.async(), codec, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * Create a new {@link ChunkedValues} for a Redis Cluster connection. Commands are routed by key.
+     *
+     * @param connection the cluster connection, must not be {@code null}.
+     * @param codec the codec used by the connection to encode keys, must not be {@code null}.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return the {@link ChunkedValues}.
+     */
+    public static <K, V> ChunkedValues<K, V> create(StatefulRedisClusterConnection<K, V> connection, RedisCodec<K, V> codec) {
+
+        LettuceAssert.notNull(connection, "Connection must not be null");
+        LettuceAssert.notNull(codec, "RedisCodec must not be null");
+
+        return new ChunkedValues<>(connection.async(), codec, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * Return a new {@link ChunkedValues} using {@code chunkSize} as the maximum number of bytes per write command. See
+     * {@link #DEFAULT_CHUNK_SIZE}.
+     *
+     * @param chunkSize the chunk size in bytes, must be greater than zero.
+     * @return a new {@link ChunkedValues}.
+     */
+    public ChunkedValues<K, V> withChunkSize(int chunkSize) {
+
+        LettuceAssert.isTrue(chunkSize > 0, "Chunk size must be greater than zero");
+
+        return new ChunkedValues<>(commands, codec, chunkSize, maxInFlight);
+    }
+
+    /**
+     * Return a new {@link ChunkedValues} pipelining up to {@code maxInFlight} write commands. See
+     * {@link #DEFAULT_MAX_IN_FLIGHT}.
+     *
+     * @param maxInFlight the maximum number of write commands in flight, must be greater than zero.
+     * @return a new {@link ChunkedValues}.
+     */
+    public ChunkedValues<K, V> withMaxInFlight(int maxInFlight) {
+
+        LettuceAssert.isTrue(maxInFlight > 0, "Max in flight must be greater than zero");
+
+        return new ChunkedValues<>(commands, codec, chunkSize, maxInFlight);
+    }
+
+    /**
+     * Stream the value of {@code key} to a {@link BulkStringChannel}.
+     *
+     * @param key the key, must not be {@code null}.
+     * @param channel the channel, must not be {@code null}.
+     * @return future completed with the number of bytes streamed or {@code null} if the key does not exist.
+     */
+    public RedisFuture<Long> get(K key, BulkStringChannel channel) {
+
+        LettuceAssert.notNull(key, "Key must not be null");
+        LettuceAssert.notNull(channel, "BulkStringChannel must not be null");
+
+        return commands.dispatch(CommandType.GET, new BulkStringStreamingOutput<>(codec, channel),
+                new CommandArgs<>(codec).addKey(key));
+    }
+
+    /**
+     * Stream the value of {@code key} to a {@link WritableByteChannel}. The channel is not closed.
+     *
+     * @param key the key, must not be {@code null}.
+     * @param channel the channel, must not be {@code null}.
+     * @return future completed with the number of bytes streamed or {@code null} if the key does not exist.
+     */
+    public RedisFuture<Long> get(K key, WritableByteChannel channel) {
+
+        LettuceAssert.notNull(channel, "WritableByteChannel must not be null");
+
+        return get(key, (BulkStringChannel) chunk -> {
+
+            try {
+                while (chunk.hasRemaining()) {
+                    channel.write(chunk);
+                }
+            } catch (IOException e) {
+                throw new RedisException("Cannot write chunk", e);
+            }
+        });
+    }
+
+    /**
+     * Stream the value of {@code key} to an {@link OutputStream}. The stream is neither flushed nor closed.
+     *
+     * @param key the key, must not be {@code null}.
+     * @param stream the stream, must not be {@code null}.
+     * @return future completed with the number of bytes streamed or {@code null} if the key does not exist.
+     */
+    public RedisFuture<Long> get(K key, OutputStream stream) {
+
+        LettuceAssert.notNull(stream, "OutputStream must not be null");
+
+        return get(key, Channels.newChannel(stream));
+    }
+
+    /**
+     * Stream the value of {@code key} as {@link Flux} of chunks. Chunks are copied from the receive buffer and buffered until
+     * they are requested. The {@link Flux} completes empty if the key does not exist.
+     *
+     * @param key the key, must not be {@code null}.
+     * @return the chunks of the value.
+     */
+    public Flux<ByteBuffer> get(K key) {
+
+        LettuceAssert.notNull(key, "Key must not be null");
+
+        return Flux.create(sink -> {
+
+            RedisFuture<Long> future = get(key, (BulkStringChannel) chunk -> {
+
+                if (sink.isCancelled() || !chunk.hasRemaining()) {
+                    return;
+                }
+
+                ByteBuffer copy = ByteBuffer.allocate(chunk.remaining());
+                copy.put(chunk);
+                copy.flip();
+                sink.next(copy);
+            });
+
+            future.whenComplete((count, throwable) -> {
+
+                if (throwable != null) {
+                    sink.error(throwable);
+                } else {
+                    sink.complete();
+                }
+            });
+        }, FluxSink.OverflowStrategy.BUFFER);
+    }
+
+    /**
+     * Set {@code key} to the content of {@code stream} using {@code SET} for the first chunk and {@code SETRANGE} for
+     * subsequent chunks. The stream is read on a {@link Schedulers#boundedElastic() bounded elastic} worker and is not closed.
+     *
+     * @param key the key, must not be {@code null}.
+     * @param stream the source, must not be {@code null}.
+     * @param length the number of bytes to read from {@code stream}.
+     * @return future completed with the number of bytes written.
+     */
+    public CompletableFuture<Long> set(K key, InputStream stream, long length) {
+        return write(Mode.SET, key, 0, read(stream, length), length);
+    }
+
+    /**
+     * Set {@code key} to the content of {@code chunks} using {@code SET} for the first chunk and {@code SETRANGE} for
+     * subsequent chunks.
+     *
+     * @param key the key, must not be {@code null}.
+     * @param chunks the source, must not be {@code null}.
+     * @param length the number of bytes emitted by {@code chunks}.
+     * @return future completed with the number of bytes written.
+     */
+    public CompletableFuture<Long> set(K key, Publisher<ByteBuffer> chunks, long length) {
+        return write(Mode.SET, key, 0, split(chunks), length);
+    }
+
+    /**
+     * Append the content of {@code stream} to {@code key} using {@code APPEND}. The stream is read on a
+     * {@link Schedulers#boundedElastic() bounded elastic} worker and is not closed.
+     *
+     * @param key the key, must not be {@code null}.
+     * @param stream the source, must not be {@code null}.
+     * @param length the number of bytes to read from {@code stream}.
+     * @return future completed with the number of bytes written.
+     */
+    public CompletableFuture<Long> append(K key, InputStream stream, long length) {
+        return write(Mode.APPEND, key, 0, read(stream, length), length);
+    }
+
+    /**
+     * Append the content of {@code chunks} to {@code key} using {@code APPEND}.
+     *
+     * @param key the key, must not be {@code null}.
+     * @param chunks the source, must not be {@code null}.
+     * @param length the number of bytes emitted by {@code chunks}.
+     * @return future completed with the number of bytes written.
+     */
+    public CompletableFuture<Long> append(K key, Publisher<ByteBuffer> chunks, long length) {
+        return write(Mode.APPEND, key, 0, split(chunks), length);
+    }
+
+    /**
+     * Overwrite {@code key} starting at {@code offset} with the content of {@code stream} using {@code SETRANGE}. The stream is
+     * read on a {@link Schedulers#boundedElastic() bounded elastic} worker and is not closed.
+     *
+     * @param key the key, must not be {@code null}.
+     * @param offset the offset to start writing at, must not be negative.
+     * @param stream the source, must not be {@code null}.
+     * @param length the number of bytes to read from {@code stream}.
+     * @return future completed with the number of bytes written.
+     */
+    public CompletableFuture<Long> setRange(K key, long offset, InputStream stream, long length) {
+        return write(Mode.SETRANGE, key, offset, read(stream, length), length);
+    }
+
+    /**
+     * Overwrite {@code key} starting at {@code offset} with the content of {@code chunks} using {@code SETRANGE}.
+     *
+     * @param key the key, must not be {@code null}.
+     * @param offset the offset to start writing at, must not be negative.
+     * @param chunks the source, must not be {@code null}.
+     * @param length the number of bytes emitted by {@code chunks}.
+     * @return future completed with the number of bytes written.
+     */
+    public CompletableFuture<Long> setRange(K key, long offset, Publisher<ByteBuffer> chunks, long length) {
+        return write(Mode.SETRANGE, key, offset, split(chunks), length);
+    }
+
+    private CompletableFuture<Long> write(Mode mode, K key, long offset, Flux<byte[]> chunks, long length) {
+
+        LettuceAssert.notNull(key, "Key must not be null");
+        LettuceAssert.isTrue(offset >= 0, "Offset must not be negative");
+        LettuceAssert.isTrue(length >= 0, "Length must not be negative");
+
+        AtomicLong position = new AtomicLong();
+
+        return chunks.map(bytes -> {
+
+            long at = position.getAndAdd(bytes.length);
+
+            if (at + bytes.length > length) {
+                throw new RedisException(String.format("Source provides more than the declared %d bytes", length));
+            }
+
+            return new Chunk(at, bytes);
+        }).flatMap(chunk -> Mono.fromCompletionStage(() -> dispatch(mode, key, offset, chunk)), maxInFlight)
+                .then(Mono.<Long> defer(() -> {
+
+                    long written = position.get();
+
+                    if (written != length) {
+                        return Mono.<Long> error(new RedisException(
+                                String.format("Source provided %d bytes instead of the declared %d bytes", written, length)));
+                    }
+
+                    if (written == 0 && mode == Mode.SET) {
+                        return Mono.fromCompletionStage(() -> dispatch(mode, key, offset, new Chunk(0, new byte[0])))
+                                .thenReturn(written);
+                    }
+
+                    return Mono.just(written);
+                })).toFuture();
+    }
+
+    private RedisFuture<?> dispatch(Mode mode, K key, long offset, Chunk chunk) {
+
+        CommandArgs<K, V> args = new CommandArgs<>(codec).addKey(key);
+
+        if (mode == Mode.APPEND) {
+            return commands.dispatch(CommandType.APPEND, new IntegerOutput<>(codec), args.add(chunk.bytes));
+        }
+
+        if (mode == Mode.SET && chunk.position == 0) {
+            return commands.dispatch(CommandType.SET, new StatusOutput<>(codec), args.add(chunk.bytes));
+        }
+
+        return commands.dispatch(CommandType.SETRANGE, new IntegerOutput<>(codec),
+                args.add(offset + chunk.position).add(chunk.bytes));
+    }
+
+    /**
+     * Read up to {@code length} bytes from {@code stream} in chunks of up to {@link #chunkSize} bytes.
+     */
+    Flux<byte[]> read(InputStream stream, long length) {
+
+        LettuceAssert.notNull(stream, "InputStream must not be null");
+        LettuceAssert.isTrue(length >= 0, "Length must not be negative");
+
+        AtomicLong remaining = new AtomicLong(length);
+
+        return Flux.<byte[]> generate(sink -> {
+
+            try {
+
+                int size = (int) Math.min(chunkSize, remaining.get());
+                byte[] buffer = new byte[size];
+                int count = 0;
+                int read;
+
+                while (count < size && (read = stream.read(buffer, count, size - count)) != -1) {
+                    count += read;
+                }
+
+                if (count == 0) {
+                    sink.complete();
+                    return;
+                }
+
+                remaining.addAndGet(-count);
+                sink.next(count == size ? buffer : Arrays.copyOf(buffer, count));
+            } catch (IOException e) {
+                sink.error(e);
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Split the buffers emitted by {@code chunks} into chunks of up to {@link #chunkSize} bytes.
+     */
+    Flux<byte[]> split(Publisher<ByteBuffer> chunks) {
+
+        LettuceAssert.notNull(chunks, "Publisher must not be null");
+
+        return Flux.from(chunks).concatMap(buffer -> {
+
+            ByteBuffer source = buffer.duplicate();
+
+            return Flux.<byte[]> generate(sink -> {
+
+                if (!source.hasRemaining()) {
+                    sink.complete();
+                    return;
+                }
+
+                byte[] bytes = new byte[Math.min(source.remaining(), chunkSize)];
+                source.get(bytes);
+                sink.next(bytes);
+            });
+        });
+    }
+
+    enum Mode {
+        SET, APPEND, SETRANGE
+    }
+
+    static class Chunk {
+
+        final long position;
+
+        final byte[] bytes;
+
+        Chunk(long position, byte[] bytes) {
+            this.position = position;
+            this.bytes = bytes;
+        }
+
+    }
+
+}
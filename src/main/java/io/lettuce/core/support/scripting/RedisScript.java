@@ -0,0 +1,131 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.support.scripting;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.codec.Base16;
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Value object representing a Lua script along with its {@link ScriptOutputType}. The SHA1 digest is computed once on creation.
+ *
+ * @since 7.0
+ * @see ScriptExecutor
+ */
+public class RedisScript {
+
+    private final byte[] body;
+
+    private final ScriptOutputType outputType;
+
+    private final String digest;
+
+    private RedisScript(byte[] body, ScriptOutputType outputType) {
+        this.body = body;
+        this.outputType = outputType;
+        this.digest = Base16.digest(body);
+    }
+
+    /**
+     * Create a new {@link RedisScript}.
+     *
+     * @param script the Lua script, must not be {@code null} or empty.
+     * @param outputType the script output type, must not be {@code null}.
+     * @return the {@link RedisScript}.
+     */
+    public static RedisScript of(String script, ScriptOutputType outputType) {
+
+        LettuceAssert.notEmpty(script, "Script must not be empty");
+
+        return of(script.getBytes(StandardCharsets.UTF_8), outputType);
+    }
+
+    /**
+     * Create a new {@link RedisScript}.
+     *
+     * @param script the Lua script, must not be {@code null} or empty.
+     * @param outputType the script output type, must not be {@code null}.
+     * @return the {@link RedisScript}.
+     */
+    public static RedisScript of(byte[] script, ScriptOutputType outputType) {
+
+        LettuceAssert.notNull(script, "Script must not be null");
+        LettuceAssert.isTrue(script.length > 0, "Script must not be empty");
+        LettuceAssert.notNull(outputType, "ScriptOutputType must not be null");
+
+        return new RedisScript(Arrays.copyOf(script, script.length), outputType);
+    }
+
+    /**
+     * @return the Lua script.
+     */
+    public byte[] getBody() {
+        return Arrays.copyOf(body, body.length);
+    }
+
+    byte[] body() {
+        return body;
+    }
+
+    /**
+     * @return the script output type.
+     */
+    public ScriptOutputType getOutputType() {
+        return outputType;
+    }
+
+    /**
+     * @return the SHA1 digest of the script.
+     */
+    public String getDigest() {
+        return digest;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RedisScript)) {
+            return false;
+        }
+        RedisScript that = (RedisScript) o;
+        return digest.equals(that.digest) && outputType == that.outputType;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * digest.hashCode() + outputType.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [digest='").append(digest).append('\'');
+        sb.append(", outputType=").append(outputType);
+        sb.append(']');
+        return sb.toString();
+    }
+
+}
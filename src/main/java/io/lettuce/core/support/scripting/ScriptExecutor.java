@@ -0,0 +1,258 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.support.scripting;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import reactor.core.Disposable;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisScriptingAsyncCommands;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.event.ClusterTopologyChangedEvent;
+import io.lettuce.core.internal.LettuceAssert;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+/**
+ * Executor for {@link RedisScript}s that always sends {@code EVALSHA}. If Redis responds with {@code NOSCRIPT}, the script is
+ * loaded through {@code SCRIPT LOAD} and the call is retried once. Concurrent loads of the same script are coalesced into a
+ * single {@code SCRIPT LOAD}.
+ * <p>
+ * {@link #register(RedisScript) Registered} scripts are loaded upfront. For Redis Cluster, registered scripts are loaded onto
+ * all cluster nodes and loaded again whenever the cluster topology changes so that new primaries do not respond with
+ * {@code NOSCRIPT} after a failover.
+ *
+ * <pre class="code">
+ * RedisScript script = RedisScript.of("return redis.call('incr', KEYS[1])", ScriptOutputType.INTEGER);
+ * ScriptExecutor&lt;String, String&gt; executor = ScriptExecutor.create(connection);
+ *
+ * Long value = executor.&lt;Long&gt; execute(script, new String[] { "counter" }).join();
+ * </pre>
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @since 7.0
+ */
+public class ScriptExecutor<K, V> implements Closeable {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(ScriptExecutor.class);
+
+    private final RedisScriptingAsyncCommands<K, V> commands;
+
+    private final Set<RedisScript> registered = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, CompletableFuture<String>> loading = new ConcurrentHashMap<>();
+
+    private volatile Disposable topologySubscription;
+
+    ScriptExecutor(RedisScriptingAsyncCommands<K, V> commands) {
+        this.commands = commands;
+    }
+
+    /**
+     * Create a new {@link ScriptExecutor} for a standalone connection.
+     *
+     * @param connection the connection, must not be {@code null}.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return the {@link ScriptExecutor}.
+     */
+    public static <K, V> ScriptExecutor<K, V> create(StatefulRedisConnection<K, V> connection) {
+
+        LettuceAssert.notNull(connection, "Connection must not be null");
+
+        return new ScriptExecutor<>(connection.async());
+    }
+
+    /**
+     * Create a new {@link ScriptExecutor} for a Redis Cluster connection. Registered scripts are loaded again on
+     * {@link ClusterTopologyChangedEvent topology changes}. {@link #close() Close} the executor to stop listening for topology
+     * changes.
+     *
+     * @param connection the cluster connection, must not be {@code null}.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return the {@link ScriptExecutor}.
+     */
+    public static <K, V> ScriptExecutor<K, V> create(StatefulRedisClusterConnection<K, V> connection) {
+
+        LettuceAssert.notNull(connection, "Connection must not be null");
+
+        ScriptExecutor<K, V> executor = new ScriptExecutor<>(connection.async());
+        executor.topologySubscription = connection.getResources().eventBus().get()
+                .filter(ClusterTopologyChangedEvent.class::isInstance).subscribe(event -> executor.preload());
+
+        return executor;
+    }
+
+    /**
+     * Register and load a {@link RedisScript}. Registered scripts are loaded again on cluster topology changes.
+     *
+     * @param script the script, must not be {@code null}.
+     * @return future completed with the script digest once the script is loaded.
+     */
+    public CompletableFuture<String> register(RedisScript script) {
+
+        LettuceAssert.notNull(script, "RedisScript must not be null");
+
+        registered.add(script);
+        return load(script);
+    }
+
+    /**
+     * Execute a {@link RedisScript} through {@code EVALSHA}, loading the script on {@code NOSCRIPT}.
+     *
+     * @param script the script, must not be {@code null}.
+     * @param keys the keys.
+     * @param values the arguments.
+     * @param <T> expected return type.
+     * @return future completed with the script result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> execute(RedisScript script, K[] keys, V... values) {
+
+        LettuceAssert.notNull(script, "RedisScript must not be null");
+
+        return execute(script, () -> commands.evalsha(script.getDigest(), script.getOutputType(), keys, values));
+    }
+
+    /**
+     * Execute a {@link RedisScript} through {@code EVALSHA_RO}, loading the script on {@code NOSCRIPT}.
+     *
+     * @param script the script, must not be {@code null}.
+     * @param keys the keys.
+     * @param values the arguments.
+     * @param <T> expected return type.
+     * @return future completed with the script result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> executeReadOnly(RedisScript script, K[] keys, V... values) {
+
+        LettuceAssert.notNull(script, "RedisScript must not be null");
+
+        return execute(script, () -> commands.evalshaReadOnly(script.getDigest(), script.getOutputType(), keys, values));
+    }
+
+    /**
+     * Stop listening for cluster topology changes.
+     */
+    @Override
+    public void close() {
+
+        Disposable topologySubscription = this.topologySubscription;
+
+        if (topologySubscription != null) {
+            topologySubscription.dispose();
+            this.topologySubscription = null;
+        }
+    }
+
+    private <T> CompletableFuture<T> execute(RedisScript script, Supplier<RedisFuture<T>> evalsha) {
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        evalsha.get().whenComplete((value, throwable) -> {
+
+            if (throwable == null) {
+                result.complete(value);
+                return;
+            }
+
+            Throwable cause = unwrap(throwable);
+
+            if (!(cause instanceof RedisNoScriptException)) {
+                result.completeExceptionally(cause);
+                return;
+            }
+
+            load(script).thenCompose(digest -> evalsha.get()).whenComplete((retried, retryFailure) -> {
+
+                if (retryFailure != null) {
+                    result.completeExceptionally(unwrap(retryFailure));
+                } else {
+                    result.complete(retried);
+                }
+            });
+        });
+
+        return result;
+    }
+
+    private CompletableFuture<String> load(RedisScript script) {
+
+        String digest = script.getDigest();
+        CompletableFuture<String> future = loading.get(digest);
+
+        if (future != null) {
+            return future;
+        }
+
+        CompletableFuture<String> load = new CompletableFuture<>();
+        future = loading.putIfAbsent(digest, load);
+
+        if (future != null) {
+            return future;
+        }
+
+        commands.scriptLoad(script.body()).whenComplete((result, throwable) -> {
+
+            loading.remove(digest, load);
+
+            if (throwable != null) {
+                load.completeExceptionally(throwable);
+            } else {
+                load.complete(result);
+            }
+        });
+
+        return load;
+    }
+
+    private void preload() {
+
+        for (RedisScript script : registered) {
+            load(script).whenComplete((digest, throwable) -> {
+                if (throwable != null) {
+                    logger.warn("Cannot load script " + script.getDigest() + " after topology change", throwable);
+                }
+            });
+        }
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+
+        while ((throwable instanceof CompletionException || throwable instanceof ExecutionException)
+                && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+
+        return throwable;
+    }
+
+}
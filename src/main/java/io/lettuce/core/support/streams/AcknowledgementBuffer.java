@@ -0,0 +1,87 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.support.streams;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Buffer collecting message ids to acknowledge them through a single multi-id {@code XACK} command. The buffer is drained
+ * once it reaches its batch size or when {@link #drain() drained} explicitly, typically by a periodic flush task.
+ *
+ * @since 7.0
+ */
+class AcknowledgementBuffer {
+
+    private static final String[] EMPTY = new String[0];
+
+    private final int batchSize;
+
+    // guarded by this
+    private List<String> ids;
+
+    AcknowledgementBuffer(int batchSize) {
+
+        LettuceAssert.isTrue(batchSize > 0, "Batch size must be greater zero");
+
+        this.batchSize = batchSize;
+        this.ids = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * Add a message id to the buffer.
+     *
+     * @param id the message id.
+     * @return the batch of message ids to acknowledge if the buffer reached its batch size, otherwise an empty array.
+     */
+    synchronized String[] add(String id) {
+
+        ids.add(id);
+
+        if (ids.size() < batchSize) {
+            return EMPTY;
+        }
+
+        return drain();
+    }
+
+    /**
+     * Drain the buffer.
+     *
+     * @return the buffered message ids, or an empty array if the buffer is empty.
+     */
+    synchronized String[] drain() {
+
+        if (ids.isEmpty()) {
+            return EMPTY;
+        }
+
+        String[] batch = ids.toArray(EMPTY);
+        ids = new ArrayList<>(batchSize);
+        return batch;
+    }
+
+    synchronized int size() {
+        return ids.size();
+    }
+
+}
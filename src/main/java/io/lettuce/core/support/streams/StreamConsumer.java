@@ -0,0 +1,703 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.support.streams;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import io.lettuce.core.Consumer;
+import io.lettuce.core.StreamMessage;
+import io.lettuce.core.XAutoClaimArgs;
+import io.lettuce.core.XReadArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.internal.LettuceAssert;
+import io.lettuce.core.resource.ClientResources;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+/**
+ * Consumer-group worker for a single Redis Stream. A {@link StreamConsumer} keeps up to {@code prefetch} {@code XREADGROUP}
+ * requests in flight and dispatches received messages to a bounded set of worker lanes. Messages with the same
+ * {@link Builder#partitionKey(Function) partition key} are handled in order on the same lane. Successfully handled messages
+ * are acknowledged through multi-id {@code XACK} commands once {@code ackBatchSize} ids are buffered or {@code ackInterval}
+ * elapses. Messages that fail remain pending and are reclaimed through {@code XAUTOCLAIM} once they exceed
+ * {@code claimMinIdle}. Metrics are published periodically as {@link StreamConsumerMetricsEvent} on the
+ * {@link ClientResources#eventBus() event bus}.
+ * <p>
+ * Reads use {@code XREADGROUP BLOCK}. Commands on a connection are processed in order so acknowledgements and reclaims should
+ * use a separate {@link Builder#commandConnection(StatefulRedisConnection) command connection} to not queue up behind blocking
+ * reads. Connections are not closed by {@link #close()}.
+ *
+ * <pre class="code">
+ * StreamConsumer&lt;String, String&gt; consumer = StreamConsumer
+ *         .builder(connection, Consumer.from("group", "consumer-1"), "my-stream", message -&gt; process(message))
+ *         .commandConnection(otherConnection).workers(8).build();
+ *
+ * consumer.start();
+ * </pre>
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @since 7.0
+ */
+public class StreamConsumer<K, V> implements Closeable {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(StreamConsumer.class);
+
+    private final StatefulRedisConnection<K, V> connection;
+
+    private final StatefulRedisConnection<K, V> commandConnection;
+
+    private final Consumer<K> consumer;
+
+    private final K stream;
+
+    private final java.util.function.Consumer<? super StreamMessage<K, V>> handler;
+
+    private final Function<? super StreamMessage<K, V>, ?> partitionKey;
+
+    private final int batchSize;
+
+    private final int prefetch;
+
+    private final int maxInFlight;
+
+    private final Duration blockTimeout;
+
+    private final Duration ackInterval;
+
+    private final Duration claimMinIdle;
+
+    private final Duration claimInterval;
+
+    private final Duration metricsInterval;
+
+    private final Executor executor;
+
+    private final ExecutorService ownedExecutor;
+
+    private final Lane[] lanes;
+
+    private final AcknowledgementBuffer acknowledgements;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final AtomicInteger outstandingReads = new AtomicInteger();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder received = new LongAdder();
+
+    private final LongAdder acknowledged = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final LongAdder claimed = new LongAdder();
+
+    private final List<Future<?>> scheduledTasks = new ArrayList<>();
+
+    private volatile String claimCursor = "0-0";
+
+    private volatile long lastMetricsNanos;
+
+    private StreamConsumer(Builder<K, V> builder) {
+
+        this.connection = builder.connection;
+        this.commandConnection = builder.commandConnection != null ? builder.commandConnection : builder.connection;
+        this.consumer = builder.consumer;
+        this.stream = builder.stream;
+        this.handler = builder.handler;
+        this.partitionKey = builder.partitionKey;
+        this.batchSize = builder.batchSize;
+        this.prefetch = builder.prefetch;
+        this.maxInFlight = builder.maxInFlight;
+        this.blockTimeout = builder.blockTimeout;
+        this.ackInterval = builder.ackInterval;
+        this.claimMinIdle = builder.claimMinIdle;
+        this.claimInterval = builder.claimInterval;
+        this.metricsInterval = builder.metricsInterval;
+
+        if (builder.executor != null) {
+            this.executor = builder.executor;
+            this.ownedExecutor = null;
+        } else {
+            this.ownedExecutor = Executors.newFixedThreadPool(builder.workers,
+                    new DefaultThreadFactory("lettuce-stream", true));
+            this.executor = ownedExecutor;
+        }
+
+        this.lanes = new Lane[builder.workers];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane();
+        }
+
+        this.acknowledgements = new AcknowledgementBuffer(builder.ackBatchSize);
+    }
+
+    /**
+     * Create a new {@link Builder} for {@link StreamConsumer}.
+     *
+     * @param connection the connection used for {@code XREADGROUP}.
+     * @param consumer the consumer group and consumer name.
+     * @param stream the stream key.
+     * @param handler the message handler. Messages are acknowledged if the handler completes without an exception.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return a new {@link Builder}.
+     */
+    public static <K, V> Builder<K, V> builder(StatefulRedisConnection<K, V> connection, Consumer<K> consumer, K stream,
+            java.util.function.Consumer<? super StreamMessage<K, V>> handler) {
+        return new Builder<>(connection, consumer, stream, handler);
+    }
+
+    /**
+     * Start consuming messages. Calling this method on a running consumer has no effect.
+     */
+    public void start() {
+
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+
+        lastMetricsNanos = System.nanoTime();
+
+        ClientResources resources = connection.getResources();
+
+        synchronized (scheduledTasks) {
+            scheduledTasks.add(resources.eventExecutorGroup().scheduleAtFixedRate(this::flushAcknowledgements,
+                    ackInterval.toNanos(), ackInterval.toNanos(), TimeUnit.NANOSECONDS));
+
+            if (!claimInterval.isZero()) {
+                scheduledTasks.add(resources.eventExecutorGroup().scheduleAtFixedRate(this::claimIdleMessages,
+                        claimInterval.toNanos(), claimInterval.toNanos(), TimeUnit.NANOSECONDS));
+            }
+
+            if (!metricsInterval.isZero()) {
+                scheduledTasks.add(resources.eventExecutorGroup().scheduleAtFixedRate(this::publishMetrics,
+                        metricsInterval.toNanos(), metricsInterval.toNanos(), TimeUnit.NANOSECONDS));
+            }
+        }
+
+        requestMessages();
+    }
+
+    /**
+     * Stop consuming messages and acknowledge messages that were handled already. Messages that are being handled are
+     * acknowledged once their handler completes. Messages that are not yet handled remain pending. The connections are not
+     * closed.
+     */
+    @Override
+    public void close() {
+
+        if (!running.compareAndSet(true, false)) {
+            return;
+        }
+
+        synchronized (scheduledTasks) {
+            scheduledTasks.forEach(it -> it.cancel(false));
+            scheduledTasks.clear();
+        }
+
+        flushAcknowledgements();
+
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    /**
+     * @return {@code true} if this consumer is running.
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * @return number of messages fetched by this consumer that were not yet handled.
+     */
+    public int getBacklog() {
+        return inFlight.get();
+    }
+
+    private void requestMessages() {
+
+        while (running.get()) {
+
+            int reads = outstandingReads.get();
+
+            if (reads >= prefetch || inFlight.get() + (reads + 1) * batchSize > maxInFlight) {
+                return;
+            }
+
+            if (outstandingReads.compareAndSet(reads, reads + 1)) {
+                read();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void read() {
+
+        XReadArgs args = XReadArgs.Builder.count(batchSize).block(blockTimeout);
+        XReadArgs.StreamOffset<K> offset = XReadArgs.StreamOffset.lastConsumed(stream);
+
+        connection.async().xreadgroup(consumer, args, offset).whenComplete((messages, e) -> {
+
+            outstandingReads.decrementAndGet();
+
+            if (e != null) {
+
+                if (running.get()) {
+                    logger.warn("XREADGROUP on " + stream + " failed, retrying in " + blockTimeout, e);
+                    connection.getResources().eventExecutorGroup().schedule(this::requestMessages, blockTimeout.toNanos(),
+                            TimeUnit.NANOSECONDS);
+                }
+                return;
+            }
+
+            dispatch(messages);
+            received.add(messages.size());
+            requestMessages();
+        });
+    }
+
+    private void claimIdleMessages() {
+
+        if (!running.get() || inFlight.get() + batchSize > maxInFlight) {
+            return;
+        }
+
+        XAutoClaimArgs<K> args = XAutoClaimArgs.Builder.xautoclaim(consumer, claimMinIdle, claimCursor).count(batchSize);
+
+        commandConnection.async().xautoclaim(stream, args).whenComplete((result, e) -> {
+
+            if (e != null) {
+                logger.warn("XAUTOCLAIM on " + stream + " failed", e);
+                return;
+            }
+
+            claimCursor = result.getId();
+            List<StreamMessage<K, V>> messages = new ArrayList<>(result.getMessages().size());
+
+            for (StreamMessage<K, V> message : result.getMessages()) {
+
+                // entries deleted from the stream are reported without a body
+                if (message.getBody() != null) {
+                    messages.add(message);
+                }
+            }
+
+            dispatch(messages);
+            claimed.add(messages.size());
+        });
+    }
+
+    private void dispatch(List<StreamMessage<K, V>> messages) {
+
+        inFlight.addAndGet(messages.size());
+
+        for (StreamMessage<K, V> message : messages) {
+
+            Object key = partitionKey.apply(message);
+            int hash = key != null ? key.hashCode() : 0;
+            Lane lane = lanes[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % lanes.length];
+
+            lane.execute(() -> handle(message));
+        }
+    }
+
+    private void handle(StreamMessage<K, V> message) {
+
+        try {
+            handler.accept(message);
+            acknowledge(acknowledgements.add(message.getId()));
+        } catch (Exception e) {
+            failed.increment();
+            logger.warn("Handler failed for message " + message.getId() + " on " + stream, e);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+
+        if (running.get()) {
+            requestMessages();
+        } else {
+            // the periodic flush is cancelled once closed, acknowledge messages that complete afterwards right away
+            flushAcknowledgements();
+        }
+    }
+
+    private void flushAcknowledgements() {
+        acknowledge(acknowledgements.drain());
+    }
+
+    private void acknowledge(String[] ids) {
+
+        if (ids.length == 0) {
+            return;
+        }
+
+        commandConnection.async().xack(stream, consumer.getGroup(), ids).whenComplete((count, e) -> {
+
+            if (e != null) {
+                logger.warn("XACK of " + ids.length + " messages on " + stream + " failed, " + Arrays.toString(ids)
+                        + " remain pending until reclaimed", e);
+                return;
+            }
+
+            acknowledged.add(count);
+        });
+    }
+
+    private void publishMetrics() {
+
+        long now = System.nanoTime();
+        Duration interval = Duration.ofNanos(now - lastMetricsNanos);
+        lastMetricsNanos = now;
+
+        long received = this.received.sumThenReset();
+        long acknowledged = this.acknowledged.sumThenReset();
+        long failed = this.failed.sumThenReset();
+        long claimed = this.claimed.sumThenReset();
+        long backlog = inFlight.get();
+
+        commandConnection.async().xpending(stream, consumer.getGroup()).whenComplete((pending, e) -> {
+
+            connection.getResources().eventBus()
+                    .publish(new StreamConsumerMetricsEvent(String.valueOf(stream), String.valueOf(consumer.getGroup()),
+                            String.valueOf(consumer.getName()), interval, received, acknowledged, failed, claimed, backlog,
+                            pending != null ? pending.getCount() : -1));
+        });
+    }
+
+    /**
+     * Serial executor running tasks in submission order on the shared {@link #executor}.
+     */
+    class Lane implements Runnable {
+
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        void execute(Runnable task) {
+            tasks.add(task);
+            schedule();
+        }
+
+        private void schedule() {
+
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+
+            scheduled.set(false);
+
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+
+    }
+
+    /**
+     * Builder for {@link StreamConsumer}.
+     *
+     * @param <K> Key type.
+     * @param <V> Value type.
+     */
+    public static class Builder<K, V> {
+
+        private final StatefulRedisConnection<K, V> connection;
+
+        private final Consumer<K> consumer;
+
+        private final K stream;
+
+        private final java.util.function.Consumer<? super StreamMessage<K, V>> handler;
+
+        private StatefulRedisConnection<K, V> commandConnection;
+
+        private Function<? super StreamMessage<K, V>, ?> partitionKey = StreamMessage::getId;
+
+        private int batchSize = 100;
+
+        private int prefetch = 2;
+
+        private int maxInFlight = 1000;
+
+        private int workers = Runtime.getRuntime().availableProcessors();
+
+        private Executor executor;
+
+        private Duration blockTimeout = Duration.ofSeconds(1);
+
+        private int ackBatchSize = 100;
+
+        private Duration ackInterval = Duration.ofMillis(100);
+
+        private Duration claimMinIdle = Duration.ofMinutes(1);
+
+        private Duration claimInterval = Duration.ofSeconds(30);
+
+        private Duration metricsInterval = Duration.ofSeconds(10);
+
+        private Builder(StatefulRedisConnection<K, V> connection, Consumer<K> consumer, K stream,
+                java.util.function.Consumer<? super StreamMessage<K, V>> handler) {
+
+            LettuceAssert.notNull(connection, "Connection must not be null");
+            LettuceAssert.notNull(consumer, "Consumer must not be null");
+            LettuceAssert.notNull(stream, "Stream must not be null");
+            LettuceAssert.notNull(handler, "Handler must not be null");
+
+            this.connection = connection;
+            this.consumer = consumer;
+            this.stream = stream;
+            this.handler = handler;
+        }
+
+        /**
+         * Use a separate connection for {@code XACK}, {@code XAUTOCLAIM} and {@code XPENDING} so these commands do not queue up
+         * behind blocking reads. Defaults to the read connection.
+         *
+         * @param commandConnection the command connection.
+         * @return {@code this} {@link Builder}.
+         */
+        public Builder<K, V> commandConnection(StatefulRedisConnection<K, V> commandConnection) {
+
+            LettuceAssert.notNull(commandConnection, "Command connection must not be null");
+
+            this.commandConnection = commandConnection;
+            return this;
+        }
+
+        /**
+         * Configure the function to extract the partition key of a message. Messages with equal partition keys are handled in
+         * order. Defaults to the message id, i.e. no ordering across messages.
+         *
+         * @param partitionKey the partition key function.
+         * @return {@code this} {@link Builder}.
+         */
+        public Builder<K, V> partitionKey(Function<? super StreamMessage<K, V>, ?> partitionKey) {
+
+            LettuceAssert.notNull(partitionKey, "Partition key function must not be null");
+
+            this.partitionKey = partitionKey;
+            return this;
+        }
+
+        /**
+         * Configure the {@code COUNT} of each {@code XREADGROUP} and {@code XAUTOCLAIM}. Defaults to {@code 100}.
+         *
+         * @param batchSize the batch size.
+         * @return {@code this} {@link Builder}.
+         */
+        public Builder<K, V> batchSize(int batchSize) {
+
+            LettuceAssert.isTrue(batchSize > 0, "Batch size must be greater zero");
+
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Configure the number of {@code XREADGROUP} requests kept in flight. Defaults to {@code 2}.
+         *
+         * @param prefetch the number of outstanding reads.
+         * @return {@code this} {@link Builder}.
+         */
+        public Builder<K, V> prefetch(int prefetch) {
+
+            LettuceAssert.isTrue(prefetch > 0, "Prefetch must be greater zero");
+
+            this.prefetch = prefetch;
+            return this;
+        }
+
+        /**
+         * Configure the maximum number of messages fetched but not yet handled. Reads are suspended once the limit would be
+         * exceeded. Defaults to {@code 1000}.
+         *
+         * @param maxInFlight the maximum number of unhandled messages.
+         * @return {@code this} {@link Builder}.
+         */
+        public Builder<K, V> maxInFlight(int maxInFlight) {
+
+            LettuceAssert.isTrue(maxInFlight > 0, "Max in-flight must be greater zero");
+
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        /**
+         * Configure the number of worker lanes. Defaults to the number of available processors.
+         *
+         * @param workers the number of worker lanes.
+         * @return {@code this} {@link Builder}.
+         */
+        public Builder<K, V> workers(int workers) {
+
+            LettuceAssert.isTrue(workers > 0, "Workers must be greater zero");
+
+            this.workers = workers;
+            return this;
+        }
+
+        /**
+         * Configure the {@link Executor} to run message handlers. The executor is not shut down on {@link #close()}. Defaults
+         * to a fixed thread pool with {@link #workers(int)} threads owned by the consumer.
+         *
+         * @param executor the executor.
+         * @return {@code this} {@link Builder}.
+         */
+        public Builder<K, V> executor(Executor executor) {
+
+            LettuceAssert.notNull(executor, "Executor must not be null");
+
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Configure the {@code BLOCK} timeout of {@code XREADGROUP}. Defaults to {@code 1 second}.
+         *
+         * @param blockTimeout the block timeout.
+         * @return {@code this} {@link Builder}.
+         */
+        public Builder<K, V> blockTimeout(Duration blockTimeout) {
+
+            LettuceAssert.notNull(blockTimeout, "Block timeout must not be null");
+            LettuceAssert.isTrue(!blockTimeout.isNegative() && !blockTimeout.isZero(), "Block timeout must be positive");
+
+            this.blockTimeout = blockTimeout;
+            return this;
+        }
+
+        /**
+         * Configure the number of message ids that trigger an {@code XACK}. Defaults to {@code 100}.
+         *
+         * @param ackBatchSize the acknowledgement batch size.
+         * @return {@code this} {@link Builder}.
+         */
+        public Builder<K, V> ackBatchSize(int ackBatchSize) {
+
+            LettuceAssert.isTrue(ackBatchSize > 0, "Ack batch size must be greater zero");
+
+            this.ackBatchSize = ackBatchSize;
+            return this;
+        }
+
+        /**
+         * Configure the interval to acknowledge buffered message ids. Defaults to {@code 100 milliseconds}.
+         *
+         * @param ackInterval the acknowledgement interval.
+         * @return {@code this} {@link Builder}.
+         */
+        public Builder<K, V> ackInterval(Duration ackInterval) {
+
+            LettuceAssert.notNull(ackInterval, "Ack interval must not be null");
+            LettuceAssert.isTrue(!ackInterval.isNegative() && !ackInterval.isZero(), "Ack interval must be positive");
+
+            this.ackInterval = ackInterval;
+            return this;
+        }
+
+        /**
+         * Configure the minimum idle time of pending messages to reclaim. Defaults to {@code 1 minute}.
+         *
+         * @param claimMinIdle the minimum idle time.
+         * @return {@code this} {@link Builder}.
+         */
+        public Builder<K, V> claimMinIdle(Duration claimMinIdle) {
+
+            LettuceAssert.notNull(claimMinIdle, "Claim min idle must not be null");
+            LettuceAssert.isTrue(!claimMinIdle.isNegative(), "Claim min idle must not be negative");
+
+            this.claimMinIdle = claimMinIdle;
+            return this;
+        }
+
+        /**
+         * Configure the interval to reclaim idle pending messages through {@code XAUTOCLAIM}. {@link Duration#ZERO} disables
+         * reclaiming. Defaults to {@code 30 seconds}.
+         *
+         * @param claimInterval the claim interval.
+         * @return {@code this} {@link Builder}.
+         */
+        public Builder<K, V> claimInterval(Duration claimInterval) {
+
+            LettuceAssert.notNull(claimInterval, "Claim interval must not be null");
+            LettuceAssert.isTrue(!claimInterval.isNegative(), "Claim interval must not be negative");
+
+            this.claimInterval = claimInterval;
+            return this;
+        }
+
+        /**
+         * Configure the interval to publish {@link StreamConsumerMetricsEvent}s. {@link Duration#ZERO} disables metrics.
+         * Defaults to {@code 10 seconds}.
+         *
+         * @param metricsInterval the metrics interval.
+         * @return {@code this} {@link Builder}.
+         */
+        public Builder<K, V> metricsInterval(Duration metricsInterval) {
+
+            LettuceAssert.notNull(metricsInterval, "Metrics interval must not be null");
+            LettuceAssert.isTrue(!metricsInterval.isNegative(), "Metrics interval must not be negative");
+
+            this.metricsInterval = metricsInterval;
+            return this;
+        }
+
+        /**
+         * @return a new {@link StreamConsumer}.
+         */
+        public StreamConsumer<K, V> build() {
+
+            LettuceAssert.isTrue(maxInFlight >= batchSize, "Max in-flight must be greater or equal to batch size");
+
+            return new StreamConsumer<>(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.support.streams;
+
+import java.time.Duration;
+
+import io.lettuce.core.event.Event;
+
+/**
+ * Event that transports {@link StreamConsumer} metrics collected over a reporting interval. Counters reflect activity since
+ * the previous event.
+ *
+ * @since 7.0
+ */
+public class StreamConsumerMetricsEvent implements Event {
+
+    private final String stream;
+
+    private final String group;
+
+    private final String consumer;
+
+    private final Duration interval;
+
+    private final long received;
+
+    private final long acknowledged;
+
+    private final long failed;
+
+    private final long claimed;
+
+    private final long backlog;
+
+    private final long pending;
+
+    public StreamConsumerMetricsEvent(String stream, String group, String consumer, Duration interval, long received,
+            long acknowledged, long failed, long claimed, long backlog, long pending) {
+        this.stream = stream;
+        this.group = group;
+        this.consumer = consumer;
+        this.interval = interval;
+        this.received = received;
+        this.acknowledged = acknowledged;
+        this.failed = failed;
+        this.claimed = claimed;
+        this.backlog = backlog;
+        this.pending = pending;
+    }
+
+    /**
+     * @return the stream key.
+     */
+    public String getStream() {
+        return stream;
+    }
+
+    /**
+     * @return the consumer group name.
+     */
+    public String getGroup() {
+        return group;
+    }
+
+    /**
+     * @return the consumer name.
+     */
+    public String getConsumer() {
+        return consumer;
+    }
+
+    /**
+     * @return the reporting interval.
+     */
+    public Duration getInterval() {
+        return interval;
+    }
+
+    /**
+     * @return number of messages received through {@code XREADGROUP} within the interval.
+     */
+    public long getReceived() {
+        return received;
+    }
+
+    /**
+     * @return number of messages acknowledged through {@code XACK} within the interval.
+     */
+    public long getAcknowledged() {
+        return acknowledged;
+    }
+
+    /**
+     * @return number of messages whose handler failed within the interval. Failed messages remain pending.
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return number of messages reclaimed through {@code XAUTOCLAIM} within the interval.
+     */
+    public long getClaimed() {
+        return claimed;
+    }
+
+    /**
+     * @return number of messages fetched by this consumer that were not yet handled.
+     */
+    public long getBacklog() {
+        return backlog;
+    }
+
+    /**
+     * @return number of pending (delivered but not acknowledged) messages of the consumer group as reported by
+     *         {@code XPENDING}, or {@code -1} if unknown.
+     */
+    public long getPending() {
+        return pending;
+    }
+
+    /**
+     * @return received messages per second within the interval.
+     */
+    public double getThroughput() {
+        return interval.isZero() ? 0 : received * 1_000_000_000d / interval.toNanos();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [stream='").append(stream).append('\'');
+        sb.append(", group='").append(group).append('\'');
+        sb.append(", consumer='").append(consumer).append('\'');
+        sb.append(", interval=").append(interval);
+        sb.append(", received=").append(received);
+        sb.append(", acknowledged=").append(acknowledged);
+        sb.append(", failed=").append(failed);
+        sb.append(", claimed=").append(claimed);
+        sb.append(", backlog=").append(backlog);
+        sb.append(", pending=").append(pending);
+        sb.append(']');
+        return sb.toString();
+    }
+
+}
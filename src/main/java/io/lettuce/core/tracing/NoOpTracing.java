@@ -126,6 +126,11 @@ enum NoOpTracing implements Tracing, TraceContextProvider, TracerProvider {
         public void finish() {
         }
 
+        @Override
+        public boolean isRecording() {
+            return false;
+        }
+
     }
 
 }
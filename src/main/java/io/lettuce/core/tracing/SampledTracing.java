@@ -0,0 +1,349 @@
+/*
+ * Copyright 2018-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.tracing;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import io.lettuce.core.internal.LettuceAssert;
+import io.lettuce.core.protocol.CompleteableCommand;
+import io.lettuce.core.protocol.RedisCommand;
+
+/**
+ * {@link Tracing} decorator that samples spans created by a delegate {@link Tracing}. Spans are selected by a fixed-rate head
+ * sample and can additionally be captured when a command fails or exceeds a latency threshold (tail sampling).
+ * <p>
+ * Commands that are not head-sampled use a non-recording span so that no span tags are computed for them. Tail-sampled
+ * commands are buffered until completion and only materialized in the delegate {@link Tracing} if they failed or were slow.
+ * Tags supplied through {@link Tracer.Span#tag(String, Supplier)} are only resolved for materialized spans.
+ * Such spans are reported at completion time and carry the measured command duration in the {@code lettuce.command.duration}
+ * tag (nanoseconds) and the sampling reason in the {@code lettuce.sampling} tag.
+ *
+ * @since 7.0
+ * @see #builder(Tracing)
+ */
+public class SampledTracing implements Tracing {
+
+    /**
+     * Tag name reporting why a span was sampled.
+     */
+    public static final String SAMPLING_TAG = "lettuce.sampling";
+
+    /**
+     * Tag name reporting the command duration in nanoseconds for tail-sampled spans.
+     */
+    public static final String DURATION_TAG = "lettuce.command.duration";
+
+    private final Tracing delegate;
+
+    private final double sampleRate;
+
+    private final long latencyThresholdNanos;
+
+    private final boolean traceErrors;
+
+    private final TracerProvider tracerProvider;
+
+    private SampledTracing(Builder builder) {
+        this.delegate = builder.delegate;
+        this.sampleRate = builder.sampleRate;
+        this.latencyThresholdNanos = builder.latencyThreshold.toNanos();
+        this.traceErrors = builder.traceErrors;
+
+        SampledTracer tracer = new SampledTracer();
+        this.tracerProvider = () -> tracer;
+    }
+
+    /**
+     * Create a new {@link Builder} for {@link SampledTracing} decorating the given {@link Tracing}.
+     *
+     * @param delegate the {@link Tracing} to sample, must not be {@code null}.
+     * @return a new {@link Builder}.
+     */
+    public static Builder builder(Tracing delegate) {
+
+        LettuceAssert.notNull(delegate, "Tracing must not be null");
+
+        return new Builder(delegate);
+    }
+
+    @Override
+    public TracerProvider getTracerProvider() {
+        return tracerProvider;
+    }
+
+    @Override
+    public TraceContextProvider initialTraceContextProvider() {
+        return delegate.initialTraceContextProvider();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return delegate.isEnabled();
+    }
+
+    @Override
+    public boolean includeCommandArgsInSpanTags() {
+        return delegate.includeCommandArgsInSpanTags();
+    }
+
+    @Override
+    public Endpoint createEndpoint(SocketAddress socketAddress) {
+        return delegate.createEndpoint(socketAddress);
+    }
+
+    /**
+     * @return the head sample rate between {@code 0} and {@code 1}.
+     */
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * @return the latency threshold for tail sampling. {@link Duration#ZERO} if latency-triggered sampling is disabled.
+     */
+    public Duration getLatencyThreshold() {
+        return Duration.ofNanos(latencyThresholdNanos);
+    }
+
+    /**
+     * @return {@code true} if failed commands are traced regardless of the head sample.
+     */
+    public boolean isTraceErrors() {
+        return traceErrors;
+    }
+
+    private boolean isTailSampling() {
+        return traceErrors || latencyThresholdNanos > 0;
+    }
+
+    /**
+     * Builder for {@link SampledTracing}.
+     */
+    public static class Builder {
+
+        private final Tracing delegate;
+
+        private double sampleRate = 1.0;
+
+        private Duration latencyThreshold = Duration.ZERO;
+
+        private boolean traceErrors = false;
+
+        private Builder(Tracing delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Configure the fixed head sample rate. Defaults to {@code 1.0} (trace every command).
+         *
+         * @param sampleRate rate between {@code 0} and {@code 1}.
+         * @return {@code this} {@link Builder}.
+         */
+        public Builder sampleRate(double sampleRate) {
+
+            LettuceAssert.isTrue(sampleRate >= 0 && sampleRate <= 1, "Sample rate must be between 0 and 1");
+
+            this.sampleRate = sampleRate;
+            return this;
+        }
+
+        /**
+         * Trace commands whose duration exceeds the given threshold even if they were not head-sampled. Defaults to
+         * {@link Duration#ZERO} (disabled).
+         *
+         * @param latencyThreshold the latency threshold, must not be {@code null} or negative.
+         * @return {@code this} {@link Builder}.
+         */
+        public Builder latencyThreshold(Duration latencyThreshold) {
+
+            LettuceAssert.notNull(latencyThreshold, "Latency threshold must not be null");
+            LettuceAssert.isTrue(!latencyThreshold.isNegative(), "Latency threshold must not be negative");
+
+            this.latencyThreshold = latencyThreshold;
+            return this;
+        }
+
+        /**
+         * Trace commands that complete with an error even if they were not head-sampled. Defaults to {@code false}.
+         *
+         * @param traceErrors {@code true} to trace failed commands.
+         * @return {@code this} {@link Builder}.
+         */
+        public Builder traceErrors(boolean traceErrors) {
+            this.traceErrors = traceErrors;
+            return this;
+        }
+
+        /**
+         * @return a new instance of {@link SampledTracing}.
+         */
+        public SampledTracing build() {
+            return new SampledTracing(this);
+        }
+
+    }
+
+    class SampledTracer extends Tracer {
+
+        @Override
+        public Span nextSpan() {
+            return nextSpan(null);
+        }
+
+        @Override
+        public Span nextSpan(TraceContext traceContext) {
+
+            if (sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+                return traceContext == null ? delegate.getTracerProvider().getTracer().nextSpan()
+                        : delegate.getTracerProvider().getTracer().nextSpan(traceContext);
+            }
+
+            if (!isTailSampling()) {
+                return NoOpTracing.NoOpSpan.INSTANCE;
+            }
+
+            return new DeferredSpan(traceContext);
+        }
+
+    }
+
+    /**
+     * Span that buffers its state until the command completes and creates a delegate span only if the command failed or was
+     * slow. Tag values are stored as {@link String} or as {@link Supplier} and resolved when the delegate span is created.
+     */
+    class DeferredSpan extends Tracer.Span {
+
+        private final TraceContext traceContext;
+
+        private final List<Object[]> tags = new ArrayList<>(4);
+
+        private final List<String> annotations = new ArrayList<>(2);
+
+        private String name;
+
+        private Endpoint endpoint;
+
+        private long startNanos;
+
+        DeferredSpan(TraceContext traceContext) {
+            this.traceContext = traceContext;
+        }
+
+        @Override
+        public Tracer.Span start(RedisCommand<?, ?, ?> command) {
+
+            if (!(command instanceof CompleteableCommand)) {
+                return this;
+            }
+
+            startNanos = System.nanoTime();
+            ((CompleteableCommand<?>) command).onComplete((o, throwable) -> onComplete(command, throwable));
+            return this;
+        }
+
+        private void onComplete(RedisCommand<?, ?, ?> command, Throwable throwable) {
+
+            long duration = System.nanoTime() - startNanos;
+            boolean error = throwable != null || (command.getOutput() != null && command.getOutput().getError() != null);
+
+            String reason;
+            if (traceErrors && error) {
+                reason = "error";
+            } else if (latencyThresholdNanos > 0 && duration >= latencyThresholdNanos) {
+                reason = "latency";
+            } else {
+                return;
+            }
+
+            Tracer tracer = delegate.getTracerProvider().getTracer();
+            Tracer.Span span = traceContext == null ? tracer.nextSpan() : tracer.nextSpan(traceContext);
+
+            if (name != null) {
+                span.name(name);
+            }
+            for (Object[] tag : tags) {
+                span.tag((String) tag[0], resolve(tag[1]));
+            }
+            for (String annotation : annotations) {
+                span.annotate(annotation);
+            }
+            if (endpoint != null) {
+                span.remoteEndpoint(endpoint);
+            }
+
+            span.tag(SAMPLING_TAG, reason);
+            span.tag(DURATION_TAG, Long.toString(duration));
+
+            // the command is already completed so the delegate span reports the outcome and finishes immediately
+            span.start(command);
+        }
+
+        @Override
+        public Tracer.Span name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        @Override
+        public Tracer.Span annotate(String value) {
+            annotations.add(value);
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        private String resolve(Object value) {
+            return value instanceof Supplier ? ((Supplier<String>) value).get() : (String) value;
+        }
+
+        @Override
+        public Tracer.Span tag(String key, String value) {
+            tags.add(new Object[] { key, value });
+            return this;
+        }
+
+        @Override
+        public Tracer.Span tag(String key, Supplier<String> valueSupplier) {
+            tags.add(new Object[] { key, valueSupplier });
+            return this;
+        }
+
+        @Override
+        public Tracer.Span error(Throwable throwable) {
+            return this;
+        }
+
+        @Override
+        public Tracer.Span remoteEndpoint(Endpoint endpoint) {
+            this.endpoint = endpoint;
+            return this;
+        }
+
+        @Override
+        public void finish() {
+        }
+
+    }
+
+}
@@ -1,5 +1,7 @@
 package io.lettuce.core.tracing;
 
+import java.util.function.Supplier;
+
 import io.lettuce.core.protocol.RedisCommand;
 
 /**
@@ -64,6 +66,19 @@ public abstract class Tracer {
          */
         public abstract Span tag(String key, String value);
 
+        /**
+         * Associates a tag with this {@link Span} whose value is computed by {@code valueSupplier}. Spans that defer reporting
+         * can resolve the value only once they are reported. The default implementation resolves the value immediately.
+         *
+         * @param key must not be {@code null}.
+         * @param valueSupplier must not be {@code null} and must not supply {@code null}.
+         * @return {@literal this} {@link Span}.
+         * @since 7.0
+         */
+        public Span tag(String key, Supplier<String> valueSupplier) {
+            return tag(key, valueSupplier.get());
+        }
+
         /**
          * Associate an {@link Throwable error} with this {@link Span}.
          *
@@ -85,6 +100,17 @@ public abstract class Tracer {
          */
         public abstract void finish();
 
+        /**
+         * Returns whether this {@link Span} records data. Callers can skip computing names and tags for spans that are not
+         * recorded, for example because they were not sampled.
+         *
+         * @return {@code true} if this {@link Span} records data.
+         * @since 7.0
+         */
+        public boolean isRecording() {
+            return true;
+        }
+
     }
 
 }
@@ -0,0 +1,203 @@
+package io.lettuce.core;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.protocol.AsyncCommand;
+import io.lettuce.core.protocol.Command;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.RedisCommand;
+
+/**
+ * Unit tests for {@link BlockingCommandWriter}.
+ */
+@Tag(UNIT_TEST)
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BlockingCommandWriterUnitTests {
+
+    @Mock
+    private RedisChannelWriter delegate;
+
+    @Mock
+    private StatefulRedisConnectionImpl<String, String> dedicated;
+
+    @Mock
+    private RedisChannelWriter dedicatedWriter;
+
+    private final AtomicInteger connects = new AtomicInteger();
+
+    private BlockingCommandWriter sut;
+
+    @BeforeEach
+    void before() {
+
+        when(dedicated.getChannelWriter()).thenReturn(dedicatedWriter);
+        when(dedicated.isOpen()).thenReturn(true);
+        when(dedicated.closeAsync()).thenReturn(CompletableFuture.completedFuture(null));
+        when(delegate.closeAsync()).thenReturn(CompletableFuture.completedFuture(null));
+
+        sut = new BlockingCommandWriter(delegate, BlockingCommandIsolationOptions.builder().enable().maxConnections(1).build(),
+                () -> {
+                    connects.incrementAndGet();
+                    return CompletableFuture.completedFuture(dedicated);
+                });
+    }
+
+    @Test
+    void shouldWriteNonBlockingCommandsToDelegate() {
+
+        AsyncCommand<String, String, String> command = command(CommandType.LPOP);
+
+        sut.write(command);
+
+        verify(delegate).write(command);
+        verifyNoInteractions(dedicatedWriter);
+    }
+
+    @Test
+    void shouldIsolateBlockingCommands() {
+
+        AsyncCommand<String, String, String> first = command(CommandType.BLPOP);
+        AsyncCommand<String, String, String> second = command(CommandType.BLPOP);
+
+        sut.write(first);
+        sut.write(second);
+
+        verify(dedicatedWriter).write(first);
+        verify(dedicatedWriter, never()).write(second);
+        verify(delegate, never()).write(any(RedisCommand.class));
+
+        first.complete();
+
+        verify(dedicatedWriter).write(second);
+        assertThat(connects).hasValue(1);
+    }
+
+    @Test
+    void shouldDiscardConnectionAfterCancellation() {
+
+        AsyncCommand<String, String, String> command = command(CommandType.BRPOP);
+
+        sut.write(command);
+        command.cancel();
+
+        verify(dedicated).closeAsync();
+        assertThat(sut.getConnectionCount()).isZero();
+
+        sut.write(command(CommandType.BRPOP));
+
+        assertThat(connects).hasValue(2);
+    }
+
+    @Test
+    void shouldNotIsolateWithinTransaction() {
+
+        AsyncCommand<String, String, String> command = command(CommandType.BLPOP);
+
+        sut.write(command(CommandType.MULTI));
+        sut.write(command);
+
+        verify(delegate).write(command);
+        verifyNoInteractions(dedicatedWriter);
+    }
+
+    @Test
+    void shouldNotIsolateWait() {
+
+        AsyncCommand<String, String, String> command = command(CommandType.WAIT);
+
+        sut.write(command);
+
+        verify(delegate).write(command);
+        verifyNoInteractions(dedicatedWriter);
+    }
+
+    @Test
+    void shouldApplyReadOnlyToDedicatedConnections() {
+
+        when(dedicatedWriter.write(any(RedisCommand.class))).thenAnswer(invocation -> {
+
+            RedisCommand<?, ?, ?> command = invocation.getArgument(0);
+            if (command.getType() == CommandType.READONLY) {
+                command.complete();
+            }
+            return command;
+        });
+
+        AsyncCommand<String, String, String> readOnly = command(CommandType.READONLY);
+        sut.write(readOnly);
+        readOnly.complete();
+
+        AsyncCommand<String, String, String> command = command(CommandType.BLPOP);
+        sut.write(command);
+
+        ArgumentCaptor<RedisCommand> captor = ArgumentCaptor.forClass(RedisCommand.class);
+        verify(dedicatedWriter, times(2)).write(captor.capture());
+
+        assertThat(captor.getAllValues().get(0).getType()).isEqualTo(CommandType.READONLY);
+        assertThat(captor.getAllValues().get(1)).isSameAs(command);
+    }
+
+    @Test
+    void shouldDiscardConnectionsAfterReadWrite() {
+
+        when(dedicatedWriter.write(any(RedisCommand.class))).thenAnswer(invocation -> {
+
+            RedisCommand<?, ?, ?> command = invocation.getArgument(0);
+            command.complete();
+            return command;
+        });
+
+        AsyncCommand<String, String, String> readOnly = command(CommandType.READONLY);
+        sut.write(readOnly);
+        readOnly.complete();
+        sut.write(command(CommandType.BLPOP));
+
+        AsyncCommand<String, String, String> readWrite = command(CommandType.READWRITE);
+        sut.write(readWrite);
+        readWrite.complete();
+        sut.write(command(CommandType.BLPOP));
+
+        verify(dedicated).closeAsync();
+        assertThat(connects).hasValue(2);
+    }
+
+    @Test
+    void shouldFailWaitingCommandsOnClose() {
+
+        sut.write(command(CommandType.BLPOP));
+        AsyncCommand<String, String, String> waiting = command(CommandType.BLPOP);
+        sut.write(waiting);
+
+        sut.close();
+
+        assertThat(waiting).isCompletedExceptionally();
+        verify(dedicated).closeAsync();
+        verify(delegate).closeAsync();
+    }
+
+    private static AsyncCommand<String, String, String> command(CommandType type) {
+        return new AsyncCommand<>(new Command<>(type, new StatusOutput<>(StringCodec.UTF8),
+                new CommandArgs<>(StringCodec.UTF8).addKey("key").add(0)));
+    }
+
+}
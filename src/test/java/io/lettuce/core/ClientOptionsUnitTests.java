@@ -52,12 +52,15 @@ class ClientOptionsUnitTests {
     @Test
     void testCopy() {
 
-        ClientOptions original = ClientOptions.builder().scriptCharset(StandardCharsets.US_ASCII).build();
+        ClientOptions original = ClientOptions.builder().scriptCharset(StandardCharsets.US_ASCII).zeroCopyWriteThreshold(65536)
+                .build();
         ClientOptions copy = ClientOptions.copyOf(original);
 
         checkAssertions(copy);
         assertThat(copy.getScriptCharset()).isEqualTo(StandardCharsets.US_ASCII);
         assertThat(copy.mutate().build().getScriptCharset()).isEqualTo(StandardCharsets.US_ASCII);
+        assertThat(copy.getZeroCopyWriteThreshold()).isEqualTo(65536);
+        assertThat(copy.mutate().build().getZeroCopyWriteThreshold()).isEqualTo(65536);
 
         assertThat(original.mutate()).isNotSameAs(copy.mutate());
     }
@@ -72,6 +72,17 @@ class MaintenanceEventsOptionsUnitTests {
         assertThat(options.getAddressTypeSource()).isInstanceOf(AddressTypeSource.class);
     }
 
+    @Test
+    void builderShouldConfigureMakeBeforeBreak() {
+        // When
+        MaintenanceEventsOptions defaults = MaintenanceEventsOptions.create();
+        MaintenanceEventsOptions options = MaintenanceEventsOptions.builder().makeBeforeBreak().build();
+
+        // Then
+        assertThat(defaults.isMakeBeforeBreak()).isFalse();
+        assertThat(options.isMakeBeforeBreak()).isTrue();
+    }
+
     @Test
     void builderShouldSupportMaintenanceEvents() {
         // When
@@ -290,6 +290,80 @@ class RedisHandshakeUnitTests {
         assertThat(maintCommand.getArgs().toString()).doesNotContain("moving-endpoint-type");
     }
 
+    @Test
+    void pipelinedHandshakeShouldWriteAllCommandsWithSingleFlush() {
+
+        EmbeddedChannel channel = new EmbeddedChannel(true, false);
+
+        ConnectionMetadata connectionMetadata = new ConnectionMetadata();
+        connectionMetadata.setLibraryName("library-name");
+
+        ConnectionState state = new ConnectionState();
+        state.setCredentialsProvider(new StaticCredentialsProvider(null, null));
+        state.apply(connectionMetadata);
+        state.setDb(1);
+        RedisHandshake handshake = new RedisHandshake(null, false, true, state, null);
+        CompletionStage<Void> handshakeInit = handshake.initialize(channel);
+
+        List<AsyncCommand<String, String, Map<String, String>>> commands = channel.readOutbound();
+        assertThat(commands).hasSize(3);
+        assertThat(channel.outboundMessages()).isEmpty();
+
+        helloResponse(commands.get(0).getOutput());
+        commands.get(0).complete();
+        commands.get(1).complete();
+
+        assertThat(handshakeInit.toCompletableFuture()).isNotDone();
+
+        commands.get(2).completeExceptionally(new RedisException(ERR_UNKNOWN_COMMAND));
+
+        assertThat(handshakeInit.toCompletableFuture()).isCompleted();
+        assertThat(state.getNegotiatedProtocolVersion()).isEqualTo(ProtocolVersion.RESP3);
+        assertThat(channel.outboundMessages()).isEmpty();
+    }
+
+    @Test
+    void pipelinedHandshakeShouldFailOnPostHandshakeError() {
+
+        EmbeddedChannel channel = new EmbeddedChannel(true, false);
+
+        ConnectionState state = new ConnectionState();
+        state.setCredentialsProvider(new StaticCredentialsProvider(null, null));
+        state.setDb(1);
+        RedisHandshake handshake = new RedisHandshake(ProtocolVersion.RESP3, false, true, state, null);
+        CompletionStage<Void> handshakeInit = handshake.initialize(channel);
+
+        List<AsyncCommand<String, String, Map<String, String>>> commands = channel.readOutbound();
+        helloResponse(commands.get(0).getOutput());
+        commands.get(0).complete();
+        commands.get(1).completeExceptionally(new RedisException("ERR DB index is out of range"));
+
+        assertThat(handshakeInit.toCompletableFuture()).isCompletedExceptionally();
+    }
+
+    @Test
+    void pipelinedHandshakeShouldFallbackToStepwiseResp2() {
+
+        EmbeddedChannel channel = new EmbeddedChannel(true, false);
+
+        ConnectionState state = new ConnectionState();
+        state.setCredentialsProvider(new StaticCredentialsProvider(null, null));
+        state.setDb(1);
+        RedisHandshake handshake = new RedisHandshake(null, false, true, state, null);
+        CompletionStage<Void> handshakeInit = handshake.initialize(channel);
+
+        List<AsyncCommand<String, String, Map<String, String>>> pipelined = channel.readOutbound();
+        pipelined.get(0).completeExceptionally(new RedisException("NOPROTO"));
+        pipelined.get(1).complete();
+
+        List<AsyncCommand<String, String, String>> postHandshake = channel.readOutbound();
+        assertThat(postHandshake).hasSize(1);
+        postHandshake.get(0).complete();
+
+        assertThat(handshakeInit.toCompletableFuture()).isCompleted();
+        assertThat(state.getNegotiatedProtocolVersion()).isEqualTo(ProtocolVersion.RESP2);
+    }
+
     private static void helloResponse(CommandOutput<String, String, Map<String, String>> output) {
 
         output.multiMap(8);
@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.Duration;
 import java.util.Collections;
+import java.util.concurrent.Executor;
 
 import javax.net.ssl.SSLParameters;
 
@@ -38,6 +39,17 @@ class SslOptionsUnitTests {
         assertThat(options.getHandshakeTimeout()).isEqualTo(Duration.ofSeconds(1));
     }
 
+    @Test
+    void shouldConfigureHandshakeExecutor() {
+
+        Executor executor = Runnable::run;
+        SslOptions options = SslOptions.builder().handshakeExecutor(executor).build();
+
+        assertThat(SslOptions.create().getHandshakeExecutor()).isNull();
+        assertThat(options.getHandshakeExecutor()).isSameAs(executor);
+        assertThat(options.mutate().build().getHandshakeExecutor()).isSameAs(executor);
+    }
+
     @Test
     void shouldConfigureCipherSuiteAndProtocol() {
 
@@ -248,6 +248,50 @@ class ClusterDistributionChannelWriterUnitTests {
         verifyWriteCommandCountWhenRedirecting(true);
     }
 
+    @Test
+    void shouldParseMovedSlot() {
+
+        assertThat(ClusterDistributionChannelWriter.getMovedSlot("MOVED 1234 127.0.0.1:6381")).isEqualTo(1234);
+        assertThat(ClusterDistributionChannelWriter.getMovedSlot("MOVED foo 127.0.0.1:6381")).isEqualTo(-1);
+        assertThat(ClusterDistributionChannelWriter.getMovedSlot("MOVED")).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldApplyMovedRedirectionToSlotCache() {
+
+        RedisClusterNode previousOwner = new RedisClusterNode(RedisURI.create("redis://127.0.0.1:6379"), "a", true, null, 0, 0,
+                0, Collections.singletonList(1234), Collections.singleton(RedisClusterNode.NodeFlag.UPSTREAM));
+        RedisClusterNode newOwner = new RedisClusterNode(RedisURI.create("redis://127.0.0.1:6380"), "b", true, null, 0, 0, 0,
+                Collections.emptyList(), Collections.singleton(RedisClusterNode.NodeFlag.UPSTREAM));
+
+        Partitions partitions = new Partitions();
+        partitions.reload(Arrays.asList(previousOwner, newOwner));
+
+        clusterDistributionChannelWriter.setClusterConnectionProvider(pooledClusterConnectionProvider);
+        clusterDistributionChannelWriter.setPartitions(partitions);
+
+        CommandArgs<String, String> commandArgs = new CommandArgs<>(StringCodec.UTF8).addKey("KEY");
+        Command<String, String, String> command = new Command<>(CommandType.GET, new ValueOutput<>(StringCodec.UTF8),
+                commandArgs);
+        ClusterCommand<String, String, String> clusterCommand = new ClusterCommand<>(new AsyncCommand<>(command), defaultWriter,
+                2);
+        clusterCommand.getOutput().setError("MOVED 1234 127.0.0.1:6380");
+
+        when(connectFuture.isDone()).thenReturn(true);
+        when(connectFuture.isCompletedExceptionally()).thenReturn(false);
+        when(connectFuture.join()).thenReturn(connection);
+        when(pooledClusterConnectionProvider.getConnectionAsync(any(ConnectionIntent.class), anyString(), anyInt()))
+                .thenReturn(connectFuture);
+        when(connection.getChannelWriter()).thenReturn(clusterNodeEndpoint);
+
+        clusterDistributionChannelWriter.write(clusterCommand);
+
+        assertThat(partitions.getPartitionBySlot(1234)).isSameAs(newOwner);
+        assertThat(partitions.getMasterBySlot(1234)).isSameAs(newOwner);
+        verify(pooledClusterConnectionProvider).resetSlot(1234);
+        verify(eventBus, never()).publish(any());
+    }
+
     private void verifyWriteCommandCountWhenRedirecting(boolean isMoved) {
 
         String outputError = isMoved ? "MOVED 1234 127.0.0.1:6379" : "ASK 1234 127.0.0.1:6379";
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.cluster;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import io.lettuce.core.RedisChannelWriter;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.StatefulRedisConnectionImpl;
+import io.lettuce.core.cluster.models.partitions.Partitions;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.output.ValueOutput;
+import io.lettuce.core.protocol.Command;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.ConnectionIntent;
+import io.lettuce.core.protocol.RedisCommand;
+
+/**
+ * Unit tests for {@link ClusterPipeline}.
+ */
+@Tag(UNIT_TEST)
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ClusterPipelineUnitTests {
+
+    @Mock
+    private ClusterDistributionChannelWriter writer;
+
+    @Mock
+    private AsyncClusterConnectionProvider connectionProvider;
+
+    @Mock
+    private StatefulRedisConnectionImpl<String, String> connection1;
+
+    @Mock
+    private StatefulRedisConnectionImpl<String, String> connection2;
+
+    @Mock
+    private StatefulRedisConnectionImpl<String, String> connection3;
+
+    @Mock
+    private RedisChannelWriter writer1;
+
+    @Mock
+    private RedisChannelWriter writer2;
+
+    @Mock
+    private RedisChannelWriter writer3;
+
+    private final Partitions partitions = new Partitions();
+
+    private ClusterPipeline<String, String> sut;
+
+    @BeforeEach
+    void before() {
+
+        List<Integer> slots1 = IntStream.range(0, 8192).boxed().collect(Collectors.toList());
+        List<Integer> slots2 = IntStream.range(8192, SlotHash.SLOT_COUNT).boxed().collect(Collectors.toList());
+
+        partitions.add(new RedisClusterNode(RedisURI.create("localhost", 1), "1", true, null, 0, 0, 0, slots1,
+                Collections.singleton(RedisClusterNode.NodeFlag.UPSTREAM)));
+        partitions.add(new RedisClusterNode(RedisURI.create("localhost", 2), "2", true, null, 0, 0, 0, slots2,
+                Collections.singleton(RedisClusterNode.NodeFlag.UPSTREAM)));
+
+        when(writer.getPartitions()).thenReturn(partitions);
+        when(writer.getIntent(anyCollection())).thenReturn(ConnectionIntent.WRITE);
+        when(writer.getAsyncClusterConnectionProvider()).thenReturn(connectionProvider);
+
+        when(connectionProvider.getConnectionAsync(eq(ConnectionIntent.WRITE), anyInt())).thenAnswer(invocation -> {
+            int slot = invocation.getArgument(1);
+            return CompletableFuture.completedFuture(slot < 8192 ? connection1 : connection2);
+        });
+        when(connectionProvider.getConnectionAsync(ConnectionIntent.WRITE, "127.0.0.1", 3))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(connection3));
+
+        when(connection1.getChannelWriter()).thenReturn(writer1);
+        when(connection2.getChannelWriter()).thenReturn(writer2);
+        when(connection3.getChannelWriter()).thenReturn(writer3);
+
+        sut = new ClusterPipeline<>(writer, 5);
+    }
+
+    @Test
+    void shouldWriteOneBatchPerNode() {
+
+        RedisFuture<String> a = sut.add(get("a"));
+        RedisFuture<String> b = sut.add(get("b"));
+        RedisFuture<String> c = sut.add(get("c"));
+
+        CompletableFuture<List<Object>> result = sut.execute();
+
+        List<RedisCommand<String, String, ?>> node1 = captureWrite(writer1);
+        List<RedisCommand<String, String, ?>> node2 = captureWrite(writer2);
+
+        assertThat(node1).hasSize(2);
+        assertThat(node2).hasSize(1);
+
+        reply(node2.get(0), "A");
+        reply(node1.get(0), "B");
+        reply(node1.get(1), "C");
+
+        assertThat(a.toCompletableFuture()).isCompletedWithValue("A");
+        assertThat(b.toCompletableFuture()).isCompletedWithValue("B");
+        assertThat(c.toCompletableFuture()).isCompletedWithValue("C");
+        assertThat(result.join()).containsExactly("A", "B", "C");
+    }
+
+    @Test
+    void shouldRedirectMovedCommandsPerBatch() {
+
+        RedisFuture<String> a = sut.add(get("a"));
+
+        CompletableFuture<List<Object>> result = sut.execute();
+
+        RedisCommand<String, String, ?> command = captureWrite(writer2).get(0);
+        command.getOutput().setError("MOVED 15495 127.0.0.1:3");
+        command.complete();
+
+        assertThat(a.toCompletableFuture()).isNotDone();
+        verify(writer).onMovedRedirection();
+
+        RedisCommand<String, String, ?> redirected = captureWrite(writer3).get(0);
+        reply(redirected, "A");
+
+        assertThat(result.join()).containsExactly("A");
+    }
+
+    @Test
+    void shouldRejectSecondExecution() {
+
+        sut.execute();
+
+        assertThatIllegalStateException().isThrownBy(() -> sut.execute());
+    }
+
+    private static RedisCommand<String, String, String> get(String key) {
+        return new Command<>(CommandType.GET, new ValueOutput<>(StringCodec.UTF8),
+                new CommandArgs<>(StringCodec.UTF8).addKey(key));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static List<RedisCommand<String, String, ?>> captureWrite(RedisChannelWriter writer) {
+
+        ArgumentCaptor<Collection> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(writer).write(captor.capture());
+        return new ArrayList<>(captor.getValue());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void reply(RedisCommand<String, String, ?> command, String value) {
+        command.getOutput().set(ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8)));
+        command.complete();
+    }
+
+}
@@ -0,0 +1,132 @@
+package io.lettuce.core.cluster;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.lettuce.core.cluster.event.HotKeysEvent;
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.ScheduledFuture;
+
+/**
+ * Unit tests for {@link HotKeyDetector}.
+ */
+@Tag(UNIT_TEST)
+class HotKeyDetectorUnitTests {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final List<HotKeysEvent> events = new ArrayList<>();
+
+    private final HotKeyDetector sut = new HotKeyDetector(HotKeyDetectionOptions.builder().enable().samplingProbability(1)
+            .window(Duration.ofSeconds(1)).topK(2).build(), slot -> "node-" + slot, events::add, clock::get);
+
+    @Test
+    void shouldReportHotKeysAtEndOfWindow() {
+
+        record("hot", 100);
+        record("warm", 10);
+        record("cold", 1);
+
+        assertThat(events).isEmpty();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        sut.closeWindow();
+
+        assertThat(events).hasSize(1);
+
+        HotKeysEvent event = events.get(0);
+        assertThat(event.getHotKeys()).extracting(HotKeysEvent.HotKey::getKeyAsString).containsExactly("hot", "warm");
+        assertThat(event.getHotKeys().get(0).getEstimatedCount()).isEqualTo(100);
+        assertThat(event.getHotKeys().get(0).getSlot()).isEqualTo(SlotHash.getSlot("hot"));
+        assertThat(event.getHotKeys().get(0).getNodeId()).isEqualTo("node-" + SlotHash.getSlot("hot"));
+        assertThat(event.getSlotRates()).containsEntry(SlotHash.getSlot("hot"), 100d);
+    }
+
+    @Test
+    void shouldResetCountsAfterWindow() {
+
+        record("hot", 5);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        sut.closeWindow();
+        record("other", 1);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        sut.closeWindow();
+
+        assertThat(events).hasSize(2);
+        assertThat(events.get(1).getHotKeys()).extracting(HotKeysEvent.HotKey::getKeyAsString).containsExactly("other");
+        assertThat(events.get(1).getSlotRates()).containsOnlyKeys(SlotHash.getSlot("other"));
+    }
+
+    @Test
+    void shouldNotReportEmptyWindows() {
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        sut.closeWindow();
+
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void shouldCloseWindowsOnSchedule() {
+
+        EventExecutorGroup executor = mock(EventExecutorGroup.class);
+        ScheduledFuture<?> future = mock(ScheduledFuture.class);
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        doReturn(future).when(executor).scheduleAtFixedRate(task.capture(), anyLong(), anyLong(), any(TimeUnit.class));
+
+        sut.start(executor);
+        verify(executor).scheduleAtFixedRate(any(Runnable.class), eq(TimeUnit.SECONDS.toNanos(1)),
+                eq(TimeUnit.SECONDS.toNanos(1)), eq(TimeUnit.NANOSECONDS));
+
+        record("hot", 1);
+        task.getValue().run();
+
+        assertThat(events).hasSize(1);
+
+        record("hot", 1);
+        sut.shutdown();
+
+        assertThat(events).hasSize(2);
+        verify(future).cancel(false);
+    }
+
+    @Test
+    void sketchShouldNeverUnderestimate() {
+
+        HotKeyDetector.CountMinSketch sketch = new HotKeyDetector.CountMinSketch(16, 4);
+
+        for (int i = 0; i < 200; i++) {
+            sketch.add(key("key" + (i % 20)));
+        }
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(sketch.estimate(key("key" + i))).isGreaterThanOrEqualTo(10);
+        }
+    }
+
+    private void record(String key, int times) {
+
+        for (int i = 0; i < times; i++) {
+            sut.record(SlotHash.getSlot(key), key(key));
+        }
+    }
+
+    private static ByteBuffer key(String key) {
+        return ByteBuffer.wrap(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,201 @@
+package io.lettuce.core.cluster.pubsub;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.cluster.PipelinedRedisFuture;
+import io.lettuce.core.cluster.SlotHash;
+import io.lettuce.core.cluster.models.partitions.Partitions;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.pubsub.RedisPubSubListener;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import io.lettuce.core.pubsub.api.async.RedisPubSubAsyncCommands;
+
+/**
+ * Unit tests for {@link ShardedPubSub}.
+ */
+@Tag(UNIT_TEST)
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ShardedPubSubUnitTests {
+
+    // {a} -> slot 15495, {b} -> slot 3300, {c} -> slot 7365
+    private static final String CHANNEL_A1 = "{a}1";
+
+    private static final String CHANNEL_A2 = "{a}2";
+
+    private static final String CHANNEL_B = "{b}1";
+
+    private static final String CHANNEL_C = "{c}1";
+
+    @Mock
+    private StatefulRedisClusterPubSubConnection<String, String> connection;
+
+    @Mock
+    private StatefulRedisPubSubConnection<String, String> connection1;
+
+    @Mock
+    private StatefulRedisPubSubConnection<String, String> connection2;
+
+    @Mock
+    private RedisPubSubAsyncCommands<String, String> commands1;
+
+    @Mock
+    private RedisPubSubAsyncCommands<String, String> commands2;
+
+    @Mock
+    private RedisPubSubListener<String, String> listener;
+
+    private final Partitions partitions = new Partitions();
+
+    private ShardedPubSub<String, String> sut;
+
+    @BeforeEach
+    void before() {
+
+        partitions.reload(Arrays.asList(node("1", 0, 8192), node("2", 8192, SlotHash.SLOT_COUNT)));
+
+        when(connection.getPartitions()).thenReturn(partitions);
+        when(connection.getConnectionAsync("1")).thenReturn(CompletableFuture.completedFuture(connection1));
+        when(connection.getConnectionAsync("2")).thenReturn(CompletableFuture.completedFuture(connection2));
+        when(connection1.async()).thenReturn(commands1);
+        when(connection2.async()).thenReturn(commands2);
+        when(commands1.ssubscribe(any())).thenReturn(completed());
+        when(commands1.sunsubscribe(any())).thenReturn(completed());
+        when(commands2.ssubscribe(any())).thenReturn(completed());
+        when(commands2.sunsubscribe(any())).thenReturn(completed());
+
+        sut = new ShardedPubSub<>(connection, StringCodec.UTF8);
+    }
+
+    @Test
+    void shouldBatchSubscriptionsPerSlotOnOwningNode() {
+
+        assertThat(sut.ssubscribe(CHANNEL_A1, CHANNEL_A2, CHANNEL_B, CHANNEL_C)).isCompleted();
+
+        verify(commands1).ssubscribe(CHANNEL_B);
+        verify(commands1).ssubscribe(CHANNEL_C);
+        verify(commands2).ssubscribe(CHANNEL_A1, CHANNEL_A2);
+        assertThat(sut.getShardChannels()).containsOnly(CHANNEL_A1, CHANNEL_A2, CHANNEL_B, CHANNEL_C);
+    }
+
+    @Test
+    void shouldNotResubscribeExistingChannels() {
+
+        sut.ssubscribe(CHANNEL_B);
+        sut.ssubscribe(CHANNEL_B);
+
+        verify(commands1, times(1)).ssubscribe(CHANNEL_B);
+    }
+
+    @Test
+    void shouldMoveOnlyAffectedChannelsOnTopologyChange() {
+
+        sut.ssubscribe(CHANNEL_A1, CHANNEL_C);
+
+        Partitions changed = new Partitions();
+        changed.reload(Arrays.asList(node("1", 0, 4096), node("2", 4096, SlotHash.SLOT_COUNT)));
+
+        assertThat(sut.rebalance(changed)).isCompleted();
+
+        verify(commands1).sunsubscribe(CHANNEL_C);
+        verify(commands2).ssubscribe(CHANNEL_C);
+        verify(commands2, times(1)).ssubscribe(CHANNEL_A1);
+        verify(commands1, never()).ssubscribe(CHANNEL_A1);
+    }
+
+    @Test
+    void shouldResubscribeAfterFailedSubscription() {
+
+        when(commands1.ssubscribe(any())).thenReturn(failed());
+
+        assertThat(sut.ssubscribe(CHANNEL_B)).isCompletedExceptionally();
+
+        when(commands1.ssubscribe(any())).thenReturn(completed());
+
+        assertThat(sut.refresh()).isCompleted();
+        verify(commands1, times(2)).ssubscribe(CHANNEL_B);
+    }
+
+    @Test
+    void shouldUnsubscribeFromCurrentOwner() {
+
+        sut.ssubscribe(CHANNEL_A1, CHANNEL_B);
+
+        assertThat(sut.sunsubscribe(CHANNEL_A1)).isCompleted();
+
+        verify(commands2).sunsubscribe(CHANNEL_A1);
+        assertThat(sut.getShardChannels()).containsOnly(CHANNEL_B);
+    }
+
+    @Test
+    void shouldResubscribeOnServerSideUnsubscribe() {
+
+        ArgumentCaptor<RedisClusterPubSubListener<String, String>> captor = ArgumentCaptor
+                .forClass(RedisClusterPubSubListener.class);
+        verify(connection).addListener(captor.capture());
+
+        sut.ssubscribe(CHANNEL_B);
+        captor.getValue().sunsubscribed(partitions.getPartitionByNodeId("1"), CHANNEL_B, 0);
+
+        verify(commands1, times(2)).ssubscribe(CHANNEL_B);
+    }
+
+    @Test
+    void shouldForwardShardMessagesToListeners() {
+
+        ArgumentCaptor<RedisClusterPubSubListener<String, String>> captor = ArgumentCaptor
+                .forClass(RedisClusterPubSubListener.class);
+        verify(connection).addListener(captor.capture());
+
+        sut.addListener(listener);
+        captor.getValue().smessage(partitions.getPartitionByNodeId("2"), CHANNEL_A1, "hello");
+
+        verify(listener).smessage(CHANNEL_A1, "hello");
+    }
+
+    private static RedisClusterNode node(String nodeId, int from, int to) {
+
+        List<Integer> slots = IntStream.range(from, to).boxed().collect(Collectors.toList());
+
+        return new RedisClusterNode(RedisURI.create("localhost", Integer.parseInt(nodeId)), nodeId, true, null, 0, 0, 0, slots,
+                Collections.singleton(RedisClusterNode.NodeFlag.UPSTREAM));
+    }
+
+    private static RedisFuture<Void> completed() {
+        return new PipelinedRedisFuture<>(CompletableFuture.completedFuture(null));
+    }
+
+    private static RedisFuture<Void> failed() {
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        future.completeExceptionally(new IllegalStateException("MOVED"));
+        return new PipelinedRedisFuture<>(future);
+    }
+
+}
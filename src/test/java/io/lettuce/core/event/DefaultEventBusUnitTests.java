@@ -4,6 +4,7 @@ import static io.lettuce.TestTags.UNIT_TEST;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -49,4 +50,71 @@ class DefaultEventBusUnitTests {
         disposable1.dispose();
     }
 
+    @Test
+    void publishToTypedSubscriber() {
+
+        EventBus sut = new DefaultEventBus(Schedulers.immediate());
+        TypedEvent typedEvent = new TypedEvent();
+
+        StepVerifier.create(sut.get(TypedEvent.class)).then(() -> {
+            sut.publish(event);
+            sut.publish(typedEvent);
+        }).expectNext(typedEvent).thenCancel().verify();
+    }
+
+    @Test
+    void isEnabledShouldConsiderSubscribedTypes() {
+
+        EventBus sut = new DefaultEventBus(Schedulers.immediate());
+
+        assertThat(sut.isEnabled(TypedEvent.class)).isFalse();
+
+        Disposable typed = sut.get(TypedEvent.class).subscribe();
+
+        assertThat(sut.isEnabled(TypedEvent.class)).isTrue();
+        assertThat(sut.isEnabled(UnsubscribedEvent.class)).isFalse();
+
+        typed.dispose();
+        Disposable all = sut.get().subscribe();
+
+        assertThat(sut.isEnabled(UnsubscribedEvent.class)).isTrue();
+
+        all.dispose();
+
+        assertThat(sut.isEnabled(TypedEvent.class)).isFalse();
+    }
+
+    @Test
+    void concurrentPublishShouldDeliverAllEvents() throws Exception {
+
+        EventBus sut = new DefaultEventBus(Schedulers.immediate());
+        AtomicInteger received = new AtomicInteger();
+        Disposable disposable = sut.get().subscribe(it -> received.incrementAndGet());
+
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 100; j++) {
+                    sut.publish(event);
+                }
+            });
+            threads[i].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(received).hasValue(400);
+        disposable.dispose();
+    }
+
+    static class TypedEvent implements Event {
+
+    }
+
+    static class UnsubscribedEvent implements Event {
+
+    }
+
 }
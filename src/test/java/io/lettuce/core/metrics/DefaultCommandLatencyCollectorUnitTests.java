@@ -31,6 +31,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import io.lettuce.core.metrics.DefaultCommandLatencyCollector.PauseDetectorWrapper;
+import io.lettuce.core.protocol.Command;
 import io.lettuce.core.protocol.CommandType;
 import io.lettuce.test.ReflectionTestUtils;
 import io.netty.channel.local.LocalAddress;
@@ -130,6 +131,27 @@ class DefaultCommandLatencyCollectorUnitTests {
         sut.shutdown();
     }
 
+    @Test
+    void verifyStageMetrics() {
+
+        sut = new DefaultCommandLatencyCollector(DefaultCommandLatencyCollectorOptions.create());
+
+        setupData();
+        Command<String, String, String> command = new Command<>(CommandType.BGSAVE, null);
+        sut.recordStageLatency(LocalAddress.ANY, LocalAddress.ANY, command, CommandLatencyStage.QUEUE,
+                MILLISECONDS.toNanos(50));
+        sut.recordStageLatency(LocalAddress.ANY, LocalAddress.ANY, command, CommandLatencyStage.NETWORK,
+                MILLISECONDS.toNanos(500));
+
+        CommandMetrics metrics = sut.retrieveMetrics().values().iterator().next();
+
+        assertThat(metrics.getStages()).containsOnlyKeys(CommandLatencyStage.QUEUE, CommandLatencyStage.NETWORK);
+        assertThat(metrics.getStages().get(CommandLatencyStage.QUEUE).getMax()).isBetween(49000L, 51000L);
+        assertThat(metrics.getStages().get(CommandLatencyStage.NETWORK).getMax()).isBetween(490000L, 510000L);
+
+        sut.shutdown();
+    }
+
     @Test
     void verifyCummulativeMetrics() {
 
@@ -80,6 +80,23 @@ class MicrometerCommandLatencyRecorderUnitTests {
                 .hasFieldOrPropertyWithValue("max", 1500.0).hasFieldOrPropertyWithValue("total", 3000.0);
     }
 
+    @Test
+    void verifyStageMetrics() {
+
+        MicrometerOptions options = MicrometerOptions.create();
+        MicrometerCommandLatencyRecorder commandLatencyRecorder = new MicrometerCommandLatencyRecorder(meterRegistry, options);
+        Command<String, String, String> command = new Command<>(CommandType.BGSAVE, null);
+
+        commandLatencyRecorder.recordStageLatency(LOCAL_ADDRESS, REMOTE_ADDRESS, command, CommandLatencyStage.QUEUE, 100);
+        commandLatencyRecorder.recordStageLatency(LOCAL_ADDRESS, REMOTE_ADDRESS, command, CommandLatencyStage.QUEUE, 200);
+        commandLatencyRecorder.recordStageLatency(LOCAL_ADDRESS, REMOTE_ADDRESS, command, CommandLatencyStage.NETWORK, 300);
+
+        assertThat(meterRegistry.find(METRIC_STAGE).timers()).hasSize(2);
+        assertThat(meterRegistry.find(METRIC_STAGE).tag(LABEL_STAGE, CommandLatencyStage.QUEUE.name())
+                .tag(LABEL_COMMAND, CommandType.BGSAVE.name()).timers()).hasSize(1).element(0)
+                .extracting(Timer::takeSnapshot).hasFieldOrPropertyWithValue("count", 2L);
+    }
+
     @Test
     void disabled() {
 
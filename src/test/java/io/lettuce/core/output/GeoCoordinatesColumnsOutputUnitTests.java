@@ -0,0 +1,57 @@
+package io.lettuce.core.output;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.lettuce.core.GeoCoordinates;
+import io.lettuce.core.GeoCoordinatesColumns;
+import io.lettuce.core.codec.StringCodec;
+
+/**
+ * Unit tests for {@link GeoCoordinatesColumnsOutput}.
+ */
+@Tag(UNIT_TEST)
+class GeoCoordinatesColumnsOutputUnitTests {
+
+    private GeoCoordinatesColumnsOutput<String, String> sut = new GeoCoordinatesColumnsOutput<>(StringCodec.UTF8);
+
+    @Test
+    void shouldDecodeCoordinates() {
+
+        sut.multi(3);
+        sut.multi(2);
+        sut.set(ByteBuffer.wrap("1.5".getBytes()));
+        sut.set(ByteBuffer.wrap("2.5".getBytes()));
+        sut.multi(-1);
+        sut.multi(2);
+        sut.set(3.5);
+        sut.set(4.5);
+        sut.complete(0);
+
+        GeoCoordinatesColumns result = sut.get();
+
+        assertThat(result.size()).isEqualTo(3);
+        assertThat(result.getLongitudes()[0]).isEqualTo(1.5);
+        assertThat(result.getLatitudes()[0]).isEqualTo(2.5);
+        assertThat(result.isPresent(1)).isFalse();
+        assertThat(result.getCoordinates(1)).isNull();
+        assertThat(result.getCoordinates(2)).isEqualTo(GeoCoordinates.create(3.5, 4.5));
+    }
+
+    @Test
+    void shouldDecodeNullBulkAsMissingMember() {
+
+        sut.multi(1);
+        sut.set(null);
+        sut.complete(0);
+
+        assertThat(sut.get().size()).isEqualTo(1);
+        assertThat(sut.get().isPresent(0)).isFalse();
+    }
+
+}
@@ -0,0 +1,70 @@
+package io.lettuce.core.output;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.lettuce.core.ScoredValue;
+import io.lettuce.core.ScoredValueColumns;
+import io.lettuce.core.codec.StringCodec;
+
+/**
+ * Unit tests for {@link ScoredValueColumnsOutput}.
+ */
+@Tag(UNIT_TEST)
+class ScoredValueColumnsOutputUnitTests {
+
+    private ScoredValueColumnsOutput<String, String> sut = new ScoredValueColumnsOutput<>(StringCodec.UTF8);
+
+    @Test
+    void shouldDecodeFlatReply() {
+
+        sut.multi(4);
+        sut.set(ByteBuffer.wrap("a".getBytes()));
+        sut.set(ByteBuffer.wrap("1.5".getBytes()));
+        sut.set(ByteBuffer.wrap("b".getBytes()));
+        sut.set(ByteBuffer.wrap("2".getBytes()));
+        sut.complete(0);
+
+        ScoredValueColumns<String> result = sut.get();
+
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.getValues()).containsExactly("a", "b");
+        assertThat(result.getScores()).containsExactly(1.5, 2.0);
+        assertThat(result.toScoredValues()).containsExactly(ScoredValue.just(1.5, "a"), ScoredValue.just(2, "b"));
+    }
+
+    @Test
+    void shouldDecodeNestedReply() {
+
+        sut.multi(2);
+        sut.multi(2);
+        sut.set(ByteBuffer.wrap("a".getBytes()));
+        sut.set(1.5);
+        sut.complete(1);
+        sut.multi(2);
+        sut.set(ByteBuffer.wrap("b".getBytes()));
+        sut.set(2);
+        sut.complete(1);
+        sut.complete(0);
+
+        ScoredValueColumns<String> result = sut.get();
+
+        assertThat(result.getValues()).containsExactly("a", "b");
+        assertThat(result.getScores()).hasSize(2).containsExactly(1.5, 2.0);
+    }
+
+    @Test
+    void shouldReturnEmptyColumns() {
+
+        sut.multi(0);
+        sut.complete(0);
+
+        assertThat(sut.get().isEmpty()).isTrue();
+    }
+
+}
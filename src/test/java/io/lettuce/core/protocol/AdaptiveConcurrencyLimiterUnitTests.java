@@ -0,0 +1,102 @@
+package io.lettuce.core.protocol;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.lettuce.core.ConcurrencyLimitOptions;
+
+/**
+ * Unit tests for {@link AdaptiveConcurrencyLimiter}.
+ */
+@Tag(UNIT_TEST)
+class AdaptiveConcurrencyLimiterUnitTests {
+
+    private final AdaptiveConcurrencyLimiter sut = new AdaptiveConcurrencyLimiter(
+            ConcurrencyLimitOptions.builder().enable().initialLimit(20).build());
+
+    @Test
+    void shouldAcquireUpToLimit() {
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(sut.tryAcquire()).isTrue();
+        }
+
+        assertThat(sut.tryAcquire()).isFalse();
+        assertThat(sut.getInFlight()).isEqualTo(20);
+
+        sut.release();
+
+        assertThat(sut.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void shouldGrowWithSteadyLatency() {
+
+        for (int i = 0; i < 20; i++) {
+            saturate(1);
+        }
+
+        assertThat(sut.getLimit()).isGreaterThan(20);
+        assertThat(sut.getInFlight()).isZero();
+    }
+
+    @Test
+    void shouldNotGrowWhenUnderutilized() {
+
+        for (int i = 0; i < 200; i++) {
+            sut.tryAcquire();
+            sut.release(TimeUnit.MILLISECONDS.toNanos(1), false);
+        }
+
+        assertThat(sut.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void shouldShrinkOnLatencyIncrease() {
+
+        for (int i = 0; i < 5; i++) {
+            saturate(1);
+        }
+
+        int steady = sut.getLimit();
+
+        for (int i = 0; i < 5; i++) {
+            saturate(20);
+        }
+
+        assertThat(sut.getLimit()).isLessThan(steady);
+    }
+
+    @Test
+    void shouldBackOffOnTimeout() {
+
+        for (int i = 0; i < 20; i++) {
+            sut.tryAcquire();
+        }
+
+        for (int i = 0; i < 19; i++) {
+            sut.release(TimeUnit.MILLISECONDS.toNanos(1), false);
+        }
+
+        assertThat(sut.release(0, true)).isTrue();
+        assertThat(sut.getLimit()).isEqualTo(18);
+    }
+
+    private void saturate(int latencyMillis) {
+
+        int acquired = 0;
+        while (sut.tryAcquire()) {
+            acquired++;
+        }
+
+        for (int i = 0; i < acquired; i++) {
+            sut.release(TimeUnit.MILLISECONDS.toNanos(latencyMillis), false);
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package io.lettuce.core.protocol;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.lettuce.core.XReadArgs;
+import io.lettuce.core.codec.StringCodec;
+
+/**
+ * Unit tests for {@link BlockingCommands}.
+ */
+@Tag(UNIT_TEST)
+class BlockingCommandsUnitTests {
+
+    @Test
+    void shouldClassifyBlockingCommands() {
+
+        assertThat(BlockingCommands.isBlocking(command(CommandType.BLPOP, args().addKey("key").add(0)))).isTrue();
+        assertThat(BlockingCommands.isBlocking(command(CommandType.BZPOPMIN, args().addKey("key").add(0)))).isTrue();
+        assertThat(BlockingCommands.isBlocking(command(CommandType.LPOP, args().addKey("key")))).isFalse();
+    }
+
+    @Test
+    void shouldNotClassifyWaitAsBlocking() {
+
+        assertThat(BlockingCommands.isBlocking(command(CommandType.WAIT, args().add(1).add(0)))).isFalse();
+        assertThat(BlockingCommands.isBlocking(command(CommandType.WAITAOF, args().add(1).add(0).add(0)))).isFalse();
+    }
+
+    @Test
+    void shouldClassifyStreamReadsWithBlock() {
+
+        CommandArgs<String, String> blocking = args();
+        XReadArgs.Builder.block(100).build(blocking);
+        blocking.add("STREAMS").addKey("key").add("$");
+
+        CommandArgs<String, String> nonBlocking = args();
+        XReadArgs.Builder.count(10).build(nonBlocking);
+        nonBlocking.add("STREAMS").addKey("key").add("$");
+
+        assertThat(BlockingCommands.isBlocking(command(CommandType.XREAD, blocking))).isTrue();
+        assertThat(BlockingCommands.isBlocking(command(CommandType.XREADGROUP, blocking))).isTrue();
+        assertThat(BlockingCommands.isBlocking(command(CommandType.XREAD, nonBlocking))).isFalse();
+    }
+
+    @Test
+    void shouldNotConsiderKeysAsKeyword() {
+
+        CommandArgs<String, String> args = args().add("STREAMS").addKey("BLOCK").add("$");
+
+        assertThat(BlockingCommands.isBlocking(command(CommandType.XREAD, args))).isFalse();
+    }
+
+    private static CommandArgs<String, String> args() {
+        return new CommandArgs<>(StringCodec.UTF8);
+    }
+
+    private static Command<String, String, String> command(CommandType type, CommandArgs<String, String> args) {
+        return new Command<>(type, null, args);
+    }
+
+}
@@ -0,0 +1,95 @@
+package io.lettuce.core.protocol;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.event.metrics.CommandFlightRecordingEvent;
+import io.lettuce.core.metrics.CommandFlightRecorderOptions;
+import io.lettuce.core.output.StatusOutput;
+
+/**
+ * Unit tests for {@link CommandFlightRecorder}.
+ */
+@Tag(UNIT_TEST)
+class CommandFlightRecorderUnitTests {
+
+    private static final long MILLIS = Duration.ofMillis(1).toNanos();
+
+    private final CommandFlightRecorder recorder = new CommandFlightRecorder(
+            CommandFlightRecorderOptions.builder().capacity(4).latencyThreshold(Duration.ofMillis(10)).build());
+
+    @Test
+    void shouldNotTriggerForFastCommands() {
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(recorder.record(command(), 0, 0, MILLIS, false)).isNull();
+        }
+    }
+
+    @Test
+    void shouldTriggerOnSlowCommand() {
+
+        recorder.record(command(), 0, 0, MILLIS, false);
+
+        assertThat(recorder.record(command(), 0, 4 * MILLIS, 15 * MILLIS, false))
+                .isEqualTo(CommandFlightRecordingEvent.Trigger.LATENCY);
+    }
+
+    @Test
+    void shouldTriggerOnError() {
+        assertThat(recorder.record(command(), 0, 0, MILLIS, true)).isEqualTo(CommandFlightRecordingEvent.Trigger.ERROR);
+    }
+
+    @Test
+    void shouldNotOverlapRecordings() {
+
+        assertThat(recorder.record(command(), 0, 0, MILLIS, true)).isNotNull();
+        assertThat(recorder.record(command(), 0, 0, MILLIS, true)).isNull();
+        assertThat(recorder.record(command(), 0, 0, MILLIS, true)).isNull();
+        assertThat(recorder.record(command(), 0, 0, MILLIS, true)).isNull();
+        assertThat(recorder.record(command(), 0, 0, MILLIS, true)).isNotNull();
+    }
+
+    @Test
+    void shouldNotTriggerOnQueueTime() {
+        assertThat(recorder.record(command(), 20 * MILLIS, 0, MILLIS, false)).isNull();
+    }
+
+    @Test
+    void shouldReportTimings() {
+
+        recorder.record(command(), 0, 0, 5 * MILLIS, false);
+        recorder.record(command(), MILLIS, 4 * MILLIS, 2 * MILLIS, false);
+
+        CommandFlightRecordingEvent event = recorder.toEvent(null, CommandFlightRecordingEvent.Trigger.LATENCY);
+
+        assertThat(event.getTimings()).hasSize(2);
+        assertThat(event.getTimings().get(1).getQueueTime()).isEqualTo(Duration.ofMillis(1));
+        assertThat(event.getTimings().get(1).getHeadOfLineTime()).isEqualTo(Duration.ofMillis(4));
+        assertThat(event.getTimings().get(1).getServerTime()).isEqualTo(Duration.ofMillis(2));
+    }
+
+    @Test
+    void shouldReportTimingsOldestFirst() {
+
+        for (int i = 0; i < 6; i++) {
+            recorder.record(i % 2 == 0 ? command() : new Command<>(CommandType.GET, null), 0, 0, 1, false);
+        }
+
+        CommandFlightRecordingEvent event = recorder.toEvent(null, CommandFlightRecordingEvent.Trigger.LATENCY);
+
+        assertThat(event.getTimings()).extracting(CommandFlightRecordingEvent.CommandTiming::getType)
+                .containsExactly(CommandType.PING, CommandType.GET, CommandType.PING, CommandType.GET);
+    }
+
+    private static Command<String, String, String> command() {
+        return new Command<>(CommandType.PING, new StatusOutput<>(StringCodec.UTF8));
+    }
+
+}
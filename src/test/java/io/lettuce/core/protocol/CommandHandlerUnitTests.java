@@ -62,6 +62,7 @@ import io.lettuce.core.api.push.PushListener;
 import io.lettuce.core.api.push.PushMessage;
 import io.lettuce.core.codec.StringCodec;
 import io.lettuce.core.metrics.CommandLatencyCollector;
+import io.lettuce.core.metrics.CommandLatencyStage;
 import io.lettuce.core.output.KeyValueListOutput;
 import io.lettuce.core.output.StatusOutput;
 import io.lettuce.core.output.ValueListOutput;
@@ -486,6 +487,31 @@ class CommandHandlerUnitTests {
         sut.channelUnregistered(context);
     }
 
+    @Test
+    void shouldRecordStageLatencies() throws Exception {
+
+        ChannelPromise channelPromise = new DefaultChannelPromise(channel, ImmediateEventExecutor.INSTANCE);
+
+        sut.channelRegistered(context);
+        sut.channelActive(context);
+
+        sut.write(context, command, channelPromise);
+        channelPromise.setSuccess();
+        Delay.delay(Duration.ofMillis(10));
+
+        sut.channelRead(context, Unpooled.wrappedBuffer("*1\r\n+OK\r\n".getBytes()));
+
+        verify(latencyCollector).recordStageLatency(any(), any(), any(LatencyMeteredCommand.class),
+                eq(CommandLatencyStage.ENCODE), anyLong());
+        verify(latencyCollector).recordStageLatency(any(), any(), any(LatencyMeteredCommand.class),
+                eq(CommandLatencyStage.FLUSH), anyLong());
+        verify(latencyCollector).recordStageLatency(any(), any(), any(LatencyMeteredCommand.class),
+                eq(CommandLatencyStage.NETWORK), gt(0L));
+        verify(latencyCollector, never()).recordStageLatency(any(), any(), any(), eq(CommandLatencyStage.QUEUE), anyLong());
+
+        sut.channelUnregistered(context);
+    }
+
     @Test
     void shouldIgnoreNonReadableBuffers() throws Exception {
 
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.protocol;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.output.StatusOutput;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+
+/**
+ * Unit tests for {@link CommandTimeoutQueue}.
+ */
+@Tag(UNIT_TEST)
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CommandTimeoutQueueUnitTests {
+
+    private static final long TIMEOUT = TimeUnit.SECONDS.toNanos(1);
+
+    @Mock
+    private Timer timer;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private CommandTimeoutQueue sut;
+
+    @BeforeEach
+    void before() {
+        sut = new CommandTimeoutQueue(timer, Runnable::run, clock::get);
+    }
+
+    @Test
+    void shouldScheduleSingleSweepForMultipleCommands() {
+
+        sut.offer(command(), TIMEOUT);
+        sut.offer(command(), TIMEOUT);
+        sut.offer(command(), TIMEOUT);
+
+        verify(timer).newTimeout(any(), eq(TIMEOUT), eq(TimeUnit.NANOSECONDS));
+        assertThat(sut.size()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldDiscardCompletedCommandsOnWrite() {
+
+        AsyncCommand<String, String, String> first = command();
+        AsyncCommand<String, String, String> second = command();
+
+        sut.offer(first, TIMEOUT);
+        sut.offer(second, TIMEOUT);
+
+        first.complete();
+        second.complete();
+
+        sut.offer(command(), TIMEOUT);
+
+        assertThat(sut.size()).isEqualTo(1);
+    }
+
+    @Test
+    void sweepShouldExpireOverdueCommands() throws Exception {
+
+        AsyncCommand<String, String, String> first = command();
+        sut.offer(first, TIMEOUT);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        AsyncCommand<String, String, String> second = command();
+        sut.offer(second, TIMEOUT);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        captureSweep().run(null);
+
+        assertThat(first).isCompletedExceptionally();
+        assertThatThrownBy(first::join).hasCauseInstanceOf(RedisCommandTimeoutException.class);
+        assertThat(second).isNotDone();
+        assertThat(sut.size()).isEqualTo(1);
+
+        verify(timer).newTimeout(any(), eq(TimeUnit.MILLISECONDS.toNanos(500)), eq(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    void sweepShouldNotRescheduleWhenEmpty() throws Exception {
+
+        AsyncCommand<String, String, String> command = command();
+        sut.offer(command, TIMEOUT);
+        command.complete();
+
+        captureSweep().run(null);
+
+        assertThat(sut.size()).isZero();
+        verify(timer, times(1)).newTimeout(any(), anyLong(), any());
+
+        sut.offer(command(), TIMEOUT);
+
+        verify(timer, times(2)).newTimeout(any(), anyLong(), any());
+    }
+
+    @Test
+    void shouldRejectEarlierDeadlines() {
+
+        assertThat(sut.offer(command(), TIMEOUT)).isTrue();
+        assertThat(sut.offer(command(), TIMEOUT - CommandTimeoutQueue.RESOLUTION_NANOS / 2)).isTrue();
+        assertThat(sut.offer(command(), TIMEOUT / 2)).isFalse();
+    }
+
+    @Test
+    void shouldRemoveCompletedCommandsBehindPendingHead() {
+
+        AsyncCommand<String, String, String> blocking = command();
+        AsyncCommand<String, String, String> completed = command();
+
+        sut.offer(blocking, TIMEOUT);
+        sut.offer(completed, TIMEOUT);
+
+        completed.complete();
+
+        assertThat(sut.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAcceptEarlierDeadlinesAfterLatestDeadlineCompleted() {
+
+        AsyncCommand<String, String, String> slow = command();
+
+        assertThat(sut.offer(slow, TIMEOUT * 60)).isTrue();
+        assertThat(sut.offer(command(), TIMEOUT)).isFalse();
+
+        slow.complete();
+
+        assertThat(sut.offer(command(), TIMEOUT)).isTrue();
+    }
+
+    @Test
+    void shouldAcceptEarlierDeadlinesAfterLatestDeadlinePassed() {
+
+        assertThat(sut.offer(command(), TIMEOUT * 60)).isTrue();
+        assertThat(sut.offer(command(), TIMEOUT)).isFalse();
+
+        clock.addAndGet(TIMEOUT * 60);
+
+        assertThat(sut.offer(command(), TIMEOUT)).isTrue();
+    }
+
+    private TimerTask captureSweep() {
+
+        ArgumentCaptor<TimerTask> captor = ArgumentCaptor.forClass(TimerTask.class);
+        verify(timer, atLeastOnce()).newTimeout(captor.capture(), anyLong(), any());
+        return captor.getValue();
+    }
+
+    private static AsyncCommand<String, String, String> command() {
+        return new AsyncCommand<>(new Command<>(CommandType.GET, new StatusOutput<>(StringCodec.UTF8)));
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.protocol;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+
+/**
+ * Unit tests for {@link CompositeWriteBuffer}.
+ */
+@Tag(UNIT_TEST)
+class CompositeWriteBufferUnitTests {
+
+    private static final ByteBufAllocator ALLOCATOR = UnpooledByteBufAllocator.DEFAULT;
+
+    @Test
+    void shouldReferenceLargeDirectValues() {
+
+        ByteBuffer value = ByteBuffer.allocateDirect(100);
+        value.put(filled(100, 'x')).flip();
+
+        CompositeWriteBuffer buffer = new CompositeWriteBuffer(ALLOCATOR, 64);
+        CommandArgs<byte[], ByteBuffer> args = new CommandArgs<>(new DirectValueCodec()).addKey("key".getBytes())
+                .addValue(value);
+        args.encode(buffer);
+
+        assertThat(buffer.toString(StandardCharsets.US_ASCII))
+                .isEqualTo("$3\r\nkey\r\n$100\r\n" + new String(filled(100, 'x')) + "\r\n");
+        assertThat(buffer.numComponents()).isGreaterThanOrEqualTo(3);
+        assertThat(value.hasRemaining()).isFalse();
+
+        buffer.release();
+    }
+
+    @Test
+    void shouldCopySmallAndHeapValues() {
+
+        CompositeWriteBuffer buffer = new CompositeWriteBuffer(ALLOCATOR, 64);
+        CommandArgs<String, String> args = new CommandArgs<>(StringCodec.UTF8).addKey("key")
+                .addValue(new String(filled(100, 'y')));
+        args.encode(buffer);
+
+        assertThat(buffer.toString(StandardCharsets.US_ASCII))
+                .isEqualTo("$3\r\nkey\r\n$100\r\n" + new String(filled(100, 'y')) + "\r\n");
+        assertThat(buffer.numComponents()).isEqualTo(1);
+
+        buffer.release();
+    }
+
+    @Test
+    void discardWritableShouldDropTrailingComponents() {
+
+        ByteBuffer value = ByteBuffer.allocateDirect(100);
+        value.put(filled(100, 'z')).flip();
+
+        CompositeWriteBuffer buffer = new CompositeWriteBuffer(ALLOCATOR, 64);
+        buffer.writeBytes("header".getBytes());
+        buffer.markWriterIndex();
+
+        new CommandArgs<>(new DirectValueCodec()).addValue(value).encode(buffer);
+
+        buffer.resetWriterIndex();
+        buffer.discardWritable();
+        buffer.writeBytes("next".getBytes());
+
+        assertThat(buffer.toString(StandardCharsets.US_ASCII)).isEqualTo("headernext");
+        assertThat(buffer.capacity()).isGreaterThanOrEqualTo(buffer.writerIndex());
+
+        buffer.release();
+    }
+
+    private static byte[] filled(int length, char c) {
+
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) c);
+        return bytes;
+    }
+
+    static class DirectValueCodec implements RedisCodec<byte[], ByteBuffer> {
+
+        @Override
+        public byte[] decodeKey(ByteBuffer bytes) {
+            return ByteArrayCodec.INSTANCE.decodeKey(bytes);
+        }
+
+        @Override
+        public ByteBuffer decodeValue(ByteBuffer bytes) {
+            return bytes;
+        }
+
+        @Override
+        public ByteBuffer encodeKey(byte[] key) {
+            return ByteArrayCodec.INSTANCE.encodeKey(key);
+        }
+
+        @Override
+        public ByteBuffer encodeValue(ByteBuffer value) {
+            return value;
+        }
+
+    }
+
+}
@@ -6,8 +6,11 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.nio.channels.ClosedChannelException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
@@ -34,11 +37,14 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
 import io.lettuce.core.ClientOptions;
+import io.lettuce.core.ConcurrencyLimitOptions;
 import io.lettuce.core.RedisException;
 import io.lettuce.core.codec.StringCodec;
 import io.lettuce.core.internal.LettuceFactories;
+import io.lettuce.core.metrics.CommandLatencyRecorder;
 import io.lettuce.core.output.StatusOutput;
 import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.ReconnectGovernor;
 import io.lettuce.test.ConnectionTestUtil;
 import io.lettuce.test.ReflectionTestUtils;
 import io.netty.channel.Channel;
@@ -97,6 +103,9 @@ class DefaultEndpointUnitTests {
     @BeforeEach
     void before() {
 
+        when(clientResources.reconnectGovernor()).thenReturn(ReconnectGovernor.unlimited());
+        when(clientResources.commandLatencyRecorder()).thenReturn(CommandLatencyRecorder.disabled());
+
         promise = new DefaultChannelPromise(channel);
         when(channel.writeAndFlush(any())).thenAnswer(invocation -> {
             if (invocation.getArguments()[0] instanceof RedisCommand) {
@@ -164,6 +173,115 @@ class DefaultEndpointUnitTests {
         verify(channel).writeAndFlush(command);
     }
 
+    @Test
+    void writeShouldHoldBackCommandsExceedingConcurrencyLimit() {
+
+        sut = new DefaultEndpoint(ClientOptions.builder()
+                .concurrencyLimitOptions(ConcurrencyLimitOptions.builder().enable().initialLimit(1).build()).build(),
+                clientResources);
+        sut.setConnectionFacade(connectionFacade);
+        when(channel.isActive()).thenReturn(true);
+        sut.notifyChannelActive(channel);
+
+        AsyncCommand<String, String, String> first = new AsyncCommand<>(command);
+        AsyncCommand<String, String, String> second = new AsyncCommand<>(
+                new Command<>(CommandType.APPEND, new StatusOutput<>(StringCodec.UTF8), null));
+
+        sut.write(first);
+        sut.write(second);
+
+        verify(channel).writeAndFlush(first);
+        verify(channel, never()).writeAndFlush(second);
+        assertThat(sut.getConcurrencyLimit()).isEqualTo(1);
+
+        first.complete();
+
+        verify(channel).writeAndFlush(second);
+    }
+
+    @Test
+    void writeShouldRejectCommandsExceedingConcurrencyLimitWhenFailFast() {
+
+        sut = new DefaultEndpoint(ClientOptions.builder()
+                .concurrencyLimitOptions(ConcurrencyLimitOptions.builder().enable().initialLimit(1).failFast(true).build())
+                .build(), clientResources);
+        sut.setConnectionFacade(connectionFacade);
+        when(channel.isActive()).thenReturn(true);
+        sut.notifyChannelActive(channel);
+
+        AsyncCommand<String, String, String> first = new AsyncCommand<>(command);
+        AsyncCommand<String, String, String> second = new AsyncCommand<>(
+                new Command<>(CommandType.APPEND, new StatusOutput<>(StringCodec.UTF8), null));
+
+        sut.write(first);
+        sut.write(second);
+
+        assertThat(second).isCompletedExceptionally();
+        verify(channel, never()).writeAndFlush(second);
+    }
+
+    @Test
+    void concurrencyLimitShouldNotDependOnLatencyMetrics() {
+
+        CommandLatencyRecorder recorder = mock(CommandLatencyRecorder.class);
+        when(recorder.isEnabled()).thenReturn(true);
+        when(clientResources.commandLatencyRecorder()).thenReturn(recorder);
+
+        sut = new DefaultEndpoint(ClientOptions.builder()
+                .concurrencyLimitOptions(ConcurrencyLimitOptions.builder().enable().initialLimit(1).build()).build(),
+                clientResources);
+        sut.setConnectionFacade(connectionFacade);
+        when(channel.isActive()).thenReturn(true);
+        sut.notifyChannelActive(channel);
+
+        sut.write(new Command<>(CommandType.PING, new StatusOutput<>(StringCodec.UTF8)));
+        sut.write(new Command<>(CommandType.PING, new StatusOutput<>(StringCodec.UTF8)));
+
+        verify(channel, times(2)).writeAndFlush(any());
+        assertThat(sut.getConcurrencyLimit()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrencyLimitShouldApplyAcrossReconnects() {
+
+        sut = new DefaultEndpoint(ClientOptions.builder()
+                .concurrencyLimitOptions(ConcurrencyLimitOptions.builder().enable().initialLimit(1).build()).build(),
+                clientResources);
+        sut.setConnectionFacade(connectionFacade);
+        when(channel.isActive()).thenReturn(true);
+        sut.notifyChannelActive(channel);
+
+        AsyncCommand<String, String, String> first = new AsyncCommand<>(command);
+        AsyncCommand<String, String, String> second = new AsyncCommand<>(
+                new Command<>(CommandType.APPEND, new StatusOutput<>(StringCodec.UTF8), null));
+        AsyncCommand<String, String, String> third = new AsyncCommand<>(
+                new Command<>(CommandType.APPEND, new StatusOutput<>(StringCodec.UTF8), null));
+
+        sut.write(first);
+        sut.write(second);
+
+        when(channel.isActive()).thenReturn(false);
+        Queue<RedisCommand<?, ?, ?>> stack = LettuceFactories.newConcurrentQueue(100);
+        stack.add(first);
+        sut.notifyChannelInactive(channel);
+        sut.notifyDrainQueuedCommands(() -> stack);
+
+        sut.write(third);
+
+        when(channel.isActive()).thenReturn(true);
+        sut.notifyChannelActive(channel);
+
+        verify(channel).write(first);
+        verify(channel, never()).writeAndFlush(second);
+        verify(channel, never()).write(second);
+
+        first.complete();
+
+        verify(channel).writeAndFlush(second);
+        verify(channel, never()).writeAndFlush(third);
+        verify(channel, never()).write(third);
+    }
+
     @Test
     void writeDisconnectedShouldBufferCommands() {
 
@@ -231,6 +349,35 @@ class DefaultEndpointUnitTests {
         verify(channel, never()).write(any());
     }
 
+    @Test
+    void drainCommandsShouldNotExposeQueueTimingWrappers() {
+
+        CommandLatencyRecorder recorder = mock(CommandLatencyRecorder.class);
+        when(recorder.isEnabled()).thenReturn(true);
+        when(clientResources.commandLatencyRecorder()).thenReturn(recorder);
+
+        sut = new DefaultEndpoint(ClientOptions.create(), clientResources);
+        sut.setConnectionFacade(connectionFacade);
+
+        sut.write(command);
+
+        assertThat(ConnectionTestUtil.getDisconnectedBuffer(sut)).hasOnlyElementsOfType(LatencyMeteredCommand.class);
+        assertThat(sut.drainCommands()).containsOnly(command);
+    }
+
+    @Test
+    void notifyDrainQueuedCommandsShouldRemoveSourceFromWrappedSinks() {
+
+        DemandAwareCommand sink = new DemandAwareCommand();
+
+        Queue<RedisCommand<?, ?, ?>> q = LettuceFactories.newConcurrentQueue(100);
+        q.add(new LatencyMeteredCommand<>(sink));
+
+        sut.notifyDrainQueuedCommands(() -> q);
+
+        assertThat(sink.sourceRemoved).isTrue();
+    }
+
     @Test
     void notifyDrainQueuedCommandsShouldWriteCommands() {
 
@@ -246,6 +393,143 @@ class DefaultEndpointUnitTests {
         verify(channel).flush();
     }
 
+    @Test
+    void notifyChannelActiveShouldReplayBufferedCommandsInBatches() {
+
+        when(clientResources.reconnectGovernor()).thenReturn(ReconnectGovernor.create(1, 0, Duration.ZERO, 2));
+        when(channel.isActive()).thenReturn(true);
+
+        EventLoop eventLoop = mock(EventLoop.class);
+        List<Runnable> tasks = new ArrayList<>();
+        doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(eventLoop).execute(any());
+        when(channel.eventLoop()).thenReturn(eventLoop);
+
+        for (int i = 0; i < 5; i++) {
+            sut.write(new Command<>(CommandType.PING, new StatusOutput<>(StringCodec.UTF8)));
+        }
+
+        sut.notifyChannelActive(channel);
+
+        assertThat(queue).hasSize(2);
+
+        Command<String, String, String> appended = new Command<>(CommandType.SET, new StatusOutput<>(StringCodec.UTF8));
+        sut.write(appended);
+
+        assertThat(queue).hasSize(2);
+        assertThat(ConnectionTestUtil.getDisconnectedBuffer(sut)).hasSize(3).doesNotContain(appended);
+
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+
+        assertThat(queue).hasSize(6).last().isSameAs(appended);
+        assertThat(ConnectionTestUtil.getDisconnectedBuffer(sut)).isEmpty();
+    }
+
+    @Test
+    void writeDuringReplayShouldNotApplyReplayFilter() {
+
+        sut = new DefaultEndpoint(ClientOptions.builder().replayFilter(it -> it.getType() == CommandType.SET).build(),
+                clientResources);
+        sut.setConnectionFacade(connectionFacade);
+
+        List<Runnable> tasks = prepareReplay(2);
+
+        for (int i = 0; i < 3; i++) {
+            sut.write(new Command<>(CommandType.PING, new StatusOutput<>(StringCodec.UTF8)));
+        }
+
+        sut.notifyChannelActive(channel);
+
+        Command<String, String, String> appended = new Command<>(CommandType.SET, new StatusOutput<>(StringCodec.UTF8));
+        sut.write(appended);
+
+        assertThat(appended.isDone()).isFalse();
+
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+
+        assertThat(queue).hasSize(4).last().isSameAs(appended);
+    }
+
+    @Test
+    void writeDuringReplayShouldEnforceRequestQueueSize() {
+
+        sut = new DefaultEndpoint(ClientOptions.builder().requestQueueSize(3).build(), clientResources);
+        sut.setConnectionFacade(connectionFacade);
+
+        prepareReplay(1);
+
+        for (int i = 0; i < 2; i++) {
+            sut.write(new Command<>(CommandType.PING, new StatusOutput<>(StringCodec.UTF8)));
+        }
+
+        sut.notifyChannelActive(channel);
+
+        for (int i = 0; i < 3; i++) {
+            sut.write(new Command<>(CommandType.SET, new StatusOutput<>(StringCodec.UTF8)));
+        }
+
+        AsyncCommand<String, String, String> rejected = new AsyncCommand<>(
+                new Command<>(CommandType.SET, new StatusOutput<>(StringCodec.UTF8)));
+        sut.write(rejected);
+
+        assertThat(rejected.isCompletedExceptionally()).isTrue();
+        assertThat(queue).hasSize(1);
+    }
+
+    private List<Runnable> prepareReplay(int replayBatchSize) {
+
+        when(clientResources.reconnectGovernor()).thenReturn(ReconnectGovernor.create(1, 0, Duration.ZERO, replayBatchSize));
+        when(channel.isActive()).thenReturn(true);
+
+        EventLoop eventLoop = mock(EventLoop.class);
+        List<Runnable> tasks = new ArrayList<>();
+        doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(eventLoop).execute(any());
+        when(channel.eventLoop()).thenReturn(eventLoop);
+
+        return tasks;
+    }
+
+    @Test
+    void handoverShouldWriteToNextChannelOnceActive() {
+
+        when(channel.isActive()).thenReturn(true);
+        sut.notifyChannelActive(channel);
+
+        Channel next = mock(Channel.class);
+        when(next.isActive()).thenReturn(true);
+        when(next.writeAndFlush(any())).thenReturn(new DefaultChannelPromise(next));
+
+        sut.notifyChannelActive(next);
+        sut.write(command);
+
+        verify(next).writeAndFlush(command);
+        verify(channel, never()).writeAndFlush(command);
+        assertThat(ConnectionTestUtil.getDisconnectedBuffer(sut)).isEmpty();
+    }
+
+    @Test
+    void notifyChannelInactiveShouldIgnoreSupersededChannel() {
+
+        when(channel.isActive()).thenReturn(true);
+        sut.notifyChannelActive(channel);
+
+        Channel next = mock(Channel.class);
+        when(next.isActive()).thenReturn(true);
+        when(next.writeAndFlush(any())).thenReturn(new DefaultChannelPromise(next));
+
+        sut.notifyChannelActive(next);
+
+        when(channel.isActive()).thenReturn(false);
+        sut.notifyChannelInactive(channel);
+        sut.write(command);
+
+        verify(next).writeAndFlush(command);
+        verify(connectionFacade, never()).deactivated();
+    }
+
     @Test
     void shouldCancelCommandsOnEncoderException() {
 
@@ -517,6 +801,30 @@ class DefaultEndpointUnitTests {
 
     }
 
+    static class DemandAwareCommand extends Command<String, String, String> implements DemandAware.Sink {
+
+        boolean sourceRemoved;
+
+        DemandAwareCommand() {
+            super(CommandType.GET, new StatusOutput<>(StringCodec.UTF8));
+        }
+
+        @Override
+        public boolean hasDemand() {
+            return true;
+        }
+
+        @Override
+        public void setSource(DemandAware.Source source) {
+        }
+
+        @Override
+        public void removeSource() {
+            sourceRemoved = true;
+        }
+
+    }
+
     static class TestableEndpoint extends DefaultEndpoint {
 
         /**
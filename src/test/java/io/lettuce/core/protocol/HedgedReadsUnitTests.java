@@ -0,0 +1,224 @@
+package io.lettuce.core.protocol;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import io.lettuce.core.HedgingOptions;
+import io.lettuce.core.RedisChannelWriter;
+import io.lettuce.core.RedisException;
+import io.lettuce.core.StatefulRedisConnectionImpl;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.event.EventBus;
+import io.lettuce.core.output.ValueOutput;
+import io.lettuce.core.resource.ClientResources;
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.ScheduledFuture;
+
+/**
+ * Unit tests for {@link HedgedReads}.
+ */
+@Tag(UNIT_TEST)
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class HedgedReadsUnitTests {
+
+    @Mock
+    private ClientResources clientResources;
+
+    @Mock
+    private EventExecutorGroup eventExecutorGroup;
+
+    @Mock
+    private ScheduledFuture<Object> scheduledFuture;
+
+    @Mock
+    private EventBus eventBus;
+
+    @Mock
+    private StatefulRedisConnectionImpl<String, String> primary;
+
+    @Mock
+    private StatefulRedisConnectionImpl<String, String> alternate;
+
+    @Mock
+    private RedisChannelWriter primaryWriter;
+
+    @Mock
+    private RedisChannelWriter alternateWriter;
+
+    private Runnable scheduled;
+
+    @BeforeEach
+    void before() {
+
+        when(clientResources.eventExecutorGroup()).thenReturn(eventExecutorGroup);
+        when(clientResources.eventBus()).thenReturn(eventBus);
+        when(eventExecutorGroup.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenAnswer(invocation -> {
+            scheduled = invocation.getArgument(0);
+            return scheduledFuture;
+        });
+
+        when(primary.getChannelWriter()).thenReturn(primaryWriter);
+        when(primary.isOpen()).thenReturn(true);
+        when(alternate.getChannelWriter()).thenReturn(alternateWriter);
+        when(alternate.isOpen()).thenReturn(true);
+    }
+
+    @Test
+    void shouldCompleteWithPrimaryReply() {
+
+        HedgedReads sut = new HedgedReads(HedgingOptions.builder().enable().budget(1).build(), clientResources);
+        AsyncCommand<String, String, String> command = command();
+
+        sut.dispatch(command, primary, it -> alternate);
+        reply(captureWrite(primaryWriter), "primary");
+        scheduled.run();
+
+        assertThat(command).isCompletedWithValue("primary");
+        verifyNoInteractions(alternateWriter);
+        verify(scheduledFuture).cancel(false);
+    }
+
+    @Test
+    void shouldCompleteWithFirstReplyAfterHedging() {
+
+        HedgedReads sut = new HedgedReads(HedgingOptions.builder().enable().budget(1).build(), clientResources);
+        AsyncCommand<String, String, String> command = command();
+
+        sut.dispatch(command, primary, it -> alternate);
+        AsyncCommand<?, ?, ?> primaryAttempt = captureWrite(primaryWriter);
+
+        scheduled.run();
+        reply(captureWrite(alternateWriter), "alternate");
+        reply(primaryAttempt, "primary");
+
+        assertThat(command).isCompletedWithValue("alternate");
+        assertThat(sut.getReadCount()).isEqualTo(1);
+        assertThat(sut.getHedgeCount()).isEqualTo(1);
+        assertThat(sut.getWinCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDecodePrimaryReplyDirectlyIntoCommandOutput() {
+
+        HedgedReads sut = new HedgedReads(HedgingOptions.builder().enable().budget(1).build(), clientResources);
+        AsyncCommand<String, String, String> command = command();
+
+        sut.dispatch(command, primary, it -> alternate);
+        AsyncCommand<?, ?, ?> primaryAttempt = captureWrite(primaryWriter);
+        primaryAttempt.getOutput().set(ByteBuffer.wrap("primary".getBytes()));
+
+        assertThat(command.getOutput().get()).isEqualTo("primary");
+
+        scheduled.run();
+        primaryAttempt.complete();
+
+        assertThat(command).isCompletedWithValue("primary");
+        verifyNoInteractions(alternateWriter);
+        assertThat(sut.getHedgeCount()).isZero();
+    }
+
+    @Test
+    void shouldCaptureReplyOfPrimaryAfterHedging() {
+
+        HedgedReads sut = new HedgedReads(HedgingOptions.builder().enable().budget(1).build(), clientResources);
+        AsyncCommand<String, String, String> command = command();
+
+        sut.dispatch(command, primary, it -> alternate);
+        AsyncCommand<?, ?, ?> primaryAttempt = captureWrite(primaryWriter);
+
+        scheduled.run();
+        primaryAttempt.getOutput().set(ByteBuffer.wrap("primary".getBytes()));
+
+        assertThat(command.getOutput().get()).isNull();
+
+        primaryAttempt.complete();
+
+        assertThat(command).isCompletedWithValue("primary");
+        assertThat(sut.getWinCount()).isZero();
+    }
+
+    @Test
+    void shouldNotHedgeWithoutBudget() {
+
+        HedgedReads sut = new HedgedReads(HedgingOptions.enabled(), clientResources);
+        AsyncCommand<String, String, String> command = command();
+
+        sut.dispatch(command, primary, it -> alternate);
+        scheduled.run();
+
+        verifyNoInteractions(alternateWriter);
+        assertThat(sut.getHedgeCount()).isZero();
+    }
+
+    @Test
+    void shouldMaskFailureWhileHedgeInFlight() {
+
+        HedgedReads sut = new HedgedReads(HedgingOptions.builder().enable().budget(1).build(), clientResources);
+        AsyncCommand<String, String, String> command = command();
+
+        sut.dispatch(command, primary, it -> alternate);
+        AsyncCommand<?, ?, ?> primaryAttempt = captureWrite(primaryWriter);
+
+        scheduled.run();
+        primaryAttempt.completeExceptionally(new RedisException("Connection reset"));
+
+        assertThat(command).isNotDone();
+
+        reply(captureWrite(alternateWriter), "alternate");
+
+        assertThat(command).isCompletedWithValue("alternate");
+    }
+
+    @Test
+    void shouldUseObservedLatencyPercentile() {
+
+        HedgingOptions options = HedgingOptions.builder().enable().delay(Duration.ofSeconds(1)).minDelay(Duration.ZERO).build();
+        HedgedReads sut = new HedgedReads(options, clientResources);
+        HedgedReads.LatencyTracker tracker = sut.getLatencyTracker(primary);
+
+        assertThat(sut.getDelay(tracker)).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+
+        for (int i = 1; i <= 96; i++) {
+            tracker.record(i);
+        }
+
+        // window holds the 64 most recent samples (33..96)
+        assertThat(sut.getDelay(tracker)).isEqualTo(93);
+    }
+
+    private static AsyncCommand<String, String, String> command() {
+        return new AsyncCommand<>(new Command<>(CommandType.GET, new ValueOutput<>(StringCodec.UTF8),
+                new CommandArgs<>(StringCodec.UTF8).addKey("key")));
+    }
+
+    private static AsyncCommand<?, ?, ?> captureWrite(RedisChannelWriter writer) {
+
+        ArgumentCaptor<AsyncCommand> captor = ArgumentCaptor.forClass(AsyncCommand.class);
+        verify(writer).write(captor.capture());
+        return captor.getValue();
+    }
+
+    private static void reply(AsyncCommand<?, ?, ?> attempt, String value) {
+
+        attempt.getOutput().set(ByteBuffer.wrap(value.getBytes()));
+        attempt.complete();
+    }
+
+}
@@ -16,6 +16,7 @@ import static org.mockito.Mockito.*;
 
 import io.lettuce.core.ClientOptions;
 import io.lettuce.core.ConnectionBuilder;
+import io.lettuce.core.MaintenanceEventsOptions;
 import io.lettuce.core.api.push.PushMessage;
 import io.lettuce.core.codec.StringCodec;
 import io.lettuce.core.event.EventBus;
@@ -41,6 +42,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import reactor.util.function.Tuples;
 
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
@@ -53,6 +55,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -133,6 +136,7 @@ class MaintenanceAwareConnectionWatchdogUnitTests {
         realBootstrap.attr(ConnectionBuilder.REDIS_URI, "redis://localhost:6379");
 
         when(endpoint.getId()).thenReturn("test-endpoint");
+        when(clientOptions.getMaintenanceEventsOptions()).thenReturn(MaintenanceEventsOptions.enabled());
 
         watchdog = new MaintenanceAwareConnectionWatchdog(reconnectDelay, clientOptions, realBootstrap, timer, reconnectWorkers,
                 socketAddressSupplier, reconnectionListener, connectionFacade, eventBus, endpoint);
@@ -277,6 +281,127 @@ class MaintenanceAwareConnectionWatchdogUnitTests {
         verify(component1).onRebindStarted(any(), any()); // Called when stack is not empty
     }
 
+    @Test
+    void testOnPushMessageMovingMakeBeforeBreakWithEmptyStack() {
+        // Given
+        MaintenanceAwareConnectionWatchdog watchdog = createMakeBeforeBreakWatchdog();
+        List<Object> content = movingPushContent(1, 15, "127.0.0.1:6380");
+
+        when(pushMessage.getType()).thenReturn("MOVING");
+        when(pushMessage.getContent()).thenReturn(content);
+        when(channel.attr(MaintenanceAwareConnectionWatchdog.REBIND_ATTRIBUTE)).thenReturn(rebindAttribute);
+        when(channel.pipeline()).thenReturn(pipeline);
+        when(pipeline.get(CommandHandler.class)).thenReturn(commandHandler);
+        when(commandHandler.getStack()).thenReturn(commandStack);
+        when(commandStack.isEmpty()).thenReturn(true);
+        when(channel.eventLoop()).thenReturn(immediateEventLoop());
+        when(reconnectionHandler.reconnect()).thenReturn(Tuples.of(CompletableFuture.completedFuture(mock(Channel.class)),
+                CompletableFuture.completedFuture(new InetSocketAddress("127.0.0.1", 6380))));
+
+        setField(watchdog, "channel", channel);
+        watchdog.setMaintenanceEventListener(component1);
+
+        // When
+        watchdog.onPushMessage(pushMessage);
+
+        // Then
+        verify(reconnectionHandler).reconnect();
+        verify(rebindAttribute, never()).set(RebindState.STARTED);
+        verify(channel).close();
+        verify(component1).onRebindStarted(any(), any());
+        verify(component1).onRebindCompleted();
+    }
+
+    @Test
+    void testOnPushMessageMovingMakeBeforeBreakWithNonEmptyStack() {
+        // Given
+        MaintenanceAwareConnectionWatchdog watchdog = createMakeBeforeBreakWatchdog();
+        List<Object> content = movingPushContent(1, 15, "127.0.0.1:6380");
+
+        when(pushMessage.getType()).thenReturn("MOVING");
+        when(pushMessage.getContent()).thenReturn(content);
+        when(channel.attr(MaintenanceAwareConnectionWatchdog.REBIND_ATTRIBUTE)).thenReturn(rebindAttribute);
+        when(channel.pipeline()).thenReturn(pipeline);
+        when(pipeline.get(CommandHandler.class)).thenReturn(commandHandler);
+        when(commandHandler.getStack()).thenReturn(commandStack);
+        when(commandStack.isEmpty()).thenReturn(false);
+        when(channel.eventLoop()).thenReturn(immediateEventLoop());
+        when(reconnectionHandler.reconnect()).thenReturn(Tuples.of(CompletableFuture.completedFuture(mock(Channel.class)),
+                CompletableFuture.completedFuture(new InetSocketAddress("127.0.0.1", 6380))));
+
+        setField(watchdog, "channel", channel);
+        watchdog.setMaintenanceEventListener(component1);
+
+        // When
+        watchdog.onPushMessage(pushMessage);
+
+        // Then
+        verify(rebindAttribute).set(RebindState.STARTED);
+        verify(channel, never()).close();
+        verify(component1, never()).onRebindCompleted();
+    }
+
+    @Test
+    void testOnPushMessageMovingMakeBeforeBreakFallsBackOnConnectFailure() {
+        // Given
+        MaintenanceAwareConnectionWatchdog watchdog = createMakeBeforeBreakWatchdog();
+        List<Object> content = movingPushContent(1, 15, "127.0.0.1:6380");
+
+        CompletableFuture<Channel> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("connect failed"));
+
+        when(pushMessage.getType()).thenReturn("MOVING");
+        when(pushMessage.getContent()).thenReturn(content);
+        when(channel.attr(MaintenanceAwareConnectionWatchdog.REBIND_ATTRIBUTE)).thenReturn(rebindAttribute);
+        when(channel.pipeline()).thenReturn(pipeline);
+        when(pipeline.get(CommandHandler.class)).thenReturn(commandHandler);
+        when(commandHandler.getStack()).thenReturn(commandStack);
+        when(commandStack.isEmpty()).thenReturn(true);
+        when(channel.close()).thenReturn(mock(ChannelFuture.class));
+        when(channel.eventLoop()).thenReturn(immediateEventLoop());
+        when(reconnectionHandler.reconnect()).thenReturn(
+                Tuples.of(failed, CompletableFuture.completedFuture(new InetSocketAddress("127.0.0.1", 6380))));
+
+        setField(watchdog, "channel", channel);
+
+        // When
+        watchdog.onPushMessage(pushMessage);
+
+        // Then
+        verify(rebindAttribute).set(RebindState.STARTED);
+        verify(channel).close();
+        verify(rebindAttribute).set(RebindState.COMPLETED);
+    }
+
+    private MaintenanceAwareConnectionWatchdog createMakeBeforeBreakWatchdog() {
+
+        Bootstrap realBootstrap = new Bootstrap();
+        realBootstrap.attr(ConnectionBuilder.REDIS_URI, "redis://localhost:6379");
+
+        when(clientOptions.getMaintenanceEventsOptions())
+                .thenReturn(MaintenanceEventsOptions.builder().supportMaintenanceEvents().makeBeforeBreak().build());
+
+        MaintenanceAwareConnectionWatchdog watchdog = new MaintenanceAwareConnectionWatchdog(reconnectDelay, clientOptions,
+                realBootstrap, timer, reconnectWorkers, socketAddressSupplier, reconnectionListener, connectionFacade, eventBus,
+                endpoint);
+
+        setField(watchdog, "reconnectionHandler", reconnectionHandler);
+        setField(watchdog, "rebindAwareAddressSupplier", rebindAwareAddressSupplier);
+
+        return watchdog;
+    }
+
+    private static EventLoop immediateEventLoop() {
+
+        EventLoop eventLoop = mock(EventLoop.class);
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Runnable.class).run();
+            return null;
+        }).when(eventLoop).execute(any(Runnable.class));
+
+        return eventLoop;
+    }
+
     @Test
     void testOnPushMessageMovingWithInvalidContent() {
         // Given
@@ -198,6 +198,28 @@ class RedisStateMachineResp2UnitTests {
         assertThat(State.Type.valueOf("SINGLE")).isEqualTo(State.Type.SINGLE);
     }
 
+    @Test
+    void chunkedBulk() {
+
+        StringBuilder chunks = new StringBuilder();
+        BulkStringStreamingOutput<String, String> output = new BulkStringStreamingOutput<>(codec,
+                chunk -> chunks.append(charset.decode(chunk)).append('|'));
+
+        ByteBuf buffer = buffer("$10\r\n0123");
+        assertThat(rsm.decode(buffer, output)).isFalse();
+        assertThat(buffer.isReadable()).isFalse();
+
+        buffer.writeCharSequence("456789\r", charset);
+        assertThat(rsm.decode(buffer, output)).isFalse();
+        assertThat(buffer.readableBytes()).isEqualTo(1);
+
+        buffer.writeCharSequence("\n", charset);
+        assertThat(rsm.decode(buffer, output)).isTrue();
+
+        assertThat(chunks.toString()).isEqualTo("0123|456789||");
+        assertThat(output.get()).isEqualTo(10L);
+    }
+
     ByteBuf buffer(String content) {
         return Unpooled.copiedBuffer(content, charset);
     }
@@ -0,0 +1,116 @@
+package io.lettuce.core.resource;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.lettuce.core.RedisConnectionException;
+
+/**
+ * Unit tests for {@link DefaultReconnectGovernor}.
+ */
+@Tag(UNIT_TEST)
+class DefaultReconnectGovernorUnitTests {
+
+    private static final SocketAddress NODE_1 = InetSocketAddress.createUnresolved("localhost", 6379);
+
+    private static final SocketAddress NODE_2 = InetSocketAddress.createUnresolved("localhost", 6380);
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+
+        assertThatThrownBy(() -> ReconnectGovernor.create(0, 1, Duration.ZERO, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ReconnectGovernor.create(1, -1, Duration.ZERO, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ReconnectGovernor.create(1, 1, Duration.ZERO, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldAdmitUpToLimitPerAddress() {
+
+        ReconnectGovernor governor = ReconnectGovernor.create(1, 10, Duration.ZERO, 100);
+
+        CompletableFuture<ReconnectGovernor.Permit> first = governor.acquire(NODE_1);
+        CompletableFuture<ReconnectGovernor.Permit> second = governor.acquire(NODE_1);
+        CompletableFuture<ReconnectGovernor.Permit> other = governor.acquire(NODE_2);
+
+        assertThat(first).isCompleted();
+        assertThat(second).isNotDone();
+        assertThat(other).isCompleted();
+
+        assertThat(governor.getConnectsInProgress()).isEqualTo(2);
+        assertThat(governor.getConnectsInProgress(NODE_1)).isEqualTo(1);
+        assertThat(governor.getQueueDepth()).isEqualTo(1);
+        assertThat(governor.getQueueDepth(NODE_1)).isEqualTo(1);
+        assertThat(governor.getQueueDepth(NODE_2)).isZero();
+    }
+
+    @Test
+    void releaseShouldAdmitNextWaiter() {
+
+        ReconnectGovernor governor = ReconnectGovernor.create(1, 10, Duration.ofMillis(10), 100);
+
+        CompletableFuture<ReconnectGovernor.Permit> first = governor.acquire(NODE_1);
+        CompletableFuture<ReconnectGovernor.Permit> second = governor.acquire(NODE_1);
+
+        first.join().release();
+        first.join().release();
+
+        assertThat(second).isCompleted();
+        assertThat(second.join().getDelay()).isBetween(Duration.ZERO, Duration.ofMillis(10));
+        assertThat(governor.getConnectsInProgress(NODE_1)).isEqualTo(1);
+        assertThat(governor.getQueueDepth(NODE_1)).isZero();
+
+        second.join().release();
+
+        assertThat(governor.getConnectsInProgress()).isZero();
+    }
+
+    @Test
+    void shouldRejectWhenQueueIsFull() {
+
+        ReconnectGovernor governor = ReconnectGovernor.create(1, 1, Duration.ZERO, 100);
+
+        governor.acquire(NODE_1);
+        governor.acquire(NODE_1);
+        CompletableFuture<ReconnectGovernor.Permit> rejected = governor.acquire(NODE_1);
+
+        assertThat(rejected).isCompletedExceptionally();
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(RedisConnectionException.class);
+    }
+
+    @Test
+    void shouldSkipCancelledWaiters() {
+
+        ReconnectGovernor governor = ReconnectGovernor.create(1, 10, Duration.ZERO, 100);
+
+        CompletableFuture<ReconnectGovernor.Permit> first = governor.acquire(NODE_1);
+        CompletableFuture<ReconnectGovernor.Permit> cancelled = governor.acquire(NODE_1);
+        CompletableFuture<ReconnectGovernor.Permit> third = governor.acquire(NODE_1);
+
+        cancelled.cancel(true);
+        first.join().release();
+
+        assertThat(third).isCompleted();
+        assertThat(governor.getConnectsInProgress(NODE_1)).isEqualTo(1);
+    }
+
+    @Test
+    void unlimitedShouldAdmitImmediately() {
+
+        ReconnectGovernor governor = ReconnectGovernor.unlimited();
+
+        assertThat(governor.acquire(NODE_1)).isCompleted();
+        assertThat(governor.acquire(NODE_1)).isCompleted();
+        assertThat(governor.getReplayBatchSize()).isEqualTo(Integer.MAX_VALUE);
+    }
+
+}
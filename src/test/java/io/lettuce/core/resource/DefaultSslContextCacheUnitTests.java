@@ -0,0 +1,65 @@
+package io.lettuce.core.resource;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.lettuce.core.SslOptions;
+import io.lettuce.core.SslVerifyMode;
+import io.netty.handler.ssl.SslContext;
+
+/**
+ * Unit tests for {@link DefaultSslContextCache}.
+ */
+@Tag(UNIT_TEST)
+class DefaultSslContextCacheUnitTests {
+
+    @Test
+    void shouldReuseContextForSameOptions() throws Exception {
+
+        SslContextCache cache = SslContextCache.create();
+        SslOptions options = SslOptions.create();
+
+        SslContext first = cache.getSslContext(options, SslVerifyMode.FULL);
+        SslContext second = cache.getSslContext(options, SslVerifyMode.FULL);
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void shouldCreateContextPerOptionsAndVerifyMode() throws Exception {
+
+        SslContextCache cache = SslContextCache.create();
+        SslOptions options = SslOptions.create();
+
+        SslContext full = cache.getSslContext(options, SslVerifyMode.FULL);
+
+        assertThat(cache.getSslContext(options, SslVerifyMode.NONE)).isNotSameAs(full);
+        assertThat(cache.getSslContext(SslOptions.create(), SslVerifyMode.FULL)).isNotSameAs(full);
+    }
+
+    @Test
+    void invalidateShouldDiscardCachedContext() throws Exception {
+
+        SslContextCache cache = SslContextCache.create();
+        SslOptions options = SslOptions.create();
+
+        SslContext first = cache.getSslContext(options, SslVerifyMode.CA);
+        cache.invalidate(options);
+
+        assertThat(cache.getSslContext(options, SslVerifyMode.CA)).isNotSameAs(first);
+    }
+
+    @Test
+    void uncachedShouldCreateNewContexts() throws Exception {
+
+        SslContextCache cache = SslContextCache.uncached();
+        SslOptions options = SslOptions.create();
+
+        assertThat(cache.getSslContext(options, SslVerifyMode.FULL))
+                .isNotSameAs(cache.getSslContext(options, SslVerifyMode.FULL));
+    }
+
+}
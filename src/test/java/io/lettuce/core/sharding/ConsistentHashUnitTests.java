@@ -0,0 +1,123 @@
+package io.lettuce.core.sharding;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ConsistentHash}.
+ */
+@Tag(UNIT_TEST)
+class ConsistentHashUnitTests {
+
+    private static final int KEYS = 10000;
+
+    @Test
+    void shouldDistributeKeys() {
+
+        ConsistentHash<String> ring = ring("a", "b", "c");
+        Map<String, Integer> counts = new HashMap<>();
+
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.get(key("key-" + i)), 1, Integer::sum);
+        }
+
+        assertThat(counts).containsOnlyKeys("a", "b", "c");
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isGreaterThan(KEYS / 5));
+    }
+
+    @Test
+    void shouldMoveOnlyKeysOfAddedNode() {
+
+        ConsistentHash<String> before = ring("a", "b", "c");
+        ConsistentHash<String> after = before.with("d", "d");
+        int moved = 0;
+
+        for (int i = 0; i < KEYS; i++) {
+
+            String owner = after.get(key("key-" + i));
+
+            if (!owner.equals(before.get(key("key-" + i)))) {
+                assertThat(owner).isEqualTo("d");
+                moved++;
+            }
+        }
+
+        assertThat(moved).isBetween(KEYS / 8, KEYS * 3 / 8);
+    }
+
+    @Test
+    void shouldMoveOnlyKeysOfRemovedNode() {
+
+        ConsistentHash<String> before = ring("a", "b", "c");
+        ConsistentHash<String> after = before.without("b");
+
+        for (int i = 0; i < KEYS; i++) {
+
+            String owner = before.get(key("key-" + i));
+
+            if (!owner.equals("b")) {
+                assertThat(after.get(key("key-" + i))).isEqualTo(owner);
+            }
+        }
+    }
+
+    @Test
+    void shouldNotDependOnNodeOrder() {
+
+        ConsistentHash<String> ring = ring("a", "b", "c");
+        ConsistentHash<String> reversed = ring("c", "b", "a");
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(reversed.get(key("key-" + i))).isEqualTo(ring.get(key("key-" + i)));
+        }
+    }
+
+    @Test
+    void shouldHashByHashTag() {
+
+        ConsistentHash<String> ring = ring("a", "b", "c");
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(ring.get(key("{user" + i + "}.name"))).isEqualTo(ring.get(key("{user" + i + "}.email")))
+                    .isEqualTo(ring.get(key("user" + i)));
+        }
+    }
+
+    @Test
+    void shouldHashKeysWithMurmur3() {
+
+        assertThat(ConsistentHash.hash(key(""))).isZero();
+        assertThat(ConsistentHash.hash(key("hello"))).isEqualTo(0x248bfa47L);
+        assertThat(ConsistentHash.hash(key("{hello}.world"))).isEqualTo(0x248bfa47L);
+    }
+
+    @Test
+    void shouldReturnNullWithoutNodes() {
+        assertThat(ring().get(key("key"))).isNull();
+    }
+
+    private static ConsistentHash<String> ring(String... ids) {
+
+        Map<String, String> nodes = new LinkedHashMap<>();
+
+        for (String id : ids) {
+            nodes.put(id, id);
+        }
+
+        return new ConsistentHash<>(nodes, ConsistentHash.DEFAULT_POINTS_PER_NODE);
+    }
+
+    private static ByteBuffer key(String key) {
+        return ByteBuffer.wrap(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,191 @@
+package io.lettuce.core.sharding;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import io.lettuce.core.RedisChannelWriter;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.StatefulRedisConnectionImpl;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.protocol.AsyncCommand;
+import io.lettuce.core.protocol.Command;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.RedisCommand;
+import io.lettuce.core.resource.ClientResources;
+
+/**
+ * Unit tests for {@link ShardedChannelWriter}.
+ */
+@Tag(UNIT_TEST)
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ShardedChannelWriterUnitTests {
+
+    private static final RedisURI SHARD_1 = RedisURI.create("localhost", 6379);
+
+    private static final RedisURI SHARD_2 = RedisURI.create("localhost", 6380);
+
+    @Mock
+    private ClientResources clientResources;
+
+    @Mock
+    private StatefulRedisConnectionImpl<String, String> connection1;
+
+    @Mock
+    private StatefulRedisConnectionImpl<String, String> connection2;
+
+    @Mock
+    private StatefulRedisConnectionImpl<String, String> connection3;
+
+    @Mock
+    private RedisChannelWriter writer1;
+
+    @Mock
+    private RedisChannelWriter writer2;
+
+    @Mock
+    private RedisChannelWriter writer3;
+
+    private ShardedChannelWriter writer;
+
+    private String key1;
+
+    private String key2;
+
+    @BeforeEach
+    void before() {
+
+        when(connection1.getChannelWriter()).thenReturn(writer1);
+        when(connection2.getChannelWriter()).thenReturn(writer2);
+        when(connection3.getChannelWriter()).thenReturn(writer3);
+
+        Map<RedisURI, StatefulRedisConnection<String, String>> connections = new LinkedHashMap<>();
+        connections.put(SHARD_1, connection1);
+        connections.put(SHARD_2, connection2);
+
+        writer = new ShardedChannelWriter(clientResources, connections, ConsistentHash.DEFAULT_POINTS_PER_NODE);
+
+        key1 = findKey(SHARD_1);
+        key2 = findKey(SHARD_2);
+    }
+
+    @Test
+    void shouldRouteByKey() {
+
+        AsyncCommand<String, String, String> command1 = command(CommandType.GET, key1);
+        AsyncCommand<String, String, String> command2 = command(CommandType.GET, key2);
+
+        writer.write(command1);
+        writer.write(command2);
+
+        verify(writer1).write(command1);
+        verify(writer2).write(command2);
+    }
+
+    @Test
+    void shouldRejectKeylessCommands() {
+
+        AsyncCommand<String, String, String> command = new AsyncCommand<>(
+                new Command<>(CommandType.PING, new StatusOutput<>(StringCodec.UTF8)));
+
+        writer.write(command);
+
+        assertThat(command).isCompletedExceptionally();
+        verify(writer1, never()).write(any(RedisCommand.class));
+        verify(writer2, never()).write(any(RedisCommand.class));
+    }
+
+    @Test
+    void shouldRejectCrossShardCommands() {
+
+        AsyncCommand<String, String, String> command = command(CommandType.MGET, key1, key2);
+
+        writer.write(command);
+
+        assertThat(command).isCompletedExceptionally();
+    }
+
+    @Test
+    void shouldRouteMultiKeyCommandsWithHashTag() {
+
+        AsyncCommand<String, String, String> command = command(CommandType.MGET, "{" + key1 + "}.a", "{" + key1 + "}.b");
+
+        writer.write(command);
+
+        verify(writer1).write(command);
+    }
+
+    @Test
+    void shouldPartitionBatches() {
+
+        AsyncCommand<String, String, String> command1 = command(CommandType.GET, key1);
+        AsyncCommand<String, String, String> command2 = command(CommandType.GET, key2);
+        AsyncCommand<String, String, String> command3 = command(CommandType.GET, key1);
+
+        writer.write(Arrays.asList(command1, command2, command3));
+
+        verify(writer1).write(Arrays.asList(command1, command3));
+        verify(writer2).write(Arrays.asList(command2));
+    }
+
+    @Test
+    void shouldAddAndRemoveShards() {
+
+        RedisURI shard3 = RedisURI.create("localhost", 6381);
+
+        assertThat(writer.addShard(shard3, connection3)).isTrue();
+        assertThat(writer.addShard(RedisURI.create("redis://localhost:6381"), connection3)).isFalse();
+        assertThat(writer.getShards()).hasSize(3);
+
+        String key3 = findKey(shard3);
+        AsyncCommand<String, String, String> command = command(CommandType.GET, key3);
+        writer.write(command);
+        verify(writer3).write(command);
+
+        assertThat(writer.removeShard(shard3).getConnection()).isSameAs(connection3);
+        assertThat(writer.getShard(StringCodec.UTF8, key3).getRedisURI()).isIn(SHARD_1, SHARD_2);
+        assertThat(writer.getShard(StringCodec.UTF8, key1).getRedisURI()).isEqualTo(SHARD_1);
+    }
+
+    @Test
+    void shouldIdentifyShards() {
+
+        assertThat(ShardedChannelWriter.getShardId(RedisURI.create("redis://localhost:6379"))).isEqualTo("localhost:6379");
+        assertThat(ShardedChannelWriter.getShardId(RedisURI.create("redis://localhost:6379/2"))).isEqualTo("localhost:6379/2");
+    }
+
+    private String findKey(RedisURI shard) {
+
+        for (int i = 0;; i++) {
+            if (writer.getShard(StringCodec.UTF8, "key-" + i).getRedisURI().equals(shard)) {
+                return "key-" + i;
+            }
+        }
+    }
+
+    private static AsyncCommand<String, String, String> command(CommandType type, String... keys) {
+
+        CommandArgs<String, String> args = new CommandArgs<>(StringCodec.UTF8).addKeys(keys);
+
+        return new AsyncCommand<>(new Command<>(type, new StatusOutput<>(StringCodec.UTF8), args));
+    }
+
+}
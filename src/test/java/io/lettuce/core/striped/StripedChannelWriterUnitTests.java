@@ -0,0 +1,192 @@
+package io.lettuce.core.striped;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import io.lettuce.core.RedisChannelWriter;
+import io.lettuce.core.StatefulRedisConnectionImpl;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.protocol.AsyncCommand;
+import io.lettuce.core.protocol.Command;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandKeyword;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.RedisCommand;
+import io.lettuce.core.resource.ClientResources;
+
+/**
+ * Unit tests for {@link StripedChannelWriter}.
+ */
+@Tag(UNIT_TEST)
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class StripedChannelWriterUnitTests {
+
+    @Mock
+    private StatefulRedisConnectionImpl<String, String> connection1;
+
+    @Mock
+    private StatefulRedisConnectionImpl<String, String> connection2;
+
+    @Mock
+    private StatefulRedisConnectionImpl<String, String> connection3;
+
+    @Mock
+    private RedisChannelWriter writer1;
+
+    @Mock
+    private RedisChannelWriter writer2;
+
+    @Mock
+    private RedisChannelWriter writer3;
+
+    @Mock
+    private ClientResources clientResources;
+
+    private StripedChannelWriter sut;
+
+    @BeforeEach
+    void before() {
+
+        when(connection1.getChannelWriter()).thenReturn(writer1);
+        when(connection2.getChannelWriter()).thenReturn(writer2);
+        when(connection3.getChannelWriter()).thenReturn(writer3);
+
+        sut = new StripedChannelWriter(Arrays.asList(connection1, connection2, connection3), clientResources);
+    }
+
+    @Test
+    void shouldAssignKeyedCommandsBySlot() {
+
+        int stripe = sut.getStripe(keyed(CommandType.GET, "{user}:1"));
+
+        assertThat(stripe).isNotEqualTo(StripedChannelWriter.DEDICATED_STRIPE);
+        assertThat(sut.getStripe(keyed(CommandType.SET, "{user}:2"))).isEqualTo(stripe);
+        assertThat(sut.getStripe(keyed(CommandType.DEL, "{user}:1"))).isEqualTo(stripe);
+    }
+
+    @Test
+    void shouldDistributeKeylessCommandsRoundRobin() {
+
+        Set<Integer> stripes = new HashSet<>();
+
+        for (int i = 0; i < 4; i++) {
+            stripes.add(sut.getStripe(new Command<>(CommandType.PING, null)));
+        }
+
+        assertThat(stripes).containsOnly(1, 2);
+    }
+
+    @Test
+    void shouldPinBlockingCommandsToDedicatedStripe() {
+
+        assertThat(sut.getStripe(keyed(CommandType.BLPOP, "key"))).isEqualTo(StripedChannelWriter.DEDICATED_STRIPE);
+
+        CommandArgs<String, String> args = new CommandArgs<>(StringCodec.UTF8).add("BLOCK").add(0).add("STREAMS")
+                .addKey("key").add("$");
+        assertThat(sut.getStripe(new Command<>(CommandType.XREAD, null, args)))
+                .isEqualTo(StripedChannelWriter.DEDICATED_STRIPE);
+    }
+
+    @Test
+    void shouldWriteCommandToStripe() {
+
+        RedisCommand<String, String, String> command = new Command<>(CommandType.PING, null);
+
+        sut.write(command);
+
+        verify(writer2).write(command);
+        verifyNoInteractions(writer1, writer3);
+    }
+
+    @Test
+    void shouldRejectConnectionStateCommands() {
+
+        AsyncCommand<String, String, String> command = new AsyncCommand<>(new Command<>(CommandType.SELECT,
+                new StatusOutput<>(StringCodec.UTF8), new CommandArgs<>(StringCodec.UTF8).add(1)));
+
+        sut.write(command);
+
+        assertThat(command).isCompletedExceptionally();
+        verifyNoInteractions(writer1, writer2, writer3);
+    }
+
+    @Test
+    void shouldRejectConnectionStateClientCommands() {
+
+        AsyncCommand<String, String, String> setName = new AsyncCommand<>(new Command<>(CommandType.CLIENT,
+                new StatusOutput<>(StringCodec.UTF8),
+                new CommandArgs<>(StringCodec.UTF8).add(CommandKeyword.SETNAME).addKey("name")));
+        AsyncCommand<String, String, String> tracking = new AsyncCommand<>(new Command<>(CommandType.CLIENT,
+                new StatusOutput<>(StringCodec.UTF8),
+                new CommandArgs<>(StringCodec.UTF8).add(CommandKeyword.TRACKING).add("ON")));
+
+        sut.write(Arrays.asList(setName, tracking));
+
+        assertThat(setName).isCompletedExceptionally();
+        assertThat(tracking).isCompletedExceptionally();
+        verifyNoInteractions(writer1, writer2, writer3);
+    }
+
+    @Test
+    void shouldRouteClientQueries() {
+
+        RedisCommand<String, String, String> command = new Command<>(CommandType.CLIENT, null,
+                new CommandArgs<>(StringCodec.UTF8).add(CommandKeyword.GETNAME));
+
+        sut.write(command);
+
+        verify(writer2).write(command);
+    }
+
+    @Test
+    void shouldRejectTransactions() {
+
+        AsyncCommand<String, String, String> multi = new AsyncCommand<>(
+                new Command<>(CommandType.MULTI, new StatusOutput<>(StringCodec.UTF8)));
+        AsyncCommand<String, String, String> watch = new AsyncCommand<>(new Command<>(CommandType.WATCH,
+                new StatusOutput<>(StringCodec.UTF8), new CommandArgs<>(StringCodec.UTF8).addKey("key")));
+
+        sut.write(multi);
+        sut.write(watch);
+
+        assertThat(multi).isCompletedExceptionally();
+        assertThat(watch).isCompletedExceptionally();
+        verifyNoInteractions(writer1, writer2, writer3);
+    }
+
+    @Test
+    void shouldCloseAllStripes() {
+
+        when(connection1.closeAsync()).thenReturn(CompletableFuture.completedFuture(null));
+        when(connection2.closeAsync()).thenReturn(CompletableFuture.completedFuture(null));
+        when(connection3.closeAsync()).thenReturn(CompletableFuture.completedFuture(null));
+
+        sut.close();
+
+        verify(connection1).closeAsync();
+        verify(connection2).closeAsync();
+        verify(connection3).closeAsync();
+    }
+
+    private static Command<String, String, String> keyed(CommandType type, String key) {
+        return new Command<>(type, null, new CommandArgs<>(StringCodec.UTF8).addKey(key));
+    }
+
+}
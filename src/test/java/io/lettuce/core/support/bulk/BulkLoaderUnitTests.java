@@ -0,0 +1,260 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.support.bulk;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.cluster.SlotHash;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.models.partitions.Partitions;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.protocol.CommandArgsAccessor;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.RedisCommand;
+
+/**
+ * Unit tests for {@link BulkLoader}.
+ */
+@Tag(UNIT_TEST)
+@ExtendWith(MockitoExtension.class)
+class BulkLoaderUnitTests {
+
+    @Mock
+    private StatefulRedisConnection<String, String> connection;
+
+    @Mock
+    private StatefulRedisClusterConnection<String, String> clusterConnection;
+
+    private final List<List<RedisCommand<String, String, ?>>> batches = new ArrayList<>();
+
+    @Test
+    void shouldWriteCommandsInBatches() {
+
+        captureBatches(connection.dispatch(anyCollection()));
+        BulkLoader<String, String> loader = builder().batchSize(2).windowSize(4).build();
+
+        loader.set("k1", "v1");
+        loader.set("k2", "v2");
+        loader.set("k3", "v3");
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).extracting(RedisCommand::getType).containsOnly(CommandType.SET);
+
+        loader.flush();
+
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(1)).hasSize(1);
+        assertThat(loader.getSubmitted()).isEqualTo(3);
+        assertThat(loader.getInFlight()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldWriteBatchOnceBatchBytesExceeded() {
+
+        captureBatches(connection.dispatch(anyCollection()));
+        BulkLoader<String, String> loader = builder().batchSize(100).batchBytes(100).build();
+
+        loader.set("key", "small");
+
+        assertThat(batches).isEmpty();
+
+        loader.set("key", String.join("", Collections.nCopies(100, "x")));
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).hasSize(2);
+    }
+
+    @Test
+    void shouldEstimateBatchBytesWithoutEncoding() {
+
+        captureBatches(connection.dispatch(anyCollection()));
+        BulkLoader<String, String> loader = BulkLoader.builder(connection, new NonEncodingCodec())
+                .metricsInterval(Duration.ZERO).batchSize(100).batchBytes(100).build();
+
+        loader.set("key", "small");
+
+        assertThat(batches).isEmpty();
+
+        loader.set("key", String.join("", Collections.nCopies(100, "x")));
+
+        assertThat(batches).hasSize(1);
+    }
+
+    @Test
+    void shouldAwaitCompletion() {
+
+        captureBatches(connection.dispatch(anyCollection()));
+        BulkLoader<String, String> loader = builder().batchSize(2).windowSize(2).build();
+
+        loader.setAll(Stream.of(KeyValue.just("k1", "v1"), KeyValue.empty("k2"), KeyValue.just("k3", "v3")));
+
+        assertThat(loader.await(Duration.ofMillis(10))).isFalse();
+
+        batches.get(0).forEach(RedisCommand::complete);
+
+        assertThat(loader.await(Duration.ofMillis(10))).isTrue();
+        assertThat(loader.getCompleted()).isEqualTo(2);
+        assertThat(loader.getInFlight()).isZero();
+    }
+
+    @Test
+    void shouldReportFailuresToHandler() {
+
+        captureBatches(connection.dispatch(anyCollection()));
+        List<Throwable> failures = new ArrayList<>();
+        BulkLoader<String, String> loader = builder().onFailure((command, e) -> failures.add(e)).build();
+
+        loader.set("k1", "v1");
+        loader.set("k2", "v2");
+        loader.flush();
+
+        RedisCommand<String, String, ?> failed = batches.get(0).get(0);
+        failed.getOutput().setError("WRONGTYPE");
+        failed.complete();
+        failed.complete();
+        batches.get(0).get(1).complete();
+
+        assertThat(failures).hasSize(1);
+        assertThat(failures.get(0)).isInstanceOf(RedisCommandExecutionException.class);
+        assertThat(loader.getFailed()).isEqualTo(1);
+        assertThat(loader.getCompleted()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFailBatchIfDispatchFails() {
+
+        when(connection.dispatch(anyCollection())).thenThrow(new IllegalStateException("closed"));
+        List<Throwable> failures = new ArrayList<>();
+        BulkLoader<String, String> loader = builder().onFailure((command, e) -> failures.add(e)).build();
+
+        loader.set("k1", "v1");
+        loader.close();
+
+        assertThat(failures).hasSize(1);
+        assertThat(loader.getInFlight()).isZero();
+        assertThatThrownBy(() -> loader.set("k2", "v2")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldBatchPerClusterNode() {
+
+        Partitions partitions = new Partitions();
+        partitions.add(node("1", 0, 8192));
+        partitions.add(node("2", 8192, SlotHash.SLOT_COUNT));
+
+        when(clusterConnection.getPartitions()).thenReturn(partitions);
+        captureBatches(clusterConnection.dispatch(anyCollection()));
+
+        BulkLoader<String, String> loader = BulkLoader.builder(clusterConnection, StringCodec.UTF8).batchSize(2).windowSize(2)
+                .metricsInterval(Duration.ZERO).build();
+
+        // b, c: slots below 8192; a, d: slots above 8192
+        loader.set("b", "v");
+        loader.set("a", "v");
+        loader.set("c", "v");
+
+        assertThat(batches).hasSize(1);
+        assertThat(keys(batches.get(0))).containsExactly("b", "c");
+
+        loader.set("d", "v");
+
+        assertThat(batches).hasSize(2);
+        assertThat(keys(batches.get(1))).containsExactly("a", "d");
+    }
+
+    private BulkLoader.Builder<String, String> builder() {
+        return BulkLoader.builder(connection, StringCodec.UTF8).metricsInterval(Duration.ZERO);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void captureBatches(Collection<RedisCommand<String, String, ?>> invocation) {
+
+        when(invocation).thenAnswer(it -> {
+            Collection<RedisCommand<String, String, ?>> commands = it.getArgument(0);
+            batches.add(new ArrayList<>(commands));
+            return commands;
+        });
+    }
+
+    private static List<String> keys(List<RedisCommand<String, String, ?>> commands) {
+        return commands.stream().map(it -> StringCodec.UTF8.decodeKey(CommandArgsAccessor.encodeFirstKey(it.getArgs())))
+                .collect(Collectors.toList());
+    }
+
+    private static RedisClusterNode node(String nodeId, int from, int to) {
+        return new RedisClusterNode(RedisURI.create("localhost", Integer.parseInt(nodeId)), nodeId, true, null, 0, 0, 0,
+                IntStream.range(from, to).boxed().collect(Collectors.toList()),
+                Collections.singleton(RedisClusterNode.NodeFlag.UPSTREAM));
+    }
+
+    /**
+     * Codec that fails if keys or values are encoded outside of the write path.
+     */
+    static class NonEncodingCodec implements RedisCodec<String, String> {
+
+        @Override
+        public String decodeKey(ByteBuffer bytes) {
+            return StringCodec.UTF8.decodeKey(bytes);
+        }
+
+        @Override
+        public String decodeValue(ByteBuffer bytes) {
+            return StringCodec.UTF8.decodeValue(bytes);
+        }
+
+        @Override
+        public ByteBuffer encodeKey(String key) {
+            throw new UnsupportedOperationException("Keys must not be encoded");
+        }
+
+        @Override
+        public ByteBuffer encodeValue(String value) {
+            throw new UnsupportedOperationException("Values must not be encoded");
+        }
+
+    }
+
+}
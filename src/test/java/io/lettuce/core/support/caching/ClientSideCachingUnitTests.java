@@ -0,0 +1,216 @@
+package io.lettuce.core.support.caching;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ClientSideCaching}.
+ */
+@Tag(UNIT_TEST)
+class ClientSideCachingUnitTests {
+
+    private final Map<String, String> clientCache = new ConcurrentHashMap<>();
+
+    private final List<Collection<String>> evictions = new ArrayList<>();
+
+    private final StubRedisCache redisCache = new StubRedisCache();
+
+    private ClientSideCaching<String, String> frontend;
+
+    @BeforeEach
+    void setUp() {
+
+        CacheAccessor<String, String> accessor = new CacheAccessor<String, String>() {
+
+            @Override
+            public String get(String key) {
+                return clientCache.get(key);
+            }
+
+            @Override
+            public void put(String key, String value) {
+                clientCache.put(key, value);
+            }
+
+            @Override
+            public void evict(String key) {
+                clientCache.remove(key);
+            }
+
+            @Override
+            public void evictAll(Collection<? extends String> keys) {
+                evictions.add(new ArrayList<>(keys));
+                keys.forEach(clientCache::remove);
+            }
+
+        };
+
+        frontend = (ClientSideCaching<String, String>) ClientSideCaching.create(accessor, redisCache);
+    }
+
+    @Test
+    void shouldEvictBatchesThroughEvictAll() {
+
+        redisCache.values.put("key1", "value1");
+        redisCache.values.put("key2", "value2");
+        frontend.get("key1");
+        frontend.get("key2");
+
+        redisCache.invalidate(Arrays.asList("key1", "key2"));
+
+        assertThat(evictions).containsExactly(Arrays.asList("key1", "key2"));
+        assertThat(clientCache).isEmpty();
+    }
+
+    @Test
+    void shouldNotifyListenersForBatches() {
+
+        List<String> invalidated = new ArrayList<>();
+        List<Collection<String>> batches = new ArrayList<>();
+        frontend.addInvalidationListener(invalidated::add);
+        frontend.addBatchInvalidationListener(batches::add);
+
+        redisCache.invalidate(Arrays.asList("key1", "key2"));
+
+        assertThat(invalidated).containsExactly("key1", "key2");
+        assertThat(batches).containsExactly(Arrays.asList("key1", "key2"));
+    }
+
+    @Test
+    void shouldInvalidateAllEntriesOnFlush() {
+
+        redisCache.values.put("key", "value");
+        assertThat(frontend.get("key")).isEqualTo("value");
+        assertThat(clientCache).containsKey("key");
+
+        redisCache.values.put("key", "updated");
+        redisCache.invalidate(null);
+
+        assertThat(evictions).isEmpty();
+        assertThat(frontend.get("key")).isEqualTo("updated");
+        assertThat(clientCache).containsEntry("key", "updated");
+    }
+
+    @Test
+    void shouldNotifyListenersOnFlush() {
+
+        List<String> invalidated = new ArrayList<>();
+        List<Collection<String>> batches = new ArrayList<>();
+        frontend.addInvalidationListener(invalidated::add);
+        frontend.addBatchInvalidationListener(batches::add);
+
+        redisCache.invalidate(null);
+
+        assertThat(invalidated).containsExactly((String) null);
+        assertThat(batches).containsExactly((Collection<String>) null);
+    }
+
+    @Test
+    void shouldNotCacheValuesInvalidatedWhileFetching() {
+
+        redisCache.values.put("key", "value");
+        redisCache.onGet = () -> redisCache.invalidate(null);
+
+        assertThat(frontend.get("key")).isEqualTo("value");
+        assertThat(clientCache).isEmpty();
+    }
+
+    @Test
+    void shouldBoundTrackedKeysOfBoundedCache() {
+
+        Map<String, String> boundedCache = new LinkedHashMap<String, String>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > 100;
+            }
+
+        };
+        ClientSideCaching<String, String> frontend = (ClientSideCaching<String, String>) ClientSideCaching
+                .create(CacheAccessor.forMap(boundedCache), redisCache);
+
+        for (int i = 0; i < 10_000; i++) {
+            redisCache.values.put("key" + i, "value" + i);
+            assertThat(frontend.get("key" + i)).isEqualTo("value" + i);
+        }
+
+        assertThat(boundedCache).hasSize(100);
+        assertThat(frontend.getTrackedKeyCount()).isLessThanOrEqualTo(1024);
+        assertThat(frontend.get("key9999")).isEqualTo("value9999");
+    }
+
+    @Test
+    void shouldClearTrackedKeysOnFlush() {
+
+        redisCache.values.put("key", "value");
+        frontend.get("key");
+
+        redisCache.invalidate(null);
+
+        assertThat(frontend.getTrackedKeyCount()).isZero();
+    }
+
+    static class StubRedisCache implements RedisCache<String, String> {
+
+        final Map<String, String> values = new HashMap<>();
+
+        final List<Consumer<? super Collection<String>>> listeners = new ArrayList<>();
+
+        Runnable onGet = () -> {
+        };
+
+        long sequence;
+
+        void invalidate(Collection<String> keys) {
+            sequence++;
+            listeners.forEach(it -> it.accept(keys));
+        }
+
+        @Override
+        public String get(String key) {
+            onGet.run();
+            return values.get(key);
+        }
+
+        @Override
+        public void put(String key, String value) {
+            values.put(key, value);
+        }
+
+        @Override
+        public void addInvalidationListener(Consumer<? super String> listener) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void addBatchInvalidationListener(Consumer<? super Collection<String>> listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public LongSupplier getInvalidationSequence(String key) {
+            return () -> sequence;
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
@@ -0,0 +1,177 @@
+package io.lettuce.core.support.caching;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushListener;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.resource.ClientResources;
+import io.netty.util.concurrent.EventExecutorGroup;
+
+/**
+ * Unit tests for {@link DefaultRedisCache}.
+ */
+@Tag(UNIT_TEST)
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DefaultRedisCacheUnitTests {
+
+    @Mock
+    private StatefulRedisConnection<String, String> connection;
+
+    @Mock
+    private ClientResources clientResources;
+
+    @Mock
+    private EventExecutorGroup eventExecutorGroup;
+
+    private final List<Collection<String>> batches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(connection.getResources()).thenReturn(clientResources);
+        when(clientResources.eventExecutorGroup()).thenReturn(eventExecutorGroup);
+    }
+
+    @Test
+    void shouldNotifyOncePerMessage() {
+
+        PushListener listener = create(Duration.ZERO);
+
+        listener.onPushMessage(invalidate("key1", "key2"));
+        listener.onPushMessage(invalidate("key3"));
+
+        assertThat(batches).containsExactly(Arrays.asList("key1", "key2"), Arrays.asList("key3"));
+    }
+
+    @Test
+    void shouldCoalesceMessagesWithinWindow() {
+
+        PushListener listener = create(Duration.ofMillis(10));
+
+        listener.onPushMessage(invalidate("key1", "key2"));
+        listener.onPushMessage(invalidate("key2", "key3"));
+
+        ArgumentCaptor<Runnable> delivery = ArgumentCaptor.forClass(Runnable.class);
+        verify(eventExecutorGroup).schedule(delivery.capture(), eq(TimeUnit.MILLISECONDS.toNanos(10)),
+                eq(TimeUnit.NANOSECONDS));
+        assertThat(batches).isEmpty();
+
+        delivery.getValue().run();
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsExactly("key1", "key2", "key3");
+    }
+
+    @Test
+    void shouldCoalesceFlushWithinWindow() {
+
+        PushListener listener = create(Duration.ofMillis(10));
+
+        listener.onPushMessage(invalidate("key1"));
+        listener.onPushMessage(flush());
+        listener.onPushMessage(invalidate("key2"));
+
+        ArgumentCaptor<Runnable> delivery = ArgumentCaptor.forClass(Runnable.class);
+        verify(eventExecutorGroup).schedule(delivery.capture(), anyLong(), any());
+
+        delivery.getValue().run();
+
+        assertThat(batches).containsExactly((Collection<String>) null);
+    }
+
+    @Test
+    void shouldNotConsumeMessageBuffers() {
+
+        PushListener listener = create(Duration.ZERO);
+        PushMessage message = invalidate("{tag}.key");
+        ByteBuffer buffer = ((List<ByteBuffer>) message.getContent().get(1)).get(0);
+
+        listener.onPushMessage(message);
+
+        assertThat(batches).containsExactly(Arrays.asList("{tag}.key"));
+        assertThat(buffer.remaining()).isEqualTo("{tag}.key".length());
+    }
+
+    @Test
+    void shouldTrackInvalidationSequencesPerSlot() {
+
+        DefaultRedisCache<String, String> cache = new DefaultRedisCache<>(connection, StringCodec.UTF8);
+        ArgumentCaptor<PushListener> listener = ArgumentCaptor.forClass(PushListener.class);
+        verify(connection).addListener(listener.capture());
+
+        LongSupplier invalidated = cache.getInvalidationSequence("{tag}.a");
+        LongSupplier sameSlot = cache.getInvalidationSequence("{tag}.b");
+        LongSupplier other = cache.getInvalidationSequence("other");
+        long before = invalidated.getAsLong();
+        long otherBefore = other.getAsLong();
+
+        listener.getValue().onPushMessage(invalidate("{tag}.a"));
+
+        assertThat(invalidated.getAsLong()).isNotEqualTo(before);
+        assertThat(sameSlot.getAsLong()).isEqualTo(invalidated.getAsLong());
+        assertThat(other.getAsLong()).isEqualTo(otherBefore);
+
+        listener.getValue().onPushMessage(flush());
+
+        assertThat(other.getAsLong()).isNotEqualTo(otherBefore);
+    }
+
+    private PushListener create(Duration window) {
+
+        DefaultRedisCache<String, String> cache = new DefaultRedisCache<>(connection, StringCodec.UTF8, window);
+        cache.addBatchInvalidationListener(batches::add);
+
+        ArgumentCaptor<PushListener> listener = ArgumentCaptor.forClass(PushListener.class);
+        verify(connection).addListener(listener.capture());
+
+        return listener.getValue();
+    }
+
+    private static PushMessage invalidate(String... keys) {
+
+        List<ByteBuffer> encoded = new ArrayList<>();
+        for (String key : keys) {
+            encoded.add(ByteBuffer.wrap(key.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        return message(encoded);
+    }
+
+    private static PushMessage flush() {
+        return message(null);
+    }
+
+    private static PushMessage message(List<ByteBuffer> keys) {
+
+        PushMessage message = mock(PushMessage.class);
+        when(message.getType()).thenReturn("invalidate");
+        when(message.getContent()).thenReturn(Arrays.<Object> asList(ByteBuffer.wrap("invalidate".getBytes()), keys));
+        return message;
+    }
+
+}
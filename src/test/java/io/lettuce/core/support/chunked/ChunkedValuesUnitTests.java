@@ -0,0 +1,137 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.support.chunked;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import reactor.core.publisher.Flux;
+import io.lettuce.core.RedisException;
+import io.lettuce.core.api.async.BaseRedisAsyncCommands;
+import io.lettuce.core.cluster.PipelinedRedisFuture;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandArgsAccessor;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.ProtocolKeyword;
+
+/**
+ * Unit tests for {@link ChunkedValues}.
+ */
+@Tag(UNIT_TEST)
+@ExtendWith(MockitoExtension.class)
+class ChunkedValuesUnitTests {
+
+    @Mock
+    private BaseRedisAsyncCommands<String, String> commands;
+
+    private ChunkedValues<String, String> values;
+
+    @BeforeEach
+    void setUp() {
+        values = new ChunkedValues<>(commands, StringCodec.UTF8, 4, 2);
+    }
+
+    @Test
+    void shouldSplitBuffersIntoChunks() {
+
+        List<byte[]> chunks = values.split(Flux.just(bytes("0123456789"), bytes("ab"))).collectList().block();
+
+        assertThat(chunks.stream().map(String::new).collect(Collectors.toList())).containsExactly("0123", "4567", "89",
+                "ab");
+    }
+
+    @Test
+    void shouldReadStreamUpToLength() {
+
+        List<byte[]> chunks = values.read(new ByteArrayInputStream("0123456789".getBytes()), 6).collectList().block();
+
+        assertThat(chunks.stream().map(String::new).collect(Collectors.toList())).containsExactly("0123", "45");
+    }
+
+    @Test
+    void shouldWriteFirstChunkWithSetAndRemainderWithSetRange() {
+
+        when(commands.<Object> dispatch(any(), any(), any())).thenReturn(completed());
+
+        Long written = values.set("key", Flux.just(bytes("0123456789")), 10).join();
+
+        ArgumentCaptor<ProtocolKeyword> types = ArgumentCaptor.forClass(ProtocolKeyword.class);
+        ArgumentCaptor<CommandArgs> args = ArgumentCaptor.forClass(CommandArgs.class);
+        verify(commands, times(3)).dispatch(types.capture(), any(), args.capture());
+
+        assertThat(written).isEqualTo(10L);
+        assertThat(types.getAllValues()).containsExactly(CommandType.SET, CommandType.SETRANGE, CommandType.SETRANGE);
+        assertThat(CommandArgsAccessor.getFirstInteger(args.getAllValues().get(1))).isEqualTo(4L);
+        assertThat(CommandArgsAccessor.getFirstInteger(args.getAllValues().get(2))).isEqualTo(8L);
+    }
+
+    @Test
+    void shouldAppendChunks() {
+
+        when(commands.<Object> dispatch(any(), any(), any())).thenReturn(completed());
+
+        values.append("key", new ByteArrayInputStream("012345".getBytes()), 6).join();
+
+        ArgumentCaptor<ProtocolKeyword> types = ArgumentCaptor.forClass(ProtocolKeyword.class);
+        verify(commands, times(2)).dispatch(types.capture(), any(), any());
+
+        assertThat(types.getAllValues()).containsOnly(CommandType.APPEND);
+    }
+
+    @Test
+    void shouldRejectSourceShorterThanLength() {
+
+        when(commands.<Object> dispatch(any(), any(), any())).thenReturn(completed());
+
+        CompletableFuture<Long> future = values.set("key", Flux.just(bytes("01234")), 10);
+
+        assertThatThrownBy(future::join).isInstanceOf(CompletionException.class).hasCauseInstanceOf(RedisException.class);
+    }
+
+    private static PipelinedRedisFuture<Object> completed() {
+        return new PipelinedRedisFuture<>(CompletableFuture.<Object> completedFuture(1L));
+    }
+
+    private static ByteBuffer bytes(String value) {
+        return ByteBuffer.wrap(value.getBytes());
+    }
+
+}
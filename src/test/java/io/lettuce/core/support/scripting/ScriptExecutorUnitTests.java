@@ -0,0 +1,136 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.support.scripting;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.async.RedisScriptingAsyncCommands;
+import io.lettuce.core.cluster.PipelinedRedisFuture;
+import io.lettuce.core.codec.Base16;
+
+/**
+ * Unit tests for {@link ScriptExecutor}.
+ */
+@Tag(UNIT_TEST)
+@ExtendWith(MockitoExtension.class)
+class ScriptExecutorUnitTests {
+
+    private static final RedisScript SCRIPT = RedisScript.of("return 1", ScriptOutputType.INTEGER);
+
+    private static final String[] KEYS = new String[] { "key" };
+
+    @Mock
+    private RedisScriptingAsyncCommands<String, String> commands;
+
+    private ScriptExecutor<String, String> executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ScriptExecutor<>(commands);
+    }
+
+    @Test
+    void shouldComputeDigestOnce() {
+        assertThat(SCRIPT.getDigest()).isEqualTo(Base16.digest("return 1".getBytes()));
+    }
+
+    @Test
+    void shouldExecuteThroughEvalsha() {
+
+        when(commands.<Long> evalsha(eq(SCRIPT.getDigest()), eq(ScriptOutputType.INTEGER), eq(KEYS), any()))
+                .thenReturn(completed(1L));
+
+        assertThat(executor.<Long> execute(SCRIPT, KEYS).join()).isEqualTo(1L);
+        verify(commands, times(0)).scriptLoad(any(byte[].class));
+    }
+
+    @Test
+    void shouldLoadAndRetryOnNoScript() {
+
+        when(commands.<Long> evalsha(eq(SCRIPT.getDigest()), eq(ScriptOutputType.INTEGER), eq(KEYS), any()))
+                .thenReturn(failed(new RedisNoScriptException("NOSCRIPT No matching script")), completed(1L));
+        when(commands.scriptLoad(any(byte[].class))).thenReturn(completed(SCRIPT.getDigest()));
+
+        assertThat(executor.<Long> execute(SCRIPT, KEYS).join()).isEqualTo(1L);
+        verify(commands).scriptLoad(any(byte[].class));
+        verify(commands, times(2)).evalsha(eq(SCRIPT.getDigest()), eq(ScriptOutputType.INTEGER), eq(KEYS), any());
+    }
+
+    @Test
+    void shouldNotRetryOnOtherErrors() {
+
+        when(commands.<Long> evalsha(eq(SCRIPT.getDigest()), eq(ScriptOutputType.INTEGER), eq(KEYS), any()))
+                .thenReturn(failed(new RedisCommandExecutionException("ERR something")));
+
+        assertThatThrownBy(() -> executor.execute(SCRIPT, KEYS).join()).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(RedisCommandExecutionException.class);
+        verify(commands, times(0)).scriptLoad(any(byte[].class));
+    }
+
+    @Test
+    void shouldCoalesceConcurrentLoads() {
+
+        PipelinedRedisFuture<String> load = new PipelinedRedisFuture<>(new CompletableFuture<>());
+        when(commands.scriptLoad(any(byte[].class))).thenReturn(load);
+
+        CompletableFuture<String> first = executor.register(SCRIPT);
+        CompletableFuture<String> second = executor.register(SCRIPT);
+
+        assertThat(second).isSameAs(first);
+        verify(commands).scriptLoad(any(byte[].class));
+
+        load.complete(SCRIPT.getDigest());
+
+        assertThat(first).isCompletedWithValue(SCRIPT.getDigest());
+    }
+
+    private static <T> RedisFuture<T> completed(T value) {
+        return new PipelinedRedisFuture<>(CompletableFuture.completedFuture(value));
+    }
+
+    private static <T> RedisFuture<T> failed(Throwable throwable) {
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(throwable);
+        return new PipelinedRedisFuture<>(future);
+    }
+
+}
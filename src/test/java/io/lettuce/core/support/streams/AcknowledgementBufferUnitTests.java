@@ -0,0 +1,63 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.support.streams;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link AcknowledgementBuffer}.
+ */
+@Tag(UNIT_TEST)
+class AcknowledgementBufferUnitTests {
+
+    @Test
+    void shouldRejectInvalidBatchSize() {
+        assertThatThrownBy(() -> new AcknowledgementBuffer(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldEmitBatchWhenFull() {
+
+        AcknowledgementBuffer buffer = new AcknowledgementBuffer(3);
+
+        assertThat(buffer.add("1-0")).isEmpty();
+        assertThat(buffer.add("2-0")).isEmpty();
+        assertThat(buffer.add("3-0")).containsExactly("1-0", "2-0", "3-0");
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void shouldDrainPartialBatch() {
+
+        AcknowledgementBuffer buffer = new AcknowledgementBuffer(10);
+
+        buffer.add("1-0");
+        buffer.add("2-0");
+
+        assertThat(buffer.drain()).containsExactly("1-0", "2-0");
+        assertThat(buffer.drain()).isEmpty();
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.support.streams;
+
+import static io.lettuce.TestTags.INTEGRATION_TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import io.lettuce.core.Consumer;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.TestSupport;
+import io.lettuce.core.XGroupCreateArgs;
+import io.lettuce.core.XReadArgs.StreamOffset;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.test.LettuceExtension;
+import io.lettuce.test.Wait;
+import io.lettuce.test.condition.EnabledOnCommand;
+
+/**
+ * Integration tests for {@link StreamConsumer}.
+ */
+@Tag(INTEGRATION_TEST)
+@ExtendWith(LettuceExtension.class)
+@EnabledOnCommand("XAUTOCLAIM")
+class StreamConsumerIntegrationTests extends TestSupport {
+
+    private static final String STREAM = "stream-consumer";
+
+    private final RedisClient redisClient;
+
+    private final RedisCommands<String, String> redis;
+
+    private StatefulRedisConnection<String, String> readConnection;
+
+    private StatefulRedisConnection<String, String> commandConnection;
+
+    @Inject
+    StreamConsumerIntegrationTests(RedisClient redisClient, StatefulRedisConnection<String, String> connection) {
+        this.redisClient = redisClient;
+        this.redis = connection.sync();
+    }
+
+    @BeforeEach
+    void setUp() {
+
+        redis.flushdb();
+        redis.xgroupCreate(StreamOffset.from(STREAM, "0-0"), "group", XGroupCreateArgs.Builder.mkstream());
+
+        readConnection = redisClient.connect();
+        commandConnection = redisClient.connect();
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        readConnection.close();
+        commandConnection.close();
+    }
+
+    @Test
+    void shouldConsumeAndAcknowledgeMessagesInPartitionOrder() {
+
+        for (int i = 0; i < 100; i++) {
+            redis.xadd(STREAM, "key", "key-" + (i % 4), "sequence", Integer.toString(i));
+        }
+
+        Map<String, List<Integer>> sequences = new ConcurrentHashMap<>();
+        AtomicInteger handled = new AtomicInteger();
+
+        StreamConsumer<String, String> consumer = StreamConsumer
+                .builder(readConnection, Consumer.from("group", "consumer-1"), STREAM, message -> {
+
+                    List<Integer> sequence = sequences.computeIfAbsent(message.getBody().get("key"),
+                            it -> Collections.synchronizedList(new ArrayList<>()));
+                    sequence.add(Integer.parseInt(message.getBody().get("sequence")));
+                    handled.incrementAndGet();
+                }).commandConnection(commandConnection).partitionKey(it -> it.getBody().get("key")).workers(4).batchSize(10)
+                .blockTimeout(Duration.ofMillis(100)).ackInterval(Duration.ofMillis(50)).build();
+
+        consumer.start();
+
+        Wait.untilEquals(100, handled::get).waitOrTimeout();
+        Wait.untilEquals(0L, () -> redis.xpending(STREAM, "group").getCount()).waitOrTimeout();
+
+        consumer.close();
+
+        assertThat(sequences).hasSize(4);
+        assertThat(sequences.values()).allSatisfy(it -> assertThat(it).hasSize(25).isSorted());
+    }
+
+    @Test
+    void shouldReclaimFailedMessages() {
+
+        for (int i = 0; i < 10; i++) {
+            redis.xadd(STREAM, "sequence", Integer.toString(i));
+        }
+
+        Set<String> failed = ConcurrentHashMap.newKeySet();
+        AtomicInteger handled = new AtomicInteger();
+
+        StreamConsumer<String, String> consumer = StreamConsumer
+                .builder(readConnection, Consumer.from("group", "consumer-1"), STREAM, message -> {
+
+                    if (failed.add(message.getId())) {
+                        throw new IllegalStateException("Fail first delivery of " + message.getId());
+                    }
+
+                    handled.incrementAndGet();
+                }).commandConnection(commandConnection).blockTimeout(Duration.ofMillis(100)).ackInterval(Duration.ofMillis(50))
+                .claimMinIdle(Duration.ofMillis(200)).claimInterval(Duration.ofMillis(100)).build();
+
+        consumer.start();
+
+        Wait.untilTrue(() -> handled.get() >= 10).waitOrTimeout();
+        Wait.untilEquals(0L, () -> redis.xpending(STREAM, "group").getCount()).waitOrTimeout();
+
+        consumer.close();
+
+        assertThat(failed).hasSize(10);
+    }
+
+}
@@ -0,0 +1,433 @@
+/*
+ * Copyright 2011-Present, Redis Ltd. and Contributors
+ * All rights reserved.
+ *
+ * Licensed under the MIT License.
+ *
+ * This file contains contributions from third-party contributors
+ * licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.support.streams;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import io.lettuce.core.Consumer;
+import io.lettuce.core.Range;
+import io.lettuce.core.RedisException;
+import io.lettuce.core.StreamMessage;
+import io.lettuce.core.XAutoClaimArgs;
+import io.lettuce.core.XReadArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.cluster.PipelinedRedisFuture;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.event.EventBus;
+import io.lettuce.core.models.stream.ClaimedMessages;
+import io.lettuce.core.models.stream.PendingMessages;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.resource.ClientResources;
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.ScheduledFuture;
+
+/**
+ * Unit tests for {@link StreamConsumer}.
+ */
+@Tag(UNIT_TEST)
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class StreamConsumerUnitTests {
+
+    private static final String STREAM = "stream";
+
+    private static final Consumer<String> CONSUMER = Consumer.from("group", "consumer-1");
+
+    private static final Duration ACK_INTERVAL = Duration.ofMillis(100);
+
+    private static final Duration CLAIM_INTERVAL = Duration.ofSeconds(30);
+
+    private static final Duration METRICS_INTERVAL = Duration.ofSeconds(10);
+
+    @Mock
+    private StatefulRedisConnection<String, String> connection;
+
+    @Mock
+    private RedisAsyncCommands<String, String> async;
+
+    @Mock
+    private ClientResources clientResources;
+
+    @Mock
+    private EventExecutorGroup eventExecutorGroup;
+
+    @Mock
+    private EventBus eventBus;
+
+    @Mock
+    private ScheduledFuture<?> scheduledFuture;
+
+    private final List<CompletableFuture<List<StreamMessage<String, String>>>> reads = new ArrayList<>();
+
+    private final List<List<String>> acknowledged = new ArrayList<>();
+
+    private final Map<Long, Runnable> scheduledTasks = new HashMap<>();
+
+    private final Deque<Runnable> tasks = new ArrayDeque<>();
+
+    private final List<StreamMessage<String, String>> handled = new ArrayList<>();
+
+    private RedisException ackFailure;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void before() {
+
+        when(connection.async()).thenReturn(async);
+        when(connection.getResources()).thenReturn(clientResources);
+        when(clientResources.eventExecutorGroup()).thenReturn(eventExecutorGroup);
+        when(clientResources.eventBus()).thenReturn(eventBus);
+
+        doAnswer(invocation -> {
+            scheduledTasks.put(invocation.getArgument(2), invocation.getArgument(0));
+            return scheduledFuture;
+        }).when(eventExecutorGroup).scheduleAtFixedRate(any(Runnable.class), anyLong(), anyLong(), any(TimeUnit.class));
+
+        when(async.xreadgroup(any(Consumer.class), any(XReadArgs.class), any(XReadArgs.StreamOffset.class)))
+                .thenAnswer(invocation -> {
+
+                    CompletableFuture<List<StreamMessage<String, String>>> read = new CompletableFuture<>();
+                    reads.add(read);
+                    return new PipelinedRedisFuture<>(read);
+                });
+
+        when(async.xack(anyString(), anyString(), any())).thenAnswer(invocation -> {
+
+            Object[] arguments = invocation.getArguments();
+            List<String> ids = new ArrayList<>();
+
+            for (int i = 2; i < arguments.length; i++) {
+                ids.add((String) arguments[i]);
+            }
+
+            if (ackFailure != null) {
+                CompletableFuture<Long> failed = new CompletableFuture<>();
+                failed.completeExceptionally(ackFailure);
+                return new PipelinedRedisFuture<>(failed);
+            }
+
+            acknowledged.add(ids);
+            return new PipelinedRedisFuture<>(CompletableFuture.completedFuture((long) ids.size()));
+        });
+
+        when(async.xpending(STREAM, "group")).thenReturn(new PipelinedRedisFuture<>(CompletableFuture
+                .completedFuture(new PendingMessages(3, Range.create("1-0", "1-2"), Collections.emptyMap()))));
+    }
+
+    @Test
+    void shouldLimitOutstandingReadsToPrefetch() {
+
+        StreamConsumer<String, String> consumer = builder(handled::add).prefetch(2).batchSize(10).maxInFlight(20).build();
+        consumer.start();
+
+        assertThat(reads).hasSize(2);
+
+        reads.get(0).complete(messages(10));
+
+        assertThat(consumer.getBacklog()).isEqualTo(10);
+        assertThat(reads).hasSize(2);
+
+        runTasks();
+
+        assertThat(handled).hasSize(10);
+        assertThat(consumer.getBacklog()).isZero();
+        assertThat(reads).hasSize(3);
+
+        consumer.close();
+    }
+
+    @Test
+    void shouldHandleMessagesWithSamePartitionKeyInOrder() {
+
+        StreamConsumer<String, String> consumer = builder(handled::add).partitionKey(it -> it.getBody().get("key"))
+                .build();
+        consumer.start();
+
+        reads.get(0).complete(Arrays.asList(message("1-0", "a"), message("2-0", "b"), message("3-0", "a"),
+                message("4-0", "b"), message("5-0", "a"), message("6-0", "b")));
+
+        // run lanes in reverse scheduling order, messages of a lane must still be handled in stream order
+        Runnable task;
+        while ((task = tasks.pollLast()) != null) {
+            task.run();
+        }
+
+        assertThat(handled).hasSize(6);
+        assertThat(idsOf("a")).containsExactly("1-0", "3-0", "5-0");
+        assertThat(idsOf("b")).containsExactly("2-0", "4-0", "6-0");
+
+        consumer.close();
+    }
+
+    @Test
+    void shouldAcknowledgeWhenBatchIsFull() {
+
+        StreamConsumer<String, String> consumer = builder(handled::add).workers(1).ackBatchSize(2).build();
+        consumer.start();
+
+        reads.get(0).complete(messages(3));
+        runTasks();
+
+        assertThat(acknowledged).containsExactly(Arrays.asList("1-0", "1-1"));
+
+        scheduledTasks.get(ACK_INTERVAL.toNanos()).run();
+
+        assertThat(acknowledged).containsExactly(Arrays.asList("1-0", "1-1"), Collections.singletonList("1-2"));
+
+        consumer.close();
+    }
+
+    @Test
+    void shouldAcknowledgeBufferedMessagesOnInterval() {
+
+        StreamConsumer<String, String> consumer = builder(handled::add).workers(1).build();
+        consumer.start();
+
+        reads.get(0).complete(messages(2));
+        runTasks();
+
+        assertThat(acknowledged).isEmpty();
+
+        scheduledTasks.get(ACK_INTERVAL.toNanos()).run();
+        scheduledTasks.get(ACK_INTERVAL.toNanos()).run();
+
+        assertThat(acknowledged).containsExactly(Arrays.asList("1-0", "1-1"));
+
+        consumer.close();
+    }
+
+    @Test
+    void shouldNotAcknowledgeFailedMessages() {
+
+        StreamConsumer<String, String> consumer = builder(message -> {
+
+            if (message.getId().equals("1-1")) {
+                throw new IllegalStateException("Handler failure");
+            }
+
+            handled.add(message);
+        }).workers(1).build();
+        consumer.start();
+
+        reads.get(0).complete(messages(3));
+        runTasks();
+        scheduledTasks.get(ACK_INTERVAL.toNanos()).run();
+
+        assertThat(acknowledged).containsExactly(Arrays.asList("1-0", "1-2"));
+        assertThat(consumer.getBacklog()).isZero();
+
+        consumer.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReclaimIdleMessages() {
+
+        when(async.xautoclaim(eq(STREAM), any())).thenReturn(new PipelinedRedisFuture<>(CompletableFuture.completedFuture(
+                new ClaimedMessages<>("5-0", Arrays.asList(message("3-0", "a"), new StreamMessage<>(STREAM, "4-0", null))))));
+
+        StreamConsumer<String, String> consumer = builder(handled::add).build();
+        consumer.start();
+
+        scheduledTasks.get(CLAIM_INTERVAL.toNanos()).run();
+        runTasks();
+
+        assertThat(handled).extracting(StreamMessage::getId).containsExactly("3-0");
+
+        scheduledTasks.get(CLAIM_INTERVAL.toNanos()).run();
+
+        ArgumentCaptor<XAutoClaimArgs<String>> captor = ArgumentCaptor.forClass(XAutoClaimArgs.class);
+        verify(async, times(2)).xautoclaim(eq(STREAM), captor.capture());
+
+        assertThat(toCommandString(captor.getAllValues().get(0))).contains("0-0");
+        assertThat(toCommandString(captor.getAllValues().get(1))).contains("5-0");
+
+        consumer.close();
+    }
+
+    @Test
+    void shouldAcknowledgeHandledMessagesOnClose() {
+
+        StreamConsumer<String, String> consumer = builder(handled::add).build();
+        consumer.start();
+
+        reads.get(0).complete(messages(1));
+        runTasks();
+
+        assertThat(acknowledged).isEmpty();
+
+        consumer.close();
+
+        assertThat(consumer.isRunning()).isFalse();
+        assertThat(acknowledged).containsExactly(Collections.singletonList("1-0"));
+        verify(scheduledFuture, times(3)).cancel(false);
+    }
+
+    @Test
+    void shouldAcknowledgeMessagesCompletingAfterClose() {
+
+        StreamConsumer<String, String> consumer = builder(handled::add).workers(1).build();
+        consumer.start();
+
+        reads.get(0).complete(messages(2));
+        int readCount = reads.size();
+
+        consumer.close();
+
+        assertThat(acknowledged).isEmpty();
+
+        runTasks();
+
+        assertThat(handled).hasSize(2);
+        assertThat(acknowledged).containsExactly(Collections.singletonList("1-0"), Collections.singletonList("1-1"));
+        assertThat(reads).hasSize(readCount);
+    }
+
+    @Test
+    void shouldPublishMetrics() {
+
+        StreamConsumer<String, String> consumer = builder(message -> {
+
+            if (message.getId().equals("1-1")) {
+                throw new IllegalStateException("Handler failure");
+            }
+        }).workers(1).build();
+        consumer.start();
+
+        reads.get(0).complete(messages(3));
+        runTasks();
+        scheduledTasks.get(ACK_INTERVAL.toNanos()).run();
+        scheduledTasks.get(METRICS_INTERVAL.toNanos()).run();
+
+        ArgumentCaptor<StreamConsumerMetricsEvent> captor = ArgumentCaptor.forClass(StreamConsumerMetricsEvent.class);
+        verify(eventBus).publish(captor.capture());
+
+        StreamConsumerMetricsEvent event = captor.getValue();
+        assertThat(event.getStream()).isEqualTo(STREAM);
+        assertThat(event.getGroup()).isEqualTo("group");
+        assertThat(event.getConsumer()).isEqualTo("consumer-1");
+        assertThat(event.getReceived()).isEqualTo(3);
+        assertThat(event.getAcknowledged()).isEqualTo(2);
+        assertThat(event.getFailed()).isEqualTo(1);
+        assertThat(event.getClaimed()).isZero();
+        assertThat(event.getBacklog()).isZero();
+        assertThat(event.getPending()).isEqualTo(3);
+
+        consumer.close();
+    }
+
+    @Test
+    void shouldContinueAfterAcknowledgementFailure() {
+
+        ackFailure = new RedisException("XACK failed");
+
+        StreamConsumer<String, String> consumer = builder(handled::add).workers(1).ackBatchSize(1).build();
+        consumer.start();
+
+        reads.get(0).complete(messages(1));
+        runTasks();
+
+        verify(async).xack(STREAM, "group", "1-0");
+        assertThat(acknowledged).isEmpty();
+        assertThat(consumer.isRunning()).isTrue();
+
+        ackFailure = null;
+        reads.get(1).complete(messages(1));
+        runTasks();
+        scheduledTasks.get(METRICS_INTERVAL.toNanos()).run();
+
+        ArgumentCaptor<StreamConsumerMetricsEvent> captor = ArgumentCaptor.forClass(StreamConsumerMetricsEvent.class);
+        verify(eventBus).publish(captor.capture());
+
+        assertThat(captor.getValue().getReceived()).isEqualTo(2);
+        assertThat(captor.getValue().getAcknowledged()).isEqualTo(1);
+
+        consumer.close();
+    }
+
+    private StreamConsumer.Builder<String, String> builder(
+            java.util.function.Consumer<? super StreamMessage<String, String>> handler) {
+        return StreamConsumer.builder(connection, CONSUMER, STREAM, handler).executor(tasks::add).workers(4)
+                .ackInterval(ACK_INTERVAL).claimInterval(CLAIM_INTERVAL).metricsInterval(METRICS_INTERVAL);
+    }
+
+    private void runTasks() {
+
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private List<String> idsOf(String key) {
+        return handled.stream().filter(it -> it.getBody().get("key").equals(key)).map(StreamMessage::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static List<StreamMessage<String, String>> messages(int count) {
+
+        List<StreamMessage<String, String>> messages = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            messages.add(message("1-" + i, "key-" + i));
+        }
+
+        return messages;
+    }
+
+    private static StreamMessage<String, String> message(String id, String key) {
+        return new StreamMessage<>(STREAM, id, Collections.singletonMap("key", key));
+    }
+
+    private static String toCommandString(XAutoClaimArgs<String> args) {
+
+        CommandArgs<String, String> commandArgs = new CommandArgs<>(StringCodec.UTF8);
+        args.build(commandArgs);
+        return commandArgs.toCommandString();
+    }
+
+}
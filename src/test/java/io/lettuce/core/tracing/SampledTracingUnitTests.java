@@ -0,0 +1,143 @@
+package io.lettuce.core.tracing;
+
+import static io.lettuce.TestTags.UNIT_TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.protocol.AsyncCommand;
+import io.lettuce.core.protocol.Command;
+import io.lettuce.core.protocol.CommandType;
+
+/**
+ * Unit tests for {@link SampledTracing}.
+ */
+@Tag(UNIT_TEST)
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SampledTracingUnitTests {
+
+    @Mock
+    private Tracing delegate;
+
+    @Mock
+    private TracerProvider tracerProvider;
+
+    @Mock
+    private Tracer tracer;
+
+    @Mock
+    private Tracer.Span span;
+
+    @BeforeEach
+    void before() {
+
+        when(delegate.getTracerProvider()).thenReturn(tracerProvider);
+        when(tracerProvider.getTracer()).thenReturn(tracer);
+        when(tracer.nextSpan()).thenReturn(span);
+        when(tracer.nextSpan(any())).thenReturn(span);
+        when(span.tag(any(), any(String.class))).thenReturn(span);
+        when(span.name(any())).thenReturn(span);
+    }
+
+    @Test
+    void shouldDelegateHeadSampledSpans() {
+
+        SampledTracing tracing = SampledTracing.builder(delegate).sampleRate(1).build();
+
+        assertThat(tracing.getTracerProvider().getTracer().nextSpan()).isSameAs(span);
+    }
+
+    @Test
+    void shouldNotRecordUnsampledSpans() {
+
+        SampledTracing tracing = SampledTracing.builder(delegate).sampleRate(0).build();
+
+        assertThat(tracing.getTracerProvider().getTracer().nextSpan().isRecording()).isFalse();
+        verify(tracer, never()).nextSpan();
+    }
+
+    @Test
+    void shouldMaterializeFailedCommands() {
+
+        SampledTracing tracing = SampledTracing.builder(delegate).sampleRate(0).traceErrors(true).build();
+        AsyncCommand<String, String, String> command = command();
+
+        Tracer.Span deferred = tracing.getTracerProvider().getTracer().nextSpan();
+        deferred.name("PING").tag("db.namespace", "0").start(command);
+
+        verify(tracer, never()).nextSpan();
+
+        command.getOutput().setError("ERR");
+        command.complete();
+
+        verify(span).name("PING");
+        verify(span).tag("db.namespace", "0");
+        verify(span).tag(SampledTracing.SAMPLING_TAG, "error");
+        verify(span).start(command);
+    }
+
+    @Test
+    void shouldNotResolveTagsOfDiscardedSpans() {
+
+        SampledTracing tracing = SampledTracing.builder(delegate).sampleRate(0).traceErrors(true).build();
+        AsyncCommand<String, String, String> command = command();
+
+        Tracer.Span deferred = tracing.getTracerProvider().getTracer().nextSpan();
+        deferred.tag("user.name", () -> {
+            throw new IllegalStateException("Tag must not be resolved");
+        }).start(command);
+
+        command.complete();
+
+        verify(tracer, never()).nextSpan();
+    }
+
+    @Test
+    void shouldResolveTagsOfMaterializedSpans() {
+
+        SampledTracing tracing = SampledTracing.builder(delegate).sampleRate(0).traceErrors(true).build();
+        AsyncCommand<String, String, String> command = command();
+
+        Tracer.Span deferred = tracing.getTracerProvider().getTracer().nextSpan();
+        deferred.tag("user.name", () -> "walter").start(command);
+
+        command.getOutput().setError("ERR");
+        command.complete();
+
+        verify(span).tag("user.name", "walter");
+    }
+
+    @Test
+    void shouldDiscardFastSuccessfulCommands() {
+
+        SampledTracing tracing = SampledTracing.builder(delegate).sampleRate(0).traceErrors(true)
+                .latencyThreshold(Duration.ofMinutes(1)).build();
+        AsyncCommand<String, String, String> command = command();
+
+        tracing.getTracerProvider().getTracer().nextSpan().start(command);
+        command.complete();
+
+        verify(tracer, never()).nextSpan();
+    }
+
+    private static AsyncCommand<String, String, String> command() {
+        return new AsyncCommand<>(new Command<>(CommandType.PING, new StatusOutput<>(StringCodec.UTF8)));
+    }
+
+}
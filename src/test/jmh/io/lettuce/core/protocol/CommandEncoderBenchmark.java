@@ -0,0 +1,97 @@
+package io.lettuce.core.protocol;
+
+import java.nio.ByteBuffer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.output.StatusOutput;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+
+/**
+ * Benchmark for encoding {@code SET} commands with large direct values. Test cases:
+ * <ul>
+ * <li>Encode into a contiguous direct buffer (copying the value)</li>
+ * <li>Encode into a {@link CompositeWriteBuffer} (referencing the value)</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+public class CommandEncoderBenchmark {
+
+    private static final ByteBufAllocator ALLOCATOR = PooledByteBufAllocator.DEFAULT;
+
+    private static final DirectValueCodec CODEC = new DirectValueCodec();
+
+    private static final byte[] KEY = "key".getBytes();
+
+    @Param({ "65536", "1048576", "4194304" })
+    int valueSize;
+
+    private ByteBuffer value;
+
+    @Setup
+    public void setup() {
+        value = ByteBuffer.allocateDirect(valueSize);
+    }
+
+    @Benchmark
+    public void encodeIntoContiguousBuffer(Blackhole blackhole) {
+
+        ByteBuf buffer = ALLOCATOR.directBuffer();
+        try {
+            createCommand().encode(buffer);
+            blackhole.consume(buffer.nioBufferCount());
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Benchmark
+    public void encodeIntoCompositeWriteBuffer(Blackhole blackhole) {
+
+        ByteBuf buffer = new CompositeWriteBuffer(ALLOCATOR, 65536);
+        try {
+            createCommand().encode(buffer);
+            blackhole.consume(buffer.nioBufferCount());
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private Command<byte[], ByteBuffer, String> createCommand() {
+        return new Command<>(CommandType.SET, new StatusOutput<>(CODEC),
+                new CommandArgs<>(CODEC).addKey(KEY).addValue(value.duplicate()));
+    }
+
+    static class DirectValueCodec implements RedisCodec<byte[], ByteBuffer> {
+
+        @Override
+        public byte[] decodeKey(ByteBuffer bytes) {
+            return null;
+        }
+
+        @Override
+        public ByteBuffer decodeValue(ByteBuffer bytes) {
+            return bytes;
+        }
+
+        @Override
+        public ByteBuffer encodeKey(byte[] key) {
+            return ByteBuffer.wrap(key);
+        }
+
+        @Override
+        public ByteBuffer encodeValue(ByteBuffer value) {
+            return value;
+        }
+
+    }
+
+}